@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.builtins.SLAtomicAddBuiltin;
+
+/**
+ * Contention on a single property of a shared object that is incremented by 1 to N threads. The
+ * {@link SLAtomicAddBuiltin atomicAdd} and {@code compareAndSet} benchmarks use the atomic
+ * builtins. The {@code lock} benchmark is the baseline without them: each increment is a read and
+ * a write of the property under a host {@link ReentrantLock}. The {@code racy} benchmark does the
+ * unguarded read and write, which loses updates, and shows the cost of the plain accesses of a
+ * shared object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class SLAtomicsBenchmark {
+
+    private static final String SOURCE = "" +
+                    "function atomicAdds(counter, lock, count) {\n" +
+                    "  for (i = 0; i < count; i = i + 1) {\n" +
+                    "    atomicAdd(counter, \"value\", 1);\n" +
+                    "  }\n" +
+                    "  return count;\n" +
+                    "}\n" +
+                    "function compareAndSets(counter, lock, count) {\n" +
+                    "  for (i = 0; i < count; i = i + 1) {\n" +
+                    "    done = 0;\n" +
+                    "    while (done == 0) {\n" +
+                    "      old = counter.value;\n" +
+                    "      if (compareAndSet(counter, \"value\", old, old + 1)) {\n" +
+                    "        done = 1;\n" +
+                    "      }\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "  return count;\n" +
+                    "}\n" +
+                    "function lockedAdds(counter, lock, count) {\n" +
+                    "  for (i = 0; i < count; i = i + 1) {\n" +
+                    "    lock.lock();\n" +
+                    "    counter.value = counter.value + 1;\n" +
+                    "    lock.unlock();\n" +
+                    "  }\n" +
+                    "  return count;\n" +
+                    "}\n" +
+                    "function racyAdds(counter, lock, count) {\n" +
+                    "  for (i = 0; i < count; i = i + 1) {\n" +
+                    "    counter.value = counter.value + 1;\n" +
+                    "  }\n" +
+                    "  return count;\n" +
+                    "}\n" +
+                    "function run(work, lock, threads, total) {\n" +
+                    "  counter = {value: 0};\n" +
+                    "  tasks = array(threads);\n" +
+                    "  for (t = 0; t < threads; t = t + 1) {\n" +
+                    "    tasks[t] = spawn(work, counter, lock, total / threads);\n" +
+                    "  }\n" +
+                    "  for (t = 0; t < threads; t = t + 1) {\n" +
+                    "    join(tasks[t]);\n" +
+                    "  }\n" +
+                    "  return counter.value;\n" +
+                    "}\n";
+
+    /** The total number of increments, divisible by all thread counts. */
+    private static final long INCREMENTS = 100000;
+
+    @Param({"1", "2", "4", "8"}) private long threads;
+
+    private Context context;
+    private Value run;
+    private Value atomicAdds;
+    private Value compareAndSets;
+    private Value lockedAdds;
+    private Value racyAdds;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Setup
+    public void setup() {
+        context = Context.newBuilder(SLLanguage.ID).//
+                        allowExperimentalOptions(true).//
+                        allowCreateThread(true).//
+                        allowHostAccess(HostAccess.ALL).//
+                        option("sl.ThreadPoolSize", String.valueOf(threads)).//
+                        build();
+        context.eval(SLLanguage.ID, SOURCE);
+        Value bindings = context.getBindings(SLLanguage.ID);
+        run = bindings.getMember("run");
+        atomicAdds = bindings.getMember("atomicAdds");
+        compareAndSets = bindings.getMember("compareAndSets");
+        lockedAdds = bindings.getMember("lockedAdds");
+        racyAdds = bindings.getMember("racyAdds");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long atomicAdd() {
+        return run.execute(atomicAdds, lock, threads, INCREMENTS).asLong();
+    }
+
+    @Benchmark
+    public long compareAndSet() {
+        return run.execute(compareAndSets, lock, threads, INCREMENTS).asLong();
+    }
+
+    @Benchmark
+    public long lock() {
+        return run.execute(lockedAdds, lock, threads, INCREMENTS).asLong();
+    }
+
+    @Benchmark
+    public long racy() {
+        return run.execute(racyAdds, lock, threads, INCREMENTS).asLong();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
+
+/**
+ * Arithmetic beyond the {@code long} range. The {@code fibonacci} benchmark computes Fibonacci
+ * numbers in a loop: up to 92 they fit into a {@code long}, up to 184 into an {@link SLInt128},
+ * larger ones are {@link SLBigNumber big numbers}. The {@code transientOverflow} benchmark adds and
+ * subtracts a large constant in every iteration, so the intermediate value overflows a
+ * {@code long} but the result fits again, and shows that a single overflow does not move the
+ * following operations to the slow path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class SLBigNumberBenchmark {
+
+    private static final String SOURCE = "" +
+                    "function fibonacci(n) {\n" +
+                    "  a = 0;\n" +
+                    "  b = 1;\n" +
+                    "  for (i = 0; i < n; i = i + 1) {\n" +
+                    "    c = a + b;\n" +
+                    "    a = b;\n" +
+                    "    b = c;\n" +
+                    "  }\n" +
+                    "  return a;\n" +
+                    "}\n" +
+                    "function transientOverflow(n) {\n" +
+                    "  sum = 0;\n" +
+                    "  for (i = 0; i < n; i = i + 1) {\n" +
+                    "    x = i + 9223372036854775807;\n" +
+                    "    sum = sum + (x - 9223372036854775807);\n" +
+                    "  }\n" +
+                    "  return sum;\n" +
+                    "}\n";
+
+    private static final long ITERATIONS = 10000;
+
+    /** The index of the computed Fibonacci number. */
+    @Param({"90", "180", "1000"}) private long n;
+
+    private Context context;
+    private Value fibonacci;
+    private Value transientOverflow;
+
+    @Setup
+    public void setup() {
+        context = Context.create(SLLanguage.ID);
+        context.eval(SLLanguage.ID, SOURCE);
+        Value bindings = context.getBindings(SLLanguage.ID);
+        fibonacci = bindings.getMember("fibonacci");
+        transientOverflow = bindings.getMember("transientOverflow");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object fibonacci() {
+        return fibonacci.execute(n);
+    }
+
+    @Benchmark
+    public long transientOverflow() {
+        return transientOverflow.execute(ITERATIONS).asLong();
+    }
+}
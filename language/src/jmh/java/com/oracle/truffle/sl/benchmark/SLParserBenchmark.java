@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.parser.SLRecursiveDescentParser;
+
+/**
+ * Parse throughput of the ANTLR parser and the {@link SLRecursiveDescentParser}, selected with the
+ * {@link SLLanguage#RecursiveDescentParser} option, and of {@link SLLanguage#LazyParsing lazy
+ * parsing}, which only reads the declarations. The source is generated: it declares globals and
+ * consists of functions with loops, conditions, object and array literals, property accesses,
+ * lambdas and comments. The source is not cached, so every iteration parses it again and builds
+ * the call targets of all functions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class SLParserBenchmark {
+
+    @Param({"antlr", "recursiveDescent", "lazy"}) private String parser;
+
+    /** The number of generated functions. */
+    @Param({"100", "1000"}) private int functions;
+
+    private Context context;
+    private Source source;
+
+    @Setup
+    public void setup() {
+        context = Context.newBuilder(SLLanguage.ID).allowExperimentalOptions(true).option("sl.RecursiveDescentParser", String.valueOf(parser.equals("recursiveDescent"))).option(
+                        "sl.LazyParsing", String.valueOf(parser.equals("lazy"))).build();
+        source = Source.newBuilder(SLLanguage.ID, generate(functions), "parser.sl").cached(false).buildLiteral();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object parse() {
+        return context.parse(source);
+    }
+
+    static String generate(int count) {
+        StringBuilder result = new StringBuilder();
+        result.append("global counter, table;\n\n");
+        for (int i = 0; i < count; i++) {
+            result.append("/* Function ").append(i).append(" of the generated source. */\n");
+            result.append("function f").append(i).append("(n, obj) {\n");
+            result.append("  sum = 0;\n");
+            result.append("  values = [1, 2.5, \"text\", {name: \"f").append(i).append("\", size: n * 2}];\n");
+            result.append("  for (i = 0; i < n; i = i + 1) {\n");
+            result.append("    if (i / 2 * 2 == i && obj.enabled) {\n");
+            result.append("      sum = sum + obj.weights[i] * (i - 1) / 3;\n");
+            result.append("    } else {\n");
+            result.append("      sum = sum - values[0] + 1e3; // constant offset\n");
+            result.append("    }\n");
+            result.append("  }\n");
+            result.append("  add = function(a, b) { return a + b; };\n");
+            result.append("  while (sum > 100 || sum <= 0 - 100) {\n");
+            result.append("    sum = sum / 2;\n");
+            result.append("  }\n");
+            result.append("  counter = add(counter, 1);\n");
+            result.append("  obj.result = f").append(i > 0 ? i - 1 : 0).append("(n - 1, obj) != sum;\n");
+            result.append("  return sum;\n");
+            result.append("}\n\n");
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Interpreter throughput of loops over local variables, with and without the superinstructions of
+ * {@link SLLanguage#Superinstructions}. The benchmark VM always uses the default Truffle runtime,
+ * so this measures the AST interpreter that is used on VMs without the Graal compiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtruffle.TruffleRuntime=com.oracle.truffle.api.impl.DefaultTruffleRuntime")
+public class SLSuperinstructionBenchmark {
+
+    private static final String SOURCE = "" +
+                    "function countUp(n) {\n" +
+                    "  i = 0;\n" +
+                    "  while (i < n) {\n" +
+                    "    i = i + 1;\n" +
+                    "  }\n" +
+                    "  return i;\n" +
+                    "}\n" +
+                    "function countDown(n) {\n" +
+                    "  while (n > 0) {\n" +
+                    "    n = n - 1;\n" +
+                    "  }\n" +
+                    "  return n;\n" +
+                    "}\n" +
+                    "function nested(n) {\n" +
+                    "  sum = 0;\n" +
+                    "  i = 0;\n" +
+                    "  while (i < n) {\n" +
+                    "    j = 0;\n" +
+                    "    while (j != 100) {\n" +
+                    "      sum = sum + j;\n" +
+                    "      j = j + 1;\n" +
+                    "    }\n" +
+                    "    i = i + 1;\n" +
+                    "  }\n" +
+                    "  return sum;\n" +
+                    "}\n";
+
+    private static final long ITERATIONS = 100000;
+
+    @Param({"true", "false"}) private String superinstructions;
+
+    private Context context;
+    private Value countUp;
+    private Value countDown;
+    private Value nested;
+
+    @Setup
+    public void setup() {
+        context = Context.newBuilder(SLLanguage.ID).//
+                        allowExperimentalOptions(true).//
+                        option("engine.WarnInterpreterOnly", "false").//
+                        option("sl.Superinstructions", superinstructions).//
+                        build();
+        context.eval(SLLanguage.ID, SOURCE);
+        Value bindings = context.getBindings(SLLanguage.ID);
+        countUp = bindings.getMember("countUp");
+        countDown = bindings.getMember("countDown");
+        nested = bindings.getMember("nested");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long countUp() {
+        return countUp.execute(ITERATIONS).asLong();
+    }
+
+    @Benchmark
+    public long countDown() {
+        return countDown.execute(ITERATIONS).asLong();
+    }
+
+    @Benchmark
+    public long nested() {
+        return nested.execute(ITERATIONS / 100).asLong();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.builtins.SLSpawnBuiltin;
+
+/**
+ * Scaling of a fixed amount of CPU-bound work that is split between 1 to N threads of one context
+ * with the {@link SLSpawnBuiltin spawn} builtin. With perfect scaling, the time per operation is
+ * divided by the number of threads, up to the number of available cores. The {@code objects}
+ * benchmark allocates objects that stay local to their thread, so it also shows that unshared
+ * objects do not pay for the synchronization of shared objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class SLThreadScalingBenchmark {
+
+    private static final String SOURCE = "" +
+                    "function fib(n) {\n" +
+                    "  if (n < 2) {\n" +
+                    "    return n;\n" +
+                    "  }\n" +
+                    "  return fib(n - 1) + fib(n - 2);\n" +
+                    "}\n" +
+                    "function fibs(count) {\n" +
+                    "  s = 0;\n" +
+                    "  for (i = 0; i < count; i = i + 1) {\n" +
+                    "    s = s + fib(20);\n" +
+                    "  }\n" +
+                    "  return s;\n" +
+                    "}\n" +
+                    "function objects(count) {\n" +
+                    "  s = 0;\n" +
+                    "  for (i = 0; i < count * 10000; i = i + 1) {\n" +
+                    "    p = {x: i, y: i + 1};\n" +
+                    "    p.z = p.x + p.y;\n" +
+                    "    s = s + p.z;\n" +
+                    "  }\n" +
+                    "  return s;\n" +
+                    "}\n" +
+                    "function run(work, threads, total) {\n" +
+                    "  tasks = array(threads);\n" +
+                    "  for (t = 0; t < threads; t = t + 1) {\n" +
+                    "    tasks[t] = spawn(work, total / threads);\n" +
+                    "  }\n" +
+                    "  s = 0;\n" +
+                    "  for (t = 0; t < threads; t = t + 1) {\n" +
+                    "    s = s + join(tasks[t]);\n" +
+                    "  }\n" +
+                    "  return s;\n" +
+                    "}\n";
+
+    /** The total number of work units, divisible by all thread counts. */
+    private static final long WORK = 64;
+
+    @Param({"1", "2", "4", "8"}) private long threads;
+
+    private Context context;
+    private Value run;
+    private Value fibs;
+    private Value objects;
+
+    @Setup
+    public void setup() {
+        context = Context.newBuilder(SLLanguage.ID).//
+                        allowExperimentalOptions(true).//
+                        allowCreateThread(true).//
+                        option("sl.ThreadPoolSize", String.valueOf(threads)).//
+                        build();
+        context.eval(SLLanguage.ID, SOURCE);
+        Value bindings = context.getBindings(SLLanguage.ID);
+        run = bindings.getMember("run");
+        fibs = bindings.getMember("fibs");
+        objects = bindings.getMember("objects");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long fib() {
+        return run.execute(fibs, threads, WORK).asLong();
+    }
+
+    @Benchmark
+    public long objects() {
+        return run.execute(objects, threads, WORK).asLong();
+    }
+}
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.sl;
 
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -48,6 +49,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
@@ -66,14 +69,22 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.builtins.SLAtomicAddBuiltin;
 import com.oracle.truffle.sl.builtins.SLBuiltinNode;
 import com.oracle.truffle.sl.builtins.SLDefineFunctionBuiltin;
+import com.oracle.truffle.sl.builtins.SLEvalBuiltin;
 import com.oracle.truffle.sl.builtins.SLNanoTimeBuiltin;
+import com.oracle.truffle.sl.builtins.SLParallelForBuiltin;
+import com.oracle.truffle.sl.builtins.SLParallelMapBuiltin;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLReadlnBuiltin;
+import com.oracle.truffle.sl.builtins.SLSpawnBuiltin;
 import com.oracle.truffle.sl.builtins.SLStackTraceBuiltin;
+import com.oracle.truffle.sl.builtins.SLWorkerBuiltin;
 import com.oracle.truffle.sl.nodes.SLEvalRootNode;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
+import com.oracle.truffle.sl.nodes.SLParallelLoopRootNode;
 import com.oracle.truffle.sl.nodes.SLRootNode;
 import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.nodes.SLUndefinedFunctionRootNode;
@@ -81,37 +92,67 @@ import com.oracle.truffle.sl.nodes.controlflow.SLBlockNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLBreakNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLContinueNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLDebuggerNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLForNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLIfNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLReturnNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
 import com.oracle.truffle.sl.nodes.controlflow.SLWhileNode;
 import com.oracle.truffle.sl.nodes.expression.SLAddNode;
+import com.oracle.truffle.sl.nodes.expression.SLArrayLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLBigIntegerLiteralNode;
+import com.oracle.truffle.sl.nodes.expression.SLClosureNode;
+import com.oracle.truffle.sl.nodes.expression.SLDirectInvokeNode;
 import com.oracle.truffle.sl.nodes.expression.SLDivNode;
+import com.oracle.truffle.sl.nodes.expression.SLDoubleLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLEqualNode;
 import com.oracle.truffle.sl.nodes.expression.SLFunctionLiteralNode;
+import com.oracle.truffle.sl.nodes.expression.SLGreaterOrEqualNode;
+import com.oracle.truffle.sl.nodes.expression.SLGreaterThanNode;
 import com.oracle.truffle.sl.nodes.expression.SLInvokeNode;
 import com.oracle.truffle.sl.nodes.expression.SLLessOrEqualNode;
 import com.oracle.truffle.sl.nodes.expression.SLLessThanNode;
 import com.oracle.truffle.sl.nodes.expression.SLLogicalAndNode;
 import com.oracle.truffle.sl.nodes.expression.SLLogicalOrNode;
 import com.oracle.truffle.sl.nodes.expression.SLMulNode;
+import com.oracle.truffle.sl.nodes.expression.SLNotEqualNode;
+import com.oracle.truffle.sl.nodes.expression.SLObjectLiteralNode;
+import com.oracle.truffle.sl.nodes.expression.SLReadConstantPropertyNode;
 import com.oracle.truffle.sl.nodes.expression.SLReadPropertyNode;
 import com.oracle.truffle.sl.nodes.expression.SLStringLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLSubNode;
+import com.oracle.truffle.sl.nodes.expression.SLWriteConstantPropertyNode;
 import com.oracle.truffle.sl.nodes.expression.SLWritePropertyNode;
+import com.oracle.truffle.sl.nodes.local.SLFusedLocalNode;
 import com.oracle.truffle.sl.nodes.local.SLReadArgumentNode;
 import com.oracle.truffle.sl.nodes.local.SLReadLocalVariableNode;
+import com.oracle.truffle.sl.nodes.local.SLReadRemainingArgumentsNode;
 import com.oracle.truffle.sl.nodes.local.SLWriteLocalVariableNode;
+import com.oracle.truffle.sl.parser.SLCodeCache;
 import com.oracle.truffle.sl.parser.SLNodeFactory;
+import com.oracle.truffle.sl.parser.SLParseCache;
+import com.oracle.truffle.sl.parser.SLRecursiveDescentParser;
 import com.oracle.truffle.sl.parser.SimpleLanguageLexer;
 import com.oracle.truffle.sl.parser.SimpleLanguageParser;
+import com.oracle.truffle.sl.runtime.SLAllocationSite;
+import com.oracle.truffle.sl.runtime.SLArray;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLChannel;
 import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLFunctionRegistry;
+import com.oracle.truffle.sl.runtime.SLInt128;
 import com.oracle.truffle.sl.runtime.SLLanguageView;
 import com.oracle.truffle.sl.runtime.SLNull;
 import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLObjectLayout;
+import com.oracle.truffle.sl.runtime.SLParallelLoop;
+import com.oracle.truffle.sl.runtime.SLSharing;
+import com.oracle.truffle.sl.runtime.SLTransfer;
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionDescriptors;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+import org.graalvm.options.OptionValues;
 
 /**
  * SL is a simple language to demonstrate and showcase features of Truffle. The implementation is as
@@ -128,14 +169,18 @@ import com.oracle.truffle.sl.runtime.SLObject;
  * <b>Types:</b>
  * <ul>
  * <li>Number: arbitrary precision integer numbers. The implementation uses the Java primitive type
- * {@code long} to represent numbers that fit into the 64 bit range, and {@link SLBigNumber} for
- * numbers that exceed the range. Using a primitive type such as {@code long} is crucial for
- * performance.
+ * {@code long} to represent numbers that fit into the 64 bit range, {@link SLInt128} for numbers
+ * that fit into 128 bits, and {@link SLBigNumber} for numbers that exceed the range. Results are
+ * always normalized to the smallest of these representations. Numbers with a fraction or an
+ * exponent are floating point numbers, implemented as the Java primitive type {@code double}.
+ * Using primitive types such as {@code long} and {@code double} is crucial for performance.
  * <li>Boolean: implemented as the Java primitive type {@code boolean}.
  * <li>String: implemented as the Java standard type {@link String}.
  * <li>Function: implementation type {@link SLFunction}.
  * <li>Object: efficient implementation using the object model provided by Truffle. The
  * implementation type of objects is a subclass of {@link DynamicObject}.
+ * <li>Array: fixed-size arrays, implementation type {@link SLArray}. Elements are stored in a
+ * primitive {@code long[]} or {@code boolean[]} as long as all elements have the same type.
  * <li>Null (with only one value {@code null}): implemented as the singleton
  * {@link SLNull#SINGLETON}.
  * </ul>
@@ -145,25 +190,45 @@ import com.oracle.truffle.sl.runtime.SLObject;
  * <p>
  * <b>Language concepts:</b>
  * <ul>
- * <li>Literals for {@link SLBigIntegerLiteralNode numbers} , {@link SLStringLiteralNode strings},
- * and {@link SLFunctionLiteralNode functions}.
+ * <li>Literals for {@link SLBigIntegerLiteralNode numbers} , {@link SLDoubleLiteralNode floating
+ * point numbers}, {@link SLStringLiteralNode strings}, {@link SLFunctionLiteralNode functions},
+ * and {@link SLArrayLiteralNode arrays}.
  * <li>Basic arithmetic, logical, and comparison operations: {@link SLAddNode +}, {@link SLSubNode
  * -}, {@link SLMulNode *}, {@link SLDivNode /}, {@link SLLogicalAndNode logical and},
- * {@link SLLogicalOrNode logical or}, {@link SLEqualNode ==}, !=, {@link SLLessThanNode &lt;},
- * {@link SLLessOrEqualNode &le;}, &gt;, &ge;.
+ * {@link SLLogicalOrNode logical or}, {@link SLEqualNode ==}, {@link SLNotEqualNode !=},
+ * {@link SLLessThanNode &lt;}, {@link SLLessOrEqualNode &le;}, {@link SLGreaterThanNode &gt;},
+ * {@link SLGreaterOrEqualNode &ge;}.
  * <li>Local variables: local variables must be defined (via a {@link SLWriteLocalVariableNode
  * write}) before they can be used (by a {@link SLReadLocalVariableNode read}). Local variables are
  * not visible outside of the block where they were first defined.
  * <li>Basic control flow statements: {@link SLBlockNode blocks}, {@link SLIfNode if},
- * {@link SLWhileNode while} with {@link SLBreakNode break} and {@link SLContinueNode continue},
- * {@link SLReturnNode return}.
+ * {@link SLWhileNode while} and the counted {@link SLForNode for} loop with {@link SLBreakNode
+ * break} and {@link SLContinueNode continue}, {@link SLReturnNode return}.
  * <li>Debugging control: {@link SLDebuggerNode debugger} statement uses
  * {@link DebuggerTags#AlwaysHalt} tag to halt the execution when run under the debugger.
  * <li>Function calls: {@link SLInvokeNode invocations} are efficiently implemented with
- * {@link SLDispatchNode polymorphic inline caches}.
+ * {@link SLDispatchNode polymorphic inline caches}. Calls of functions by name use a
+ * {@link SLDirectInvokeNode direct call} without the interop dispatch. A call of a function to
+ * itself in tail position reuses the frame of the caller, see {@link SLTailCallException}.
+ * <li>Lambda expressions: {@link SLClosureNode closures} copy the values of the captured local
+ * variables of the enclosing functions, and share the call target of the lambda expression.
  * <li>Object access: {@link SLReadPropertyNode} and {@link SLWritePropertyNode} use a cached
  * {@link DynamicObjectLibrary} as the polymorphic inline cache for property reads and writes,
- * respectively.
+ * respectively. Accesses with a constant property name use {@link SLReadConstantPropertyNode} and
+ * {@link SLWriteConstantPropertyNode}, which cache the location of the property for each shape.
+ * <li>Object allocation: each call of {@code new()} is an {@link SLAllocationSite}, which chooses the
+ * {@link SLObjectLayout} of new objects based on the properties of earlier objects from the site.
+ * {@link SLObjectLiteralNode Object literals} allocate their objects directly with the final shape.
+ * <li>Threads: the {@link SLSpawnBuiltin spawn} builtin calls a function on the thread pool of the
+ * context. Objects that are reachable from more than one thread are {@link SLSharing shared}, and
+ * writes to shared objects are synchronized. The {@link SLParallelForBuiltin parallelFor} and
+ * {@link SLParallelMapBuiltin parallelMap} builtins split the iterations of a loop between the
+ * threads of the pool, see {@link SLParallelLoop}. The {@link SLAtomicAddBuiltin atomicAdd},
+ * {@code compareAndSet} and {@code getAndSet} builtins update a property of a shared object
+ * atomically.
+ * <li>Workers: the {@link SLWorkerBuiltin worker} builtin runs SL code in an inner context on its
+ * own thread. The contexts share the parsed code, but no objects: values are sent over a bounded
+ * {@link SLChannel channel}, and mutable objects are {@link SLTransfer moved} to the receiver.
  * </ul>
  *
  * <p>
@@ -173,7 +238,9 @@ import com.oracle.truffle.sl.runtime.SLObject;
  * actions that build the AST for a method. To keep these semantic actions short, they are mostly
  * calls to the {@link SLNodeFactory} that performs the actual node creation. All functions found in
  * the SL source are added to the {@link SLFunctionRegistry}, which is accessible from the
- * {@link SLContext}.
+ * {@link SLContext}. The hand-written {@link SLRecursiveDescentParser} parses the same grammar
+ * without ANTLR and calls the same factory methods; it is selected with the
+ * {@link #RecursiveDescentParser} option.
  *
  * <p>
  * <b>Builtin functions:</b><br>
@@ -205,28 +272,210 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
     private static final Source BUILTIN_SOURCE = Source.newBuilder(SLLanguage.ID, "", "SL builtin").build();
 
     private final Assumption singleContext = Truffle.getRuntime().createAssumption("Single SL context.");
+    private final Assumption singleThreaded = Truffle.getRuntime().createAssumption("Single-threaded SL contexts.");
 
     private final Map<NodeFactory<? extends SLBuiltinNode>, RootCallTarget> builtinTargets = new ConcurrentHashMap<>();
     private final Map<String, RootCallTarget> undefinedFunctions = new ConcurrentHashMap<>();
+    private final Map<RootCallTarget, RootCallTarget> parallelLoops = new ConcurrentHashMap<>();
 
-    private final Shape rootShape;
+    @CompilationFinal(dimensions = 1) private final Shape[] rootShapes;
+    private final List<SLAllocationSite> allocationSites = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Calls of a function to itself in tail position always reuse the frame of the caller. With
+     * this option, all other calls in tail position are eliminated as well. This also removes the
+     * frames of the calling functions from guest stack traces and from the debugger, so it is
+     * disabled by default.
+     */
+    @Option(help = "Eliminate the frames of all calls in tail position, not only of self-recursive calls.", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> ProperTailCalls = new OptionKey<>(false);
+
+    /**
+     * The parser emits fused nodes for common operations of local variables with constants, see
+     * {@link SLFusedLocalNode}. The option only exists to measure and debug the effect of the
+     * superinstructions. Parsed functions are shared between contexts, so all contexts of a
+     * language instance must use the same value, see {@link #areOptionsCompatible}.
+     */
+    @Option(help = "Fuse common operations of local variables with constants into single nodes.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> Superinstructions = new OptionKey<>(true);
+
+    private volatile boolean superinstructions = Superinstructions.getDefaultValue();
+
+    /**
+     * Prints the number of allocated objects and the chosen {@link SLObjectLayout} of every
+     * {@link SLAllocationSite} when a context is closed. Allocation sites are part of the shared
+     * AST, so this is a language-wide setting like {@link #Superinstructions}.
+     */
+    @Option(help = "Print statistics of each allocation site, i.e., call of new(), when the context is closed.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> AllocationSiteStats = new OptionKey<>(false);
+
+    private volatile boolean allocationSiteStats = AllocationSiteStats.getDefaultValue();
+
+    /**
+     * The number of threads that run the functions started with {@link SLSpawnBuiltin spawn}. The
+     * default is the number of available processors.
+     */
+    @Option(help = "Number of threads that run spawned functions (default: number of processors).", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> ThreadPoolSize = new OptionKey<>(0);
+
+    /**
+     * Parses sources with the hand-written {@link SLRecursiveDescentParser} instead of the
+     * {@link SimpleLanguageParser} that ANTLR generates from the grammar. The option exists until
+     * the hand-written parser replaces the generated one. Parsed functions are shared between
+     * contexts, so all contexts of a language instance must use the same value, see
+     * {@link #areOptionsCompatible}.
+     */
+    @Option(help = "Parse sources with the hand-written recursive-descent parser instead of the ANTLR parser.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> RecursiveDescentParser = new OptionKey<>(false);
+
+    private volatile boolean recursiveDescentParser = RecursiveDescentParser.getDefaultValue();
+
+    /**
+     * Parses only the declarations of a source, and the body of each function on its first call,
+     * see {@link SLLazyFunctionRootNode}. Functions that are never called are never parsed, which
+     * reduces the startup time and the memory footprint of large sources. Syntax errors in a
+     * function body are reported on the first call of the function. The bodies are parsed with the
+     * {@link SLRecursiveDescentParser}. Like {@link #RecursiveDescentParser}, this is a
+     * language-wide setting. Source files in the {@link #CodeCache} are not parsed lazily: a
+     * snapshot contains the ASTs of all functions, so these files are parsed eagerly once and then
+     * loaded eagerly.
+     */
+    @Option(help = "Parse function bodies on their first call. Not used for source files if sl.CodeCache is set.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> LazyParsing = new OptionKey<>(false);
+
+    private volatile boolean lazyParsing = LazyParsing.getDefaultValue();
+
+    /**
+     * The number of parsed sources that are kept in the {@link SLParseCache}, which is shared by
+     * all contexts of the language instance. Sources with the same text are then parsed only once,
+     * e.g., the code of {@link SLEvalBuiltin eval} and {@link SLDefineFunctionBuiltin
+     * defineFunction}. The cache is created with the first context, so all contexts of a language
+     * instance must use the same value, see {@link #areOptionsCompatible}.
+     */
+    @Option(help = "Number of parsed sources that are cached and shared by all contexts (0 disables the cache).", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> ParseCacheSize = new OptionKey<>(64);
+
+    /**
+     * Prints the hits, misses and evictions of the {@link SLParseCache} when a context is closed.
+     */
+    @Option(help = "Print statistics of the parse cache when the context is closed.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> ParseCacheStats = new OptionKey<>(false);
+
+    private SLParseCache parseCache;
+
+    /**
+     * The number of call targets that are kept in the eval cache of each context. The cache is the
+     * second tier of {@link SLEvalBuiltin eval}: a call site that has seen more different snippets
+     * than its inline cache holds looks them up in the cache of its context, so a megamorphic
+     * {@code eval} only costs a hash lookup instead of building and parsing a new source.
+     */
+    @Option(help = "Number of evaluated snippets whose call targets are cached per context (0 disables the cache).", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> EvalCacheSize = new OptionKey<>(256);
+
+    /**
+     * Prints the hits, misses and evictions of the eval cache of a context when it is closed.
+     */
+    @Option(help = "Print statistics of the eval cache when the context is closed.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> EvalCacheStats = new OptionKey<>(false);
+
+    /**
+     * The directory of the {@link SLCodeCache}, which stores a snapshot of the AST of every source
+     * file that is parsed. Running the same files again builds their functions from the snapshots
+     * without parsing them. The context must be allowed to access files. The launcher allows it
+     * only if this option is set, which requires {@code --experimental-options}. The cache takes
+     * precedence over {@link #LazyParsing}, so the functions of cached files are built when the
+     * file is loaded, not on their first call.
+     */
+    @Option(help = "Directory in which the ASTs of parsed source files are cached across runs (default: no cache). Cached files are parsed eagerly, even with sl.LazyParsing.", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<String> CodeCache = new OptionKey<>("");
+
+    /**
+     * Prints the hits, misses and writes of the {@link SLCodeCache} of a context when it is closed.
+     */
+    @Option(help = "Print statistics of the code cache when the context is closed.", category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> CodeCacheStats = new OptionKey<>(false);
 
     public SLLanguage() {
         counter++;
-        this.rootShape = Shape.newBuilder().layout(SLObject.class).build();
+        SLObjectLayout[] layouts = SLObjectLayout.values();
+        this.rootShapes = new Shape[layouts.length];
+        for (SLObjectLayout layout : layouts) {
+            rootShapes[layout.ordinal()] = layout.createRootShape();
+        }
+    }
+
+    @Override
+    protected OptionDescriptors getOptionDescriptors() {
+        return new SLLanguageOptionDescriptors();
+    }
+
+    @Override
+    protected boolean areOptionsCompatible(OptionValues firstOptions, OptionValues newOptions) {
+        return firstOptions.get(Superinstructions).equals(newOptions.get(Superinstructions)) &&
+                        firstOptions.get(AllocationSiteStats).equals(newOptions.get(AllocationSiteStats)) &&
+                        firstOptions.get(RecursiveDescentParser).equals(newOptions.get(RecursiveDescentParser)) &&
+                        firstOptions.get(LazyParsing).equals(newOptions.get(LazyParsing)) &&
+                        firstOptions.get(ParseCacheSize).equals(newOptions.get(ParseCacheSize));
     }
 
     @Override
     protected SLContext createContext(Env env) {
+        superinstructions = env.getOptions().get(Superinstructions);
+        allocationSiteStats = env.getOptions().get(AllocationSiteStats);
+        recursiveDescentParser = env.getOptions().get(RecursiveDescentParser);
+        lazyParsing = env.getOptions().get(LazyParsing);
+        synchronized (this) {
+            if (parseCache == null) {
+                parseCache = new SLParseCache(env.getOptions().get(ParseCacheSize));
+            }
+        }
         return new SLContext(this, env, new ArrayList<>(EXTERNAL_BUILTINS));
     }
 
     @Override
     protected boolean patchContext(SLContext context, Env newEnv) {
+        superinstructions = newEnv.getOptions().get(Superinstructions);
+        allocationSiteStats = newEnv.getOptions().get(AllocationSiteStats);
+        recursiveDescentParser = newEnv.getOptions().get(RecursiveDescentParser);
+        lazyParsing = newEnv.getOptions().get(LazyParsing);
         context.patchContext(newEnv);
         return true;
     }
 
+    /**
+     * Returns whether the parser emits superinstructions, see {@link #Superinstructions}.
+     */
+    public boolean isSuperinstructions() {
+        return superinstructions;
+    }
+
+    /**
+     * Returns all functions of a source from the {@link SLParseCache} or the {@link SLCodeCache},
+     * or parses them with the parser that is selected by {@link #RecursiveDescentParser}, or
+     * {@link #LazyParsing lazily}. Sources from the code cache are never parsed lazily.
+     */
+    public Map<String, RootCallTarget> parseFunctions(Source source) {
+        return parseCache.get(source, this::parseUncached);
+    }
+
+    private Map<String, RootCallTarget> parseUncached(Source source) {
+        SLCodeCache codeCache = SLContext.get(null).getCodeCache();
+        if (codeCache != null && SLCodeCache.isCacheable(source)) {
+            /* A snapshot contains all functions, so the lazy parser is replaced by an eager one. */
+            return codeCache.get(this, source, recursiveDescentParser || lazyParsing);
+        }
+        if (lazyParsing) {
+            return SLRecursiveDescentParser.parseLazily(this, source);
+        } else if (recursiveDescentParser) {
+            return SLRecursiveDescentParser.parseSL(this, source);
+        }
+        return SimpleLanguageParser.parseSL(this, source);
+    }
+
+    public SLParseCache getParseCache() {
+        return parseCache;
+    }
+
     public RootCallTarget getOrCreateUndefinedFunction(String name) {
         RootCallTarget target = undefinedFunctions.get(name);
         if (target == null) {
@@ -261,6 +510,10 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
         for (int i = 0; i < argumentCount; i++) {
             argumentNodes[i] = new SLReadArgumentNode(i);
         }
+        if (argumentCount > 0 && factory.getNodeClass().isAnnotationPresent(SLBuiltinNode.VarArgs.class)) {
+            /* The last argument is an array of all remaining arguments. */
+            argumentNodes[argumentCount - 1] = new SLReadRemainingArgumentsNode(argumentCount - 1);
+        }
         /* Instantiate the builtin node. This node performs the actual functionality. */
         SLBuiltinNode builtinBodyNode = factory.createNode((Object) argumentNodes);
         builtinBodyNode.addRootTag();
@@ -283,6 +536,22 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
         return newTarget;
     }
 
+    /**
+     * Returns the call target that runs the iterations of a {@link SLParallelLoop parallel loop}
+     * with the given body. Like builtins, the call targets are shared by all contexts.
+     */
+    public RootCallTarget getParallelLoop(RootCallTarget bodyTarget) {
+        RootCallTarget target = parallelLoops.get(bodyTarget);
+        if (target == null) {
+            target = Truffle.getRuntime().createCallTarget(new SLParallelLoopRootNode(this, bodyTarget));
+            RootCallTarget other = parallelLoops.putIfAbsent(bodyTarget, target);
+            if (other != null) {
+                target = other;
+            }
+        }
+        return target;
+    }
+
     public static NodeInfo lookupNodeInfo(Class<?> clazz) {
         if (clazz == null) {
             return null;
@@ -304,7 +573,7 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
          * the functions with the SLContext happens lazily in SLEvalRootNode.
          */
         if (request.getArgumentNames().isEmpty()) {
-            functions = SimpleLanguageParser.parseSL(this, source);
+            functions = parseFunctions(source);
         } else {
             StringBuilder sb = new StringBuilder();
             sb.append("function main(");
@@ -319,7 +588,7 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
             sb.append(";}");
             String language = source.getLanguage() == null ? ID : source.getLanguage();
             Source decoratedSource = Source.newBuilder(language, sb.toString(), source.getName()).build();
-            functions = SimpleLanguageParser.parseSL(this, decoratedSource);
+            functions = parseFunctions(decoratedSource);
         }
 
         RootCallTarget main = functions.get("main");
@@ -369,6 +638,38 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
         return singleContext.isValid();
     }
 
+    /**
+     * SL code can run on several threads of a context at the same time, see {@link SLSharing} for
+     * how objects are shared between threads.
+     */
+    @Override
+    protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreadedAccess) {
+        return true;
+    }
+
+    /**
+     * Called before a second thread starts to use a context. Values that are stored in globals
+     * from now on must be shared, and the values that are already stored are shared now.
+     */
+    @Override
+    protected void initializeMultiThreading(SLContext context) {
+        singleThreaded.invalidate();
+        context.shareGlobals();
+    }
+
+    /**
+     * Returns whether no context of this language was used by more than one thread so far.
+     */
+    public boolean isSingleThreaded() {
+        return singleThreaded.isValid();
+    }
+
+    @Override
+    protected void finalizeContext(SLContext context) {
+        context.shutdownWorker();
+        context.shutdownThreads();
+    }
+
     @Override
     protected Object getLanguageView(SLContext context, Object value) {
         return SLLanguageView.create(value);
@@ -395,20 +696,69 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
     }
 
     public Shape getRootShape() {
-        return rootShape;
+        return getRootShape(SLObjectLayout.DEFAULT);
+    }
+
+    public Shape getRootShape(SLObjectLayout layout) {
+        return rootShapes[layout.ordinal()];
     }
 
     /**
      * Allocate an empty object. All new objects initially have no properties. Properties are added
-     * when they are first stored, i.e., the store triggers a shape change of the object.
+     * when they are first stored, i.e., the store triggers a shape change of the object. The
+     * allocation site chooses the layout of the object.
+     */
+    public SLObject createObject(AllocationReporter reporter, SLAllocationSite site) {
+        reporter.onEnter(null, 0, AllocationReporter.SIZE_UNKNOWN);
+        SLObject object = site.allocate();
+        reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
+        return object;
+    }
+
+    /**
+     * Allocate an empty object with the given layout. This is used by object literals, which know
+     * the number of their properties in advance.
      */
-    public SLObject createObject(AllocationReporter reporter) {
+    public SLObject createObject(AllocationReporter reporter, SLObjectLayout layout) {
         reporter.onEnter(null, 0, AllocationReporter.SIZE_UNKNOWN);
-        SLObject object = new SLObject(rootShape);
+        SLObject object = layout.newObject(getRootShape(layout));
         reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         return object;
     }
 
+    /**
+     * Creates a new allocation site. The description identifies the site in the statistics printed
+     * with {@link #AllocationSiteStats}.
+     */
+    public SLAllocationSite createAllocationSite(String description) {
+        SLAllocationSite site = new SLAllocationSite(this, description, allocationSiteStats);
+        if (allocationSiteStats) {
+            allocationSites.add(site);
+        }
+        return site;
+    }
+
+    @Override
+    protected void disposeContext(SLContext context) {
+        if (context.getEnv().getOptions().get(ParseCacheStats)) {
+            new PrintWriter(context.getEnv().err(), true).println("[sl] parse cache: " + parseCache.getStatistics());
+        }
+        if (context.getEnv().getOptions().get(EvalCacheStats)) {
+            new PrintWriter(context.getEnv().err(), true).println("[sl] eval cache: " + context.getEvalCache().getStatistics());
+        }
+        if (context.getCodeCache() != null && context.getEnv().getOptions().get(CodeCacheStats)) {
+            new PrintWriter(context.getEnv().err(), true).println("[sl] code cache: " + context.getCodeCache().getStatistics());
+        }
+        if (allocationSiteStats) {
+            PrintWriter err = new PrintWriter(context.getEnv().err(), true);
+            synchronized (allocationSites) {
+                for (SLAllocationSite site : allocationSites) {
+                    err.println("[sl] allocation site " + site.getStatistics());
+                }
+            }
+        }
+    }
+
     private static final LanguageReference<SLLanguage> REFERENCE = LanguageReference.create(SLLanguage.class);
 
     public static SLLanguage get(Node node) {
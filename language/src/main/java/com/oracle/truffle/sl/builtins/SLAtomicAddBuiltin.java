@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.builtins;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.sl.SLException;
+import com.oracle.truffle.sl.nodes.util.SLToMemberNode;
+import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLTransfer;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * Builtin function that atomically adds a number to a property of an object, and returns the
+ * previous value of the property. Unlike {@code obj.key = obj.key + delta}, no update of another
+ * thread is lost between the read and the write, see {@link SLObject#updateProperty}. The property
+ * must exist, and the addition follows the rules of the {@code +} operator for numbers.
+ */
+@NodeInfo(shortName = "atomicAdd")
+public abstract class SLAtomicAddBuiltin extends SLBuiltinNode {
+
+    static final int CACHE_LIMIT = 3;
+
+    @Specialization(limit = "CACHE_LIMIT")
+    public Object atomicAdd(SLObject object, Object key, Object delta,
+                    @Cached SLToMemberNode asMember,
+                    @CachedLibrary("object") DynamicObjectLibrary objectLibrary) {
+        if (object.isFrozen()) {
+            throw SLTransfer.frozenError(this);
+        }
+        Object previous;
+        try {
+            previous = object.updateProperty(asMember.execute(key), value -> add(this, value, delta), objectLibrary);
+        } catch (UnknownIdentifierException e) {
+            previous = null;
+        }
+        if (previous == null) {
+            throw SLUndefinedNameException.undefinedProperty(this, key);
+        }
+        return previous;
+    }
+
+    /**
+     * Adds two numbers. Counters are usually small {@code long} values, so only the overflow and
+     * the other number types are handled behind a boundary.
+     */
+    static Object add(Node node, Object value, Object delta) {
+        if (value instanceof Long && delta instanceof Long) {
+            long left = (long) value;
+            long right = (long) delta;
+            long result = left + right;
+            if (((left ^ result) & (right ^ result)) < 0) {
+                return SLInt128.add(left, right);
+            }
+            return result;
+        }
+        return addGeneric(node, value, delta);
+    }
+
+    @TruffleBoundary
+    private static Object addGeneric(Node node, Object value, Object delta) {
+        if (isNumber(value) && isNumber(delta)) {
+            if (value instanceof Double || delta instanceof Double) {
+                return toDouble(value) + toDouble(delta);
+            }
+            return SLBigNumber.normalize(toBigInteger(value).add(toBigInteger(delta)));
+        }
+        throw SLException.typeError(node, value, delta);
+    }
+
+    private static boolean isNumber(Object value) {
+        return value instanceof Long || value instanceof Double || value instanceof SLInt128 || value instanceof SLBigNumber;
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Long) {
+            return (long) value;
+        } else if (value instanceof Double) {
+            return (double) value;
+        }
+        return toBigInteger(value).doubleValue();
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof Long) {
+            return BigInteger.valueOf((long) value);
+        } else if (value instanceof SLInt128) {
+            return ((SLInt128) value).toBigInteger();
+        }
+        return ((SLBigNumber) value).getValue();
+    }
+}
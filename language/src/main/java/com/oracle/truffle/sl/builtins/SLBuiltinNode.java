@@ -40,6 +40,11 @@
  */
 package com.oracle.truffle.sl.builtins;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
@@ -87,4 +92,13 @@ public abstract class SLBuiltinNode extends SLExpressionNode {
     }
 
     protected abstract Object execute(VirtualFrame frame);
+
+    /**
+     * Marks a builtin that takes a variable number of arguments. The last argument of its
+     * specializations is an {@code Object[]} with all remaining arguments of the call.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface VarArgs {
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.builtins;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.sl.nodes.expression.SLEqualNode;
+import com.oracle.truffle.sl.nodes.util.SLToMemberNode;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLTransfer;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * Builtin function that atomically replaces the value of a property of an object if it is equal
+ * to an expected value, see {@link SLObject#updateProperty}. Returns whether the property was
+ * replaced. Values are compared like with the {@code ==} operator, so numbers are compared by
+ * value and objects by identity. The property must exist.
+ */
+@NodeInfo(shortName = "compareAndSet")
+public abstract class SLCompareAndSetBuiltin extends SLBuiltinNode {
+
+    static final int CACHE_LIMIT = 3;
+
+    @Specialization(limit = "CACHE_LIMIT")
+    public boolean compareAndSet(SLObject object, Object key, Object expected, Object update,
+                    @Cached SLToMemberNode asMember,
+                    @CachedLibrary("object") DynamicObjectLibrary objectLibrary) {
+        if (object.isFrozen()) {
+            throw SLTransfer.frozenError(this);
+        }
+        Object previous;
+        try {
+            previous = object.updateProperty(asMember.execute(key), current -> isEqual(current, expected) ? update : current, objectLibrary);
+        } catch (UnknownIdentifierException e) {
+            previous = null;
+        }
+        if (previous == null) {
+            throw SLUndefinedNameException.undefinedProperty(this, key);
+        }
+        return isEqual(previous, expected);
+    }
+
+    static boolean isEqual(Object value, Object expected) {
+        if (value == expected) {
+            return true;
+        } else if (value instanceof Long && expected instanceof Long) {
+            return (long) value == (long) expected;
+        }
+        return isEqualGeneric(value, expected);
+    }
+
+    @TruffleBoundary
+    private static boolean isEqualGeneric(Object value, Object expected) {
+        return SLEqualNode.isEqual(value, expected, InteropLibrary.getUncached(value), InteropLibrary.getUncached(expected));
+    }
+}
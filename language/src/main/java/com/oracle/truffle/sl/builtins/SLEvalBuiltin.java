@@ -40,6 +40,9 @@
  */
 package com.oracle.truffle.sl.builtins;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -47,7 +50,9 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
 import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLLruCache;
 
 /**
  * Builtin function to evaluate source code in any supported language.
@@ -55,6 +60,10 @@ import com.oracle.truffle.sl.runtime.SLContext;
  * The call target is cached against the language id and the source code, so that if they are the
  * same each time then a direct call will be made to a cached AST, allowing it to be compiled and
  * possibly inlined.
+ * <p>
+ * A call site that sees more than {@link #LIMIT} different snippets falls back to the uncached
+ * specialization. It looks the call target up in the eval cache of the context, see
+ * {@link SLLanguage#EvalCacheSize}, so only snippets that are not in the cache are parsed.
  */
 @NodeInfo(shortName = "eval")
 @SuppressWarnings("unused")
@@ -73,7 +82,13 @@ public abstract class SLEvalBuiltin extends SLBuiltinNode {
     @TruffleBoundary
     @Specialization(replaces = "evalCached")
     public Object evalUncached(String id, String code) {
-        return parse(id, code).call();
+        SLLruCache<List<String>, CallTarget> cache = SLContext.get(this).getEvalCache();
+        List<String> key = Arrays.asList(id, code);
+        CallTarget target = cache.get(key);
+        if (target == null) {
+            target = cache.putIfAbsent(key, parse(id, code));
+        }
+        return target.call();
     }
 
     protected CallTarget parse(String id, String code) {
@@ -51,12 +51,18 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.expression.SLDirectInvokeNode;
+import com.oracle.truffle.sl.runtime.SLAllocationSite;
 import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLNull;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
 /**
  * Built-in function to create a new object. Objects in SL are simply made up of name/value pairs.
+ * <p>
+ * Calls of {@code new()} by name do not call this builtin, but allocate the object directly with
+ * the {@link SLAllocationSite} of the call, see {@link SLDirectInvokeNode}. All other calls share
+ * the allocation site of the builtin.
  */
 @NodeInfo(shortName = "new")
 @ImportStatic(SLContext.class)
@@ -65,8 +71,13 @@ public abstract class SLNewObjectBuiltin extends SLBuiltinNode {
     @Specialization
     @SuppressWarnings("unused")
     public Object newObject(SLNull o,
-                    @Cached("lookup()") AllocationReporter reporter) {
-        return SLLanguage.get(this).createObject(reporter);
+                    @Cached("lookup()") AllocationReporter reporter,
+                    @Cached("createAllocationSite()") SLAllocationSite site) {
+        return SLLanguage.get(this).createObject(reporter, site);
+    }
+
+    final SLAllocationSite createAllocationSite() {
+        return SLLanguage.get(this).createAllocationSite("new (indirect calls)");
     }
 
     final AllocationReporter lookup() {
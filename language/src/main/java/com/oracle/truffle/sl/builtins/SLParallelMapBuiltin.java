@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.builtins;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLParallelLoop;
+
+/**
+ * Builtin function that calls a function for each element of an array and returns a new array
+ * with the results, e.g., {@code parallelMap(a, function(x) { return x * x; })}. Like
+ * {@link SLParallelForBuiltin parallelFor}, the calls are split between the calling thread and the
+ * threads of the pool, and run in no particular order.
+ */
+@NodeInfo(shortName = "parallelMap")
+public abstract class SLParallelMapBuiltin extends SLBuiltinNode {
+
+    static final int CACHE_LIMIT = 3;
+
+    @Specialization(guards = "function.getCallTarget() == cachedTarget", limit = "CACHE_LIMIT")
+    public SLArray parallelMap(SLArray array, SLFunction function,
+                    @Cached("function.getCallTarget()") RootCallTarget cachedTarget,
+                    @Cached("getLoop(cachedTarget)") RootCallTarget loopTarget,
+                    @Cached("create(loopTarget)") DirectCallNode loopNode) {
+        SLParallelLoop loop = SLParallelLoop.forArray(function, array);
+        loop.start(this, loopTarget);
+        try {
+            loopNode.call(loop);
+        } catch (Throwable t) {
+            loop.fail(t);
+        }
+        loop.join(this);
+        return loop.createResultArray();
+    }
+
+    @Specialization(replaces = "parallelMap")
+    public SLArray parallelMapGeneric(SLArray array, SLFunction function,
+                    @Cached IndirectCallNode loopNode) {
+        RootCallTarget loopTarget = getLoop(function.getCallTarget());
+        SLParallelLoop loop = SLParallelLoop.forArray(function, array);
+        loop.start(this, loopTarget);
+        try {
+            loopNode.call(loopTarget, loop);
+        } catch (Throwable t) {
+            loop.fail(t);
+        }
+        loop.join(this);
+        return loop.createResultArray();
+    }
+
+    RootCallTarget getLoop(RootCallTarget bodyTarget) {
+        return SLLanguage.get(this).getParallelLoop(bodyTarget);
+    }
+}
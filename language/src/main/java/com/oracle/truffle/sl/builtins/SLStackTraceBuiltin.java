@@ -53,6 +53,7 @@ import com.oracle.truffle.api.frame.FrameInstanceVisitor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
 
 /**
  * Returns a string representation of the current stack. This includes the {@link CallTarget}s and
@@ -82,6 +83,10 @@ public abstract class SLStackTraceBuiltin extends SLBuiltinNode {
                 CallTarget callTarget = frameInstance.getCallTarget();
                 Frame frame = frameInstance.getFrame(FrameAccess.READ_ONLY);
                 RootNode rn = ((RootCallTarget) callTarget).getRootNode();
+                // skip the placeholder of a function whose body was parsed by this call
+                if (rn instanceof SLLazyFunctionRootNode) {
+                    return null;
+                }
                 // ignore internal or interop stack frames
                 if (rn.isInternal() || rn.getLanguageInfo() == null) {
                     return 1;
@@ -92,6 +97,10 @@ public abstract class SLStackTraceBuiltin extends SLBuiltinNode {
                 str.append("Frame: ").append(rn.toString());
                 FrameDescriptor frameDescriptor = frame.getFrameDescriptor();
                 for (FrameSlot s : frameDescriptor.getSlots()) {
+                    if (!(s.getIdentifier() instanceof String)) {
+                        // ignore internal slots that are not local variables
+                        continue;
+                    }
                     str.append(", ").append(s.getIdentifier()).append("=").append(frame.getValue(s));
                 }
                 return null;
@@ -51,6 +51,8 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallDispatchNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
 import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLNull;
 
@@ -71,6 +73,7 @@ public final class SLEvalRootNode extends RootNode {
     @CompilationFinal private boolean registered;
 
     @Child private DirectCallNode mainCallNode;
+    @Child private SLTailCallDispatchNode tailCallNode;
     private final SLLanguage language;
 
     public SLEvalRootNode(SLLanguage language, RootCallTarget rootFunction, Map<String, RootCallTarget> functions) {
@@ -132,7 +135,15 @@ public final class SLEvalRootNode extends RootNode {
             for (int i = 0; i < arguments.length; i++) {
                 arguments[i] = SLContext.fromForeignValue(arguments[i]);
             }
-            return mainCallNode.call(arguments);
+            try {
+                return mainCallNode.call(arguments);
+            } catch (SLTailCallException ex) {
+                if (tailCallNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    tailCallNode = insert(SLTailCallDispatchNode.create());
+                }
+                return tailCallNode.executeTailCall(ex);
+            }
         }
     }
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes;
+
+import java.util.function.Supplier;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLFunction;
+
+/**
+ * The initial {@link RootNode} of {@link SLFunction functions} whose body is not parsed yet, see
+ * {@link SLLanguage#LazyParsing}. Like the {@link SLUndefinedFunctionRootNode}, it is a placeholder
+ * that is replaced when the function is defined: the first execution parses the body and builds
+ * its AST, and then installs the call target of the parsed function in the function registry of
+ * the context. Later calls go to the parsed function directly.
+ * <p>
+ * The parsed function is shared by all contexts that share this root node, so the body is parsed
+ * only once. A context that calls the function for the first time still executes this node, which
+ * then calls the parsed function. The node is internal, so it does not show up in stack traces.
+ */
+public final class SLLazyFunctionRootNode extends SLRootNode {
+
+    /** Parses the body. It is released when the function is parsed. */
+    private Supplier<RootCallTarget> parser;
+    @CompilationFinal private volatile RootCallTarget parsedFunction;
+    @Child private IndirectCallNode callNode = IndirectCallNode.create();
+
+    public SLLazyFunctionRootNode(SLLanguage language, SourceSection sourceSection, String name, Supplier<RootCallTarget> parser) {
+        super(language, null, null, sourceSection, name);
+        this.parser = parser;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        RootCallTarget target = parsedFunction;
+        if (target == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            target = parse();
+        }
+        install(target);
+        return callNode.call(target, frame.getArguments());
+    }
+
+    @Override
+    public boolean isInternal() {
+        return true;
+    }
+
+    /**
+     * Parses the body unless another thread did it already. A syntax error is thrown to the caller,
+     * and the next call tries again.
+     */
+    @TruffleBoundary
+    private synchronized RootCallTarget parse() {
+        if (parsedFunction == null) {
+            parsedFunction = parser.get();
+            parser = null;
+        }
+        return parsedFunction;
+    }
+
+    @TruffleBoundary
+    private void install(RootCallTarget target) {
+        SLContext.get(this).getFunctionRegistry().replaceLazyFunction(getName(), getCallTarget(), target);
+    }
+}
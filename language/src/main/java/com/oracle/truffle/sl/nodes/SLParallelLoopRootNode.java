@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallDispatchNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
+import com.oracle.truffle.sl.runtime.SLNull;
+import com.oracle.truffle.sl.runtime.SLParallelLoop;
+
+/**
+ * Runs chunks of the iterations of a {@link SLParallelLoop parallel loop} until no iterations are
+ * left. The only argument is the {@link SLParallelLoop}. The calling thread and all threads of the
+ * pool that help with the loop execute this root node.
+ * <p>
+ * There is one root node per call target of the loop body, created by
+ * {@link SLLanguage#getParallelLoop}. The body is called through a {@link DirectCallNode}, so the
+ * compiled loop inlines the body, and the builtin that starts the loop calls this root node
+ * through a {@link DirectCallNode} as well.
+ */
+public final class SLParallelLoopRootNode extends RootNode {
+
+    @Child private DirectCallNode callNode;
+    @Child private SLTailCallDispatchNode tailCallNode = SLTailCallDispatchNode.create();
+
+    public SLParallelLoopRootNode(SLLanguage language, RootCallTarget bodyTarget) {
+        super(language);
+        this.callNode = DirectCallNode.create(bodyTarget);
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        SLParallelLoop loop = (SLParallelLoop) frame.getArguments()[0];
+        long count = loop.getCount();
+        long iterations = 0;
+        while (true) {
+            long size = loop.getChunkSize();
+            long start = loop.claim(size);
+            if (start >= count) {
+                break;
+            }
+            long end = Math.min(start + size, count);
+            long startTime = nanoTime();
+            for (long i = start; i < end; i++) {
+                loop.setResult(i, call(loop.createArguments(i)));
+            }
+            loop.recordChunk(end - start, nanoTime() - startTime);
+            iterations += end - start;
+        }
+        LoopNode.reportLoopCount(this, (int) Math.min(iterations, Integer.MAX_VALUE));
+        return SLNull.SINGLETON;
+    }
+
+    private Object call(Object[] arguments) {
+        try {
+            return callNode.call(arguments);
+        } catch (SLTailCallException ex) {
+            return tailCallNode.executeTailCall(ex);
+        }
+    }
+
+    @TruffleBoundary
+    private static long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public boolean isInternal() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "parallel loop";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
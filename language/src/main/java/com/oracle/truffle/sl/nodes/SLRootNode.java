@@ -77,6 +77,12 @@ public class SLRootNode extends RootNode {
 
     private boolean isCloningAllowed;
 
+    /**
+     * Whether this is the root of a lambda expression, whose closures pass their environment as
+     * the first argument.
+     */
+    private boolean isLambda;
+
     private final SourceSection sourceSection;
 
     @CompilerDirectives.CompilationFinal(dimensions = 1) private volatile SLWriteLocalVariableNode[] argumentNodesCache;
@@ -117,6 +123,18 @@ public class SLRootNode extends RootNode {
         return isCloningAllowed;
     }
 
+    public void setLambda() {
+        this.isLambda = true;
+    }
+
+    /**
+     * Returns the index of the first declared argument in the {@link VirtualFrame#getArguments()
+     * arguments} of the frame.
+     */
+    public int getArgumentOffset() {
+        return isLambda ? 1 : 0;
+    }
+
     @Override
     public String toString() {
         return "root " + name;
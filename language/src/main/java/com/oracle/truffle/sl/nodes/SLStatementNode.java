@@ -52,6 +52,8 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.nodes.controlflow.SLReturnException;
+import com.oracle.truffle.sl.nodes.controlflow.SLReturnNode;
 import com.oracle.truffle.sl.nodes.local.SLScopedNode;
 
 /**
@@ -165,6 +167,23 @@ public abstract class SLStatementNode extends SLScopedNode implements Instrument
      */
     public abstract void executeVoid(VirtualFrame frame);
 
+    /**
+     * Execute this node as the last statement of a function body. A {@link SLReturnNode return
+     * statement} executed this way returns its value instead of throwing a
+     * {@link SLReturnException}. Statements that can contain a return statement in tail position
+     * forward this call to it. All other statements are executed as usual.
+     * <p>
+     * The method name intentionally does not start with {@code execute}: instrumentation wrappers
+     * therefore do not forward it, and an instrumented return statement still exits the function
+     * with an exception, exactly as seen by tools before.
+     *
+     * @return the return value, or {@code null} if no return statement was executed.
+     */
+    public Object evaluateResult(VirtualFrame frame) {
+        executeVoid(frame);
+        return null;
+    }
+
     /**
      * Marks this node as being a {@link StandardTags.StatementTag} for instrumentation purposes.
      */
@@ -49,6 +49,8 @@ import com.oracle.truffle.api.dsl.TypeCheck;
 import com.oracle.truffle.api.dsl.TypeSystem;
 import com.oracle.truffle.sl.SLLanguage;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLConcatString;
+import com.oracle.truffle.sl.runtime.SLInt128;
 import com.oracle.truffle.sl.runtime.SLNull;
 
 /**
@@ -57,7 +59,7 @@ import com.oracle.truffle.sl.runtime.SLNull;
  * conversion methods for some types. In this class, we only cover types where the automatically
  * generated ones would not be sufficient.
  */
-@TypeSystem({long.class, boolean.class})
+@TypeSystem({long.class, double.class, boolean.class})
 public abstract class SLTypes {
 
     /**
@@ -94,4 +96,46 @@ public abstract class SLTypes {
     public static SLBigNumber castBigNumber(long value) {
         return new SLBigNumber(BigInteger.valueOf(value));
     }
+
+    /**
+     * Informs the Truffle DSL that a primitive {@code long} value can be used in all
+     * specializations where a {@code double} is expected, e.g., when adding an integer number to a
+     * floating point number. Integer specializations are always declared first, so an operation on
+     * two {@code long} values never becomes a floating point operation.
+     */
+    @ImplicitCast
+    public static double castDouble(long value) {
+        return value;
+    }
+
+    /**
+     * Informs the Truffle DSL that a primitive {@code long} value can be used in all
+     * specializations where a {@link SLInt128} is expected. Unlike the conversion to
+     * {@link SLBigNumber}, this conversion is cheap and does not need a boundary.
+     */
+    @ImplicitCast
+    public static SLInt128 castInt128(long value) {
+        return SLInt128.valueOf(value);
+    }
+
+    /**
+     * Informs the Truffle DSL that a {@link SLInt128} value can be used in all specializations
+     * where a {@link SLBigNumber} is expected, i.e., when the 128-bit arithmetic overflows.
+     */
+    @ImplicitCast
+    @TruffleBoundary
+    public static SLBigNumber castBigNumber(SLInt128 value) {
+        return new SLBigNumber(value.toBigInteger());
+    }
+
+    /**
+     * Informs the Truffle DSL that a {@link SLConcatString rope} can be used in all specializations
+     * where a {@link String} is expected, e.g., for builtins with string parameters or for property
+     * names in {@code SLToMemberNode}. The rope is flattened by the cast. Nodes that can handle
+     * ropes without flattening need to declare their rope specializations first.
+     */
+    @ImplicitCast
+    public static String castString(SLConcatString value) {
+        return value.toString();
+    }
 }
@@ -108,6 +108,19 @@ public final class SLBlockNode extends SLStatementNode implements BlockNode.Elem
         }
     }
 
+    /**
+     * Execute all block statements, the last one {@link SLStatementNode#evaluateResult with a
+     * result}. The block node calls {@link #executeGeneric(VirtualFrame, SLStatementNode, int, int)}
+     * for the last statement.
+     */
+    @Override
+    public Object evaluateResult(VirtualFrame frame) {
+        if (this.block != null) {
+            return this.block.executeGeneric(frame, BlockNode.NO_ARGUMENT);
+        }
+        return null;
+    }
+
     public List<SLStatementNode> getStatements() {
         if (block == null) {
             return Collections.emptyList();
@@ -129,6 +142,11 @@ public final class SLBlockNode extends SLStatementNode implements BlockNode.Elem
         node.executeVoid(frame);
     }
 
+    @Override
+    public Object executeGeneric(VirtualFrame frame, SLStatementNode node, int index, int argument) {
+        return node.evaluateResult(frame);
+    }
+
     /**
      * All declared local variables accessible in this block. Variables declared in parent blocks
      * are included.
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.controlflow;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLStatementNode;
+
+/**
+ * The counted loop {@code for (i = from; i < limit; i = i + step) body}. Unlike a {@code while}
+ * loop, the limit and the step are evaluated only once, before the first iteration. They are stored
+ * in frame slots that are not visible to the program, so that the {@link SLForRepeatingNode loop}
+ * can run entirely on primitive {@code long} values, also after on-stack replacement. If they are
+ * not {@code long} values, the loop switches to its {@link SLForRepeatingNode#isGeneric() generic}
+ * form.
+ * <p>
+ * If the update has another form than {@code i = i + step} or {@code i = i - step}, there is no
+ * step, and the update is evaluated in every iteration, like in a {@code while} loop.
+ */
+@NodeInfo(shortName = "for", description = "The node implementing a counted for loop")
+public final class SLForNode extends SLStatementNode {
+
+    /** The assignment of the initial value to the loop variable. */
+    @Child private SLExpressionNode initNode;
+    @Child private SLExpressionNode limitNode;
+    @Child private SLExpressionNode stepNode;
+    @Child private LoopNode loopNode;
+
+    private final FrameSlot limitSlot;
+    private final FrameSlot stepSlot;
+
+    public SLForNode(SLExpressionNode initNode, SLExpressionNode limitNode, SLExpressionNode stepNode, FrameSlot limitSlot, FrameSlot stepSlot, SLForRepeatingNode repeatingNode) {
+        this.initNode = initNode;
+        this.limitNode = limitNode;
+        this.stepNode = stepNode;
+        this.limitSlot = limitSlot;
+        this.stepSlot = stepSlot;
+        this.loopNode = Truffle.getRuntime().createLoopNode(repeatingNode);
+    }
+
+    @Override
+    public void executeVoid(VirtualFrame frame) {
+        initNode.executeVoid(frame);
+        evaluate(frame, limitNode, limitSlot);
+        if (stepNode != null) {
+            evaluate(frame, stepNode, stepSlot);
+        }
+        loopNode.execute(frame);
+    }
+
+    private void evaluate(VirtualFrame frame, SLExpressionNode node, FrameSlot slot) {
+        SLForRepeatingNode repeatingNode = (SLForRepeatingNode) loopNode.getRepeatingNode();
+        if (repeatingNode.isGeneric()) {
+            frame.setObject(slot, node.executeGeneric(frame));
+            return;
+        }
+        try {
+            frame.setLong(slot, node.executeLong(frame));
+        } catch (UnexpectedResultException ex) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            repeatingNode.generalize(frame);
+            frame.setObject(slot, ex.getResult());
+        }
+    }
+}
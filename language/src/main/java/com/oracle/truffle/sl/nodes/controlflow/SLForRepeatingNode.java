@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.controlflow;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.RepeatingNode;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLStatementNode;
+import com.oracle.truffle.sl.nodes.local.SLFusedLocalNode;
+import com.oracle.truffle.sl.runtime.SLInt128;
+
+/**
+ * The loop of a {@link SLForNode counted for loop}. The loop variable, the limit and the step are
+ * all kept in {@code long} frame slots, and the condition and the update are computed directly on
+ * these values, without going through the generic local variable and arithmetic nodes.
+ * <p>
+ * The loop variable is read from its slot in every iteration, so the body may modify it. If adding
+ * the step overflows, the exact value is stored in the loop variable and the loop ends.
+ * <p>
+ * If the loop variable, the limit or the step is not a {@code long}, e.g., a {@code double}, the
+ * loop switches to its {@link #isGeneric() generic} form for all further executions, like a
+ * {@link SLFusedLocalNode superinstruction} that falls back to its original nodes. The generic form
+ * evaluates the condition and the update with the same nodes as the equivalent {@code while} loop,
+ * so it handles all values exactly like them. A loop whose update is not of the form
+ * {@code i = i + step} or {@code i = i - step} only has the generic form.
+ */
+@NodeInfo(shortName = "for")
+public final class SLForRepeatingNode extends Node implements RepeatingNode {
+
+    /** The comparison between the loop variable and the limit. */
+    public enum Comparison {
+        LESS_THAN,
+        LESS_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_OR_EQUAL
+    }
+
+    @Child private SLStatementNode bodyNode;
+    /** The comparison of the loop variable with the limit slot, used by the generic form. */
+    @Child private SLExpressionNode conditionNode;
+    /** The assignment to the loop variable, used by the generic form. */
+    @Child private SLExpressionNode updateNode;
+
+    private final FrameSlot variableSlot;
+    private final FrameSlot limitSlot;
+    private final FrameSlot stepSlot;
+    private final Comparison comparison;
+    /** Whether the step is subtracted, i.e., the update is {@code i = i - step}. */
+    private final boolean decrement;
+
+    @CompilationFinal private boolean generic;
+
+    private final BranchProfile continueTaken = BranchProfile.create();
+    private final BranchProfile breakTaken = BranchProfile.create();
+
+    /**
+     * Creates the loop. Without a {@code stepSlot}, the update is not a counted one, and the loop
+     * is generic from the start.
+     */
+    public SLForRepeatingNode(FrameSlot variableSlot, FrameSlot limitSlot, FrameSlot stepSlot, Comparison comparison, boolean decrement, SLExpressionNode conditionNode,
+                    SLExpressionNode updateNode, SLStatementNode bodyNode) {
+        this.variableSlot = variableSlot;
+        this.limitSlot = limitSlot;
+        this.stepSlot = stepSlot;
+        this.comparison = comparison;
+        this.decrement = decrement;
+        this.conditionNode = conditionNode;
+        this.updateNode = updateNode;
+        this.bodyNode = bodyNode;
+        this.generic = stepSlot == null;
+    }
+
+    /**
+     * Returns whether the loop uses the generic nodes instead of {@code long} arithmetic. The limit
+     * and the step are then stored as objects.
+     */
+    public boolean isGeneric() {
+        return generic;
+    }
+
+    /**
+     * Switches to the generic form of the loop for all further executions.
+     */
+    public void generalize(VirtualFrame frame) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        generic = true;
+        /* Later executions of the for node store the limit and the step as objects. */
+        frame.getFrameDescriptor().setFrameSlotKind(limitSlot, FrameSlotKind.Object);
+        frame.getFrameDescriptor().setFrameSlotKind(stepSlot, FrameSlotKind.Object);
+    }
+
+    @Override
+    public boolean executeRepeating(VirtualFrame frame) {
+        if (generic) {
+            return executeGeneric(frame);
+        }
+        if (!isLongVariable(frame)) {
+            generalize(frame);
+            return executeGeneric(frame);
+        }
+        if (!compare(readVariable(frame), FrameUtil.getLongSafe(frame, limitSlot))) {
+            return false;
+        }
+
+        if (!executeBody(frame)) {
+            return false;
+        }
+
+        if (!isLongVariable(frame)) {
+            /* The body wrote a value that is not a long to the loop variable. */
+            generalize(frame);
+            updateNode.executeVoid(frame);
+            return true;
+        }
+        long value = readVariable(frame);
+        long step = FrameUtil.getLongSafe(frame, stepSlot);
+        try {
+            writeVariable(frame, decrement ? Math.subtractExact(value, step) : Math.addExact(value, step));
+            return true;
+        } catch (ArithmeticException ex) {
+            CompilerDirectives.transferToInterpreter();
+            writeOverflow(frame, decrement ? SLInt128.sub(value, step) : SLInt128.add(value, step));
+            return false;
+        }
+    }
+
+    private boolean executeGeneric(VirtualFrame frame) {
+        if (!evaluateCondition(frame)) {
+            return false;
+        }
+        if (!executeBody(frame)) {
+            return false;
+        }
+        updateNode.executeVoid(frame);
+        return true;
+    }
+
+    /**
+     * Executes the body, and returns false if the loop ends with a {@code break}.
+     */
+    private boolean executeBody(VirtualFrame frame) {
+        try {
+            bodyNode.executeVoid(frame);
+        } catch (SLContinueException ex) {
+            continueTaken.enter();
+            /* Fall through to the update of the loop variable. */
+        } catch (SLBreakException ex) {
+            breakTaken.enter();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean evaluateCondition(VirtualFrame frame) {
+        try {
+            return conditionNode.executeBoolean(frame);
+        } catch (UnexpectedResultException ex) {
+            throw new UnsupportedSpecializationException(this, new Node[]{conditionNode}, ex.getResult());
+        }
+    }
+
+    private boolean compare(long value, long limit) {
+        switch (comparison) {
+            case LESS_THAN:
+                return value < limit;
+            case LESS_OR_EQUAL:
+                return value <= limit;
+            case GREATER_THAN:
+                return value > limit;
+            case GREATER_OR_EQUAL:
+                return value >= limit;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private boolean isLongVariable(VirtualFrame frame) {
+        /* If the body wrote to the loop variable, the slot may no longer be a long slot. */
+        return frame.isLong(variableSlot) || frame.getValue(variableSlot) instanceof Long;
+    }
+
+    private long readVariable(VirtualFrame frame) {
+        if (frame.isLong(variableSlot)) {
+            return FrameUtil.getLongSafe(frame, variableSlot);
+        }
+        return (long) frame.getValue(variableSlot);
+    }
+
+    private void writeVariable(VirtualFrame frame, long value) {
+        if (frame.getFrameDescriptor().getFrameSlotKind(variableSlot) == FrameSlotKind.Long) {
+            frame.setLong(variableSlot, value);
+        } else {
+            frame.setObject(variableSlot, value);
+        }
+    }
+
+    private void writeOverflow(VirtualFrame frame, Object value) {
+        frame.getFrameDescriptor().setFrameSlotKind(variableSlot, FrameSlotKind.Object);
+        frame.setObject(variableSlot, value);
+    }
+
+    @Override
+    public String toString() {
+        return SLStatementNode.formatSourceSection(this);
+    }
+}
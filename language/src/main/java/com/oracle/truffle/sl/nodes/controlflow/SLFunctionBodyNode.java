@@ -46,6 +46,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
 import com.oracle.truffle.sl.nodes.SLRootNode;
 import com.oracle.truffle.sl.nodes.SLStatementNode;
+import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLNull;
 
 /**
@@ -54,6 +55,16 @@ import com.oracle.truffle.sl.runtime.SLNull;
  * statement} throws an {@link SLReturnException exception} with the return value. This node catches
  * the exception. If the method ends without an explicit {@code return}, return the
  * {@link SLNull#SINGLETON default null value}.
+ * <p>
+ * If the body ends with a return statement, the body is {@link SLStatementNode#evaluateResult
+ * executed with a result}: the return statements in tail position then just return their value,
+ * and the exception is only thrown by return statements that are nested inside loops or that are
+ * followed by other statements.
+ * <p>
+ * A {@link SLTailCallException tail call} of the function to itself is also handled here: the
+ * arguments of the tail call replace the arguments of the current frame, and the body is executed
+ * again. A recursive function in tail position therefore becomes a loop that reuses its frame. All
+ * other tail calls are propagated to the {@link SLTailCallDispatchNode trampoline} of the caller.
  */
 @NodeInfo(shortName = "body")
 public final class SLFunctionBodyNode extends SLExpressionNode {
@@ -61,41 +72,80 @@ public final class SLFunctionBodyNode extends SLExpressionNode {
     /** The body of the function. */
     @Child private SLStatementNode bodyNode;
 
+    /** Whether the body can end with a return statement in tail position. */
+    private final boolean hasTailReturn;
+
     /**
      * Profiling information, collected by the interpreter, capturing whether the function had an
      * {@link SLReturnNode explicit return statement}. This allows the compiler to generate better
      * code.
      */
     private final BranchProfile exceptionTaken = BranchProfile.create();
+    private final BranchProfile resultTaken = BranchProfile.create();
     private final BranchProfile nullTaken = BranchProfile.create();
+    private final BranchProfile selfTailCallTaken = BranchProfile.create();
 
-    public SLFunctionBodyNode(SLStatementNode bodyNode) {
+    public SLFunctionBodyNode(SLStatementNode bodyNode, boolean hasTailReturn) {
         this.bodyNode = bodyNode;
+        this.hasTailReturn = hasTailReturn;
         addRootTag();
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
-        try {
-            /* Execute the function body. */
-            bodyNode.executeVoid(frame);
+        while (true) {
+            try {
+                /* Execute the function body. */
+                if (hasTailReturn) {
+                    Object result = bodyNode.evaluateResult(frame);
+                    if (result != null) {
+                        /* A return statement in tail position returned the value directly. */
+                        resultTaken.enter();
+                        return result;
+                    }
+                } else {
+                    bodyNode.executeVoid(frame);
+                }
+
+            } catch (SLReturnException ex) {
+                /*
+                 * In the interpreter, record profiling information that the function has an
+                 * explicit return.
+                 */
+                exceptionTaken.enter();
+                /* The exception transports the actual return value. */
+                return ex.getResult();
+
+            } catch (SLTailCallException ex) {
+                if (!isSelfCall(frame, ex)) {
+                    throw ex;
+                }
+                selfTailCallTaken.enter();
+                /* Reuse the frame: the argument nodes at the start of the body read the new values. */
+                Object[] arguments = ex.getFunction().createArguments(ex.getArguments());
+                System.arraycopy(arguments, 0, frame.getArguments(), 0, arguments.length);
+                continue;
+            }
 
-        } catch (SLReturnException ex) {
             /*
-             * In the interpreter, record profiling information that the function has an explicit
-             * return.
+             * In the interpreter, record profiling information that the function ends without an
+             * explicit return.
              */
-            exceptionTaken.enter();
-            /* The exception transports the actual return value. */
-            return ex.getResult();
+            nullTaken.enter();
+            /* Return the default null value. */
+            return SLNull.SINGLETON;
         }
+    }
 
-        /*
-         * In the interpreter, record profiling information that the function ends without an
-         * explicit return.
-         */
-        nullTaken.enter();
-        /* Return the default null value. */
-        return SLNull.SINGLETON;
+    /**
+     * A tail call can only reuse the frame if it calls this function with the same number of
+     * arguments, because the arguments array of a frame cannot be replaced. The environment of a
+     * closure is passed as an additional argument, so a tail call of another closure of the same
+     * lambda expression replaces the captured values as well.
+     */
+    private boolean isSelfCall(VirtualFrame frame, SLTailCallException ex) {
+        SLFunction function = ex.getFunction();
+        int argumentCount = ex.getArguments().length + (function.getEnvironment() == null ? 0 : 1);
+        return function.getCallTarget() == getRootNode().getCallTarget() && argumentCount == frame.getArguments().length;
     }
 }
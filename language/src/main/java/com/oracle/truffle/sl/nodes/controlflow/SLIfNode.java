@@ -97,6 +97,26 @@ public final class SLIfNode extends SLStatementNode {
         }
     }
 
+    public SLStatementNode getThenPart() {
+        return thenPartNode;
+    }
+
+    public SLStatementNode getElsePart() {
+        return elsePartNode;
+    }
+
+    @Override
+    public Object evaluateResult(VirtualFrame frame) {
+        if (condition.profile(evaluateCondition(frame))) {
+            return thenPartNode.evaluateResult(frame);
+        } else {
+            if (elsePartNode != null) {
+                return elsePartNode.evaluateResult(frame);
+            }
+            return null;
+        }
+    }
+
     private boolean evaluateCondition(VirtualFrame frame) {
         try {
             /*
@@ -52,6 +52,10 @@ import com.oracle.truffle.sl.runtime.SLNull;
  * method we are exiting. This is done by throwing an {@link SLReturnException exception} that is
  * caught by the {@link SLFunctionBodyNode#executeGeneric function body}. The exception transports
  * the return value.
+ * <p>
+ * A return statement in tail position of the function body, i.e., a statement after which the
+ * function ends anyway, is {@link SLStatementNode#evaluateResult executed with a result} instead
+ * and does not throw an exception.
  */
 @NodeInfo(shortName = "return", description = "The node implementing a return statement")
 public final class SLReturnNode extends SLStatementNode {
@@ -64,15 +68,22 @@ public final class SLReturnNode extends SLStatementNode {
 
     @Override
     public void executeVoid(VirtualFrame frame) {
-        Object result;
+        throw new SLReturnException(evaluateResult(frame));
+    }
+
+    /**
+     * A return statement in tail position of the function body does not need to unwind any
+     * frames, so the value is just returned to the {@link SLFunctionBodyNode}.
+     */
+    @Override
+    public Object evaluateResult(VirtualFrame frame) {
         if (valueNode != null) {
-            result = valueNode.executeGeneric(frame);
+            return valueNode.executeGeneric(frame);
         } else {
             /*
              * Return statement that was not followed by an expression, so return the SL null value.
              */
-            result = SLNull.SINGLETON;
+            return SLNull.SINGLETON;
         }
-        throw new SLReturnException(result);
     }
 }
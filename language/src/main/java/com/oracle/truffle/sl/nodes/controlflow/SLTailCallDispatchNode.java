@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.controlflow;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.ReportPolymorphism;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.runtime.SLFunction;
+
+/**
+ * The trampoline for {@link SLTailCallException tail calls}. Every call site that can execute a
+ * user-defined SL function catches the tail call exceptions thrown out of the callee and passes
+ * them to this node. The node then calls the target of the tail call, and repeats as long as that
+ * call ends in another tail call. Unlike the call site itself, the calls performed here do not
+ * catch the tail call exceptions, so the stack depth stays constant.
+ * <p>
+ * The calls are dispatched with an inline cache of {@link DirectCallNode direct calls}, like the
+ * {@link SLFunction} execute message, so the targets of tail calls can still be inlined.
+ */
+@ReportPolymorphism
+@GenerateUncached
+public abstract class SLTailCallDispatchNode extends Node {
+
+    protected static final int INLINE_CACHE_SIZE = SLFunction.INLINE_CACHE_SIZE;
+
+    public static SLTailCallDispatchNode create() {
+        return SLTailCallDispatchNodeGen.create();
+    }
+
+    public static SLTailCallDispatchNode getUncached() {
+        return SLTailCallDispatchNodeGen.getUncached();
+    }
+
+    /**
+     * Executes the given tail call, and all tail calls it results in, and returns the result of
+     * the last call.
+     */
+    public final Object executeTailCall(SLTailCallException tailCall) {
+        SLTailCallException current = tailCall;
+        while (true) {
+            try {
+                return executeDispatch(current.getFunction(), current.getArguments());
+            } catch (SLTailCallException next) {
+                current = next;
+            }
+        }
+    }
+
+    protected abstract Object executeDispatch(SLFunction function, Object[] arguments);
+
+    @Specialization(limit = "INLINE_CACHE_SIZE", guards = "function.getCallTarget() == cachedTarget")
+    @SuppressWarnings("unused")
+    protected static Object doDirect(SLFunction function, Object[] arguments,
+                    @Cached("function.getCallTarget()") RootCallTarget cachedTarget,
+                    @Cached("create(cachedTarget)") DirectCallNode callNode) {
+        return callNode.call(function.createArguments(arguments));
+    }
+
+    @Specialization(replaces = "doDirect")
+    protected static Object doIndirect(SLFunction function, Object[] arguments,
+                    @Cached IndirectCallNode callNode) {
+        return callNode.call(function.getCallTarget(), function.createArguments(arguments));
+    }
+}
@@ -49,6 +49,8 @@ import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLConcatString;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * SL node that performs the "+" operation, which performs addition on arbitrary precision numbers,
@@ -66,7 +68,7 @@ public abstract class SLAddNode extends SLBinaryNode {
     /**
      * Specialization for primitive {@code long} values. This is the fast path of the
      * arbitrary-precision arithmetic. We need to check for overflows of the addition, and switch to
-     * the {@link #add(SLBigNumber, SLBigNumber) slow path}. Therefore, we use an
+     * the {@link #addOverflow(long, long) overflow path}. Therefore, we use an
      * {@link Math#addExact(long, long) addition method that throws an exception on overflow}. The
      * {@code rewriteOn} attribute on the {@link Specialization} annotation automatically triggers
      * the node rewriting on the exception.
@@ -83,22 +85,72 @@ public abstract class SLAddNode extends SLBinaryNode {
         return Math.addExact(left, right);
     }
 
+    /**
+     * Addition of two {@code long} values after the {@link #add(long, long) fast path} overflowed
+     * once. The sum of two {@code long} values always fits into 128 bits, so it is computed inline
+     * without a {@link TruffleBoundary}. The result is a {@code long} whenever it fits, so a single
+     * overflow does not force all following operations onto a slow path.
+     */
+    @Specialization
+    protected Object addOverflow(long left, long right) {
+        return SLInt128.add(left, right);
+    }
+
+    /**
+     * Specialization for {@link SLInt128 128-bit} values. Because of the
+     * {@link SLTypes#castInt128(long) implicit cast}, this is also used if one operand is a
+     * {@code long}. If the 128-bit addition overflows, we switch to the
+     * {@link #add(SLBigNumber, SLBigNumber) slow path}.
+     */
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected Object add(SLInt128 left, SLInt128 right) {
+        return SLInt128.add(left, right);
+    }
+
     /**
      * This is the slow path of the arbitrary-precision arithmetic. The {@link SLBigNumber} type of
-     * Java is doing everything we need.
+     * Java is doing everything we need. The result is {@link SLBigNumber#normalize normalized}, so
+     * numbers that fit into a smaller representation again leave the slow path.
      * <p>
      * This specialization is automatically selected by the Truffle DSL if both the left and right
      * operand are {@link SLBigNumber} values. Because the type system defines an
      * {@link ImplicitCast implicit conversion} from {@code long} to {@link SLBigNumber} in
      * {@link SLTypes#castBigNumber(long)}, this specialization is also taken if the left or the
-     * right operand is a {@code long} value. Because the {@link #add(long, long) long}
-     * specialization} has the {@code rewriteOn} attribute, this specialization is also taken if
-     * both input values are {@code long} values but the primitive addition overflows.
+     * right operand is a {@code long} value, and likewise for {@link SLInt128} values. Because the
+     * {@link #add(SLInt128, SLInt128) 128-bit specialization} has the {@code rewriteOn} attribute,
+     * this specialization is also taken if the 128-bit addition overflows.
      */
     @Specialization
     @TruffleBoundary
-    protected SLBigNumber add(SLBigNumber left, SLBigNumber right) {
-        return new SLBigNumber(left.getValue().add(right.getValue()));
+    protected Object add(SLBigNumber left, SLBigNumber right) {
+        return SLBigNumber.normalize(left.getValue().add(right.getValue()));
+    }
+
+    /**
+     * Specialization for floating point numbers. Because of the {@link SLTypes#castDouble(long)
+     * implicit cast}, this is also taken if one of the operands is a {@code long} value.
+     */
+    @Specialization
+    protected double add(double left, double right) {
+        return left + right;
+    }
+
+    /**
+     * Specializations for a floating point number and an arbitrary-precision number, which is
+     * {@link SLBigNumber#doubleValue() rounded} to a {@code double}. Because of the
+     * {@link SLTypes#castBigNumber(SLInt128) implicit cast}, they are also taken for
+     * {@link SLInt128} operands. They are declared after the {@link #add(double, double) floating
+     * point specialization}, so that a {@code long} operand still uses the implicit cast to
+     * {@code double} there.
+     */
+    @Specialization
+    protected double add(SLBigNumber left, double right) {
+        return left.doubleValue() + right;
+    }
+
+    @Specialization
+    protected double add(double left, SLBigNumber right) {
+        return left + right.doubleValue();
     }
 
     /**
@@ -108,19 +160,34 @@ public abstract class SLAddNode extends SLBinaryNode {
      * <p>
      * To implement these semantics, we tell the Truffle DSL to use a custom guard. The guard
      * function is defined in {@link #isString this class}, but could also be in any superclass.
+     * <p>
+     * The characters of the operands are not copied, the result is a {@link SLConcatString rope}
+     * that is only flattened when the string is observed. Operands that are ropes themselves are
+     * therefore never flattened here.
      */
     @Specialization(guards = "isString(left, right)")
-    @TruffleBoundary
-    protected String add(Object left, Object right) {
-        return left.toString() + right.toString();
+    protected Object add(Object left, Object right) {
+        return SLConcatString.concat(toStringOperand(left), toStringOperand(right));
     }
 
     /**
      * Guard for String concatenation: returns true if either the left or the right operand is a
-     * {@link String}.
+     * {@link String} or a {@link SLConcatString}.
      */
     protected boolean isString(Object a, Object b) {
-        return a instanceof String || b instanceof String;
+        return SLConcatString.isSLString(a) || SLConcatString.isSLString(b);
+    }
+
+    private static Object toStringOperand(Object value) {
+        if (SLConcatString.isSLString(value)) {
+            return value;
+        }
+        return convertToString(value);
+    }
+
+    @TruffleBoundary
+    private static String convertToString(Object value) {
+        return value.toString();
     }
 
     @Fallback
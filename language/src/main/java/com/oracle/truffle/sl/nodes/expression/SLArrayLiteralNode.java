@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLArray;
+
+/**
+ * Array literal, e.g., {@code [1, 2, 3]}. The node remembers which {@link SLArray} storage strategy
+ * was needed for the elements so far, and evaluates the elements with the matching type-specialized
+ * execute method. Only if an element does not fit, the node falls back to a more general storage
+ * strategy.
+ */
+@NodeInfo(shortName = "[]")
+public final class SLArrayLiteralNode extends SLExpressionNode {
+
+    private static final int LONG = 0;
+    private static final int BOOLEAN = 1;
+    private static final int OBJECT = 2;
+
+    @Children private final SLExpressionNode[] elementNodes;
+
+    @CompilationFinal private int storageKind = LONG;
+
+    public SLArrayLiteralNode(SLExpressionNode[] elementNodes) {
+        this.elementNodes = elementNodes;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (storageKind == LONG) {
+            return executeLongs(frame);
+        } else if (storageKind == BOOLEAN) {
+            return executeBooleans(frame);
+        } else {
+            return executeObjects(frame);
+        }
+    }
+
+    @ExplodeLoop
+    private SLArray executeLongs(VirtualFrame frame) {
+        CompilerAsserts.compilationConstant(elementNodes.length);
+        long[] elements = new long[elementNodes.length];
+        for (int i = 0; i < elementNodes.length; i++) {
+            try {
+                elements[i] = elementNodes[i].executeLong(frame);
+            } catch (UnexpectedResultException e) {
+                return generalize(frame, elements, i, e.getResult());
+            }
+        }
+        return SLArray.create(elements);
+    }
+
+    @ExplodeLoop
+    private SLArray executeBooleans(VirtualFrame frame) {
+        CompilerAsserts.compilationConstant(elementNodes.length);
+        boolean[] elements = new boolean[elementNodes.length];
+        for (int i = 0; i < elementNodes.length; i++) {
+            try {
+                elements[i] = elementNodes[i].executeBoolean(frame);
+            } catch (UnexpectedResultException e) {
+                return generalize(frame, elements, i, e.getResult());
+            }
+        }
+        return SLArray.create(elements);
+    }
+
+    @ExplodeLoop
+    private SLArray executeObjects(VirtualFrame frame) {
+        CompilerAsserts.compilationConstant(elementNodes.length);
+        Object[] elements = new Object[elementNodes.length];
+        for (int i = 0; i < elementNodes.length; i++) {
+            elements[i] = elementNodes[i].executeGeneric(frame);
+        }
+        return SLArray.create(elements);
+    }
+
+    /**
+     * Slow path when the element at {@code failedIndex} did not match the current storage strategy.
+     * The elements before it were already evaluated and must not be evaluated again, so we continue
+     * with the remaining elements and rewrite this node to the storage strategy that fits all
+     * element values.
+     */
+    private SLArray generalize(VirtualFrame frame, Object evaluated, int failedIndex, Object failedValue) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        Object[] elements = new Object[elementNodes.length];
+        for (int i = 0; i < failedIndex; i++) {
+            elements[i] = evaluated instanceof long[] ? (Object) ((long[]) evaluated)[i] : (Object) ((boolean[]) evaluated)[i];
+        }
+        elements[failedIndex] = failedValue;
+        for (int i = failedIndex + 1; i < elementNodes.length; i++) {
+            elements[i] = elementNodes[i].executeGeneric(frame);
+        }
+
+        boolean allBooleans = storageKind == LONG && failedIndex == 0;
+        for (int i = 0; i < elements.length && allBooleans; i++) {
+            allBooleans = elements[i] instanceof Boolean;
+        }
+        if (allBooleans) {
+            storageKind = BOOLEAN;
+            boolean[] booleans = new boolean[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                booleans[i] = (boolean) elements[i];
+            }
+            return SLArray.create(booleans);
+        }
+        storageKind = OBJECT;
+        return SLArray.create(elements);
+    }
+}
@@ -49,19 +49,20 @@ import com.oracle.truffle.sl.runtime.SLBigNumber;
 
 /**
  * Constant literal for a arbitrary-precision number that exceeds the range of
- * {@link SLLongLiteralNode}.
+ * {@link SLLongLiteralNode}. The value is {@link SLBigNumber#normalize normalized}, i.e., it is a
+ * {@link com.oracle.truffle.sl.runtime.SLInt128} if it fits into 128 bits.
  */
 @NodeInfo(shortName = "const")
 public final class SLBigIntegerLiteralNode extends SLExpressionNode {
 
-    private final SLBigNumber value;
+    private final Object value;
 
     public SLBigIntegerLiteralNode(BigInteger value) {
-        this.value = new SLBigNumber(value);
+        this.value = SLBigNumber.normalize(value);
     }
 
     @Override
-    public SLBigNumber executeGeneric(VirtualFrame frame) {
+    public Object executeGeneric(VirtualFrame frame) {
         return value;
     }
 }
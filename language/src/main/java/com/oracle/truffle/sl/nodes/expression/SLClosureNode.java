@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.local.SLReadCapturedNode;
+import com.oracle.truffle.sl.runtime.SLFunction;
+
+/**
+ * Lambda expression, e.g., {@code function(x) { return x + y; }}. The lambda captures the values
+ * of the local variables of the enclosing functions that its body uses, at the time the
+ * expression is evaluated. Only these values are copied into the environment of the
+ * {@link SLFunction#createClosure closure}, the frame of the enclosing function is never
+ * materialized. The body of the lambda expression reads them with {@link SLReadCapturedNode}.
+ * <p>
+ * All closures of the expression share one call target, so calls of the closures are cached like
+ * calls of a named function.
+ */
+@NodeInfo(shortName = "function")
+public final class SLClosureNode extends SLExpressionNode {
+
+    private final SLFunction lambda;
+
+    /** The closure of a lambda expression that does not capture any variables. */
+    private final SLFunction constantClosure;
+
+    /** Reads of the captured variables in the frame of the enclosing function. */
+    @Children private final SLExpressionNode[] capturedNodes;
+
+    public SLClosureNode(SLFunction lambda, SLExpressionNode[] capturedNodes) {
+        this.lambda = lambda;
+        this.capturedNodes = capturedNodes;
+        this.constantClosure = capturedNodes.length == 0 ? lambda.createClosure(new Object[0]) : null;
+    }
+
+    @ExplodeLoop
+    @Override
+    public SLFunction executeGeneric(VirtualFrame frame) {
+        if (constantClosure != null) {
+            return constantClosure;
+        }
+        CompilerAsserts.compilationConstant(capturedNodes.length);
+        Object[] environment = new Object[capturedNodes.length];
+        for (int i = 0; i < capturedNodes.length; i++) {
+            environment[i] = capturedNodes[i].executeGeneric(frame);
+        }
+        return lambda.createClosure(environment);
+    }
+}
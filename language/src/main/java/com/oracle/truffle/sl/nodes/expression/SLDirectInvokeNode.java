@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import java.util.concurrent.locks.Lock;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.builtins.SLNewObjectBuiltin;
+import com.oracle.truffle.sl.builtins.SLNewObjectBuiltinFactory;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLReturnNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallDispatchNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
+import com.oracle.truffle.sl.runtime.SLAllocationSite;
+import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLFunction;
+
+/**
+ * The node for invoking a function whose name is statically known, i.e., the callee is a
+ * {@link SLFunctionLiteralNode}. This is the common case in SL, for example all recursive calls.
+ * <p>
+ * Unlike {@link SLInvokeNode}, this node does not go through the {@link SLFunction} interop
+ * {@code execute} message: the callee is always an {@link SLFunction}, so there is no arity or type
+ * error handling to do. The node directly holds a {@link DirectCallNode} for the current call
+ * target of the function. Function redefinition is handled by the
+ * {@link SLFunction#getCallTargetStable() call target stable} assumption, which is free to check in
+ * compiled code. If a function is redefined too often, the node falls back to an
+ * {@link IndirectCallNode}.
+ * <p>
+ * A call in {@link #createTailCall() tail position} of a function to itself does not call the
+ * function, but throws a {@link SLTailCallException} so that the frame of the function is reused.
+ * With {@link SLLanguage#ProperTailCalls} this is done for all calls in tail position.
+ * <p>
+ * A call of the {@link SLNewObjectBuiltin new()} builtin without arguments is an
+ * {@link SLAllocationSite}: instead of calling the builtin, the node allocates the object itself,
+ * so that each call site can choose the layout of its objects.
+ * <p>
+ * Several threads can execute the node at the same time. The node is only specialized while
+ * holding the {@link #getLock() AST lock}, and the fields are written in an order that lets a
+ * concurrent caller use either the previous or the new call node.
+ */
+@NodeInfo(shortName = "invoke")
+public final class SLDirectInvokeNode extends SLExpressionNode {
+
+    /** Number of call target changes after which we stop caching the call target. */
+    private static final int REDEFINITION_LIMIT = 3;
+
+    @Child private SLExpressionNode functionNode;
+    @Children private final SLExpressionNode[] argumentNodes;
+
+    @Child private DirectCallNode callNode;
+    @CompilationFinal private RootCallTarget cachedTarget;
+    @CompilationFinal private Assumption callTargetStable;
+    @CompilationFinal private int redefinitions;
+    @CompilationFinal private SLAllocationSite allocationSite;
+
+    @Child private IndirectCallNode indirectCallNode;
+    @Child private SLTailCallDispatchNode tailCallNode;
+
+    private final boolean isTailCall;
+
+    /**
+     * Creates a call. A tail call is the value of a {@link SLReturnNode return statement}.
+     */
+    public SLDirectInvokeNode(SLExpressionNode functionNode, SLExpressionNode[] argumentNodes, boolean isTailCall) {
+        this.functionNode = functionNode;
+        this.argumentNodes = argumentNodes;
+        this.isTailCall = isTailCall;
+    }
+
+    /**
+     * Returns a tail call with the same function and arguments. Only used by the parser, before
+     * the children of this node are adopted.
+     */
+    public SLDirectInvokeNode createTailCall() {
+        return new SLDirectInvokeNode(functionNode, argumentNodes, true);
+    }
+
+    @ExplodeLoop
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        SLFunction function = (SLFunction) functionNode.executeGeneric(frame);
+
+        CompilerAsserts.compilationConstant(argumentNodes.length);
+        Object[] argumentValues = new Object[argumentNodes.length];
+        for (int i = 0; i < argumentNodes.length; i++) {
+            argumentValues[i] = argumentNodes[i].executeGeneric(frame);
+        }
+
+        if (isTailCall && isEliminated(this, function)) {
+            throw new SLTailCallException(function, argumentValues);
+        }
+        try {
+            return call(function, argumentValues);
+        } catch (SLTailCallException ex) {
+            if (tailCallNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                tailCallNode = insert(SLTailCallDispatchNode.create());
+            }
+            return tailCallNode.executeTailCall(ex);
+        }
+    }
+
+    private Object call(SLFunction function, Object[] argumentValues) {
+        if (indirectCallNode == null) {
+            if (!isCached(function)) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                if (!specialize(function)) {
+                    return indirectCallNode.call(function.getCallTarget(), argumentValues);
+                }
+            }
+            SLAllocationSite site = allocationSite;
+            if (site != null) {
+                return SLLanguage.get(this).createObject(SLContext.get(this).getAllocationReporter(), site);
+            }
+            return callNode.call(argumentValues);
+        }
+        return indirectCallNode.call(function.getCallTarget(), argumentValues);
+    }
+
+    /**
+     * Returns whether a call in tail position is eliminated, i.e., whether the frame of the current
+     * function is removed before the function is called.
+     */
+    static boolean isEliminated(SLExpressionNode callNode, SLFunction function) {
+        return function.getCallTarget() == callNode.getRootNode().getCallTarget() || SLContext.get(callNode).isProperTailCalls();
+    }
+
+    /**
+     * In a single context, {@link SLFunctionLiteralNode} always returns the same function, so the
+     * assumption alone guarantees that the cached call target is still current. If the AST is
+     * shared between contexts, each context has its own {@link SLFunction} objects, so the call
+     * target must be compared as well.
+     */
+    private boolean isCached(SLFunction function) {
+        if (callTargetStable == null || !callTargetStable.isValid()) {
+            return false;
+        }
+        return SLLanguage.get(this).isSingleContext() || function.getCallTarget() == cachedTarget;
+    }
+
+    /**
+     * Caches the current call target of the function. Returns {@code false} if the function was
+     * redefined too often, in which case the node switches to indirect calls.
+     * <p>
+     * Another thread may have specialized the node while this thread waited for the lock, so the
+     * state is checked again. The {@link #callTargetStable assumption} is written last, because
+     * it is the field that {@link #isCached} checks first. When switching to indirect calls, the
+     * {@link #callNode} is kept, because a concurrent caller may be about to use it.
+     */
+    private boolean specialize(SLFunction function) {
+        Lock lock = getLock();
+        lock.lock();
+        try {
+            if (indirectCallNode != null) {
+                return false;
+            }
+            if (isCached(function)) {
+                return true;
+            }
+            if (cachedTarget != null && redefinitions++ >= REDEFINITION_LIMIT) {
+                indirectCallNode = insert(IndirectCallNode.create());
+                callTargetStable = null;
+                cachedTarget = null;
+                allocationSite = null;
+                return false;
+            }
+            Assumption stable = function.getCallTargetStable();
+            RootCallTarget target = function.getCallTarget();
+            callNode = insert(DirectCallNode.create(target));
+            if (isNewObject(target)) {
+                if (allocationSite == null) {
+                    allocationSite = SLLanguage.get(this).createAllocationSite(describeLocation());
+                }
+            } else {
+                allocationSite = null;
+            }
+            cachedTarget = target;
+            callTargetStable = stable;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isNewObject(RootCallTarget target) {
+        return argumentNodes.length == 0 && target == SLLanguage.get(this).lookupBuiltin(SLNewObjectBuiltinFactory.getInstance());
+    }
+
+    private String describeLocation() {
+        SourceSection section = getSourceSection();
+        if (section == null || !section.isAvailable()) {
+            return "new";
+        }
+        return section.getSource().getName() + ":" + section.getStartLine() + ":" + section.getStartColumn();
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        if (tag == StandardTags.CallTag.class) {
+            return true;
+        }
+        return super.hasTag(tag);
+    }
+}
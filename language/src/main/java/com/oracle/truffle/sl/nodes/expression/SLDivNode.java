@@ -68,10 +68,34 @@ public abstract class SLDivNode extends SLBinaryNode {
         return result;
     }
 
+    /*
+     * There is no inline 128-bit division. Division never makes numbers larger (except for the
+     * single overflow case above), so the result is normalized and leaves the slow path again.
+     */
     @Specialization
     @TruffleBoundary
-    protected SLBigNumber div(SLBigNumber left, SLBigNumber right) {
-        return new SLBigNumber(left.getValue().divide(right.getValue()));
+    protected Object div(SLBigNumber left, SLBigNumber right) {
+        return SLBigNumber.normalize(left.getValue().divide(right.getValue()));
+    }
+
+    @Specialization
+    protected double div(double left, double right) {
+        return left / right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected double div(SLBigNumber left, double right) {
+        return left.doubleValue() / right;
+    }
+
+    @Specialization
+    protected double div(double left, SLBigNumber right) {
+        return left / right.doubleValue();
     }
 
     @Fallback
@@ -49,8 +49,11 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
+import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLConcatString;
 import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLInt128;
 import com.oracle.truffle.sl.runtime.SLNull;
 
 /**
@@ -58,8 +61,8 @@ import com.oracle.truffle.sl.runtime.SLNull;
  * {@link #equal(Object, Object) implementation} that can handle all possible types including
  * interop types.
  * <p>
- * Note that we do not need the analogous {@code !=} operator, because we can just
- * {@link SLLogicalNotNode negate} the {@code ==} operator.
+ * The analogous {@code !=} operator is implemented by {@link SLNotEqualNode}, which shares the
+ * {@link #isEqual generic comparison} of interop values with this node.
  */
 @NodeInfo(shortName = "==")
 public abstract class SLEqualNode extends SLBinaryNode {
@@ -69,17 +72,71 @@ public abstract class SLEqualNode extends SLBinaryNode {
         return left == right;
     }
 
+    /*
+     * Numbers are always normalized to the smallest representation that fits, so a SLInt128 is
+     * never equal to a long or a SLBigNumber.
+     */
+    @Specialization
+    protected boolean doInt128(SLInt128 left, SLInt128 right) {
+        return left.equals(right);
+    }
+
     @Specialization
     @TruffleBoundary
     protected boolean doBigNumber(SLBigNumber left, SLBigNumber right) {
         return left.equals(right);
     }
 
+    /*
+     * Because of the implicit cast from long to double, this is also taken if one of the operands
+     * is a long value, i.e., 1 == 1.0 is true.
+     */
+    @Specialization
+    protected boolean doDouble(double left, double right) {
+        return left == right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected boolean doBigNumberDouble(SLBigNumber left, double right) {
+        return left.doubleValue() == right;
+    }
+
+    @Specialization
+    protected boolean doDoubleBigNumber(double left, SLBigNumber right) {
+        return left == right.doubleValue();
+    }
+
     @Specialization
     protected boolean doBoolean(boolean left, boolean right) {
         return left == right;
     }
 
+    /**
+     * Specializations for {@link SLConcatString ropes}. They must be declared before
+     * {@link #doString}, which would accept ropes via the {@link SLTypes#castString implicit cast}
+     * and always flatten them. Strings of different length are never equal, so comparing those
+     * does not flatten the ropes.
+     */
+    @Specialization
+    protected boolean doConcatString(SLConcatString left, SLConcatString right) {
+        return left.contentEquals(right);
+    }
+
+    @Specialization
+    protected boolean doConcatStringString(SLConcatString left, String right) {
+        return left.contentEquals(right);
+    }
+
+    @Specialization
+    protected boolean doStringConcatString(String left, SLConcatString right) {
+        return right.contentEquals(left);
+    }
+
     @Specialization
     protected boolean doString(String left, String right) {
         return left.equals(right);
@@ -118,6 +175,14 @@ public abstract class SLEqualNode extends SLBinaryNode {
     public boolean doGeneric(Object left, Object right,
                     @CachedLibrary("left") InteropLibrary leftInterop,
                     @CachedLibrary("right") InteropLibrary rightInterop) {
+        return isEqual(left, right, leftInterop, rightInterop);
+    }
+
+    /**
+     * Compares two arbitrary values, using the interop protocol for values that are not SL
+     * primitives.
+     */
+    public static boolean isEqual(Object left, Object right, InteropLibrary leftInterop, InteropLibrary rightInterop) {
         /*
          * This method looks very inefficient. In practice most of these branches fold as the
          * interop type checks typically return a constant when using a cached library.
@@ -128,15 +193,19 @@ public abstract class SLEqualNode extends SLBinaryNode {
          */
         try {
             if (leftInterop.isBoolean(left) && rightInterop.isBoolean(right)) {
-                return doBoolean(leftInterop.asBoolean(left), rightInterop.asBoolean(right));
+                return leftInterop.asBoolean(left) == rightInterop.asBoolean(right);
             } else if (leftInterop.isString(left) && rightInterop.isString(right)) {
-                return doString(leftInterop.asString(left), (rightInterop.asString(right)));
+                return leftInterop.asString(left).equals(rightInterop.asString(right));
             } else if (leftInterop.isNull(left) && rightInterop.isNull(right)) {
                 return true;
             } else if (leftInterop.fitsInLong(left) && rightInterop.fitsInLong(right)) {
-                return doLong(leftInterop.asLong(left), (rightInterop.asLong(right)));
+                return leftInterop.asLong(left) == rightInterop.asLong(right);
+            } else if (leftInterop.fitsInDouble(left) && rightInterop.fitsInDouble(right)) {
+                return leftInterop.asDouble(left) == rightInterop.asDouble(right);
+            } else if (left instanceof SLInt128 && right instanceof SLInt128) {
+                return ((SLInt128) left).equals(right);
             } else if (left instanceof SLBigNumber && right instanceof SLBigNumber) {
-                return doBigNumber((SLBigNumber) left, (SLBigNumber) right);
+                return bigNumberEquals((SLBigNumber) left, (SLBigNumber) right);
             } else if (leftInterop.hasIdentity(left) && rightInterop.hasIdentity(right)) {
                 return leftInterop.isIdentical(left, right, rightInterop);
             } else {
@@ -152,4 +221,9 @@ public abstract class SLEqualNode extends SLBinaryNode {
         }
     }
 
+    @TruffleBoundary
+    private static boolean bigNumberEquals(SLBigNumber left, SLBigNumber right) {
+        return left.equals(right);
+    }
+
 }
@@ -68,7 +68,9 @@ public final class SLFunctionLiteralNode extends SLExpressionNode {
      * The resolved function. During parsing (in the constructor of this node), we do not have the
      * {@link SLContext} available yet, so the lookup can only be done at {@link #executeGeneric
      * first execution}. The {@link CompilationFinal} annotation ensures that the function can still
-     * be constant folded during compilation.
+     * be constant folded during compilation. If several threads execute the node for the first time
+     * at once, they all store the same function, because the registry publishes only one function
+     * per name.
      */
     @CompilationFinal private SLFunction cachedFunction;
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLGlobal;
+import com.oracle.truffle.sl.runtime.SLGlobalRegistry;
+
+/**
+ * Base class of the nodes that access a {@link SLGlobal global variable}. The {@link SLGlobal}
+ * object is resolved like the function of a {@link SLFunctionLiteralNode}: in a single context it
+ * is looked up once and cached in the AST, otherwise it is looked up in the
+ * {@link SLGlobalRegistry} of the current context on every access.
+ */
+public abstract class SLGlobalVariableNode extends SLExpressionNode {
+
+    /** The name of the global. */
+    private final String name;
+
+    @CompilationFinal private SLGlobal cachedGlobal;
+
+    protected SLGlobalVariableNode(String name) {
+        this.name = name;
+    }
+
+    public final String getName() {
+        return name;
+    }
+
+    protected final SLGlobal getGlobal() {
+        if (SLLanguage.get(this).isSingleContext()) {
+            SLGlobal global = cachedGlobal;
+            if (global == null) {
+                /* We are about to change a @CompilationFinal field. */
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                cachedGlobal = global = SLContext.get(this).getGlobalRegistry().lookup(name);
+            }
+            return global;
+        }
+        if (cachedGlobal != null) {
+            /* Do not keep a global of another context alive. */
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            cachedGlobal = null;
+        }
+        return SLContext.get(this).getGlobalRegistry().lookup(name);
+    }
+
+    protected final boolean isSingleContext() {
+        return SLLanguage.get(this).isSingleContext();
+    }
+}
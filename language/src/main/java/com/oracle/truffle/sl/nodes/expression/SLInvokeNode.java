@@ -51,6 +51,8 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLReturnNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
@@ -69,12 +71,28 @@ public final class SLInvokeNode extends SLExpressionNode {
     @Children private final SLExpressionNode[] argumentNodes;
     @Child private InteropLibrary library;
 
-    public SLInvokeNode(SLExpressionNode functionNode, SLExpressionNode[] argumentNodes) {
+    private final boolean isTailCall;
+
+    /**
+     * Creates a call. A tail call is the value of a {@link SLReturnNode return statement}.
+     * Eliminated calls of SL functions then throw a {@link SLTailCallException} instead, see
+     * {@link SLDirectInvokeNode}. Calls of foreign functions are unaffected.
+     */
+    public SLInvokeNode(SLExpressionNode functionNode, SLExpressionNode[] argumentNodes, boolean isTailCall) {
         this.functionNode = functionNode;
         this.argumentNodes = argumentNodes;
+        this.isTailCall = isTailCall;
         this.library = InteropLibrary.getFactory().createDispatched(3);
     }
 
+    /**
+     * Returns a tail call with the same function and arguments. Only used by the parser, before
+     * the children of this node are adopted.
+     */
+    public SLInvokeNode createTailCall() {
+        return new SLInvokeNode(functionNode, argumentNodes, true);
+    }
+
     @ExplodeLoop
     @Override
     public Object executeGeneric(VirtualFrame frame) {
@@ -93,6 +111,9 @@ public final class SLInvokeNode extends SLExpressionNode {
             argumentValues[i] = argumentNodes[i].executeGeneric(frame);
         }
 
+        if (isTailCall && function instanceof SLFunction && SLDirectInvokeNode.isEliminated(this, (SLFunction) function)) {
+            throw new SLTailCallException((SLFunction) function, argumentValues);
+        }
         try {
             return library.execute(function, argumentValues);
         } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException e) {
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * This class is similar to the {@link SLLessThanNode}.
@@ -59,12 +60,37 @@ public abstract class SLLessOrEqualNode extends SLBinaryNode {
         return left <= right;
     }
 
+    @Specialization
+    protected boolean lessOrEqual(SLInt128 left, SLInt128 right) {
+        return left.compareTo(right) <= 0;
+    }
+
     @Specialization
     @TruffleBoundary
     protected boolean lessOrEqual(SLBigNumber left, SLBigNumber right) {
         return left.compareTo(right) <= 0;
     }
 
+    @Specialization
+    protected boolean lessOrEqual(double left, double right) {
+        return left <= right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected boolean lessOrEqual(SLBigNumber left, double right) {
+        return left.doubleValue() <= right;
+    }
+
+    @Specialization
+    protected boolean lessOrEqual(double left, SLBigNumber right) {
+        return left <= right.doubleValue();
+    }
+
     @Fallback
     protected Object typeError(Object left, Object right) {
         throw SLException.typeError(this, left, right);
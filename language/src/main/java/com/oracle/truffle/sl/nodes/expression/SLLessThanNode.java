@@ -47,6 +47,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * This class is similar to the extensively documented {@link SLAddNode}. The only difference: the
@@ -60,12 +61,37 @@ public abstract class SLLessThanNode extends SLBinaryNode {
         return left < right;
     }
 
+    @Specialization
+    protected boolean lessThan(SLInt128 left, SLInt128 right) {
+        return left.compareTo(right) < 0;
+    }
+
     @Specialization
     @TruffleBoundary
     protected boolean lessThan(SLBigNumber left, SLBigNumber right) {
         return left.compareTo(right) < 0;
     }
 
+    @Specialization
+    protected boolean lessThan(double left, double right) {
+        return left < right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected boolean lessThan(SLBigNumber left, double right) {
+        return left.doubleValue() < right;
+    }
+
+    @Specialization
+    protected boolean lessThan(double left, SLBigNumber right) {
+        return left < right.doubleValue();
+    }
+
     @Fallback
     protected Object typeError(Object left, Object right) {
         throw SLException.typeError(this, left, right);
@@ -42,7 +42,6 @@ package com.oracle.truffle.sl.nodes.expression;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
-import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
 
 /**
@@ -60,7 +59,7 @@ public final class SLLongLiteralNode extends SLExpressionNode {
     }
 
     @Override
-    public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
+    public long executeLong(VirtualFrame frame) {
         return value;
     }
 
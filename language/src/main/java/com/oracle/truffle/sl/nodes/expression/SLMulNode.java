@@ -47,6 +47,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * This class is similar to the extensively documented {@link SLAddNode}.
@@ -59,10 +60,40 @@ public abstract class SLMulNode extends SLBinaryNode {
         return Math.multiplyExact(left, right);
     }
 
+    @Specialization
+    protected Object mulOverflow(long left, long right) {
+        return SLInt128.mul(left, right);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected Object mul(SLInt128 left, SLInt128 right) {
+        return SLInt128.mul(left, right);
+    }
+
     @Specialization
     @TruffleBoundary
-    protected SLBigNumber mul(SLBigNumber left, SLBigNumber right) {
-        return new SLBigNumber(left.getValue().multiply(right.getValue()));
+    protected Object mul(SLBigNumber left, SLBigNumber right) {
+        return SLBigNumber.normalize(left.getValue().multiply(right.getValue()));
+    }
+
+    @Specialization
+    protected double mul(double left, double right) {
+        return left * right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected double mul(SLBigNumber left, double right) {
+        return left.doubleValue() * right;
+    }
+
+    @Specialization
+    protected double mul(double left, SLBigNumber right) {
+        return left * right.doubleValue();
     }
 
     @Fallback
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.sl.nodes.SLBinaryNode;
+import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLConcatString;
+import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLInt128;
+import com.oracle.truffle.sl.runtime.SLNull;
+
+/**
+ * The {@code !=} operator of SL. It is the exact negation of {@link SLEqualNode}, with the same
+ * specializations, but does not need an additional {@link SLLogicalNotNode} to negate the result.
+ */
+@NodeInfo(shortName = "!=")
+public abstract class SLNotEqualNode extends SLBinaryNode {
+
+    @Specialization
+    protected boolean doLong(long left, long right) {
+        return left != right;
+    }
+
+    @Specialization
+    protected boolean doInt128(SLInt128 left, SLInt128 right) {
+        return !left.equals(right);
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected boolean doBigNumber(SLBigNumber left, SLBigNumber right) {
+        return !left.equals(right);
+    }
+
+    @Specialization
+    protected boolean doDouble(double left, double right) {
+        return left != right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected boolean doBigNumberDouble(SLBigNumber left, double right) {
+        return left.doubleValue() != right;
+    }
+
+    @Specialization
+    protected boolean doDoubleBigNumber(double left, SLBigNumber right) {
+        return left != right.doubleValue();
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean left, boolean right) {
+        return left != right;
+    }
+
+    @Specialization
+    protected boolean doConcatString(SLConcatString left, SLConcatString right) {
+        return !left.contentEquals(right);
+    }
+
+    @Specialization
+    protected boolean doConcatStringString(SLConcatString left, String right) {
+        return !left.contentEquals(right);
+    }
+
+    @Specialization
+    protected boolean doStringConcatString(String left, SLConcatString right) {
+        return !right.contentEquals(left);
+    }
+
+    @Specialization
+    protected boolean doString(String left, String right) {
+        return !left.equals(right);
+    }
+
+    @Specialization
+    protected boolean doNull(SLNull left, SLNull right) {
+        return left != right;
+    }
+
+    @Specialization
+    protected boolean doFunction(SLFunction left, Object right) {
+        return left != right;
+    }
+
+    @Specialization(limit = "4")
+    public boolean doGeneric(Object left, Object right,
+                    @CachedLibrary("left") InteropLibrary leftInterop,
+                    @CachedLibrary("right") InteropLibrary rightInterop) {
+        return !SLEqualNode.isEqual(left, right, leftInterop, rightInterop);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import java.util.concurrent.locks.Lock;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.FinalLocationException;
+import com.oracle.truffle.api.object.IncompatibleLocationException;
+import com.oracle.truffle.api.object.Location;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLObjectLayout;
+
+/**
+ * Object literal, e.g., {@code {x: 1, y: 2}}. The number of properties is known when the literal is
+ * parsed, so the object is allocated with an {@link SLObjectLayout} that has a field for each of
+ * them. The first execution narrows the layout to the types of the actual values.
+ * <p>
+ * The locations of the properties depend on the types of the values, so the first execution with
+ * the final layout fills the object property by property and remembers the resulting
+ * {@link Shape}. Later executions
+ * change the shape of the new object to this shape at once and store the values directly into
+ * their locations, without looking up any shape transitions. A value that does not fit its location
+ * falls back to filling the object property by property again, which generalizes the location. If
+ * the shape changes too often, the node keeps filling objects with a {@link DynamicObjectLibrary}.
+ * A property name that occurs more than once gets the last of its values.
+ * <p>
+ * The node can be executed by several threads at the same time. The cached shape and its locations
+ * are therefore kept in one immutable {@link CachedShape}, which is read once per execution, and
+ * the node is only specialized while holding the {@link #getLock() AST lock}.
+ */
+@NodeInfo(shortName = "{}")
+public final class SLObjectLiteralNode extends SLExpressionNode {
+
+    /** Number of shape changes after which the node no longer caches the shape. */
+    private static final int SHAPE_CHANGE_LIMIT = 3;
+
+    @CompilationFinal(dimensions = 1) private final String[] names;
+    @Children private final SLExpressionNode[] valueNodes;
+    @CompilationFinal private SLObjectLayout layout;
+
+    @CompilationFinal private CachedShape cachedShape;
+    @CompilationFinal private int shapeChanges;
+    @Child private DynamicObjectLibrary objectLibrary;
+
+    public SLObjectLiteralNode(String[] names, SLExpressionNode[] valueNodes) {
+        assert names.length == valueNodes.length;
+        this.names = names;
+        this.valueNodes = valueNodes;
+        this.layout = SLObjectLayout.forProperties(names.length, names.length);
+    }
+
+    @ExplodeLoop
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        CompilerAsserts.compilationConstant(valueNodes.length);
+        Object[] values = new Object[valueNodes.length];
+        for (int i = 0; i < valueNodes.length; i++) {
+            values[i] = valueNodes[i].executeGeneric(frame);
+        }
+
+        SLObject object = SLLanguage.get(this).createObject(SLContext.get(this).getAllocationReporter(), layout);
+        if (values.length == 0) {
+            return object;
+        }
+        CachedShape cached = cachedShape;
+        if (objectLibrary != null) {
+            fillGeneric(object, values);
+        } else if (cached != null && cached.canStoreAll(object, values)) {
+            cached.storeAll(object, values);
+        } else {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            specialize(object, values);
+        }
+        return object;
+    }
+
+    @ExplodeLoop
+    private void fillGeneric(SLObject object, Object[] values) {
+        for (int i = 0; i < names.length; i++) {
+            object.writeProperty(names[i], values[i], objectLibrary);
+        }
+    }
+
+    private void specialize(SLObject object, Object[] values) {
+        Lock lock = getLock();
+        lock.lock();
+        try {
+            specializeLocked(object, values);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void specializeLocked(SLObject object, Object[] values) {
+        Shape rootShape = object.getShape();
+        DynamicObjectLibrary uncached = DynamicObjectLibrary.getUncached();
+        for (int i = 0; i < names.length; i++) {
+            object.writeProperty(names[i], values[i], uncached);
+        }
+        SLObjectLayout valuesLayout = SLObjectLayout.forValues(values);
+        if (cachedShape == null && valuesLayout.getFieldCount() < layout.getFieldCount()) {
+            /* The next object gets the smaller layout, and its shape is cached. */
+            layout = valuesLayout;
+            return;
+        }
+        if (object.isDictionary() || shapeChanges++ >= SHAPE_CHANGE_LIMIT) {
+            cachedShape = null;
+            objectLibrary = insert(DynamicObjectLibrary.getFactory().createDispatched(SHAPE_CHANGE_LIMIT));
+            return;
+        }
+        Shape shape = object.getShape();
+        Location[] newLocations = new Location[names.length];
+        for (int i = 0; i < names.length; i++) {
+            newLocations[i] = shape.getProperty(names[i]).getLocation();
+        }
+        cachedShape = new CachedShape(rootShape, shape, newLocations);
+    }
+
+    /**
+     * The shape of the objects created by this literal, with the locations of the properties in
+     * the order of the values. The cached shape only applies to new objects with the same root
+     * shape: another thread may still have allocated its object with the previous layout.
+     */
+    private static final class CachedShape {
+
+        final Shape rootShape;
+        final Shape shape;
+        @CompilationFinal(dimensions = 1) final Location[] locations;
+
+        CachedShape(Shape rootShape, Shape shape, Location[] locations) {
+            this.rootShape = rootShape;
+            this.shape = shape;
+            this.locations = locations;
+        }
+
+        @ExplodeLoop
+        boolean canStoreAll(SLObject object, Object[] values) {
+            if (object.getShape() != rootShape || !shape.getValidAssumption().isValid()) {
+                return false;
+            }
+            for (int i = 0; i < locations.length; i++) {
+                if (!locations[i].canSet(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Stores the first value together with the change from the root shape to the cached shape,
+         * which also allocates the extension arrays of the object if the layout needs any. All
+         * other properties then already exist and are stored in order.
+         */
+        @ExplodeLoop
+        void storeAll(SLObject object, Object[] values) {
+            try {
+                locations[0].set(object, values[0], object.getShape(), shape);
+                for (int i = 1; i < locations.length; i++) {
+                    locations[i].set(object, values[i], shape);
+                }
+            } catch (IncompatibleLocationException | FinalLocationException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Location;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * The node for reading a property whose name is known at parse time, i.e., {@code obj.name}. Unlike
+ * {@link SLReadPropertyNode}, the name is not evaluated and converted on every execution.
+ * <p>
+ * For {@link SLObject SL objects}, the node caches the {@link Location} of the property for each
+ * {@link Shape} it sees, so a monomorphic property read is a single shape check followed by a load.
+ * Only foreign objects go through the {@link InteropLibrary}.
+ */
+@NodeInfo(shortName = ".")
+@NodeChild("receiverNode")
+public abstract class SLReadConstantPropertyNode extends SLExpressionNode {
+
+    static final int CACHE_LIMIT = 3;
+
+    private final String name;
+
+    protected SLReadConstantPropertyNode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Inline cache for objects in shape mode. A cached location of {@code null} means that objects
+     * of this shape do not have the property. Objects in dictionary mode all share one shape
+     * without properties, so they are left to {@link #readObject}.
+     */
+    @Specialization(guards = {"receiver.getShape() == cachedShape", "!dictionary"}, assumptions = "cachedShape.getValidAssumption()", limit = "CACHE_LIMIT")
+    protected Object readCached(SLObject receiver,
+                    @Cached("receiver.getShape()") Shape cachedShape,
+                    @Cached("receiver.isDictionary()") boolean dictionary,
+                    @Cached("lookupLocation(cachedShape, getName())") Location location) {
+        if (location == null) {
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        return location.get(receiver, cachedShape);
+    }
+
+    @Specialization
+    protected Object readObject(SLObject receiver,
+                    @CachedLibrary(limit = "CACHE_LIMIT") DynamicObjectLibrary objectLibrary) {
+        Object result = receiver.readProperty(name, objectLibrary);
+        if (result == null) {
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        return result;
+    }
+
+    /**
+     * Foreign objects and SL arrays. Arrays do not have named properties, like in
+     * {@link SLReadPropertyNode}.
+     */
+    @Specialization(guards = {"!isSLObject(receiver)", "objects.hasMembers(receiver) || objects.hasArrayElements(receiver)"}, limit = "CACHE_LIMIT")
+    protected Object readForeign(Object receiver,
+                    @CachedLibrary("receiver") InteropLibrary objects) {
+        if (objects.hasArrayElements(receiver)) {
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        try {
+            return objects.readMember(receiver, name);
+        } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+            // read was not successful. In SL we only have basic support for errors.
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+    }
+
+    static Location lookupLocation(Shape shape, String name) {
+        Property property = shape.getProperty(name);
+        return property == null ? null : property.getLocation();
+    }
+
+    protected static boolean isSLObject(Object receiver) {
+        return receiver instanceof SLObject;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.sl.runtime.SLGlobal;
+
+/**
+ * Reads a {@link SLGlobal global variable}. In a single context, the node caches the value of the
+ * global as long as its {@link SLGlobal#getValueStable() value stable} assumption is valid, so the
+ * compiler can fold the value as a constant. A {@link SLWriteGlobalNode write} invalidates the
+ * assumption, and the next read caches the new value. Globals that are written too often are no
+ * longer {@link SLGlobal#isConstant() constant} and are read from the global on every execution.
+ */
+@NodeInfo(shortName = "global")
+public final class SLReadGlobalNode extends SLGlobalVariableNode {
+
+    /**
+     * A cached value with the assumption it was read under. Both are published in one object, so
+     * threads that fill the cache concurrently never pair a value with a newer assumption.
+     */
+    private static final class CachedValue {
+
+        final Assumption valueStable;
+        final Object value;
+
+        CachedValue(Assumption valueStable, Object value) {
+            this.valueStable = valueStable;
+            this.value = value;
+        }
+    }
+
+    @CompilationFinal private CachedValue cached;
+
+    public SLReadGlobalNode(String name) {
+        super(name);
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        SLGlobal global = getGlobal();
+        if (!isSingleContext()) {
+            return global.getValue();
+        }
+        CachedValue c = cached;
+        if (c != null && c.valueStable.isValid()) {
+            return c.value;
+        }
+        if (global.isConstant()) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            /*
+             * Get the assumption first: a write invalidates it before changing the value, and
+             * creates the next assumption only after the new value is published.
+             */
+            Assumption stable = global.getValueStable();
+            Object value = global.getValue();
+            cached = new CachedValue(stable, value);
+            return value;
+        }
+        if (c != null) {
+            /* The global is no longer constant. */
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            cached = null;
+        }
+        return global.getValue();
+    }
+}
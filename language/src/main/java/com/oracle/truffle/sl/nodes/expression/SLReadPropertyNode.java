@@ -51,6 +51,8 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
 import com.oracle.truffle.sl.nodes.util.SLToMemberNode;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLObject;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
 /**
@@ -68,6 +70,55 @@ public abstract class SLReadPropertyNode extends SLExpressionNode {
 
     static final int LIBRARY_LIMIT = 3;
 
+    /**
+     * Specializations for {@link SLArray SL arrays}, one for each storage strategy. Reading from an
+     * array with {@code long[]} storage returns a primitive value, so numeric loops do not box
+     * their elements.
+     */
+    @Specialization(guards = "receiver.isLongStorage()")
+    protected long readLongArray(SLArray receiver, long index) {
+        checkBounds(receiver, index);
+        return receiver.readLong((int) index);
+    }
+
+    @Specialization(guards = "receiver.isBooleanStorage()")
+    protected boolean readBooleanArray(SLArray receiver, long index) {
+        checkBounds(receiver, index);
+        return receiver.readBoolean((int) index);
+    }
+
+    @Specialization(replaces = {"readLongArray", "readBooleanArray"})
+    protected Object readSLArray(SLArray receiver, long index) {
+        checkBounds(receiver, index);
+        return receiver.read((int) index);
+    }
+
+    private void checkBounds(SLArray receiver, long index) {
+        if (!receiver.isInBounds(index)) {
+            throw SLUndefinedNameException.undefinedProperty(this, index);
+        }
+    }
+
+    /**
+     * Objects in dictionary mode all share one shape, so going through the
+     * {@link com.oracle.truffle.api.object.DynamicObjectLibrary} would not help. Read directly from
+     * the {@link com.oracle.truffle.sl.runtime.SLDictionary hash table} instead.
+     */
+    @Specialization(guards = "receiver.isDictionary()")
+    protected Object readDictionary(SLObject receiver, Object name,
+                    @Cached SLToMemberNode asMember) {
+        Object result;
+        try {
+            result = receiver.getDictionaryValue(asMember.execute(name));
+        } catch (UnknownIdentifierException e) {
+            result = null;
+        }
+        if (result == null) {
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        return result;
+    }
+
     @Specialization(guards = "arrays.hasArrayElements(receiver)", limit = "LIBRARY_LIMIT")
     protected Object readArray(Object receiver, Object index,
                     @CachedLibrary("receiver") InteropLibrary arrays,
@@ -60,4 +60,8 @@ public final class SLStringLiteralNode extends SLExpressionNode {
     public String executeGeneric(VirtualFrame frame) {
         return value;
     }
+
+    public String getValue() {
+        return value;
+    }
 }
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * This class is similar to the extensively documented {@link SLAddNode}.
@@ -59,10 +60,40 @@ public abstract class SLSubNode extends SLBinaryNode {
         return Math.subtractExact(left, right);
     }
 
+    @Specialization
+    protected Object subOverflow(long left, long right) {
+        return SLInt128.sub(left, right);
+    }
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected Object sub(SLInt128 left, SLInt128 right) {
+        return SLInt128.sub(left, right);
+    }
+
     @Specialization
     @TruffleBoundary
-    protected SLBigNumber sub(SLBigNumber left, SLBigNumber right) {
-        return new SLBigNumber(left.getValue().subtract(right.getValue()));
+    protected Object sub(SLBigNumber left, SLBigNumber right) {
+        return SLBigNumber.normalize(left.getValue().subtract(right.getValue()));
+    }
+
+    @Specialization
+    protected double sub(double left, double right) {
+        return left - right;
+    }
+
+    /*
+     * Mixed floating point operations. Because of the implicit cast from SLInt128 to SLBigNumber,
+     * these are also taken for 128-bit operands. They are declared after the floating point
+     * specialization, so a long operand still uses the implicit cast from long to double.
+     */
+    @Specialization
+    protected double sub(SLBigNumber left, double right) {
+        return left.doubleValue() - right;
+    }
+
+    @Specialization
+    protected double sub(double left, SLBigNumber right) {
+        return left - right.doubleValue();
     }
 
     @Fallback
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.expression;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.FinalLocationException;
+import com.oracle.truffle.api.object.IncompatibleLocationException;
+import com.oracle.truffle.api.object.Location;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * The node for writing a property whose name is known at parse time, i.e., {@code obj.name = value}
+ * . This is the counterpart of {@link SLReadConstantPropertyNode}: writes of existing properties of
+ * {@link SLObject SL objects} use the cached {@link Location} of the property directly. Adding a
+ * property, which changes the shape, is left to the {@link DynamicObjectLibrary}.
+ */
+@NodeInfo(shortName = ".=")
+@NodeChild("receiverNode")
+@NodeChild("valueNode")
+public abstract class SLWriteConstantPropertyNode extends SLExpressionNode {
+
+    static final int CACHE_LIMIT = 3;
+
+    private final String name;
+
+    protected SLWriteConstantPropertyNode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Inline cache for existing properties. The {@link Location#canSet type check} of the location
+     * is part of the guard: a value that does not fit, e.g., a {@code double} in a location that so
+     * far only held {@code long} values, is written by {@link #writeObject}, which generalizes the
+     * location and invalidates the cached shape. Writes to {@link SLObject#isShared() shared}
+     * objects must share the value and are synchronized, so they are left to {@link #writeObject}
+     * as well.
+     */
+    @Specialization(guards = {"receiver.getShape() == cachedShape", "!cachedShape.isShared()", "location != null", "location.canSet(value)"}, assumptions = "cachedShape.getValidAssumption()", limit = "CACHE_LIMIT")
+    protected Object writeCached(SLObject receiver, Object value,
+                    @Cached("receiver.getShape()") Shape cachedShape,
+                    @Cached("lookupLocation(cachedShape, getName())") Location location) {
+        try {
+            location.set(receiver, value, cachedShape);
+        } catch (IncompatibleLocationException | FinalLocationException e) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            receiver.writeProperty(name, value, DynamicObjectLibrary.getUncached());
+        }
+        return value;
+    }
+
+    @Specialization
+    protected Object writeObject(SLObject receiver, Object value,
+                    @CachedLibrary(limit = "CACHE_LIMIT") DynamicObjectLibrary objectLibrary) {
+        receiver.writeProperty(name, value, objectLibrary);
+        return value;
+    }
+
+    /**
+     * Foreign objects and SL arrays. Arrays do not have named properties, like in
+     * {@link SLWritePropertyNode}.
+     */
+    @Specialization(guards = "!isSLObject(receiver)", limit = "CACHE_LIMIT")
+    protected Object writeForeign(Object receiver, Object value,
+                    @CachedLibrary("receiver") InteropLibrary objects) {
+        try {
+            if (objects.hasArrayElements(receiver)) {
+                throw UnsupportedMessageException.create();
+            }
+            objects.writeMember(receiver, name, value);
+        } catch (UnsupportedMessageException | UnknownIdentifierException | UnsupportedTypeException e) {
+            // write was not successful. In SL we only have basic support for errors.
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        return value;
+    }
+
+    static Location lookupLocation(Shape shape, String name) {
+        return SLReadConstantPropertyNode.lookupLocation(shape, name);
+    }
+
+    protected static boolean isSLObject(Object receiver) {
+        return receiver instanceof SLObject;
+    }
+}
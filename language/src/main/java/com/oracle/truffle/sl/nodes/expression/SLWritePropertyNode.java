@@ -52,6 +52,9 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
 import com.oracle.truffle.sl.nodes.util.SLToMemberNode;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLObject;
+import com.oracle.truffle.sl.runtime.SLTransfer;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
 /**
@@ -72,6 +75,57 @@ public abstract class SLWritePropertyNode extends SLExpressionNode {
 
     static final int LIBRARY_LIMIT = 3;
 
+    /**
+     * Specializations for {@link SLArray SL arrays}. A value that matches the current storage
+     * strategy is stored without boxing. Any other value is written by the generic
+     * {@link #writeSLArray} specialization, which generalizes the storage of the array. Frozen
+     * arrays reject all writes.
+     */
+    @Specialization(guards = "receiver.isLongStorage()")
+    protected long writeLongArray(SLArray receiver, long index, long value) {
+        checkBounds(receiver, index);
+        receiver.writeLong((int) index, value);
+        return value;
+    }
+
+    @Specialization(guards = "receiver.isBooleanStorage()")
+    protected boolean writeBooleanArray(SLArray receiver, long index, boolean value) {
+        checkBounds(receiver, index);
+        receiver.writeBoolean((int) index, value);
+        return value;
+    }
+
+    @Specialization(replaces = {"writeLongArray", "writeBooleanArray"})
+    protected Object writeSLArray(SLArray receiver, long index, Object value) {
+        checkBounds(receiver, index);
+        receiver.write((int) index, value);
+        return value;
+    }
+
+    private void checkBounds(SLArray receiver, long index) {
+        if (!receiver.isInBounds(index)) {
+            throw SLUndefinedNameException.undefinedProperty(this, index);
+        }
+        if (receiver.isFrozen()) {
+            throw SLTransfer.frozenError(this);
+        }
+    }
+
+    /**
+     * Objects in dictionary mode never change their shape again, so the property is written
+     * directly into the {@link com.oracle.truffle.sl.runtime.SLDictionary hash table}.
+     */
+    @Specialization(guards = "receiver.isDictionary()")
+    protected Object writeDictionary(SLObject receiver, Object name, Object value,
+                    @Cached SLToMemberNode asMember) {
+        try {
+            receiver.putDictionaryValue(asMember.execute(name), value);
+        } catch (UnknownIdentifierException e) {
+            throw SLUndefinedNameException.undefinedProperty(this, name);
+        }
+        return value;
+    }
+
     @Specialization(guards = "arrays.hasArrayElements(receiver)", limit = "LIBRARY_LIMIT")
     protected Object writeArray(Object receiver, Object index, Object value,
                     @CachedLibrary("receiver") InteropLibrary arrays,
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.local;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLTypesGen;
+
+/**
+ * Superinstruction for the comparison of a local variable with a constant, e.g., the loop condition
+ * {@code i < 100}. Conditions of {@code if} and {@code while} statements are executed via
+ * {@link #executeBoolean}, so the result is not boxed.
+ */
+@NodeInfo(shortName = "compare")
+public final class SLCompareLocalConstantNode extends SLFusedLocalNode {
+
+    /** The comparison operators, with the local variable as the left operand. */
+    public enum Operator {
+        LESS_THAN,
+        LESS_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_OR_EQUAL,
+        EQUAL,
+        NOT_EQUAL;
+
+        /**
+         * Returns the operator that yields the same result when the operands are swapped.
+         */
+        public Operator mirror() {
+            switch (this) {
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_OR_EQUAL:
+                    return GREATER_OR_EQUAL;
+                case GREATER_THAN:
+                    return LESS_THAN;
+                case GREATER_OR_EQUAL:
+                    return LESS_OR_EQUAL;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    private final Operator operator;
+
+    public SLCompareLocalConstantNode(FrameSlot slot, Operator operator, long constant, SLExpressionNode original) {
+        super(slot, constant, original);
+        this.operator = operator;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (isFused(frame)) {
+            return compare(FrameUtil.getLongSafe(frame, slot));
+        }
+        return executeUnfused(frame);
+    }
+
+    @Override
+    public boolean executeBoolean(VirtualFrame frame) throws UnexpectedResultException {
+        if (isFused(frame)) {
+            return compare(FrameUtil.getLongSafe(frame, slot));
+        }
+        return SLTypesGen.expectBoolean(executeUnfused(frame));
+    }
+
+    private boolean compare(long value) {
+        switch (operator) {
+            case LESS_THAN:
+                return value < constant;
+            case LESS_OR_EQUAL:
+                return value <= constant;
+            case GREATER_THAN:
+                return value > constant;
+            case GREATER_OR_EQUAL:
+                return value >= constant;
+            case EQUAL:
+                return value == constant;
+            case NOT_EQUAL:
+                return value != constant;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.local;
+
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.StandardTags.ExpressionTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.ReadVariableTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.WriteVariableTag;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.parser.SLNodeFactory;
+
+/**
+ * Base class of the superinstructions that the {@link SLNodeFactory} emits for common operations of
+ * a local variable with a constant {@code long} value. A superinstruction replaces a whole subtree
+ * of generic nodes (e.g., a write, an addition, two unbox nodes, a read and a literal for
+ * {@code i = i + 1}) with a single node that handles the case of a local variable that only ever
+ * held {@code long} values.
+ * <p>
+ * The superinstruction has the source section and the tags of the subtree it replaces. The subtree
+ * itself is kept as the {@link #getOriginal() original}, which is not a child of this node and has
+ * no source section and tags at its root. If the fast path does not apply, e.g., because the local
+ * variable holds another type or the operation overflows, a copy of the original subtree is
+ * inserted as a child and all further executions are delegated to it, which then handles all cases
+ * exactly as without the superinstruction.
+ * <p>
+ * The same happens when tools instrument expressions or variable accesses, so that the nodes inside
+ * the fused subtree are visible to the tools. The superinstruction itself stays in the tree and is
+ * instrumented in place of the root of the subtree.
+ */
+public abstract class SLFusedLocalNode extends SLExpressionNode {
+
+    protected final FrameSlot slot;
+    protected final long constant;
+    private final SLExpressionNode original;
+
+    /** The copy of the original subtree, only present when the fast path is no longer used. */
+    @Child private SLExpressionNode unfused;
+
+    protected SLFusedLocalNode(FrameSlot slot, long constant, SLExpressionNode original) {
+        assert !original.hasSource();
+        this.slot = slot;
+        this.constant = constant;
+        this.original = original;
+    }
+
+    /**
+     * Returns the subtree of generic nodes that this superinstruction replaces.
+     */
+    public final SLExpressionNode getOriginal() {
+        return original;
+    }
+
+    /**
+     * Returns whether the fast path of the superinstruction applies: the local variable only ever
+     * held {@code long} values, and the original subtree is not in use.
+     */
+    protected final boolean isFused(VirtualFrame frame) {
+        return unfused == null && frame.isLong(slot);
+    }
+
+    /**
+     * Executes the original subtree. Used when the {@link #isFused fast path} of the
+     * superinstruction does not apply.
+     */
+    protected final Object executeUnfused(VirtualFrame frame) {
+        if (unfused == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            unfuse();
+        }
+        return unfused.executeGeneric(frame);
+    }
+
+    private void unfuse() {
+        unfused = insert((SLExpressionNode) original.deepCopy());
+    }
+
+    @Override
+    public InstrumentableNode materializeInstrumentableNodes(Set<Class<? extends Tag>> materializedTags) {
+        if (unfused == null && (materializedTags.contains(ExpressionTag.class) || materializedTags.contains(ReadVariableTag.class) ||
+                        materializedTags.contains(WriteVariableTag.class))) {
+            unfuse();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the node object of the root of the original subtree. Only available when it is
+     * instrumented.
+     */
+    @Override
+    public Object getNodeObject() {
+        return unfused == null ? null : unfused.getNodeObject();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.local;
+
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags.WriteVariableTag;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+
+/**
+ * Superinstruction for the increment of a local variable by a constant, e.g., {@code i = i + 1}.
+ * As long as the variable only holds {@code long} values, the new value is computed and written
+ * without boxing.
+ */
+@NodeInfo(shortName = "=")
+public final class SLIncrementLocalNode extends SLFusedLocalNode {
+
+    public SLIncrementLocalNode(FrameSlot slot, long constant, SLExpressionNode original) {
+        super(slot, constant, original);
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        if (isFused(frame)) {
+            try {
+                long result = Math.addExact(FrameUtil.getLongSafe(frame, slot), constant);
+                frame.setLong(slot, result);
+                return result;
+            } catch (ArithmeticException ex) {
+                /* The generic addition handles the overflow. */
+            }
+        }
+        return executeUnfused(frame);
+    }
+
+    @Override
+    public void executeVoid(VirtualFrame frame) {
+        if (isFused(frame)) {
+            try {
+                frame.setLong(slot, Math.addExact(FrameUtil.getLongSafe(frame, slot), constant));
+                return;
+            } catch (ArithmeticException ex) {
+                /* The generic addition handles the overflow. */
+            }
+        }
+        executeUnfused(frame);
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        return tag == WriteVariableTag.class || super.hasTag(tag);
+    }
+}
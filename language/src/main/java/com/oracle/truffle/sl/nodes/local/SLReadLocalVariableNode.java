@@ -59,7 +59,7 @@ import com.oracle.truffle.sl.nodes.interop.NodeObjectDescriptor;
  * We use the primitive type only when the same primitive type is uses for all writes. If the local
  * variable is type-polymorphic, then the value is always stored as an Object, i.e., primitive
  * values are boxed. Even a mixture of {@code long} and {@code boolean} writes leads to both being
- * stored boxed.
+ * stored boxed. The same applies to a mixture of {@code long} and {@code double} writes.
  */
 @NodeField(name = "slot", type = FrameSlot.class)
 public abstract class SLReadLocalVariableNode extends SLExpressionNode {
@@ -68,7 +68,7 @@ public abstract class SLReadLocalVariableNode extends SLExpressionNode {
      * Returns the descriptor of the accessed local variable. The implementation of this method is
      * created by the Truffle DSL based on the {@link NodeField} annotation on the class.
      */
-    protected abstract FrameSlot getSlot();
+    public abstract FrameSlot getSlot();
 
     @Specialization(guards = "frame.isLong(getSlot())")
     protected long readLong(VirtualFrame frame) {
@@ -85,7 +85,12 @@ public abstract class SLReadLocalVariableNode extends SLExpressionNode {
         return FrameUtil.getBooleanSafe(frame, getSlot());
     }
 
-    @Specialization(replaces = {"readLong", "readBoolean"})
+    @Specialization(guards = "frame.isDouble(getSlot())")
+    protected double readDouble(VirtualFrame frame) {
+        return FrameUtil.getDoubleSafe(frame, getSlot());
+    }
+
+    @Specialization(replaces = {"readLong", "readBoolean", "readDouble"})
     protected Object readObject(VirtualFrame frame) {
         if (!frame.isObject(getSlot())) {
             /*
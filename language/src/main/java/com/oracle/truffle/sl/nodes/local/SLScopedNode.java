@@ -461,7 +461,7 @@ public abstract class SLScopedNode extends Node {
             for (int i = 0; i < writeNodes.length; i++) {
                 SLWriteLocalVariableNode writeNode = writeNodes[i];
                 if (member.equals(writeNode.getSlot().getIdentifier())) {
-                    return i;
+                    return i + root.getArgumentOffset();
                 }
             }
             return -1;
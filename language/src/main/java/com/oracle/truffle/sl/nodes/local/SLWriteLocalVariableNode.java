@@ -101,6 +101,25 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
         return value;
     }
 
+    /**
+     * Specialized method to write a primitive {@code double} value, so that floating point loops
+     * keep their variables unboxed in the frame.
+     * <p>
+     * The value is typed {@link Object} and checked with a {@link #isDouble(Object) guard} on
+     * purpose: a {@code double} parameter would also accept {@code long} values via the
+     * {@link com.oracle.truffle.sl.nodes.SLTypes#castDouble(long) implicit cast}, and silently turn
+     * integers that are written to a {@code double} variable into floating point numbers.
+     */
+    @Specialization(guards = {"isDoubleOrIllegal(frame)", "isDouble(value)"})
+    protected double writeDouble(VirtualFrame frame, Object value) {
+        /* Initialize type on first write of the local variable. No-op if kind is already Double. */
+        frame.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Double);
+
+        double doubleValue = (double) value;
+        frame.setDouble(getSlot(), doubleValue);
+        return doubleValue;
+    }
+
     /**
      * Generic write method that works for all possible types.
      * <p>
@@ -111,7 +130,7 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
      * {@link Object}, it is guaranteed to never fail, i.e., once we are in this specialization the
      * node will never be re-specialized.
      */
-    @Specialization(replaces = {"writeLong", "writeBoolean"})
+    @Specialization(replaces = {"writeLong", "writeBoolean", "writeDouble"})
     protected Object write(VirtualFrame frame, Object value) {
         /*
          * Regardless of the type before, the new and final type of the local variable is Object.
@@ -146,6 +165,15 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
         return kind == FrameSlotKind.Boolean || kind == FrameSlotKind.Illegal;
     }
 
+    protected boolean isDoubleOrIllegal(VirtualFrame frame) {
+        final FrameSlotKind kind = frame.getFrameDescriptor().getFrameSlotKind(getSlot());
+        return kind == FrameSlotKind.Double || kind == FrameSlotKind.Illegal;
+    }
+
+    protected static boolean isDouble(Object value) {
+        return value instanceof Double;
+    }
+
     @Override
     public boolean hasTag(Class<? extends Tag> tag) {
         return tag == WriteVariableTag.class || super.hasTag(tag);
@@ -53,6 +53,7 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLInt128;
 
 /**
  * The node to normalize any value to an SL value. This is useful to reduce the number of values
@@ -82,6 +83,18 @@ public abstract class SLToMemberNode extends Node {
         return String.valueOf(value);
     }
 
+    @Specialization
+    @TruffleBoundary
+    protected static String fromDouble(double value) {
+        return String.valueOf(value);
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected static String fromInt128(SLInt128 value) {
+        return value.toString();
+    }
+
     @Specialization
     @TruffleBoundary
     protected static String fromBigNumber(SLBigNumber value) {
@@ -51,7 +51,9 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
 import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.runtime.SLBigNumber;
+import com.oracle.truffle.sl.runtime.SLConcatString;
 import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLInt128;
 import com.oracle.truffle.sl.runtime.SLNull;
 
 /**
@@ -64,6 +66,16 @@ public abstract class SLUnboxNode extends SLExpressionNode {
 
     static final int LIMIT = 5;
 
+    /**
+     * Ropes are SL values and are passed on unchanged. This must come before
+     * {@link #fromString(String)}, which would flatten them via the implicit cast to
+     * {@link String}.
+     */
+    @Specialization
+    protected static SLConcatString fromConcatString(SLConcatString value) {
+        return value;
+    }
+
     @Specialization
     protected static String fromString(String value) {
         return value;
@@ -79,6 +91,16 @@ public abstract class SLUnboxNode extends SLExpressionNode {
         return value;
     }
 
+    @Specialization
+    protected static double fromDouble(double value) {
+        return value;
+    }
+
+    @Specialization
+    protected static SLInt128 fromInt128(SLInt128 value) {
+        return value;
+    }
+
     @Specialization
     protected static SLBigNumber fromBigNumber(SLBigNumber value) {
         return value;
@@ -100,7 +122,7 @@ public abstract class SLUnboxNode extends SLExpressionNode {
             if (interop.fitsInLong(value)) {
                 return interop.asLong(value);
             } else if (interop.fitsInDouble(value)) {
-                return (long) interop.asDouble(value);
+                return interop.asDouble(value);
             } else if (interop.isString(value)) {
                 return interop.asString(value);
             } else if (interop.isBoolean(value)) {
@@ -0,0 +1,793 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.Token;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLStatementNode;
+
+/**
+ * The binary snapshot of the AST of a source, which is stored by the {@link SLCodeCache}. A
+ * snapshot replaces the lexer and the parser: {@link #load loading} it builds the same
+ * {@link com.oracle.truffle.sl.nodes.SLRootNode root nodes} as parsing the source.
+ * <p>
+ * The snapshot does not contain Truffle nodes, but the calls of the parser to the
+ * {@link SLNodeFactory}, which are recorded by a {@link Recorder}. Each call is stored as an
+ * operation with its arguments, in the order of the parser, i.e., the children of a node come
+ * before the node. An operation refers to the nodes that earlier operations returned. The loader
+ * replays the operations with a new factory, which therefore creates the same frame slots,
+ * closures, globals and superinstructions as for the parsed source.
+ * <p>
+ * The format is:
+ *
+ * <pre>
+ * snapshot  = MAGIC VERSION digest[32] constants operations
+ * constants = count (length utf8[length])*   -- names, operators, string and number literals
+ * operations = count (opcode argument*)*
+ * token     = position constant              -- source offset and index of the token text
+ * optional  = 0 | 1 token                    -- a token that may be null
+ * position  = zigzag(offset - previous offset)
+ * node      = distance, or 0 for null        -- operations with a result since the node
+ * </pre>
+ *
+ * Numbers are unsigned variable-length integers with 7 bits per byte. Source offsets and node
+ * references are stored relative to the previous offset and the current node, so most of them
+ * fit into a single byte. The digest is the {@link SLCodeCache#digest digest} of the source, so a
+ * snapshot is only loaded for the source that it was recorded for.
+ */
+final class SLAstSnapshot {
+
+    static final int MAGIC = 0x534c4153; // "SLAS"
+    static final int VERSION = 2;
+    static final int DIGEST_LENGTH = 32;
+
+    /** The recorded calls of the {@link SLNodeFactory}. */
+    private enum Op {
+        ADD_GLOBAL,
+        START_FUNCTION,
+        ADD_FORMAL_PARAMETER,
+        FINISH_FUNCTION,
+        START_LAMBDA,
+        FINISH_LAMBDA,
+        START_BLOCK,
+        FINISH_BLOCK,
+        DEBUGGER,
+        BREAK,
+        CONTINUE,
+        WHILE,
+        FOR,
+        IF,
+        RETURN,
+        BINARY,
+        CALL,
+        ASSIGNMENT,
+        READ,
+        STRING_LITERAL,
+        NUMERIC_LITERAL,
+        PAREN_EXPRESSION,
+        ARRAY_LITERAL,
+        OBJECT_LITERAL,
+        READ_PROPERTY,
+        WRITE_PROPERTY;
+
+        static final Op[] VALUES = values();
+    }
+
+    private SLAstSnapshot() {
+    }
+
+    /**
+     * Maps a signed difference to an unsigned number, so small negative differences stay small.
+     */
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * A node factory that records the calls of the parser for a snapshot. Calls that the factory
+     * makes to itself, e.g., to create the assignment of a parameter, are not recorded: the loader
+     * replays only the calls of the parser, which make these calls again.
+     */
+    static final class Recorder extends SLNodeFactory {
+
+        private final Output operations = new Output();
+        private int operationCount;
+        private final Map<String, Integer> constantIndices = new HashMap<>();
+        private final List<String> constants = new ArrayList<>();
+        private final Map<SLStatementNode, Integer> nodeIndices = new IdentityHashMap<>();
+        private int nodeCount;
+        /** The last source offset that was written. */
+        private int position;
+        /** The number of factory calls that are active, to skip the nested ones. */
+        private int depth;
+        private boolean complete = true;
+
+        Recorder(SLLanguage language, Source source) {
+            super(language, source);
+        }
+
+        /**
+         * Returns the snapshot of the recorded calls, for the source with the given digest, or
+         * {@code null} if the parser passed a node to the factory that the factory did not create.
+         */
+        byte[] toSnapshot(byte[] digest) {
+            assert digest.length == DIGEST_LENGTH && depth == 0;
+            if (!complete) {
+                return null;
+            }
+            Output out = new Output();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(digest, 0, digest.length);
+            out.writeNumber(constants.size());
+            for (String constant : constants) {
+                byte[] bytes = constant.getBytes(StandardCharsets.UTF_8);
+                out.writeNumber(bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+            out.writeNumber(operationCount);
+            operations.writeTo(out);
+            return out.toByteArray();
+        }
+
+        /**
+         * Starts a factory call, and writes its opcode if the parser made the call. Returns whether
+         * the arguments must be written.
+         */
+        private boolean begin(Op op) {
+            if (depth++ > 0) {
+                return false;
+            }
+            operations.write(op.ordinal());
+            operationCount++;
+            return true;
+        }
+
+        private void end() {
+            depth--;
+        }
+
+        private <T extends SLStatementNode> T end(T result) {
+            if (--depth == 0) {
+                /* Every operation with a result gets an index, even if the result is null. */
+                int index = nodeCount++;
+                if (result != null) {
+                    nodeIndices.put(result, index);
+                }
+            }
+            return result;
+        }
+
+        private void number(int value) {
+            operations.writeNumber(value);
+        }
+
+        private void position(int value) {
+            operations.writeNumber(zigZag(value - position));
+            position = value;
+        }
+
+        private void constant(String text) {
+            Integer index = constantIndices.get(text);
+            if (index == null) {
+                index = constants.size();
+                constants.add(text);
+                constantIndices.put(text, index);
+            }
+            number(index);
+        }
+
+        private void token(Token token) {
+            position(token.getStartIndex());
+            constant(token.getText());
+        }
+
+        private void optionalToken(Token token) {
+            if (token == null) {
+                number(0);
+            } else {
+                number(1);
+                token(token);
+            }
+        }
+
+        private void node(SLStatementNode node) {
+            if (node == null) {
+                number(0);
+            } else {
+                Integer index = nodeIndices.get(node);
+                if (index == null) {
+                    /* The parser created the node itself, so the calls cannot be replayed. */
+                    complete = false;
+                    index = 0;
+                }
+                number(nodeCount - index);
+            }
+        }
+
+        private void nodes(List<? extends SLStatementNode> nodes) {
+            number(nodes.size());
+            for (SLStatementNode node : nodes) {
+                node(node);
+            }
+        }
+
+        @Override
+        public void addGlobal(Token nameToken) {
+            if (begin(Op.ADD_GLOBAL)) {
+                constant(nameToken.getText());
+            }
+            super.addGlobal(nameToken);
+            end();
+        }
+
+        @Override
+        public void addGlobal(String name) {
+            if (begin(Op.ADD_GLOBAL)) {
+                constant(name);
+            }
+            super.addGlobal(name);
+            end();
+        }
+
+        @Override
+        public void startFunction(Token nameToken, Token bodyStartToken) {
+            if (begin(Op.START_FUNCTION)) {
+                token(nameToken);
+                token(bodyStartToken);
+            }
+            super.startFunction(nameToken, bodyStartToken);
+            end();
+        }
+
+        @Override
+        public void addFormalParameter(Token nameToken) {
+            if (begin(Op.ADD_FORMAL_PARAMETER)) {
+                token(nameToken);
+            }
+            super.addFormalParameter(nameToken);
+            end();
+        }
+
+        @Override
+        public void finishFunction(SLStatementNode bodyNode) {
+            if (begin(Op.FINISH_FUNCTION)) {
+                node(bodyNode);
+            }
+            super.finishFunction(bodyNode);
+            end();
+        }
+
+        @Override
+        public void startLambda(Token functionToken, Token bodyStartToken) {
+            if (begin(Op.START_LAMBDA)) {
+                token(functionToken);
+                token(bodyStartToken);
+            }
+            super.startLambda(functionToken, bodyStartToken);
+            end();
+        }
+
+        @Override
+        public SLExpressionNode finishLambda(SLStatementNode bodyNode) {
+            if (begin(Op.FINISH_LAMBDA)) {
+                node(bodyNode);
+            }
+            return end(super.finishLambda(bodyNode));
+        }
+
+        @Override
+        public void startBlock() {
+            begin(Op.START_BLOCK);
+            super.startBlock();
+            end();
+        }
+
+        @Override
+        public SLStatementNode finishBlock(List<SLStatementNode> bodyNodes, int startPos, int length) {
+            return finishBlock(bodyNodes, 0, startPos, length);
+        }
+
+        @Override
+        public SLStatementNode finishBlock(List<SLStatementNode> bodyNodes, int skipCount, int startPos, int length) {
+            if (begin(Op.FINISH_BLOCK)) {
+                nodes(bodyNodes);
+                number(skipCount);
+                position(startPos);
+                number(length);
+            }
+            return end(super.finishBlock(bodyNodes, skipCount, startPos, length));
+        }
+
+        @Override
+        SLStatementNode createDebugger(Token debuggerToken) {
+            if (begin(Op.DEBUGGER)) {
+                token(debuggerToken);
+            }
+            return end(super.createDebugger(debuggerToken));
+        }
+
+        @Override
+        public SLStatementNode createBreak(Token breakToken) {
+            if (begin(Op.BREAK)) {
+                token(breakToken);
+            }
+            return end(super.createBreak(breakToken));
+        }
+
+        @Override
+        public SLStatementNode createContinue(Token continueToken) {
+            if (begin(Op.CONTINUE)) {
+                token(continueToken);
+            }
+            return end(super.createContinue(continueToken));
+        }
+
+        @Override
+        public SLStatementNode createWhile(Token whileToken, SLExpressionNode conditionNode, SLStatementNode bodyNode) {
+            if (begin(Op.WHILE)) {
+                token(whileToken);
+                node(conditionNode);
+                node(bodyNode);
+            }
+            return end(super.createWhile(whileToken, conditionNode, bodyNode));
+        }
+
+        @Override
+        public SLStatementNode createFor(Token forToken, SLExpressionNode variableName, SLExpressionNode initNode, Token comparisonToken, SLExpressionNode limitNode, Token signToken,
+                        SLExpressionNode stepNode, SLExpressionNode updateNode, SLStatementNode bodyNode) {
+            if (begin(Op.FOR)) {
+                token(forToken);
+                node(variableName);
+                node(initNode);
+                token(comparisonToken);
+                node(limitNode);
+                optionalToken(signToken);
+                node(stepNode);
+                node(updateNode);
+                node(bodyNode);
+            }
+            return end(super.createFor(forToken, variableName, initNode, comparisonToken, limitNode, signToken, stepNode, updateNode, bodyNode));
+        }
+
+        @Override
+        public SLStatementNode createIf(Token ifToken, SLExpressionNode conditionNode, SLStatementNode thenPartNode, SLStatementNode elsePartNode) {
+            if (begin(Op.IF)) {
+                token(ifToken);
+                node(conditionNode);
+                node(thenPartNode);
+                node(elsePartNode);
+            }
+            return end(super.createIf(ifToken, conditionNode, thenPartNode, elsePartNode));
+        }
+
+        @Override
+        public SLStatementNode createReturn(Token t, SLExpressionNode valueNode) {
+            if (begin(Op.RETURN)) {
+                token(t);
+                node(valueNode);
+            }
+            return end(super.createReturn(t, valueNode));
+        }
+
+        @Override
+        public SLExpressionNode createBinary(Token opToken, SLExpressionNode leftNode, SLExpressionNode rightNode) {
+            if (begin(Op.BINARY)) {
+                token(opToken);
+                node(leftNode);
+                node(rightNode);
+            }
+            return end(super.createBinary(opToken, leftNode, rightNode));
+        }
+
+        @Override
+        public SLExpressionNode createCall(SLExpressionNode functionNode, List<SLExpressionNode> parameterNodes, Token finalToken) {
+            if (begin(Op.CALL)) {
+                node(functionNode);
+                nodes(parameterNodes);
+                token(finalToken);
+            }
+            return end(super.createCall(functionNode, parameterNodes, finalToken));
+        }
+
+        @Override
+        public SLExpressionNode createAssignment(SLExpressionNode nameNode, SLExpressionNode valueNode) {
+            if (begin(Op.ASSIGNMENT)) {
+                node(nameNode);
+                node(valueNode);
+                number(0);
+            }
+            return end(super.createAssignment(nameNode, valueNode));
+        }
+
+        @Override
+        public SLExpressionNode createAssignment(SLExpressionNode nameNode, SLExpressionNode valueNode, Integer argumentIndex) {
+            if (begin(Op.ASSIGNMENT)) {
+                node(nameNode);
+                node(valueNode);
+                /* 1 is the local assignment without an argument index. */
+                number(argumentIndex == null ? 1 : argumentIndex + 2);
+            }
+            return end(super.createAssignment(nameNode, valueNode, argumentIndex));
+        }
+
+        @Override
+        public SLExpressionNode createRead(SLExpressionNode nameNode) {
+            if (begin(Op.READ)) {
+                node(nameNode);
+            }
+            return end(super.createRead(nameNode));
+        }
+
+        @Override
+        public SLExpressionNode createStringLiteral(Token literalToken, boolean removeQuotes) {
+            if (begin(Op.STRING_LITERAL)) {
+                token(literalToken);
+                number(removeQuotes ? 1 : 0);
+            }
+            return end(super.createStringLiteral(literalToken, removeQuotes));
+        }
+
+        @Override
+        public SLExpressionNode createNumericLiteral(Token literalToken) {
+            if (begin(Op.NUMERIC_LITERAL)) {
+                token(literalToken);
+            }
+            return end(super.createNumericLiteral(literalToken));
+        }
+
+        @Override
+        public SLExpressionNode createParenExpression(SLExpressionNode expressionNode, int start, int length) {
+            if (begin(Op.PAREN_EXPRESSION)) {
+                node(expressionNode);
+                position(start);
+                number(length);
+            }
+            return end(super.createParenExpression(expressionNode, start, length));
+        }
+
+        @Override
+        public SLExpressionNode createArrayLiteral(List<SLExpressionNode> elementNodes, int start, int length) {
+            if (begin(Op.ARRAY_LITERAL)) {
+                nodes(elementNodes);
+                position(start);
+                number(length);
+            }
+            return end(super.createArrayLiteral(elementNodes, start, length));
+        }
+
+        @Override
+        public SLExpressionNode createObjectLiteral(List<Token> nameTokens, List<SLExpressionNode> valueNodes, int start, int length) {
+            if (begin(Op.OBJECT_LITERAL)) {
+                number(nameTokens.size());
+                for (Token nameToken : nameTokens) {
+                    token(nameToken);
+                }
+                nodes(valueNodes);
+                position(start);
+                number(length);
+            }
+            return end(super.createObjectLiteral(nameTokens, valueNodes, start, length));
+        }
+
+        @Override
+        public SLExpressionNode createReadProperty(SLExpressionNode receiverNode, SLExpressionNode nameNode) {
+            if (begin(Op.READ_PROPERTY)) {
+                node(receiverNode);
+                node(nameNode);
+            }
+            return end(super.createReadProperty(receiverNode, nameNode));
+        }
+
+        @Override
+        public SLExpressionNode createWriteProperty(SLExpressionNode receiverNode, SLExpressionNode nameNode, SLExpressionNode valueNode) {
+            if (begin(Op.WRITE_PROPERTY)) {
+                node(receiverNode);
+                node(nameNode);
+                node(valueNode);
+            }
+            return end(super.createWriteProperty(receiverNode, nameNode, valueNode));
+        }
+    }
+
+    /**
+     * Builds the functions of the source from a snapshot. Returns {@code null} if the snapshot is
+     * not valid, was written by another version, or was recorded for another source.
+     */
+    static Map<String, RootCallTarget> load(SLLanguage language, Source source, byte[] digest, byte[] snapshot) {
+        try {
+            return new Loader(language, source, snapshot).load(digest);
+        } catch (RuntimeException e) {
+            /* A snapshot that cannot be read is just parsed again. */
+            return null;
+        }
+    }
+
+    /**
+     * Replays the operations of a snapshot with a new {@link SLNodeFactory}.
+     */
+    private static final class Loader {
+
+        private final SLNodeFactory factory;
+        private final byte[] data;
+        private int pos;
+        private String[] constants;
+        private int position;
+        private final List<SLStatementNode> nodes = new ArrayList<>();
+
+        Loader(SLLanguage language, Source source, byte[] data) {
+            this.factory = new SLNodeFactory(language, source);
+            this.data = data;
+        }
+
+        Map<String, RootCallTarget> load(byte[] digest) {
+            if (readInt() != MAGIC || readInt() != VERSION || !Arrays.equals(Arrays.copyOfRange(data, pos, pos + DIGEST_LENGTH), digest)) {
+                return null;
+            }
+            pos += DIGEST_LENGTH;
+            constants = new String[number()];
+            for (int i = 0; i < constants.length; i++) {
+                int length = number();
+                constants[i] = new String(data, pos, length, StandardCharsets.UTF_8);
+                pos += length;
+            }
+            int operationCount = number();
+            for (int i = 0; i < operationCount; i++) {
+                replay(Op.VALUES[data[pos++]]);
+            }
+            if (pos != data.length) {
+                return null;
+            }
+            return factory.getAllFunctions();
+        }
+
+        private void replay(Op op) {
+            switch (op) {
+                case ADD_GLOBAL:
+                    factory.addGlobal(constant());
+                    break;
+                case START_FUNCTION:
+                    factory.startFunction(token(), token());
+                    break;
+                case ADD_FORMAL_PARAMETER:
+                    factory.addFormalParameter(token());
+                    break;
+                case FINISH_FUNCTION:
+                    factory.finishFunction(node());
+                    break;
+                case START_LAMBDA:
+                    factory.startLambda(token(), token());
+                    break;
+                case FINISH_LAMBDA:
+                    nodes.add(factory.finishLambda(node()));
+                    break;
+                case START_BLOCK:
+                    factory.startBlock();
+                    break;
+                case FINISH_BLOCK:
+                    nodes.add(factory.finishBlock(nodes(), number(), position(), number()));
+                    break;
+                case DEBUGGER:
+                    nodes.add(factory.createDebugger(token()));
+                    break;
+                case BREAK:
+                    nodes.add(factory.createBreak(token()));
+                    break;
+                case CONTINUE:
+                    nodes.add(factory.createContinue(token()));
+                    break;
+                case WHILE:
+                    nodes.add(factory.createWhile(token(), expression(), node()));
+                    break;
+                case FOR:
+                    nodes.add(factory.createFor(token(), expression(), expression(), token(), expression(), optionalToken(), expression(), expression(), node()));
+                    break;
+                case IF:
+                    nodes.add(factory.createIf(token(), expression(), node(), node()));
+                    break;
+                case RETURN:
+                    nodes.add(factory.createReturn(token(), expression()));
+                    break;
+                case BINARY:
+                    nodes.add(factory.createBinary(token(), expression(), expression()));
+                    break;
+                case CALL:
+                    nodes.add(factory.createCall(expression(), expressions(), token()));
+                    break;
+                case ASSIGNMENT: {
+                    SLExpressionNode nameNode = expression();
+                    SLExpressionNode valueNode = expression();
+                    int argumentIndex = number();
+                    if (argumentIndex == 0) {
+                        nodes.add(factory.createAssignment(nameNode, valueNode));
+                    } else {
+                        nodes.add(factory.createAssignment(nameNode, valueNode, argumentIndex == 1 ? null : argumentIndex - 2));
+                    }
+                    break;
+                }
+                case READ:
+                    nodes.add(factory.createRead(expression()));
+                    break;
+                case STRING_LITERAL:
+                    nodes.add(factory.createStringLiteral(token(), number() != 0));
+                    break;
+                case NUMERIC_LITERAL:
+                    nodes.add(factory.createNumericLiteral(token()));
+                    break;
+                case PAREN_EXPRESSION:
+                    nodes.add(factory.createParenExpression(expression(), position(), number()));
+                    break;
+                case ARRAY_LITERAL:
+                    nodes.add(factory.createArrayLiteral(expressions(), position(), number()));
+                    break;
+                case OBJECT_LITERAL: {
+                    List<Token> nameTokens = new ArrayList<>();
+                    for (int i = number(); i > 0; i--) {
+                        nameTokens.add(token());
+                    }
+                    nodes.add(factory.createObjectLiteral(nameTokens, expressions(), position(), number()));
+                    break;
+                }
+                case READ_PROPERTY:
+                    nodes.add(factory.createReadProperty(expression(), expression()));
+                    break;
+                case WRITE_PROPERTY:
+                    nodes.add(factory.createWriteProperty(expression(), expression(), expression()));
+                    break;
+                default:
+                    throw new IllegalStateException("unknown operation: " + op);
+            }
+        }
+
+        private int readInt() {
+            int result = 0;
+            for (int i = 0; i < 4; i++) {
+                result = (result << 8) | (data[pos++] & 0xff);
+            }
+            return result;
+        }
+
+        private int number() {
+            int result = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = data[pos++];
+                result |= (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        private int position() {
+            int delta = number();
+            position += (delta >>> 1) ^ -(delta & 1);
+            return position;
+        }
+
+        private String constant() {
+            return constants[number()];
+        }
+
+        /**
+         * Reads a token. The factory only uses the text and the start offset of a token.
+         */
+        private Token token() {
+            int start = position();
+            String text = constant();
+            CommonToken token = new CommonToken(Token.INVALID_TYPE, text);
+            token.setStartIndex(start);
+            token.setStopIndex(start + text.length() - 1);
+            return token;
+        }
+
+        private Token optionalToken() {
+            return number() == 0 ? null : token();
+        }
+
+        private SLStatementNode node() {
+            int distance = number();
+            return distance == 0 ? null : nodes.get(nodes.size() - distance);
+        }
+
+        private SLExpressionNode expression() {
+            return (SLExpressionNode) node();
+        }
+
+        private List<SLStatementNode> nodes() {
+            int count = number();
+            List<SLStatementNode> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(node());
+            }
+            return result;
+        }
+
+        private List<SLExpressionNode> expressions() {
+            int count = number();
+            List<SLExpressionNode> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(expression());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A byte array output that cannot fail, with the encoding of numbers of the snapshot.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write(value >>> shift);
+            }
+        }
+
+        void writeNumber(int value) {
+            assert value >= 0;
+            int rest = value;
+            while ((rest & ~0x7f) != 0) {
+                write((rest & 0x7f) | 0x80);
+                rest >>>= 7;
+            }
+            write(rest);
+        }
+
+        void writeTo(Output out) {
+            out.write(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.oracle.truffle.sl.parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Persistent cache of the ASTs of sources, see {@link SLLanguage#CodeCache}. The first time a
+ * source is parsed, the calls of the parser to the {@link SLNodeFactory} are recorded and stored
+ * as an {@link SLAstSnapshot} in the cache directory. Later runs with the same source, also in
+ * other processes, build the functions from the snapshot and skip lexing and parsing.
+ * <p>
+ * Snapshots are stored in files named after the SHA-256 {@link #digest} of the source text, so a
+ * changed source is parsed again. A snapshot is written to a temporary file first and then moved
+ * to its name, so contexts that share the directory never read a partial snapshot. Only sources
+ * that are loaded from files are cached: the snippets of {@code eval} and {@code defineFunction}
+ * would fill the directory with small files. The cache is best effort: a snapshot that cannot be
+ * read or written is ignored, and the source is parsed.
+ */
+public final class SLCodeCache {
+
+    private static final String SUFFIX = ".slast";
+
+    private final Env env;
+    private final TruffleFile directory;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    public SLCodeCache(Env env, String directory) {
+        this.env = env;
+        this.directory = env.getPublicTruffleFile(directory);
+    }
+
+    /**
+     * Returns whether the functions of the source are cached.
+     */
+    public static boolean isCacheable(Source source) {
+        return source.getPath() != null;
+    }
+
+    /**
+     * Returns the functions of the source from its snapshot, or parses the source and stores its
+     * snapshot. The source is parsed with the {@link SLRecursiveDescentParser} or the ANTLR parser;
+     * a snapshot does not depend on the parser.
+     */
+    @TruffleBoundary
+    public Map<String, RootCallTarget> get(SLLanguage language, Source source, boolean recursiveDescent) {
+        byte[] digest = digest(source);
+        TruffleFile file = directory.resolve(toHex(digest) + SUFFIX);
+        byte[] snapshot = read(file);
+        if (snapshot != null) {
+            Map<String, RootCallTarget> functions = SLAstSnapshot.load(language, source, digest, snapshot);
+            if (functions != null) {
+                hits.incrementAndGet();
+                return functions;
+            }
+        }
+        misses.incrementAndGet();
+
+        SLAstSnapshot.Recorder recorder = new SLAstSnapshot.Recorder(language, source);
+        Map<String, RootCallTarget> functions;
+        if (recursiveDescent) {
+            functions = SLRecursiveDescentParser.parseSL(recorder, source);
+        } else {
+            functions = SimpleLanguageParser.parseSL(recorder, source);
+        }
+        snapshot = recorder.toSnapshot(digest);
+        if (snapshot != null && write(file, snapshot)) {
+            writes.incrementAndGet();
+        }
+        return functions;
+    }
+
+    private static byte[] read(TruffleFile file) {
+        try {
+            if (file.exists()) {
+                return file.readAllBytes();
+            }
+        } catch (IOException | SecurityException e) {
+            /* Parse the source instead. */
+        }
+        return null;
+    }
+
+    private boolean write(TruffleFile file, byte[] snapshot) {
+        try {
+            directory.createDirectories();
+            TruffleFile temporary = env.createTempFile(directory, file.getName(), ".tmp");
+            try {
+                try (OutputStream out = temporary.newOutputStream()) {
+                    out.write(snapshot);
+                }
+                temporary.move(file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                if (temporary.exists()) {
+                    temporary.delete();
+                }
+            }
+            return true;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            /* The next run parses the source again. */
+            return false;
+        }
+    }
+
+    /**
+     * Returns the SHA-256 digest of the text of the source.
+     */
+    static byte[] digest(Source source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns a one-line summary of the cache for the {@link SLLanguage#CodeCacheStats} output.
+     */
+    public String getStatistics() {
+        return hits.get() + " hits, " + misses.get() + " misses, " + writes.get() + " writes";
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.parser;
+
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.Token;
+
+/**
+ * Hand-written lexer for the {@link SLRecursiveDescentParser}. It recognizes the same tokens as the
+ * lexer rules of {@code SimpleLanguage.g4}, and reads the characters of the source directly from
+ * its {@link CharSequence}: only the text of the tokens that are passed to the
+ * {@link SLNodeFactory} is copied into strings.
+ * <p>
+ * The lexer keeps only the current token. Its kind and position are plain fields, so skipping
+ * punctuation and keywords does not allocate anything.
+ */
+final class SLLexer {
+
+    /**
+     * The kinds of tokens, with the text that parse error messages show for them. The kinds are
+     * declared in the order of the token types of the ANTLR lexer, so sets of expected tokens are
+     * listed in the same order as by the ANTLR parser.
+     */
+    enum Kind {
+        EOF("<EOF>", Token.EOF),
+        FUNCTION("'function'"),
+        LPAREN("'('"),
+        COMMA("','"),
+        RPAREN("')'"),
+        LBRACE("'{'"),
+        RBRACE("'}'"),
+        BREAK("'break'"),
+        SEMICOLON("';'"),
+        CONTINUE("'continue'"),
+        DEBUGGER("'debugger'"),
+        WHILE("'while'"),
+        IF("'if'"),
+        ELSE("'else'"),
+        RETURN("'return'"),
+        OR("'||'"),
+        AND("'&&'"),
+        LT("'<'"),
+        LE("'<='"),
+        GT("'>'"),
+        GE("'>='"),
+        EQ("'=='"),
+        NE("'!='"),
+        PLUS("'+'"),
+        MINUS("'-'"),
+        STAR("'*'"),
+        SLASH("'/'"),
+        LBRACKET("'['"),
+        RBRACKET("']'"),
+        COLON("':'"),
+        ASSIGN("'='"),
+        DOT("'.'"),
+        FOR("'for'"),
+        GLOBAL("'global'"),
+        IDENTIFIER("IDENTIFIER", SimpleLanguageLexer.IDENTIFIER),
+        STRING_LITERAL("STRING_LITERAL", SimpleLanguageLexer.STRING_LITERAL),
+        NUMERIC_LITERAL("NUMERIC_LITERAL", SimpleLanguageLexer.NUMERIC_LITERAL);
+
+        final String display;
+        /** The token type of the ANTLR lexer. */
+        final int type;
+
+        Kind(String display) {
+            this.display = display;
+            this.type = ordinal();
+        }
+
+        Kind(String display, int type) {
+            this.display = display;
+            this.type = type;
+        }
+    }
+
+    private final CharSequence chars;
+    private final int end;
+    private final SLRecursiveDescentParser parser;
+
+    /** The position of the next character that is not part of the current token. */
+    private int pos;
+    private int line = 1;
+    private int lineStart;
+
+    /* The current token. */
+    Kind kind;
+    int tokenStart;
+    int tokenEnd;
+    int tokenLine;
+    int tokenColumn;
+
+    SLLexer(CharSequence chars, SLRecursiveDescentParser parser) {
+        this.chars = chars;
+        this.end = chars.length();
+        this.parser = parser;
+    }
+
+    /**
+     * Continues reading at the given offset, which is the start of the given line.
+     */
+    void seek(int offset, int offsetLine, int offsetLineStart) {
+        pos = offset;
+        line = offsetLine;
+        lineStart = offsetLineStart;
+    }
+
+    /**
+     * Returns the current token as an ANTLR token for the {@link SLNodeFactory}, which only uses the
+     * text and the position of tokens.
+     */
+    Token token() {
+        CommonToken token = new CommonToken(kind.type, text());
+        token.setStartIndex(tokenStart);
+        token.setStopIndex(tokenEnd - 1);
+        token.setLine(tokenLine);
+        token.setCharPositionInLine(tokenColumn);
+        return token;
+    }
+
+    String text() {
+        return kind == Kind.EOF ? Kind.EOF.display : chars.subSequence(tokenStart, tokenEnd).toString();
+    }
+
+    /**
+     * Returns the kind of the token after the current one, without consuming the current token.
+     * The parser only looks ahead to decide an assignment and to report syntax errors.
+     */
+    Kind peek() {
+        int savedPos = pos;
+        int savedLine = line;
+        int savedLineStart = lineStart;
+        Kind savedKind = kind;
+        int savedStart = tokenStart;
+        int savedEnd = tokenEnd;
+        int savedTokenLine = tokenLine;
+        int savedColumn = tokenColumn;
+        next();
+        Kind result = kind;
+        pos = savedPos;
+        line = savedLine;
+        lineStart = savedLineStart;
+        kind = savedKind;
+        tokenStart = savedStart;
+        tokenEnd = savedEnd;
+        tokenLine = savedTokenLine;
+        tokenColumn = savedColumn;
+        return result;
+    }
+
+    /**
+     * Reads the next token.
+     */
+    void next() {
+        skipWhitespaceAndComments();
+        tokenStart = pos;
+        tokenLine = line;
+        tokenColumn = pos - lineStart;
+        if (pos >= end) {
+            kind = Kind.EOF;
+            tokenEnd = pos;
+            return;
+        }
+        char c = chars.charAt(pos);
+        if (isLetter(c)) {
+            pos++;
+            while (pos < end && (isLetter(chars.charAt(pos)) || isDigit(chars.charAt(pos)))) {
+                pos++;
+            }
+            kind = keywordOrIdentifier(tokenStart, pos - tokenStart);
+        } else if (isDigit(c)) {
+            scanNumber(c);
+            kind = Kind.NUMERIC_LITERAL;
+        } else if (c == '"') {
+            scanString();
+            kind = Kind.STRING_LITERAL;
+        } else {
+            kind = scanOperator(c);
+        }
+        tokenEnd = pos;
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (pos < end) {
+            char c = chars.charAt(pos);
+            if (c == '\n') {
+                pos++;
+                line++;
+                lineStart = pos;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\f') {
+                pos++;
+            } else if (c == '/' && pos + 1 < end && chars.charAt(pos + 1) == '*') {
+                if (!skipBlockComment()) {
+                    return;
+                }
+            } else if (c == '/' && pos + 1 < end && chars.charAt(pos + 1) == '/') {
+                pos += 2;
+                while (pos < end && chars.charAt(pos) != '\r' && chars.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips a comment, unless it is not terminated: then the ANTLR lexer does not match the
+     * comment rule, and reads the {@code /} as an operator.
+     */
+    private boolean skipBlockComment() {
+        int commentEnd = pos + 2;
+        int newLines = 0;
+        int newLineStart = lineStart;
+        while (commentEnd + 1 < end && !(chars.charAt(commentEnd) == '*' && chars.charAt(commentEnd + 1) == '/')) {
+            if (chars.charAt(commentEnd) == '\n') {
+                newLines++;
+                newLineStart = commentEnd + 1;
+            }
+            commentEnd++;
+        }
+        if (commentEnd + 1 >= end) {
+            return false;
+        }
+        pos = commentEnd + 2;
+        line += newLines;
+        lineStart = newLineStart;
+        return true;
+    }
+
+    /**
+     * Scans {@code ('0' | [1-9] [0-9]*) ('.' [0-9]+)? ([eE] [+-]? [0-9]+)?}. The fraction and the
+     * exponent are only part of the literal if they are complete, otherwise the literal ends
+     * before them, like in the ANTLR lexer.
+     */
+    private void scanNumber(char first) {
+        pos++;
+        if (first != '0') {
+            while (pos < end && isDigit(chars.charAt(pos))) {
+                pos++;
+            }
+        }
+        if (pos + 1 < end && chars.charAt(pos) == '.' && isDigit(chars.charAt(pos + 1))) {
+            pos += 2;
+            while (pos < end && isDigit(chars.charAt(pos))) {
+                pos++;
+            }
+        }
+        if (pos < end && (chars.charAt(pos) == 'e' || chars.charAt(pos) == 'E')) {
+            int digits = pos + 1;
+            if (digits < end && (chars.charAt(digits) == '+' || chars.charAt(digits) == '-')) {
+                digits++;
+            }
+            if (digits < end && isDigit(chars.charAt(digits))) {
+                pos = digits + 1;
+                while (pos < end && isDigit(chars.charAt(pos))) {
+                    pos++;
+                }
+            }
+        }
+    }
+
+    private void scanString() {
+        int column = pos - lineStart;
+        pos++;
+        while (pos < end) {
+            char c = chars.charAt(pos);
+            pos++;
+            if (c == '"') {
+                return;
+            } else if (c == '\\' || c == '\r' || c == '\n') {
+                /* The character that ends the literal is part of the error message. */
+                break;
+            }
+        }
+        throw recognitionError(tokenStart, line, column);
+    }
+
+    private Kind scanOperator(char c) {
+        char next = pos + 1 < end ? chars.charAt(pos + 1) : 0;
+        pos++;
+        switch (c) {
+            case '(':
+                return Kind.LPAREN;
+            case ')':
+                return Kind.RPAREN;
+            case '{':
+                return Kind.LBRACE;
+            case '}':
+                return Kind.RBRACE;
+            case '[':
+                return Kind.LBRACKET;
+            case ']':
+                return Kind.RBRACKET;
+            case ',':
+                return Kind.COMMA;
+            case ';':
+                return Kind.SEMICOLON;
+            case ':':
+                return Kind.COLON;
+            case '.':
+                return Kind.DOT;
+            case '+':
+                return Kind.PLUS;
+            case '-':
+                return Kind.MINUS;
+            case '*':
+                return Kind.STAR;
+            case '/':
+                return Kind.SLASH;
+            case '=':
+                return next == '=' ? twoChars(Kind.EQ) : Kind.ASSIGN;
+            case '<':
+                return next == '=' ? twoChars(Kind.LE) : Kind.LT;
+            case '>':
+                return next == '=' ? twoChars(Kind.GE) : Kind.GT;
+            case '!':
+                if (next == '=') {
+                    return twoChars(Kind.NE);
+                }
+                break;
+            case '|':
+                if (next == '|') {
+                    return twoChars(Kind.OR);
+                }
+                break;
+            case '&':
+                if (next == '&') {
+                    return twoChars(Kind.AND);
+                }
+                break;
+        }
+        if (c == '!' || c == '|' || c == '&') {
+            /* The lexer looked at the next character for a two-character operator. */
+            pos = Math.min(pos + 1, end);
+        }
+        throw recognitionError(tokenStart, tokenLine, tokenColumn);
+    }
+
+    private Kind twoChars(Kind result) {
+        pos++;
+        return result;
+    }
+
+    private Kind keywordOrIdentifier(int start, int length) {
+        switch (chars.charAt(start)) {
+            case 'b':
+                return keyword(start, length, "break", Kind.BREAK);
+            case 'c':
+                return keyword(start, length, "continue", Kind.CONTINUE);
+            case 'd':
+                return keyword(start, length, "debugger", Kind.DEBUGGER);
+            case 'e':
+                return keyword(start, length, "else", Kind.ELSE);
+            case 'f':
+                return length == 3 ? keyword(start, length, "for", Kind.FOR) : keyword(start, length, "function", Kind.FUNCTION);
+            case 'g':
+                return keyword(start, length, "global", Kind.GLOBAL);
+            case 'i':
+                return keyword(start, length, "if", Kind.IF);
+            case 'r':
+                return keyword(start, length, "return", Kind.RETURN);
+            case 'w':
+                return keyword(start, length, "while", Kind.WHILE);
+            default:
+                return Kind.IDENTIFIER;
+        }
+    }
+
+    private Kind keyword(int start, int length, String keyword, Kind keywordKind) {
+        if (length != keyword.length()) {
+            return Kind.IDENTIFIER;
+        }
+        for (int i = 1; i < length; i++) {
+            if (chars.charAt(start + i) != keyword.charAt(i)) {
+                return Kind.IDENTIFIER;
+            }
+        }
+        return keywordKind;
+    }
+
+    private SLParseError recognitionError(int start, int errorLine, int column) {
+        return parser.parseError(errorLine, column, 1, "token recognition error at: '" + chars.subSequence(start, pos) + "'");
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
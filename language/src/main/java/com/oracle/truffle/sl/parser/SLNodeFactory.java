@@ -43,8 +43,11 @@ package com.oracle.truffle.sl.parser;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.Token;
@@ -64,36 +67,58 @@ import com.oracle.truffle.sl.nodes.controlflow.SLBlockNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLBreakNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLContinueNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLDebuggerNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLForNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLForRepeatingNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLFunctionBodyNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLIfNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLReturnNode;
 import com.oracle.truffle.sl.nodes.controlflow.SLWhileNode;
 import com.oracle.truffle.sl.nodes.expression.SLAddNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLArrayLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLBigIntegerLiteralNode;
+import com.oracle.truffle.sl.nodes.expression.SLClosureNode;
+import com.oracle.truffle.sl.nodes.expression.SLDirectInvokeNode;
 import com.oracle.truffle.sl.nodes.expression.SLDivNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLDoubleLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLEqualNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLFunctionLiteralNode;
+import com.oracle.truffle.sl.nodes.expression.SLGreaterOrEqualNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLGreaterThanNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLInvokeNode;
 import com.oracle.truffle.sl.nodes.expression.SLLessOrEqualNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLLessThanNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLLogicalAndNode;
-import com.oracle.truffle.sl.nodes.expression.SLLogicalNotNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLLogicalOrNode;
 import com.oracle.truffle.sl.nodes.expression.SLLongLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLMulNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLNotEqualNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLObjectLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLParenExpressionNode;
+import com.oracle.truffle.sl.nodes.expression.SLReadConstantPropertyNode;
+import com.oracle.truffle.sl.nodes.expression.SLReadConstantPropertyNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLReadGlobalNode;
 import com.oracle.truffle.sl.nodes.expression.SLReadPropertyNode;
 import com.oracle.truffle.sl.nodes.expression.SLReadPropertyNodeGen;
 import com.oracle.truffle.sl.nodes.expression.SLStringLiteralNode;
 import com.oracle.truffle.sl.nodes.expression.SLSubNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLWriteConstantPropertyNode;
+import com.oracle.truffle.sl.nodes.expression.SLWriteConstantPropertyNodeGen;
+import com.oracle.truffle.sl.nodes.expression.SLWriteGlobalNode;
 import com.oracle.truffle.sl.nodes.expression.SLWritePropertyNode;
 import com.oracle.truffle.sl.nodes.expression.SLWritePropertyNodeGen;
+import com.oracle.truffle.sl.nodes.local.SLAddLocalConstantNode;
+import com.oracle.truffle.sl.nodes.local.SLCompareLocalConstantNode;
+import com.oracle.truffle.sl.nodes.local.SLCompareLocalConstantNode.Operator;
+import com.oracle.truffle.sl.nodes.local.SLFusedLocalNode;
+import com.oracle.truffle.sl.nodes.local.SLIncrementLocalNode;
 import com.oracle.truffle.sl.nodes.local.SLReadArgumentNode;
+import com.oracle.truffle.sl.nodes.local.SLReadCapturedNode;
 import com.oracle.truffle.sl.nodes.local.SLReadLocalVariableNode;
 import com.oracle.truffle.sl.nodes.local.SLReadLocalVariableNodeGen;
 import com.oracle.truffle.sl.nodes.local.SLWriteLocalVariableNode;
 import com.oracle.truffle.sl.nodes.local.SLWriteLocalVariableNodeGen;
 import com.oracle.truffle.sl.nodes.util.SLUnboxNodeGen;
+import com.oracle.truffle.sl.runtime.SLFunction;
 
 /**
  * Helper class used by the SL {@link Parser} to create nodes. The code is factored out of the
@@ -122,6 +147,7 @@ public class SLNodeFactory {
     /* State while parsing a source unit. */
     private final Source source;
     private final Map<String, RootCallTarget> allFunctions;
+    private final Set<String> globals = new HashSet<>();
 
     /* State while parsing a function. */
     private int functionStartPos;
@@ -130,11 +156,60 @@ public class SLNodeFactory {
     private int parameterCount;
     private FrameDescriptor frameDescriptor;
     private List<SLStatementNode> methodNodes;
+    private int lambdaCount;
+
+    /*
+     * State while parsing a lambda expression: the variables captured from the enclosing function,
+     * mapped to their slots in the frame of the enclosing function.
+     */
+    private Map<String, FrameSlot> capturedVariables;
 
     /* State while parsing a block. */
     private LexicalScope lexicalScope;
     private final SLLanguage language;
 
+    /* The state of the enclosing functions of a lambda expression, innermost last. */
+    private final List<FunctionState> enclosingFunctions = new ArrayList<>();
+
+    /**
+     * The parsing state of a function that encloses the lambda expression being parsed.
+     */
+    private static final class FunctionState {
+        final int functionStartPos;
+        final String functionName;
+        final int functionBodyStartPos;
+        final int parameterCount;
+        final FrameDescriptor frameDescriptor;
+        final List<SLStatementNode> methodNodes;
+        final int lambdaCount;
+        final Map<String, FrameSlot> capturedVariables;
+        final LexicalScope lexicalScope;
+
+        FunctionState(SLNodeFactory factory) {
+            this.functionStartPos = factory.functionStartPos;
+            this.functionName = factory.functionName;
+            this.functionBodyStartPos = factory.functionBodyStartPos;
+            this.parameterCount = factory.parameterCount;
+            this.frameDescriptor = factory.frameDescriptor;
+            this.methodNodes = factory.methodNodes;
+            this.lambdaCount = factory.lambdaCount;
+            this.capturedVariables = factory.capturedVariables;
+            this.lexicalScope = factory.lexicalScope;
+        }
+
+        void restore(SLNodeFactory factory) {
+            factory.functionStartPos = functionStartPos;
+            factory.functionName = functionName;
+            factory.functionBodyStartPos = functionBodyStartPos;
+            factory.parameterCount = parameterCount;
+            factory.frameDescriptor = frameDescriptor;
+            factory.methodNodes = methodNodes;
+            factory.lambdaCount = lambdaCount;
+            factory.capturedVariables = capturedVariables;
+            factory.lexicalScope = lexicalScope;
+        }
+    }
+
     public SLNodeFactory(SLLanguage language, Source source) {
         this.language = language;
         this.source = source;
@@ -145,6 +220,63 @@ public class SLNodeFactory {
         return allFunctions;
     }
 
+    /**
+     * Declares a {@link com.oracle.truffle.sl.runtime.SLGlobal global variable}. The global is visible in all functions of the
+     * source that follow the declaration, unless a local variable with the same name shadows it.
+     */
+    public void addGlobal(Token nameToken) {
+        addGlobal(nameToken.getText());
+    }
+
+    public void addGlobal(String name) {
+        globals.add(name);
+    }
+
+    private boolean isGlobal(String name) {
+        /* A local variable of an enclosing function also shadows the global, and is captured. */
+        return globals.contains(name) && !lexicalScope.locals.containsKey(name) && captureVariable(name) == null;
+    }
+
+    /**
+     * Captures a local variable of an enclosing function in the lambda expression that is being
+     * parsed, and returns the slot of the local variable that holds the captured value. Returns
+     * {@code null} if no enclosing function has a visible local variable with the given name.
+     */
+    private FrameSlot captureVariable(String name) {
+        if (enclosingFunctions.isEmpty()) {
+            return null;
+        }
+        FrameSlot outerSlot = findEnclosingVariable(enclosingFunctions.size() - 1, name);
+        if (outerSlot == null) {
+            return null;
+        }
+        return addCapturedVariable(frameDescriptor, lexicalScope, capturedVariables, name, outerSlot);
+    }
+
+    /**
+     * Looks up a local variable in the enclosing function with the given index. If the enclosing
+     * function is a lambda expression itself, the variable can in turn be captured from its
+     * enclosing function.
+     */
+    private FrameSlot findEnclosingVariable(int index, String name) {
+        FunctionState function = enclosingFunctions.get(index);
+        FrameSlot slot = function.lexicalScope.locals.get(name);
+        if (slot == null && function.capturedVariables != null) {
+            FrameSlot outerSlot = findEnclosingVariable(index - 1, name);
+            if (outerSlot != null) {
+                slot = addCapturedVariable(function.frameDescriptor, function.lexicalScope, function.capturedVariables, name, outerSlot);
+            }
+        }
+        return slot;
+    }
+
+    private static FrameSlot addCapturedVariable(FrameDescriptor descriptor, LexicalScope scope, Map<String, FrameSlot> captured, String name, FrameSlot outerSlot) {
+        FrameSlot slot = descriptor.findOrAddFrameSlot(name, null, FrameSlotKind.Illegal);
+        captured.putIfAbsent(name, outerSlot);
+        scope.locals.put(name, slot);
+        return slot;
+    }
+
     public void startFunction(Token nameToken, Token bodyStartToken) {
         assert functionStartPos == 0;
         assert functionName == null;
@@ -167,7 +299,8 @@ public class SLNodeFactory {
          * ensures that accesses to parameters are specialized the same way as local variables are
          * specialized.
          */
-        final SLReadArgumentNode readArg = new SLReadArgumentNode(parameterCount);
+        final int argumentOffset = capturedVariables == null ? 0 : 1;
+        final SLReadArgumentNode readArg = new SLReadArgumentNode(parameterCount + argumentOffset);
         readArg.setSourceSection(nameToken.getStartIndex(), nameToken.getText().length());
         SLExpressionNode assignment = createAssignment(createStringLiteral(nameToken, false), readArg, parameterCount);
         methodNodes.add(assignment);
@@ -179,16 +312,7 @@ public class SLNodeFactory {
             // a state update that would otherwise be performed by finishBlock
             lexicalScope = lexicalScope.outer;
         } else {
-            methodNodes.add(bodyNode);
-            final int bodyEndPos = bodyNode.getSourceEndIndex();
-            final SourceSection functionSrc = source.createSection(functionStartPos, bodyEndPos - functionStartPos);
-            final SLStatementNode methodBlock = finishBlock(methodNodes, parameterCount, functionBodyStartPos, bodyEndPos - functionBodyStartPos);
-            assert lexicalScope == null : "Wrong scoping of blocks in parser";
-
-            final SLFunctionBodyNode functionBodyNode = new SLFunctionBodyNode(methodBlock);
-            functionBodyNode.setSourceSection(functionSrc.getCharIndex(), functionSrc.getCharLength());
-
-            final SLRootNode rootNode = new SLRootNode(language, frameDescriptor, functionBodyNode, functionSrc, functionName);
+            final SLRootNode rootNode = createRootNode(bodyNode, parameterCount);
             allFunctions.put(functionName, Truffle.getRuntime().createCallTarget(rootNode));
         }
 
@@ -197,9 +321,106 @@ public class SLNodeFactory {
         functionBodyStartPos = 0;
         parameterCount = 0;
         frameDescriptor = null;
+        lambdaCount = 0;
         lexicalScope = null;
     }
 
+    private SLRootNode createRootNode(SLStatementNode bodyNode, int prologueCount) {
+        methodNodes.add(bodyNode);
+        final int bodyEndPos = bodyNode.getSourceEndIndex();
+        final SourceSection functionSrc = source.createSection(functionStartPos, bodyEndPos - functionStartPos);
+        final SLStatementNode methodBlock = finishBlock(methodNodes, prologueCount, functionBodyStartPos, bodyEndPos - functionBodyStartPos);
+        assert lexicalScope == null : "Wrong scoping of blocks in parser";
+
+        final SLFunctionBodyNode functionBodyNode = new SLFunctionBodyNode(methodBlock, endsWithReturn(methodBlock));
+        functionBodyNode.setSourceSection(functionSrc.getCharIndex(), functionSrc.getCharLength());
+
+        return new SLRootNode(language, frameDescriptor, functionBodyNode, functionSrc, functionName);
+    }
+
+    /**
+     * Starts a lambda expression inside of the function that is being parsed. The state of the
+     * enclosing function is saved, and restored by {@link #finishLambda}. The lambda is named
+     * after the enclosing function, e.g., {@code main$1} for the first lambda in {@code main}.
+     */
+    public void startLambda(Token functionToken, Token bodyStartToken) {
+        lambdaCount++;
+        final String name = functionName + "$" + lambdaCount;
+        enclosingFunctions.add(new FunctionState(this));
+
+        functionStartPos = functionToken.getStartIndex();
+        functionName = name;
+        functionBodyStartPos = bodyStartToken.getStartIndex();
+        parameterCount = 0;
+        frameDescriptor = new FrameDescriptor();
+        methodNodes = new ArrayList<>();
+        lambdaCount = 0;
+        capturedVariables = new LinkedHashMap<>();
+        lexicalScope = null;
+        startBlock();
+    }
+
+    /**
+     * Finishes a lambda expression and returns the {@link SLClosureNode} that creates its closures
+     * in the enclosing function. The prologue of the lambda loads the captured values into local
+     * variables, after the arguments.
+     *
+     * @param bodyNode The body of the lambda expression
+     * @return An SLClosureNode for the lambda expression. null if bodyNode is null.
+     */
+    public SLExpressionNode finishLambda(SLStatementNode bodyNode) {
+        final int start = functionStartPos;
+        final Map<String, FrameSlot> captured = capturedVariables;
+        SLFunction lambda = null;
+        if (bodyNode == null) {
+            lexicalScope = lexicalScope.outer;
+        } else {
+            int index = 0;
+            for (String name : captured.keySet()) {
+                final SLReadCapturedNode readCaptured = new SLReadCapturedNode(index);
+                final FrameSlot slot = frameDescriptor.findFrameSlot(name);
+                methodNodes.add(parameterCount + index, SLWriteLocalVariableNodeGen.create(readCaptured, slot, new SLStringLiteralNode(name), true));
+                index++;
+            }
+            final SLRootNode rootNode = createRootNode(bodyNode, parameterCount + captured.size());
+            rootNode.setLambda();
+            lambda = SLFunction.createLambda(Truffle.getRuntime().createCallTarget(rootNode));
+        }
+
+        enclosingFunctions.remove(enclosingFunctions.size() - 1).restore(this);
+        if (lambda == null) {
+            return null;
+        }
+
+        final SLExpressionNode[] capturedNodes = new SLExpressionNode[captured.size()];
+        int index = 0;
+        for (FrameSlot outerSlot : captured.values()) {
+            capturedNodes[index++] = SLReadLocalVariableNodeGen.create(outerSlot);
+        }
+        final SLExpressionNode result = new SLClosureNode(lambda, capturedNodes);
+        result.setSourceSection(start, bodyNode.getSourceEndIndex() - start);
+        result.addExpressionTag();
+        return result;
+    }
+
+    /**
+     * Returns whether the given statement can end with a {@link SLReturnNode return statement}
+     * when it is {@link SLStatementNode#evaluateResult executed with a result}, i.e., whether it is
+     * a return statement, or a block or conditional with such a statement in tail position.
+     */
+    private static boolean endsWithReturn(SLStatementNode statement) {
+        if (statement instanceof SLReturnNode) {
+            return true;
+        } else if (statement instanceof SLBlockNode) {
+            List<SLStatementNode> statements = ((SLBlockNode) statement).getStatements();
+            return !statements.isEmpty() && endsWithReturn(statements.get(statements.size() - 1));
+        } else if (statement instanceof SLIfNode) {
+            SLIfNode ifNode = (SLIfNode) statement;
+            return endsWithReturn(ifNode.getThenPart()) || (ifNode.getElsePart() != null && endsWithReturn(ifNode.getElsePart()));
+        }
+        return false;
+    }
+
     public void startBlock() {
         lexicalScope = new LexicalScope(lexicalScope);
     }
@@ -301,6 +522,92 @@ public class SLNodeFactory {
         return whileNode;
     }
 
+    /**
+     * Returns an {@link SLForNode} for the given parameters. The update is either counted, i.e.,
+     * {@code i = i + step} or {@code i = i - step}, and given by its sign and step, or any other
+     * assignment to the loop variable.
+     *
+     * @param forToken The token containing the for node's info
+     * @param variableName The name of the loop variable
+     * @param initNode The assignment of the initial value to the loop variable
+     * @param comparisonToken The operator comparing the loop variable with the limit
+     * @param limitNode The limit of the loop variable
+     * @param signToken The operator applying the step to the loop variable, or null
+     * @param stepNode The step of the loop variable, or null
+     * @param updateNode The assignment to the loop variable if the update is not counted, or null
+     * @param bodyNode The body of the for loop
+     * @return A SLForNode built using the given parameters. null if any of the nodes is null.
+     */
+    public SLStatementNode createFor(Token forToken, SLExpressionNode variableName, SLExpressionNode initNode, Token comparisonToken, SLExpressionNode limitNode, Token signToken,
+                    SLExpressionNode stepNode, SLExpressionNode updateNode, SLStatementNode bodyNode) {
+        if (initNode == null || limitNode == null || (stepNode == null && updateNode == null) || bodyNode == null) {
+            return null;
+        }
+
+        String name = ((SLStringLiteralNode) variableName).executeGeneric(null);
+        FrameSlot variableSlot = lexicalScope.locals.get(name);
+        boolean counted = updateNode == null;
+        /* The limit and the step are kept in slots that have no name in the program. */
+        FrameSlot limitSlot = frameDescriptor.addFrameSlot(new InternalSlot(name + " limit"), counted ? FrameSlotKind.Long : FrameSlotKind.Object);
+        FrameSlot stepSlot = counted ? frameDescriptor.addFrameSlot(new InternalSlot(name + " step"), FrameSlotKind.Long) : null;
+
+        /* The generic form of the loop uses the same nodes as a while loop. */
+        SLExpressionNode variable = SLUnboxNodeGen.create(SLReadLocalVariableNodeGen.create(variableSlot));
+        SLExpressionNode limit = SLUnboxNodeGen.create(SLReadLocalVariableNodeGen.create(limitSlot));
+        SLForRepeatingNode.Comparison comparison;
+        SLExpressionNode conditionNode;
+        switch (comparisonToken.getText()) {
+            case "<":
+                comparison = SLForRepeatingNode.Comparison.LESS_THAN;
+                conditionNode = SLLessThanNodeGen.create(variable, limit);
+                break;
+            case "<=":
+                comparison = SLForRepeatingNode.Comparison.LESS_OR_EQUAL;
+                conditionNode = SLLessOrEqualNodeGen.create(variable, limit);
+                break;
+            case ">":
+                comparison = SLForRepeatingNode.Comparison.GREATER_THAN;
+                conditionNode = SLGreaterThanNodeGen.create(variable, limit);
+                break;
+            case ">=":
+                comparison = SLForRepeatingNode.Comparison.GREATER_OR_EQUAL;
+                conditionNode = SLGreaterOrEqualNodeGen.create(variable, limit);
+                break;
+            default:
+                throw new RuntimeException("unexpected operation: " + comparisonToken.getText());
+        }
+        boolean decrement = counted && signToken.getText().equals("-");
+        if (counted) {
+            SLExpressionNode value = SLUnboxNodeGen.create(SLReadLocalVariableNodeGen.create(variableSlot));
+            SLExpressionNode step = SLUnboxNodeGen.create(SLReadLocalVariableNodeGen.create(stepSlot));
+            SLExpressionNode result = decrement ? SLSubNodeGen.create(value, step) : SLAddNodeGen.create(value, step);
+            updateNode = SLWriteLocalVariableNodeGen.create(result, variableSlot, new SLStringLiteralNode(name), false);
+        }
+
+        final SLForRepeatingNode repeatingNode = new SLForRepeatingNode(variableSlot, limitSlot, stepSlot, comparison, decrement, conditionNode, updateNode, bodyNode);
+        final SLForNode forNode = new SLForNode(initNode, limitNode, stepNode, limitSlot, stepSlot, repeatingNode);
+        final int start = forToken.getStartIndex();
+        forNode.setSourceSection(start, bodyNode.getSourceEndIndex() - start);
+        return forNode;
+    }
+
+    /**
+     * Identifier of a frame slot that is used by the implementation of a statement, and does not
+     * hold a local variable of the program.
+     */
+    private static final class InternalSlot {
+        private final String name;
+
+        InternalSlot(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + name + ")";
+        }
+    }
+
     /**
      * Returns an {@link SLIfNode} for the given parameters.
      *
@@ -325,7 +632,8 @@ public class SLNodeFactory {
     }
 
     /**
-     * Returns an {@link SLReturnNode} for the given parameters.
+     * Returns an {@link SLReturnNode} for the given parameters. If the returned value is a function
+     * call, it is replaced by a tail call.
      *
      * @param t The token containing the return node's info
      * @param valueNode The value of the return (null if not returning a value)
@@ -334,7 +642,19 @@ public class SLNodeFactory {
     public SLStatementNode createReturn(Token t, SLExpressionNode valueNode) {
         final int start = t.getStartIndex();
         final int length = valueNode == null ? t.getText().length() : valueNode.getSourceEndIndex() - start;
-        final SLReturnNode returnNode = new SLReturnNode(valueNode);
+        final SLExpressionNode resultNode;
+        if (valueNode instanceof SLDirectInvokeNode) {
+            resultNode = ((SLDirectInvokeNode) valueNode).createTailCall();
+        } else if (valueNode instanceof SLInvokeNode) {
+            resultNode = ((SLInvokeNode) valueNode).createTailCall();
+        } else {
+            resultNode = valueNode;
+        }
+        if (resultNode != valueNode) {
+            resultNode.setSourceSection(valueNode.getSourceCharIndex(), valueNode.getSourceLength());
+            resultNode.addExpressionTag();
+        }
+        final SLReturnNode returnNode = new SLReturnNode(resultNode);
         returnNode.setSourceSection(start, length);
         return returnNode;
     }
@@ -377,16 +697,16 @@ public class SLNodeFactory {
                 result = SLLessOrEqualNodeGen.create(leftUnboxed, rightUnboxed);
                 break;
             case ">":
-                result = SLLogicalNotNodeGen.create(SLLessOrEqualNodeGen.create(leftUnboxed, rightUnboxed));
+                result = SLGreaterThanNodeGen.create(leftUnboxed, rightUnboxed);
                 break;
             case ">=":
-                result = SLLogicalNotNodeGen.create(SLLessThanNodeGen.create(leftUnboxed, rightUnboxed));
+                result = SLGreaterOrEqualNodeGen.create(leftUnboxed, rightUnboxed);
                 break;
             case "==":
                 result = SLEqualNodeGen.create(leftUnboxed, rightUnboxed);
                 break;
             case "!=":
-                result = SLLogicalNotNodeGen.create(SLEqualNodeGen.create(leftUnboxed, rightUnboxed));
+                result = SLNotEqualNodeGen.create(leftUnboxed, rightUnboxed);
                 break;
             case "&&":
                 result = new SLLogicalAndNode(leftUnboxed, rightUnboxed);
@@ -398,16 +718,74 @@ public class SLNodeFactory {
                 throw new RuntimeException("unexpected operation: " + opToken.getText());
         }
 
+        /* The superinstruction takes the source section and tags of the node it replaces. */
+        final SLExpressionNode fused = language.isSuperinstructions() ? fuseBinary(opToken.getText(), leftNode, rightNode, result) : result;
+
         int start = leftNode.getSourceCharIndex();
         int length = rightNode.getSourceEndIndex() - start;
-        result.setSourceSection(start, length);
-        result.addExpressionTag();
+        fused.setSourceSection(start, length);
+        fused.addExpressionTag();
+
+        return fused;
+    }
 
+    /**
+     * Peephole optimization for a binary operation of a local variable and a {@code long}
+     * constant: returns a {@link SLFusedLocalNode superinstruction} that replaces the generic
+     * {@code result} subtree, or {@code result} itself if no superinstruction applies.
+     * {@code result} does not have a source section yet.
+     */
+    private static SLExpressionNode fuseBinary(String operator, SLExpressionNode leftNode, SLExpressionNode rightNode, SLExpressionNode result) {
+        if (leftNode instanceof SLReadLocalVariableNode && rightNode instanceof SLLongLiteralNode) {
+            FrameSlot slot = ((SLReadLocalVariableNode) leftNode).getSlot();
+            long constant = ((SLLongLiteralNode) rightNode).executeLong(null);
+            switch (operator) {
+                case "+":
+                    return new SLAddLocalConstantNode(slot, constant, result);
+                case "-":
+                    /* The negated constant would overflow. */
+                    return constant == Long.MIN_VALUE ? result : new SLAddLocalConstantNode(slot, -constant, result);
+            }
+            Operator comparison = comparisonOperator(operator);
+            if (comparison != null) {
+                return new SLCompareLocalConstantNode(slot, comparison, constant, result);
+            }
+        } else if (leftNode instanceof SLLongLiteralNode && rightNode instanceof SLReadLocalVariableNode) {
+            FrameSlot slot = ((SLReadLocalVariableNode) rightNode).getSlot();
+            long constant = ((SLLongLiteralNode) leftNode).executeLong(null);
+            if (operator.equals("+")) {
+                return new SLAddLocalConstantNode(slot, constant, result);
+            }
+            Operator comparison = comparisonOperator(operator);
+            if (comparison != null) {
+                return new SLCompareLocalConstantNode(slot, comparison.mirror(), constant, result);
+            }
+        }
         return result;
     }
 
+    private static Operator comparisonOperator(String operator) {
+        switch (operator) {
+            case "<":
+                return Operator.LESS_THAN;
+            case "<=":
+                return Operator.LESS_OR_EQUAL;
+            case ">":
+                return Operator.GREATER_THAN;
+            case ">=":
+                return Operator.GREATER_OR_EQUAL;
+            case "==":
+                return Operator.EQUAL;
+            case "!=":
+                return Operator.NOT_EQUAL;
+            default:
+                return null;
+        }
+    }
+
     /**
-     * Returns an {@link SLInvokeNode} for the given parameters.
+     * Returns an {@link SLInvokeNode} for the given parameters. If the function is called by its
+     * name, an {@link SLDirectInvokeNode} is returned instead.
      *
      * @param functionNode The function being called
      * @param parameterNodes The parameters of the function call
@@ -420,7 +798,13 @@ public class SLNodeFactory {
             return null;
         }
 
-        final SLExpressionNode result = new SLInvokeNode(functionNode, parameterNodes.toArray(new SLExpressionNode[parameterNodes.size()]));
+        final SLExpressionNode[] arguments = parameterNodes.toArray(new SLExpressionNode[parameterNodes.size()]);
+        final SLExpressionNode result;
+        if (functionNode instanceof SLFunctionLiteralNode) {
+            result = new SLDirectInvokeNode(functionNode, arguments, false);
+        } else {
+            result = new SLInvokeNode(functionNode, arguments, false);
+        }
 
         final int startPos = functionNode.getSourceCharIndex();
         final int endPos = finalToken.getStartIndex() + finalToken.getText().length();
@@ -431,18 +815,28 @@ public class SLNodeFactory {
     }
 
     /**
-     * Returns an {@link SLWriteLocalVariableNode} for the given parameters.
+     * Returns an {@link SLWriteLocalVariableNode} for the given parameters, or an
+     * {@link SLWriteGlobalNode} if the name is a declared global that is not shadowed by a local
+     * variable.
      *
      * @param nameNode The name of the variable being assigned
      * @param valueNode The value to be assigned
      * @return An SLExpressionNode for the given parameters. null if nameNode or valueNode is null.
      */
     public SLExpressionNode createAssignment(SLExpressionNode nameNode, SLExpressionNode valueNode) {
+        if (nameNode != null && valueNode != null && isGlobal(((SLStringLiteralNode) nameNode).getValue())) {
+            final SLExpressionNode result = new SLWriteGlobalNode(((SLStringLiteralNode) nameNode).getValue(), valueNode);
+            final int start = nameNode.getSourceCharIndex();
+            result.setSourceSection(start, valueNode.getSourceEndIndex() - start);
+            result.addExpressionTag();
+            return result;
+        }
         return createAssignment(nameNode, valueNode, null);
     }
 
     /**
-     * Returns an {@link SLWriteLocalVariableNode} for the given parameters.
+     * Returns an {@link SLWriteLocalVariableNode} for the given parameters. The assignment always
+     * defines or updates a local variable, even if there is a global variable with the same name.
      *
      * @param nameNode The name of the variable being assigned
      * @param valueNode The value to be assigned
@@ -461,7 +855,21 @@ public class SLNodeFactory {
                         FrameSlotKind.Illegal);
         FrameSlot existingSlot = lexicalScope.locals.put(name, frameSlot);
         boolean newVariable = existingSlot == null;
-        final SLExpressionNode result = SLWriteLocalVariableNodeGen.create(valueNode, frameSlot, nameNode, newVariable);
+        final SLExpressionNode result;
+        if (valueNode instanceof SLAddLocalConstantNode && ((SLAddLocalConstantNode) valueNode).getSlot() == frameSlot) {
+            /*
+             * Increment of a local variable by a constant. The superinstruction replaces the write
+             * of the generic addition, which gets back the source section and tags of the fused
+             * addition.
+             */
+            SLAddLocalConstantNode addNode = (SLAddLocalConstantNode) valueNode;
+            SLExpressionNode addition = addNode.getOriginal();
+            addition.setSourceSection(addNode.getSourceCharIndex(), addNode.getSourceLength());
+            addition.addExpressionTag();
+            result = new SLIncrementLocalNode(frameSlot, addNode.getConstant(), SLWriteLocalVariableNodeGen.create(addition, frameSlot, nameNode, newVariable));
+        } else {
+            result = SLWriteLocalVariableNodeGen.create(valueNode, frameSlot, nameNode, newVariable);
+        }
 
         if (valueNode.hasSource()) {
             final int start = nameNode.getSourceCharIndex();
@@ -476,14 +884,15 @@ public class SLNodeFactory {
     }
 
     /**
-     * Returns a {@link SLReadLocalVariableNode} if this read is a local variable or a
-     * {@link SLFunctionLiteralNode} if this read is global. In SL, the only global names are
-     * functions.
+     * Returns a {@link SLReadLocalVariableNode} if this read is a local variable, a
+     * {@link SLReadGlobalNode} if it is a declared global variable, or a
+     * {@link SLFunctionLiteralNode} otherwise. All other global names are functions.
      *
      * @param nameNode The name of the variable/function being read
      * @return either:
      *         <ul>
      *         <li>A SLReadLocalVariableNode representing the local variable being read.</li>
+     *         <li>A SLReadGlobalNode representing the global variable being read.</li>
      *         <li>A SLFunctionLiteralNode representing the function definition.</li>
      *         <li>null if nameNode is null.</li>
      *         </ul>
@@ -495,13 +904,21 @@ public class SLNodeFactory {
 
         String name = ((SLStringLiteralNode) nameNode).executeGeneric(null);
         final SLExpressionNode result;
-        final FrameSlot frameSlot = lexicalScope.locals.get(name);
+        FrameSlot frameSlot = lexicalScope.locals.get(name);
+        if (frameSlot == null) {
+            /* In a lambda expression, the name can be a local variable of an enclosing function. */
+            frameSlot = captureVariable(name);
+        }
         if (frameSlot != null) {
             /* Read of a local variable. */
             result = SLReadLocalVariableNodeGen.create(frameSlot);
         } else {
-            /* Read of a global name. In our language, the only global names are functions. */
-            result = new SLFunctionLiteralNode(name);
+            /* Read of a global name: either a declared global variable, or a function. */
+            if (globals.contains(name)) {
+                result = new SLReadGlobalNode(name);
+            } else {
+                result = new SLFunctionLiteralNode(name);
+            }
         }
         result.setSourceSection(nameNode.getSourceCharIndex(), nameNode.getSourceLength());
         result.addExpressionTag();
@@ -524,12 +941,18 @@ public class SLNodeFactory {
 
     public SLExpressionNode createNumericLiteral(Token literalToken) {
         SLExpressionNode result;
-        try {
-            /* Try if the literal is small enough to fit into a long value. */
-            result = new SLLongLiteralNode(Long.parseLong(literalToken.getText()));
-        } catch (NumberFormatException ex) {
-            /* Overflow of long value, so fall back to BigInteger. */
-            result = new SLBigIntegerLiteralNode(new BigInteger(literalToken.getText()));
+        String text = literalToken.getText();
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            /* A fraction or an exponent makes it a floating point literal. */
+            result = new SLDoubleLiteralNode(Double.parseDouble(text));
+        } else {
+            try {
+                /* Try if the literal is small enough to fit into a long value. */
+                result = new SLLongLiteralNode(Long.parseLong(text));
+            } catch (NumberFormatException ex) {
+                /* Overflow of long value, so fall back to BigInteger. */
+                result = new SLBigIntegerLiteralNode(new BigInteger(text));
+            }
         }
         srcFromToken(result, literalToken);
         result.addExpressionTag();
@@ -547,7 +970,52 @@ public class SLNodeFactory {
     }
 
     /**
-     * Returns an {@link SLReadPropertyNode} for the given parameters.
+     * Returns an {@link SLArrayLiteralNode} for the given parameters.
+     *
+     * @param elementNodes The expressions of the array elements
+     * @param start The start index of the literal, i.e., of the opening bracket
+     * @param length The length of the literal including both brackets
+     * @return An SLExpressionNode for the given parameters. null if any of the elementNodes is null.
+     */
+    public SLExpressionNode createArrayLiteral(List<SLExpressionNode> elementNodes, int start, int length) {
+        if (containsNull(elementNodes)) {
+            return null;
+        }
+
+        final SLExpressionNode result = new SLArrayLiteralNode(elementNodes.toArray(new SLExpressionNode[elementNodes.size()]));
+        result.setSourceSection(start, length);
+        result.addExpressionTag();
+        return result;
+    }
+
+    /**
+     * Returns an {@link SLObjectLiteralNode} for the given parameters.
+     *
+     * @param nameTokens The property names of the literal
+     * @param valueNodes The expressions of the property values
+     * @param start The start index of the literal, i.e., of the opening brace
+     * @param length The length of the literal including both braces
+     * @return An SLExpressionNode for the given parameters. null if any of the valueNodes is null.
+     */
+    public SLExpressionNode createObjectLiteral(List<Token> nameTokens, List<SLExpressionNode> valueNodes, int start, int length) {
+        if (containsNull(valueNodes)) {
+            return null;
+        }
+
+        String[] names = new String[nameTokens.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = nameTokens.get(i).getText().intern();
+        }
+        final SLExpressionNode result = new SLObjectLiteralNode(names, valueNodes.toArray(new SLExpressionNode[valueNodes.size()]));
+        result.setSourceSection(start, length);
+        result.addExpressionTag();
+        return result;
+    }
+
+    /**
+     * Returns an {@link SLReadPropertyNode} for the given parameters. If the name is a string
+     * literal, i.e., for the common {@code obj.name} syntax, an {@link SLReadConstantPropertyNode}
+     * is returned instead.
      *
      * @param receiverNode The receiver of the property access
      * @param nameNode The name of the property being accessed
@@ -559,7 +1027,12 @@ public class SLNodeFactory {
             return null;
         }
 
-        final SLExpressionNode result = SLReadPropertyNodeGen.create(receiverNode, nameNode);
+        final SLExpressionNode result;
+        if (nameNode instanceof SLStringLiteralNode) {
+            result = SLReadConstantPropertyNodeGen.create(((SLStringLiteralNode) nameNode).getValue(), receiverNode);
+        } else {
+            result = SLReadPropertyNodeGen.create(receiverNode, nameNode);
+        }
 
         final int startPos = receiverNode.getSourceCharIndex();
         final int endPos = nameNode.getSourceEndIndex();
@@ -570,7 +1043,8 @@ public class SLNodeFactory {
     }
 
     /**
-     * Returns an {@link SLWritePropertyNode} for the given parameters.
+     * Returns an {@link SLWritePropertyNode} for the given parameters. If the name is a string
+     * literal, an {@link SLWriteConstantPropertyNode} is returned instead.
      *
      * @param receiverNode The receiver object of the property assignment
      * @param nameNode The name of the property being assigned
@@ -583,7 +1057,12 @@ public class SLNodeFactory {
             return null;
         }
 
-        final SLExpressionNode result = SLWritePropertyNodeGen.create(receiverNode, nameNode, valueNode);
+        final SLExpressionNode result;
+        if (nameNode instanceof SLStringLiteralNode) {
+            result = SLWriteConstantPropertyNodeGen.create(((SLStringLiteralNode) nameNode).getValue(), receiverNode, valueNode);
+        } else {
+            result = SLWritePropertyNodeGen.create(receiverNode, nameNode, valueNode);
+        }
 
         final int start = receiverNode.getSourceCharIndex();
         final int length = valueNode.getSourceEndIndex() - start;
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.runtime.SLLruCache;
+
+/**
+ * Engine-wide cache of the functions of parsed sources, see {@link SLLanguage#ParseCacheSize}. The
+ * functions are shared by all contexts of the language instance anyway, so a source whose text was
+ * parsed before does not need to be parsed again. This avoids parsing the same code over and over
+ * for {@code eval} and {@code defineFunction}, which create a new {@link Source} for every call.
+ * <p>
+ * Entries are looked up by the content hash of the source and compared by the language, the name
+ * and the text of the source, so the source sections of a cached AST are correct for the new
+ * source as well. The least recently used entry is evicted when the cache is full. Sources that
+ * are not {@link Source#isCached() cached} are always parsed.
+ * <p>
+ * The parser options are not part of the key: all contexts of a language instance use the same
+ * {@link SLLanguage#RecursiveDescentParser parser} and {@link SLLanguage#LazyParsing lazy parsing}
+ * options, see {@link SLLanguage#areOptionsCompatible}.
+ */
+public final class SLParseCache {
+
+    private static final class Key {
+        final String language;
+        final String name;
+        final String characters;
+        final int hash;
+
+        Key(Source source) {
+            this.language = source.getLanguage();
+            this.name = source.getName();
+            this.characters = source.getCharacters().toString();
+            this.hash = Objects.hash(language, name, characters);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && Objects.equals(language, other.language) && Objects.equals(name, other.name) && characters.equals(other.characters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final SLLruCache<Key, Map<String, RootCallTarget>> entries;
+
+    public SLParseCache(int capacity) {
+        this.entries = new SLLruCache<>(capacity);
+    }
+
+    /**
+     * Returns the functions of the source, and parses the source with the given parser if it is
+     * not in the cache. The source is parsed outside of the lock, so two threads can parse the same
+     * source at the same time; the first result is cached.
+     * <p>
+     * Every call returns a new map with the cached call targets, like a parser does. The
+     * {@link com.oracle.truffle.sl.runtime.SLFunctionRegistry function registry} only registers a
+     * map once, but a source that is parsed again must define its functions again.
+     */
+    @TruffleBoundary
+    public Map<String, RootCallTarget> get(Source source, Function<Source, Map<String, RootCallTarget>> parser) {
+        if (entries.getCapacity() == 0 || !source.isCached()) {
+            return parser.apply(source);
+        }
+        Key key = new Key(source);
+        Map<String, RootCallTarget> functions = entries.get(key);
+        if (functions == null) {
+            functions = entries.putIfAbsent(key, parser.apply(source));
+        }
+        return new HashMap<>(functions);
+    }
+
+    /**
+     * Returns a one-line summary of the cache for the {@link SLLanguage#ParseCacheStats} output.
+     */
+    public String getStatistics() {
+        return entries.getStatistics();
+    }
+}
@@ -0,0 +1,810 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.parser;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.antlr.v4.runtime.Token;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
+import com.oracle.truffle.sl.nodes.SLStatementNode;
+import com.oracle.truffle.sl.parser.SLLexer.Kind;
+
+/**
+ * Hand-written recursive-descent parser for SL, an alternative to the {@link SimpleLanguageParser}
+ * that ANTLR generates from {@code SimpleLanguage.g4}. It is selected with the
+ * {@link SLLanguage#RecursiveDescentParser} option. Each method parses one rule of the grammar and
+ * calls the {@link SLNodeFactory} in the same order as the semantic actions of the rule, so both
+ * parsers build the same AST.
+ * <p>
+ * The ANTLR parser copies the source into a character stream and predicts the alternatives with
+ * its ATN simulation. This parser reads the characters of the source directly with the
+ * {@link SLLexer}, and decides every alternative with the current token. Only an assignment needs
+ * a second token of lookahead: like in the ANTLR parser, {@code =} is not an assignment if no
+ * expression follows it.
+ * <p>
+ * Syntax errors are reported in the format of the ANTLR parser, and for the common cases with the
+ * same message: a single extraneous or missing token is named as such, and otherwise the message
+ * lists the tokens that were expected, including the operators that could have continued the last
+ * expression. The full-context prediction of ANTLR can report an error earlier in the input, this
+ * parser always reports the first token that does not fit.
+ */
+public final class SLRecursiveDescentParser {
+
+    private static final Set<Kind> TOP_LEVEL = EnumSet.of(Kind.FUNCTION, Kind.GLOBAL);
+    private static final Set<Kind> TOP_LEVEL_OR_EOF = EnumSet.of(Kind.EOF, Kind.FUNCTION, Kind.GLOBAL);
+    private static final Set<Kind> EXPRESSION_START = EnumSet.of(Kind.FUNCTION, Kind.LPAREN, Kind.LBRACE, Kind.LBRACKET, Kind.IDENTIFIER, Kind.STRING_LITERAL, Kind.NUMERIC_LITERAL);
+    private static final Set<Kind> STATEMENT_START = union(EXPRESSION_START, EnumSet.of(Kind.BREAK, Kind.CONTINUE, Kind.DEBUGGER, Kind.WHILE, Kind.IF, Kind.RETURN, Kind.FOR));
+    private static final Set<Kind> BLOCK_CONTENT = union(STATEMENT_START, EnumSet.of(Kind.RBRACE));
+    private static final Set<Kind> RETURN_VALUE = union(EXPRESSION_START, EnumSet.of(Kind.SEMICOLON));
+    private static final Set<Kind> MEMBER_START = EnumSet.of(Kind.LPAREN, Kind.LBRACKET, Kind.ASSIGN, Kind.DOT);
+    private static final Set<Kind> MULTIPLICATIVE = EnumSet.of(Kind.STAR, Kind.SLASH);
+    private static final Set<Kind> ADDITIVE = EnumSet.of(Kind.PLUS, Kind.MINUS);
+    private static final Set<Kind> RELATIONAL = EnumSet.range(Kind.LT, Kind.NE);
+    private static final Set<Kind> LOOP_COMPARISON = EnumSet.range(Kind.LT, Kind.GE);
+    private static final Set<Kind> AND = EnumSet.of(Kind.AND);
+    private static final Set<Kind> OR = EnumSet.of(Kind.OR);
+    /** The tokens that can follow any expression, used to recognize a missing token. */
+    private static final Set<Kind> EXPRESSION_FOLLOW = union(union(MEMBER_START, EnumSet.range(Kind.OR, Kind.SLASH)),
+                    EnumSet.of(Kind.COMMA, Kind.RPAREN, Kind.RBRACE, Kind.SEMICOLON, Kind.RBRACKET));
+    private static final Set<Kind> IDENTIFIER = EnumSet.of(Kind.IDENTIFIER);
+    private static final Set<Kind> LPAREN = EnumSet.of(Kind.LPAREN);
+    private static final Set<Kind> LBRACE = EnumSet.of(Kind.LBRACE);
+    private static final Set<Kind> ASSIGN = EnumSet.of(Kind.ASSIGN);
+    private static final Set<Kind> COLON = EnumSet.of(Kind.COLON);
+    private static final Set<Kind> PARAMETER_START = EnumSet.of(Kind.RPAREN, Kind.IDENTIFIER);
+
+    private final Source source;
+    private final SLNodeFactory factory;
+    private final SLLexer lexer;
+
+    /**
+     * The operators that could have continued the expressions that ended before the token at
+     * {@link #continuationStart}. They are part of the expected tokens of a syntax error at that
+     * token.
+     */
+    private final EnumSet<Kind> continuation = EnumSet.noneOf(Kind.class);
+    private int continuationStart = -1;
+
+    private SLRecursiveDescentParser(SLLanguage language, Source source) {
+        this(new SLNodeFactory(language, source), source);
+    }
+
+    private SLRecursiveDescentParser(SLNodeFactory factory, Source source) {
+        this.source = source;
+        this.factory = factory;
+        this.lexer = new SLLexer(source.getCharacters(), this);
+    }
+
+    public static Map<String, RootCallTarget> parseSL(SLLanguage language, Source source) {
+        return parseSL(new SLNodeFactory(language, source), source);
+    }
+
+    static Map<String, RootCallTarget> parseSL(SLNodeFactory factory, Source source) {
+        SLRecursiveDescentParser parser = new SLRecursiveDescentParser(factory, source);
+        parser.lexer.next();
+        parser.simplelanguage();
+        return parser.factory.getAllFunctions();
+    }
+
+    /**
+     * Parses the declarations of a source, but not the function bodies: each function gets a
+     * {@link SLLazyFunctionRootNode} that parses the body on the first call. The declarations are
+     * read with the lexer only, skipping each body up to its matching closing brace. If the
+     * declarations are not well-formed, the whole source is parsed to report the syntax error.
+     */
+    public static Map<String, RootCallTarget> parseLazily(SLLanguage language, Source source) {
+        SLRecursiveDescentParser parser = new SLRecursiveDescentParser(language, source);
+        Map<String, RootCallTarget> functions;
+        try {
+            parser.lexer.next();
+            functions = parser.declarations(language);
+        } catch (SLParseError e) {
+            functions = null;
+        }
+        if (functions == null) {
+            return parseSL(language, source);
+        }
+        return functions;
+    }
+
+    /**
+     * Reads the declarations of the source, or returns {@code null} if the declarations are not
+     * well-formed.
+     */
+    private Map<String, RootCallTarget> declarations(SLLanguage language) {
+        Map<String, RootCallTarget> functions = new HashMap<>();
+        List<String> globals = new ArrayList<>();
+        /* The globals that are declared before a function are visible in its body. */
+        String[] visibleGlobals = new String[0];
+        do {
+            if (lexer.kind == Kind.GLOBAL) {
+                do {
+                    lexer.next();
+                    if (lexer.kind != Kind.IDENTIFIER) {
+                        return null;
+                    }
+                    globals.add(lexer.text());
+                    lexer.next();
+                } while (lexer.kind == Kind.COMMA);
+                if (lexer.kind != Kind.SEMICOLON) {
+                    return null;
+                }
+                lexer.next();
+                visibleGlobals = globals.toArray(new String[globals.size()]);
+            } else if (lexer.kind == Kind.FUNCTION) {
+                int start = lexer.tokenStart;
+                int line = lexer.tokenLine;
+                int lineStart = lexer.tokenStart - lexer.tokenColumn;
+                lexer.next();
+                if (lexer.kind != Kind.IDENTIFIER) {
+                    return null;
+                }
+                String name = lexer.text();
+                int nameStart = lexer.tokenStart;
+                lexer.next();
+                if (!skipParameters() || !skipBlock()) {
+                    return null;
+                }
+                SourceSection section = source.createSection(nameStart, lexer.tokenEnd - nameStart);
+                String[] functionGlobals = visibleGlobals;
+                SLLazyFunctionRootNode rootNode = new SLLazyFunctionRootNode(language, section, name,
+                                () -> parseFunction(language, source, start, line, lineStart, functionGlobals).get(name));
+                functions.put(name, Truffle.getRuntime().createCallTarget(rootNode));
+                lexer.next();
+            } else {
+                return null;
+            }
+        } while (lexer.kind != Kind.EOF);
+        return functions;
+    }
+
+    private boolean skipParameters() {
+        if (lexer.kind != Kind.LPAREN) {
+            return false;
+        }
+        lexer.next();
+        if (lexer.kind == Kind.IDENTIFIER) {
+            lexer.next();
+            while (lexer.kind == Kind.COMMA) {
+                lexer.next();
+                if (lexer.kind != Kind.IDENTIFIER) {
+                    return false;
+                }
+                lexer.next();
+            }
+        }
+        if (lexer.kind != Kind.RPAREN) {
+            return false;
+        }
+        lexer.next();
+        return true;
+    }
+
+    /**
+     * Skips a block up to its closing brace, which is the current token afterwards.
+     */
+    private boolean skipBlock() {
+        if (lexer.kind != Kind.LBRACE) {
+            return false;
+        }
+        int depth = 0;
+        do {
+            if (lexer.kind == Kind.LBRACE) {
+                depth++;
+            } else if (lexer.kind == Kind.RBRACE) {
+                depth--;
+            } else if (lexer.kind == Kind.EOF) {
+                return false;
+            }
+            if (depth > 0) {
+                lexer.next();
+            }
+        } while (depth > 0);
+        return true;
+    }
+
+    /**
+     * Parses the function that starts at the given offset, with the given globals.
+     */
+    private static Map<String, RootCallTarget> parseFunction(SLLanguage language, Source source, int start, int line, int lineStart, String[] globals) {
+        SLRecursiveDescentParser parser = new SLRecursiveDescentParser(language, source);
+        for (String global : globals) {
+            parser.factory.addGlobal(global);
+        }
+        parser.lexer.seek(start, line, lineStart);
+        parser.lexer.next();
+        parser.function();
+        return parser.factory.getAllFunctions();
+    }
+
+    private void simplelanguage() {
+        Set<Kind> expected = TOP_LEVEL;
+        do {
+            if (lexer.kind == Kind.FUNCTION) {
+                function();
+            } else if (lexer.kind == Kind.GLOBAL) {
+                globalDeclaration();
+            } else {
+                throw unexpected(expected);
+            }
+            expected = TOP_LEVEL_OR_EOF;
+        } while (lexer.kind != Kind.EOF);
+    }
+
+    private void function() {
+        lexer.next();
+        Token name = expectToken(Kind.IDENTIFIER, LPAREN);
+        Token bodyStart = expectToken(Kind.LPAREN, PARAMETER_START);
+        factory.startFunction(name, bodyStart);
+        formalParameters();
+        factory.finishFunction(block(false));
+    }
+
+    /**
+     * Parses the parameters after the opening parenthesis, up to and including the closing one.
+     */
+    private void formalParameters() {
+        if (lexer.kind == Kind.IDENTIFIER) {
+            factory.addFormalParameter(consumeToken());
+            while (continuesList(Kind.RPAREN)) {
+                lexer.next();
+                factory.addFormalParameter(expectToken(Kind.IDENTIFIER, EnumSet.of(Kind.COMMA, Kind.RPAREN)));
+            }
+        } else if (lexer.kind != Kind.RPAREN) {
+            throw unexpected(PARAMETER_START);
+        }
+        expect(Kind.RPAREN, LBRACE);
+    }
+
+    private void globalDeclaration() {
+        lexer.next();
+        Set<Kind> follow = EnumSet.of(Kind.COMMA, Kind.SEMICOLON);
+        factory.addGlobal(expectToken(Kind.IDENTIFIER, follow));
+        while (continuesList(Kind.SEMICOLON)) {
+            lexer.next();
+            factory.addGlobal(expectToken(Kind.IDENTIFIER, follow));
+        }
+        expect(Kind.SEMICOLON, TOP_LEVEL_OR_EOF);
+    }
+
+    private SLStatementNode block(boolean inLoop) {
+        factory.startBlock();
+        List<SLStatementNode> body = new ArrayList<>();
+        int start = lexer.tokenStart;
+        expect(Kind.LBRACE, BLOCK_CONTENT);
+        while (lexer.kind != Kind.RBRACE) {
+            if (!STATEMENT_START.contains(lexer.kind)) {
+                throw unexpected(BLOCK_CONTENT);
+            }
+            body.add(statement(inLoop));
+        }
+        int end = lexer.tokenEnd;
+        lexer.next();
+        return factory.finishBlock(body, start, end - start);
+    }
+
+    private SLStatementNode statement(boolean inLoop) {
+        SLStatementNode result;
+        switch (lexer.kind) {
+            case WHILE:
+                return whileStatement();
+            case FOR:
+                return forStatement();
+            case BREAK:
+                if (!inLoop) {
+                    throw semanticError("break used outside of loop");
+                }
+                result = factory.createBreak(consumeToken());
+                break;
+            case CONTINUE:
+                if (!inLoop) {
+                    throw semanticError("continue used outside of loop");
+                }
+                result = factory.createContinue(consumeToken());
+                break;
+            case IF:
+                return ifStatement(inLoop);
+            case RETURN:
+                return returnStatement();
+            case DEBUGGER:
+                result = factory.createDebugger(consumeToken());
+                break;
+            default:
+                result = expression();
+                break;
+        }
+        expect(Kind.SEMICOLON, BLOCK_CONTENT);
+        return result;
+    }
+
+    private SLStatementNode whileStatement() {
+        Token whileToken = consumeToken();
+        expect(Kind.LPAREN, EXPRESSION_START);
+        SLExpressionNode condition = expression();
+        expect(Kind.RPAREN, LBRACE);
+        return factory.createWhile(whileToken, condition, block(true));
+    }
+
+    private SLStatementNode ifStatement(boolean inLoop) {
+        Token ifToken = consumeToken();
+        expect(Kind.LPAREN, EXPRESSION_START);
+        SLExpressionNode condition = expression();
+        expect(Kind.RPAREN, LBRACE);
+        SLStatementNode thenPart = block(inLoop);
+        SLStatementNode elsePart = null;
+        if (lexer.kind == Kind.ELSE) {
+            lexer.next();
+            elsePart = block(inLoop);
+        }
+        return factory.createIf(ifToken, condition, thenPart, elsePart);
+    }
+
+    private SLStatementNode returnStatement() {
+        Token returnToken = consumeToken();
+        SLExpressionNode value = null;
+        if (startsExpression()) {
+            value = expression();
+        } else if (lexer.kind != Kind.SEMICOLON) {
+            throw unexpected(RETURN_VALUE);
+        }
+        SLStatementNode result = factory.createReturn(returnToken, value);
+        expect(Kind.SEMICOLON, BLOCK_CONTENT);
+        return result;
+    }
+
+    private SLStatementNode forStatement() {
+        Token forToken = consumeToken();
+        expect(Kind.LPAREN, IDENTIFIER);
+        String variable = expectText(Kind.IDENTIFIER, ASSIGN);
+        SLExpressionNode variableName = factory.createStringLiteral(lexer.token(), false);
+        lexer.next();
+        expect(Kind.ASSIGN, EXPRESSION_START);
+        SLExpressionNode initNode = factory.createAssignment(variableName, expression(), null);
+        expect(Kind.SEMICOLON, IDENTIFIER);
+        checkLoopVariable(variable, LOOP_COMPARISON, "for loop must compare its variable");
+        if (!LOOP_COMPARISON.contains(lexer.kind)) {
+            throw unexpected(LOOP_COMPARISON);
+        }
+        Token comparison = consumeToken();
+        SLExpressionNode limit = expression();
+        expect(Kind.SEMICOLON, IDENTIFIER);
+        Token update = lexer.token();
+        checkLoopVariable(variable, ASSIGN, "for loop must update its variable");
+        expect(Kind.ASSIGN, EXPRESSION_START);
+        /* See the for_update rule of the grammar. */
+        boolean counted = lexer.kind == Kind.IDENTIFIER && lexer.text().equals(variable) && ADDITIVE.contains(lexer.peek());
+        SLExpressionNode value = term();
+        Token sign = null;
+        SLExpressionNode step = null;
+        while (lexer.kind == Kind.PLUS || lexer.kind == Kind.MINUS) {
+            Token op = binaryOperator();
+            SLExpressionNode operand = term();
+            if (counted) {
+                sign = op;
+                step = operand;
+                counted = false;
+            } else {
+                if (sign != null) {
+                    value = factory.createBinary(sign, value, step);
+                    sign = null;
+                    step = null;
+                }
+                value = factory.createBinary(op, value, operand);
+            }
+        }
+        expressionEnds(ADDITIVE);
+        SLExpressionNode updateNode = null;
+        if (sign == null) {
+            updateNode = factory.createAssignment(factory.createStringLiteral(update, false), value, null);
+        }
+        expect(Kind.RPAREN, LBRACE);
+        return factory.createFor(forToken, variableName, initNode, comparison, limit, sign, step, updateNode, block(true));
+    }
+
+    private void checkLoopVariable(String variable, Set<Kind> follow, String message) {
+        if (!expectText(Kind.IDENTIFIER, follow).equals(variable)) {
+            throw semanticError(message);
+        }
+        lexer.next();
+    }
+
+    private SLExpressionNode expression() {
+        SLExpressionNode result = logicTerm();
+        while (lexer.kind == Kind.OR) {
+            Token op = binaryOperator();
+            result = factory.createBinary(op, result, logicTerm());
+        }
+        expressionEnds(OR);
+        return result;
+    }
+
+    private SLExpressionNode logicTerm() {
+        SLExpressionNode result = logicFactor();
+        while (lexer.kind == Kind.AND) {
+            Token op = binaryOperator();
+            result = factory.createBinary(op, result, logicFactor());
+        }
+        expressionEnds(AND);
+        return result;
+    }
+
+    private SLExpressionNode logicFactor() {
+        SLExpressionNode result = arithmetic();
+        if (RELATIONAL.contains(lexer.kind)) {
+            Token op = binaryOperator();
+            result = factory.createBinary(op, result, arithmetic());
+        } else {
+            expressionEnds(RELATIONAL);
+        }
+        return result;
+    }
+
+    private SLExpressionNode arithmetic() {
+        SLExpressionNode result = term();
+        while (lexer.kind == Kind.PLUS || lexer.kind == Kind.MINUS) {
+            Token op = binaryOperator();
+            result = factory.createBinary(op, result, term());
+        }
+        expressionEnds(ADDITIVE);
+        return result;
+    }
+
+    private SLExpressionNode term() {
+        SLExpressionNode result = factor();
+        while (lexer.kind == Kind.STAR || lexer.kind == Kind.SLASH) {
+            Token op = binaryOperator();
+            result = factory.createBinary(op, result, factor());
+        }
+        expressionEnds(MULTIPLICATIVE);
+        return result;
+    }
+
+    /**
+     * Consumes a binary operator. The ANTLR parser predicts the operator and its right operand
+     * together, so a missing operand is reported as no viable alternative.
+     */
+    private Token binaryOperator() {
+        Token op = consumeToken();
+        if (!startsExpression()) {
+            String input = op.getText() + (lexer.kind == Kind.EOF ? "" : lexer.text());
+            throw currentTokenError("no viable alternative at input '" + input + "'");
+        }
+        return op;
+    }
+
+    /**
+     * Parses a factor. After a name, {@code =} is only an assignment if an expression follows,
+     * otherwise it is reported as an unexpected token after the name, like in the ANTLR parser.
+     */
+    private SLExpressionNode factor() {
+        switch (lexer.kind) {
+            case IDENTIFIER:
+                SLExpressionNode assignmentName = factory.createStringLiteral(consumeToken(), false);
+                if (startsMemberExpression() && (lexer.kind != Kind.ASSIGN || EXPRESSION_START.contains(lexer.peek()))) {
+                    return memberExpression(null, null, assignmentName);
+                } else if (lexer.kind != Kind.ASSIGN) {
+                    expressionEnds(MEMBER_START);
+                }
+                return factory.createRead(assignmentName);
+            case STRING_LITERAL:
+                return factory.createStringLiteral(consumeToken(), true);
+            case NUMERIC_LITERAL:
+                return factory.createNumericLiteral(consumeToken());
+            case LPAREN:
+                return parenExpression();
+            case LBRACKET:
+                return arrayLiteral();
+            case LBRACE:
+                return objectLiteral();
+            case FUNCTION:
+                return lambda();
+            default:
+                throw unexpected(EXPRESSION_START);
+        }
+    }
+
+    private SLExpressionNode parenExpression() {
+        int start = lexer.tokenStart;
+        lexer.next();
+        SLExpressionNode expression = expression();
+        int end = lexer.tokenEnd;
+        expect(Kind.RPAREN, EXPRESSION_FOLLOW);
+        return factory.createParenExpression(expression, start, end - start);
+    }
+
+    private SLExpressionNode arrayLiteral() {
+        int start = lexer.tokenStart;
+        lexer.next();
+        List<SLExpressionNode> elements = new ArrayList<>();
+        if (startsExpression()) {
+            elements.add(expression());
+            while (continuesList(Kind.RBRACKET)) {
+                lexer.next();
+                elements.add(expression());
+            }
+        } else if (lexer.kind != Kind.RBRACKET) {
+            throw unexpected(union(EXPRESSION_START, EnumSet.of(Kind.RBRACKET)));
+        }
+        int end = lexer.tokenEnd;
+        expect(Kind.RBRACKET, EXPRESSION_FOLLOW);
+        return factory.createArrayLiteral(elements, start, end - start);
+    }
+
+    private SLExpressionNode objectLiteral() {
+        int start = lexer.tokenStart;
+        lexer.next();
+        List<Token> names = new ArrayList<>();
+        List<SLExpressionNode> values = new ArrayList<>();
+        if (lexer.kind == Kind.IDENTIFIER) {
+            objectProperty(names, values);
+            while (continuesList(Kind.RBRACE)) {
+                lexer.next();
+                objectProperty(names, values);
+            }
+        } else if (lexer.kind != Kind.RBRACE) {
+            throw unexpected(EnumSet.of(Kind.RBRACE, Kind.IDENTIFIER));
+        }
+        int end = lexer.tokenEnd;
+        expect(Kind.RBRACE, EXPRESSION_FOLLOW);
+        return factory.createObjectLiteral(names, values, start, end - start);
+    }
+
+    private void objectProperty(List<Token> names, List<SLExpressionNode> values) {
+        Token name = expectToken(Kind.IDENTIFIER, COLON);
+        expect(Kind.COLON, EXPRESSION_START);
+        SLExpressionNode value = expression();
+        names.add(name);
+        values.add(value);
+    }
+
+    private SLExpressionNode lambda() {
+        Token functionToken = consumeToken();
+        Token bodyStart = expectToken(Kind.LPAREN, PARAMETER_START);
+        factory.startLambda(functionToken, bodyStart);
+        formalParameters();
+        return factory.finishLambda(block(false));
+    }
+
+    private boolean startsMemberExpression() {
+        return MEMBER_START.contains(lexer.kind);
+    }
+
+    private boolean startsExpression() {
+        return EXPRESSION_START.contains(lexer.kind);
+    }
+
+    /**
+     * Checks the token after an element of a comma-separated list, and returns whether another
+     * element follows.
+     */
+    private boolean continuesList(Kind closing) {
+        if (lexer.kind == Kind.COMMA) {
+            return true;
+        } else if (lexer.kind != closing) {
+            throw unexpected(EnumSet.of(Kind.COMMA, closing));
+        }
+        return false;
+    }
+
+    /**
+     * Parses a chain of calls, property accesses and an assignment after a receiver. The grammar
+     * rule is right-recursive; the loop carries the receiver and the name of the last access along
+     * like the arguments of the recursive rule.
+     */
+    private SLExpressionNode memberExpression(SLExpressionNode r, SLExpressionNode assignmentReceiver, SLExpressionNode assignmentName) {
+        SLExpressionNode result = r;
+        SLExpressionNode currentReceiver = assignmentReceiver;
+        SLExpressionNode currentName = assignmentName;
+        do {
+            SLExpressionNode receiver = result;
+            SLExpressionNode nestedAssignmentName = null;
+            switch (lexer.kind) {
+                case LPAREN:
+                    lexer.next();
+                    List<SLExpressionNode> parameters = new ArrayList<>();
+                    if (receiver == null) {
+                        receiver = factory.createRead(currentName);
+                    }
+                    if (startsExpression()) {
+                        parameters.add(expression());
+                        while (continuesList(Kind.RPAREN)) {
+                            lexer.next();
+                            parameters.add(expression());
+                        }
+                    } else if (lexer.kind != Kind.RPAREN) {
+                        throw unexpected(union(EXPRESSION_START, EnumSet.of(Kind.RPAREN)));
+                    }
+                    Token end = expectToken(Kind.RPAREN, EXPRESSION_FOLLOW);
+                    result = factory.createCall(receiver, parameters, end);
+                    break;
+                case ASSIGN:
+                    lexer.next();
+                    int line = lexer.tokenLine;
+                    int column = lexer.tokenColumn;
+                    int length = Math.max(lexer.tokenEnd - lexer.tokenStart - 1, 0);
+                    SLExpressionNode value = expression();
+                    if (currentName == null) {
+                        throw parseError(line, column, length, "invalid assignment target");
+                    } else if (currentReceiver == null) {
+                        result = factory.createAssignment(currentName, value);
+                    } else {
+                        result = factory.createWriteProperty(currentReceiver, currentName, value);
+                    }
+                    break;
+                case DOT:
+                    lexer.next();
+                    if (receiver == null) {
+                        receiver = factory.createRead(currentName);
+                    }
+                    nestedAssignmentName = factory.createStringLiteral(expectToken(Kind.IDENTIFIER, EXPRESSION_FOLLOW), false);
+                    result = factory.createReadProperty(receiver, nestedAssignmentName);
+                    break;
+                default:
+                    lexer.next();
+                    if (receiver == null) {
+                        receiver = factory.createRead(currentName);
+                    }
+                    nestedAssignmentName = expression();
+                    result = factory.createReadProperty(receiver, nestedAssignmentName);
+                    expect(Kind.RBRACKET, EXPRESSION_FOLLOW);
+                    break;
+            }
+            currentReceiver = receiver;
+            currentName = nestedAssignmentName;
+        } while (startsMemberExpression());
+        expressionEnds(MEMBER_START);
+        return result;
+    }
+
+    /**
+     * Records that an expression ended before the current token, and the operators that could
+     * have continued it.
+     */
+    private void expressionEnds(Set<Kind> operators) {
+        if (continuationStart != lexer.tokenStart) {
+            continuation.clear();
+            continuationStart = lexer.tokenStart;
+        }
+        continuation.addAll(operators);
+    }
+
+    private void expect(Kind expected, Set<Kind> follow) {
+        if (lexer.kind != expected) {
+            throw mismatched(expected, follow);
+        }
+        lexer.next();
+    }
+
+    private Token expectToken(Kind expected, Set<Kind> follow) {
+        if (lexer.kind != expected) {
+            throw mismatched(expected, follow);
+        }
+        return consumeToken();
+    }
+
+    /**
+     * Checks the kind of the current token and returns its text, without consuming it.
+     */
+    private String expectText(Kind expected, Set<Kind> follow) {
+        if (lexer.kind != expected) {
+            throw mismatched(expected, follow);
+        }
+        return lexer.text();
+    }
+
+    private Token consumeToken() {
+        Token token = lexer.token();
+        lexer.next();
+        return token;
+    }
+
+    /**
+     * Reports that the current token is not the expected one. Like the ANTLR parser, the current
+     * token is reported as extraneous if the expected token follows it, and the expected token as
+     * missing if the current token can follow the expected one.
+     */
+    private SLParseError mismatched(Kind expected, Set<Kind> follow) {
+        if (lexer.peek() == expected) {
+            return currentTokenError("extraneous input '" + lexer.text() + "' expecting " + expected.display);
+        } else if (follow.contains(lexer.kind)) {
+            return currentTokenError("missing " + expected.display + " at '" + lexer.text() + "'");
+        }
+        EnumSet<Kind> expectedSet = EnumSet.of(expected);
+        if (continuationStart == lexer.tokenStart) {
+            expectedSet.addAll(continuation);
+        }
+        return currentTokenError("mismatched input '" + lexer.text() + "' expecting " + display(expectedSet));
+    }
+
+    /**
+     * Reports that the current token cannot start any of the alternatives of a decision.
+     */
+    private SLParseError unexpected(Set<Kind> expected) {
+        String kind = expected.contains(lexer.peek()) ? "extraneous" : "mismatched";
+        return currentTokenError(kind + " input '" + lexer.text() + "' expecting " + display(expected));
+    }
+
+    private static String display(Set<Kind> expected) {
+        if (expected.size() == 1) {
+            return expected.iterator().next().display;
+        }
+        StringBuilder result = new StringBuilder("{");
+        for (Kind kind : expected) {
+            result.append(result.length() == 1 ? "" : ", ").append(kind.display);
+        }
+        return result.append('}').toString();
+    }
+
+    private static Set<Kind> union(Set<Kind> first, Set<Kind> second) {
+        EnumSet<Kind> result = EnumSet.copyOf(first);
+        result.addAll(second);
+        return result;
+    }
+
+    private SLParseError semanticError(String message) {
+        return currentTokenError(message);
+    }
+
+    private SLParseError currentTokenError(String message) {
+        return parseError(lexer.tokenLine, lexer.tokenColumn, Math.max(lexer.tokenEnd - lexer.tokenStart - 1, 0), message);
+    }
+
+    /**
+     * Creates a parse error in the format of the ANTLR parser, see
+     * {@code SimpleLanguageParser.throwParseError}.
+     */
+    SLParseError parseError(int line, int charPositionInLine, int length, String message) {
+        int col = charPositionInLine + 1;
+        return new SLParseError(source, line, col, length, "Error(s) parsing script:" + System.lineSeparator() + "-- line " + line + " col " + col + ": " + message);
+    }
+}
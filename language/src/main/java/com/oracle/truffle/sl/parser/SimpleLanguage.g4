@@ -96,6 +96,10 @@ private static void throwParseError(Source source, int line, int charPositionInL
 }
 
 public static Map<String, RootCallTarget> parseSL(SLLanguage language, Source source) {
+    return parseSL(new SLNodeFactory(language, source), source);
+}
+
+static Map<String, RootCallTarget> parseSL(SLNodeFactory factory, Source source) {
     SimpleLanguageLexer lexer = new SimpleLanguageLexer(CharStreams.fromString(source.getCharacters().toString()));
     SimpleLanguageParser parser = new SimpleLanguageParser(new CommonTokenStream(lexer));
     lexer.removeErrorListeners();
@@ -103,7 +107,7 @@ public static Map<String, RootCallTarget> parseSL(SLLanguage language, Source so
     BailoutErrorListener listener = new BailoutErrorListener(source);
     lexer.addErrorListener(listener);
     parser.addErrorListener(listener);
-    parser.factory = new SLNodeFactory(language, source);
+    parser.factory = factory;
     parser.source = source;
     parser.simplelanguage();
     return parser.factory.getAllFunctions();
@@ -117,7 +121,9 @@ public static Map<String, RootCallTarget> parseSL(SLLanguage language, Source so
 
 simplelanguage
 :
-function function* EOF
+(function | global_declaration)
+(function | global_declaration)*
+EOF
 ;
 
 
@@ -156,6 +162,8 @@ statement [boolean inLoop] returns [SLStatementNode result]
 :
 (
     while_statement                             { $result = $while_statement.result; }
+|
+    for_statement                               { $result = $for_statement.result; }
 |
     b='break'                                   { if (inLoop) { $result = factory.createBreak($b); } else { SemErr($b, "break used outside of loop"); } }
     ';'
@@ -276,6 +284,45 @@ factor returns [SLExpressionNode result]
     s='('
     expr=expression
     e=')'                                       { $result = factory.createParenExpression($expr.result, $s.getStartIndex(), $e.getStopIndex() - $s.getStartIndex() + 1); }
+|
+    s='['                                       { List<SLExpressionNode> elements = new ArrayList<>(); }
+    (
+        expression                              { elements.add($expression.result); }
+        (
+            ','
+            expression                          { elements.add($expression.result); }
+        )*
+    )?
+    e=']'                                       { $result = factory.createArrayLiteral(elements, $s.getStartIndex(), $e.getStopIndex() - $s.getStartIndex() + 1); }
+|
+    s='{'                                       { List<Token> names = new ArrayList<>();
+                                                  List<SLExpressionNode> values = new ArrayList<>(); }
+    (
+        IDENTIFIER
+        ':'
+        expression                              { names.add($IDENTIFIER);
+                                                  values.add($expression.result); }
+        (
+            ','
+            IDENTIFIER
+            ':'
+            expression                          { names.add($IDENTIFIER);
+                                                  values.add($expression.result); }
+        )*
+    )?
+    e='}'                                       { $result = factory.createObjectLiteral(names, values, $s.getStartIndex(), $e.getStopIndex() - $s.getStartIndex() + 1); }
+|
+    f='function'
+    s='('                                       { factory.startLambda($f, $s); }
+    (
+        IDENTIFIER                              { factory.addFormalParameter($IDENTIFIER); }
+        (
+            ','
+            IDENTIFIER                          { factory.addFormalParameter($IDENTIFIER); }
+        )*
+    )?
+    ')'
+    body=block[false]                           { $result = factory.finishLambda($body.result); }
 )
 ;
 
@@ -327,6 +374,70 @@ member_expression [SLExpressionNode r, SLExpressionNode assignmentReceiver, SLEx
 )?
 ;
 
+// The for statement is defined after the expressions so that the token types of the operators,
+// which are listed in parse error messages, keep the order of the expression rules.
+
+for_statement returns [SLStatementNode result]
+:
+f='for'
+'('
+IDENTIFIER                                      { SLExpressionNode variableName = factory.createStringLiteral($IDENTIFIER, false); }
+'='
+from=expression                                 { SLExpressionNode initNode = factory.createAssignment(variableName, $from.result, null); }
+';'
+condition=IDENTIFIER                            { if (!$condition.getText().equals(variableName.executeGeneric(null))) { SemErr($condition, "for loop must compare its variable"); } }
+op=('<' | '<=' | '>' | '>=')
+limit=expression
+';'
+update=IDENTIFIER                               { if (!$update.getText().equals(variableName.executeGeneric(null))) { SemErr($update, "for loop must update its variable"); } }
+'='
+for_update[$update.getText()]                   { SLExpressionNode updateNode = null;
+                                                  if ($for_update.sign == null) {
+                                                      updateNode = factory.createAssignment(factory.createStringLiteral($update, false), $for_update.result, null);
+                                                  } }
+')'
+body=block[true]                                { $result = factory.createFor($f, variableName, initNode, $op, $limit.result, $for_update.sign, $for_update.step, updateNode, $body.result); }
+;
+
+// The update of a for loop is an additive expression. If it adds a term to the loop variable or
+// subtracts a term from it, the sign and the term are returned instead of the expression.
+
+for_update [String variable] returns [SLExpressionNode result, Token sign, SLExpressionNode step]
+:
+operand=term                                    { $result = $operand.result;
+                                                  boolean counted = $operand.start == $operand.stop && $operand.start.getText().equals($variable); }
+(
+    op=('+' | '-')
+    term                                        { if (counted) {
+                                                      $sign = $op;
+                                                      $step = $term.result;
+                                                      counted = false;
+                                                  } else {
+                                                      if ($sign != null) {
+                                                          $result = factory.createBinary($sign, $result, $step);
+                                                          $sign = null;
+                                                          $step = null;
+                                                      }
+                                                      $result = factory.createBinary($op, $result, $term.result);
+                                                  } }
+)*
+;
+
+
+// The global declaration is defined after the expressions for the same reason.
+
+global_declaration
+:
+'global'
+IDENTIFIER                                      { factory.addGlobal($IDENTIFIER); }
+(
+    ','
+    IDENTIFIER                                  { factory.addGlobal($IDENTIFIER); }
+)*
+';'
+;
+
+
 // lexer
 
 WS : [ \t\r\n\u000C]+ -> skip;
@@ -344,5 +455,5 @@ fragment STRING_CHAR : ~('"' | '\\' | '\r' | '\n');
 
 IDENTIFIER : LETTER (LETTER | DIGIT)*;
 STRING_LITERAL : '"' STRING_CHAR* '"';
-NUMERIC_LITERAL : '0' | NON_ZERO_DIGIT DIGIT*;
+NUMERIC_LITERAL : ('0' | NON_ZERO_DIGIT DIGIT*) ('.' DIGIT+)? (('e' | 'E') ('+' | '-')? DIGIT+)?;
 
@@ -64,8 +64,9 @@ public class SimpleLanguageLexer extends Lexer {
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, WS=31, COMMENT=32, 
-		LINE_COMMENT=33, IDENTIFIER=34, STRING_LITERAL=35, NUMERIC_LITERAL=36;
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, WS=34, COMMENT=35, LINE_COMMENT=36, IDENTIFIER=37, 
+		STRING_LITERAL=38, NUMERIC_LITERAL=39;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -79,9 +80,10 @@ public class SimpleLanguageLexer extends Lexer {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
 			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
-			"T__25", "T__26", "T__27", "T__28", "T__29", "WS", "COMMENT", "LINE_COMMENT", 
-			"LETTER", "NON_ZERO_DIGIT", "DIGIT", "HEX_DIGIT", "OCT_DIGIT", "BINARY_DIGIT", 
-			"TAB", "STRING_CHAR", "IDENTIFIER", "STRING_LITERAL", "NUMERIC_LITERAL"
+			"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
+			"WS", "COMMENT", "LINE_COMMENT", "LETTER", "NON_ZERO_DIGIT", "DIGIT", 
+			"HEX_DIGIT", "OCT_DIGIT", "BINARY_DIGIT", "TAB", "STRING_CHAR", "IDENTIFIER", 
+			"STRING_LITERAL", "NUMERIC_LITERAL"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -91,7 +93,7 @@ public class SimpleLanguageLexer extends Lexer {
 			null, "'function'", "'('", "','", "')'", "'{'", "'}'", "'break'", "';'", 
 			"'continue'", "'debugger'", "'while'", "'if'", "'else'", "'return'", 
 			"'||'", "'&&'", "'<'", "'<='", "'>'", "'>='", "'=='", "'!='", "'+'", 
-			"'-'", "'*'", "'/'", "'='", "'.'", "'['", "']'"
+			"'-'", "'*'", "'/'", "'['", "']'", "':'", "'='", "'.'", "'for'", "'global'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -99,8 +101,8 @@ public class SimpleLanguageLexer extends Lexer {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, "WS", "COMMENT", "LINE_COMMENT", 
-			"IDENTIFIER", "STRING_LITERAL", "NUMERIC_LITERAL"
+			null, null, null, null, null, null, null, null, null, null, "WS", "COMMENT", 
+			"LINE_COMMENT", "IDENTIFIER", "STRING_LITERAL", "NUMERIC_LITERAL"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -162,90 +164,106 @@ public class SimpleLanguageLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2&\u0110\b\1\4\2\t"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2)\u0136\b\1\4\2\t"+
 		"\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
 		"\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
 		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
 		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
 		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
-		",\t,\4-\t-\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\3\3\3\3\4\3\4\3\5\3\5"+
-		"\3\6\3\6\3\7\3\7\3\b\3\b\3\b\3\b\3\b\3\b\3\t\3\t\3\n\3\n\3\n\3\n\3\n\3"+
-		"\n\3\n\3\n\3\n\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\f\3\f\3"+
-		"\f\3\f\3\f\3\f\3\r\3\r\3\r\3\16\3\16\3\16\3\16\3\16\3\17\3\17\3\17\3\17"+
-		"\3\17\3\17\3\17\3\20\3\20\3\20\3\21\3\21\3\21\3\22\3\22\3\23\3\23\3\23"+
-		"\3\24\3\24\3\25\3\25\3\25\3\26\3\26\3\26\3\27\3\27\3\27\3\30\3\30\3\31"+
-		"\3\31\3\32\3\32\3\33\3\33\3\34\3\34\3\35\3\35\3\36\3\36\3\37\3\37\3 \6"+
-		" \u00c5\n \r \16 \u00c6\3 \3 \3!\3!\3!\3!\7!\u00cf\n!\f!\16!\u00d2\13"+
-		"!\3!\3!\3!\3!\3!\3\"\3\"\3\"\3\"\7\"\u00dd\n\"\f\"\16\"\u00e0\13\"\3\""+
-		"\3\"\3#\5#\u00e5\n#\3$\3$\3%\3%\3&\5&\u00ec\n&\3\'\3\'\3(\3(\3)\3)\3*"+
-		"\3*\3+\3+\3+\7+\u00f9\n+\f+\16+\u00fc\13+\3,\3,\7,\u0100\n,\f,\16,\u0103"+
-		"\13,\3,\3,\3-\3-\3-\7-\u010a\n-\f-\16-\u010d\13-\5-\u010f\n-\3\u00d0\2"+
-		".\3\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20"+
-		"\37\21!\22#\23%\24\'\25)\26+\27-\30/\31\61\32\63\33\65\34\67\359\36;\37"+
-		"= ?!A\"C#E\2G\2I\2K\2M\2O\2Q\2S\2U$W%Y&\3\2\n\5\2\13\f\16\17\"\"\4\2\f"+
-		"\f\17\17\6\2&&C\\aac|\3\2\63;\3\2\62;\5\2\62;CHch\3\2\629\6\2\f\f\17\17"+
-		"$$^^\2\u010f\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2\2\2\t\3\2\2\2\2\13\3\2"+
-		"\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23\3\2\2\2\2\25\3\2\2\2\2"+
-		"\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35\3\2\2\2\2\37\3\2\2\2\2!\3\2"+
-		"\2\2\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)\3\2\2\2\2+\3\2\2\2\2-\3\2\2"+
-		"\2\2/\3\2\2\2\2\61\3\2\2\2\2\63\3\2\2\2\2\65\3\2\2\2\2\67\3\2\2\2\29\3"+
-		"\2\2\2\2;\3\2\2\2\2=\3\2\2\2\2?\3\2\2\2\2A\3\2\2\2\2C\3\2\2\2\2U\3\2\2"+
-		"\2\2W\3\2\2\2\2Y\3\2\2\2\3[\3\2\2\2\5d\3\2\2\2\7f\3\2\2\2\th\3\2\2\2\13"+
-		"j\3\2\2\2\rl\3\2\2\2\17n\3\2\2\2\21t\3\2\2\2\23v\3\2\2\2\25\177\3\2\2"+
-		"\2\27\u0088\3\2\2\2\31\u008e\3\2\2\2\33\u0091\3\2\2\2\35\u0096\3\2\2\2"+
-		"\37\u009d\3\2\2\2!\u00a0\3\2\2\2#\u00a3\3\2\2\2%\u00a5\3\2\2\2\'\u00a8"+
-		"\3\2\2\2)\u00aa\3\2\2\2+\u00ad\3\2\2\2-\u00b0\3\2\2\2/\u00b3\3\2\2\2\61"+
-		"\u00b5\3\2\2\2\63\u00b7\3\2\2\2\65\u00b9\3\2\2\2\67\u00bb\3\2\2\29\u00bd"+
-		"\3\2\2\2;\u00bf\3\2\2\2=\u00c1\3\2\2\2?\u00c4\3\2\2\2A\u00ca\3\2\2\2C"+
-		"\u00d8\3\2\2\2E\u00e4\3\2\2\2G\u00e6\3\2\2\2I\u00e8\3\2\2\2K\u00eb\3\2"+
-		"\2\2M\u00ed\3\2\2\2O\u00ef\3\2\2\2Q\u00f1\3\2\2\2S\u00f3\3\2\2\2U\u00f5"+
-		"\3\2\2\2W\u00fd\3\2\2\2Y\u010e\3\2\2\2[\\\7h\2\2\\]\7w\2\2]^\7p\2\2^_"+
-		"\7e\2\2_`\7v\2\2`a\7k\2\2ab\7q\2\2bc\7p\2\2c\4\3\2\2\2de\7*\2\2e\6\3\2"+
-		"\2\2fg\7.\2\2g\b\3\2\2\2hi\7+\2\2i\n\3\2\2\2jk\7}\2\2k\f\3\2\2\2lm\7\177"+
-		"\2\2m\16\3\2\2\2no\7d\2\2op\7t\2\2pq\7g\2\2qr\7c\2\2rs\7m\2\2s\20\3\2"+
-		"\2\2tu\7=\2\2u\22\3\2\2\2vw\7e\2\2wx\7q\2\2xy\7p\2\2yz\7v\2\2z{\7k\2\2"+
-		"{|\7p\2\2|}\7w\2\2}~\7g\2\2~\24\3\2\2\2\177\u0080\7f\2\2\u0080\u0081\7"+
-		"g\2\2\u0081\u0082\7d\2\2\u0082\u0083\7w\2\2\u0083\u0084\7i\2\2\u0084\u0085"+
-		"\7i\2\2\u0085\u0086\7g\2\2\u0086\u0087\7t\2\2\u0087\26\3\2\2\2\u0088\u0089"+
-		"\7y\2\2\u0089\u008a\7j\2\2\u008a\u008b\7k\2\2\u008b\u008c\7n\2\2\u008c"+
-		"\u008d\7g\2\2\u008d\30\3\2\2\2\u008e\u008f\7k\2\2\u008f\u0090\7h\2\2\u0090"+
-		"\32\3\2\2\2\u0091\u0092\7g\2\2\u0092\u0093\7n\2\2\u0093\u0094\7u\2\2\u0094"+
-		"\u0095\7g\2\2\u0095\34\3\2\2\2\u0096\u0097\7t\2\2\u0097\u0098\7g\2\2\u0098"+
-		"\u0099\7v\2\2\u0099\u009a\7w\2\2\u009a\u009b\7t\2\2\u009b\u009c\7p\2\2"+
-		"\u009c\36\3\2\2\2\u009d\u009e\7~\2\2\u009e\u009f\7~\2\2\u009f \3\2\2\2"+
-		"\u00a0\u00a1\7(\2\2\u00a1\u00a2\7(\2\2\u00a2\"\3\2\2\2\u00a3\u00a4\7>"+
-		"\2\2\u00a4$\3\2\2\2\u00a5\u00a6\7>\2\2\u00a6\u00a7\7?\2\2\u00a7&\3\2\2"+
-		"\2\u00a8\u00a9\7@\2\2\u00a9(\3\2\2\2\u00aa\u00ab\7@\2\2\u00ab\u00ac\7"+
-		"?\2\2\u00ac*\3\2\2\2\u00ad\u00ae\7?\2\2\u00ae\u00af\7?\2\2\u00af,\3\2"+
-		"\2\2\u00b0\u00b1\7#\2\2\u00b1\u00b2\7?\2\2\u00b2.\3\2\2\2\u00b3\u00b4"+
-		"\7-\2\2\u00b4\60\3\2\2\2\u00b5\u00b6\7/\2\2\u00b6\62\3\2\2\2\u00b7\u00b8"+
-		"\7,\2\2\u00b8\64\3\2\2\2\u00b9\u00ba\7\61\2\2\u00ba\66\3\2\2\2\u00bb\u00bc"+
-		"\7?\2\2\u00bc8\3\2\2\2\u00bd\u00be\7\60\2\2\u00be:\3\2\2\2\u00bf\u00c0"+
-		"\7]\2\2\u00c0<\3\2\2\2\u00c1\u00c2\7_\2\2\u00c2>\3\2\2\2\u00c3\u00c5\t"+
-		"\2\2\2\u00c4\u00c3\3\2\2\2\u00c5\u00c6\3\2\2\2\u00c6\u00c4\3\2\2\2\u00c6"+
-		"\u00c7\3\2\2\2\u00c7\u00c8\3\2\2\2\u00c8\u00c9\b \2\2\u00c9@\3\2\2\2\u00ca"+
-		"\u00cb\7\61\2\2\u00cb\u00cc\7,\2\2\u00cc\u00d0\3\2\2\2\u00cd\u00cf\13"+
-		"\2\2\2\u00ce\u00cd\3\2\2\2\u00cf\u00d2\3\2\2\2\u00d0\u00d1\3\2\2\2\u00d0"+
-		"\u00ce\3\2\2\2\u00d1\u00d3\3\2\2\2\u00d2\u00d0\3\2\2\2\u00d3\u00d4\7,"+
-		"\2\2\u00d4\u00d5\7\61\2\2\u00d5\u00d6\3\2\2\2\u00d6\u00d7\b!\2\2\u00d7"+
-		"B\3\2\2\2\u00d8\u00d9\7\61\2\2\u00d9\u00da\7\61\2\2\u00da\u00de\3\2\2"+
-		"\2\u00db\u00dd\n\3\2\2\u00dc\u00db\3\2\2\2\u00dd\u00e0\3\2\2\2\u00de\u00dc"+
-		"\3\2\2\2\u00de\u00df\3\2\2\2\u00df\u00e1\3\2\2\2\u00e0\u00de\3\2\2\2\u00e1"+
-		"\u00e2\b\"\2\2\u00e2D\3\2\2\2\u00e3\u00e5\t\4\2\2\u00e4\u00e3\3\2\2\2"+
-		"\u00e5F\3\2\2\2\u00e6\u00e7\t\5\2\2\u00e7H\3\2\2\2\u00e8\u00e9\t\6\2\2"+
-		"\u00e9J\3\2\2\2\u00ea\u00ec\t\7\2\2\u00eb\u00ea\3\2\2\2\u00ecL\3\2\2\2"+
-		"\u00ed\u00ee\t\b\2\2\u00eeN\3\2\2\2\u00ef\u00f0\4\62\63\2\u00f0P\3\2\2"+
-		"\2\u00f1\u00f2\7\13\2\2\u00f2R\3\2\2\2\u00f3\u00f4\n\t\2\2\u00f4T\3\2"+
-		"\2\2\u00f5\u00fa\5E#\2\u00f6\u00f9\5E#\2\u00f7\u00f9\5I%\2\u00f8\u00f6"+
-		"\3\2\2\2\u00f8\u00f7\3\2\2\2\u00f9\u00fc\3\2\2\2\u00fa\u00f8\3\2\2\2\u00fa"+
-		"\u00fb\3\2\2\2\u00fbV\3\2\2\2\u00fc\u00fa\3\2\2\2\u00fd\u0101\7$\2\2\u00fe"+
-		"\u0100\5S*\2\u00ff\u00fe\3\2\2\2\u0100\u0103\3\2\2\2\u0101\u00ff\3\2\2"+
-		"\2\u0101\u0102\3\2\2\2\u0102\u0104\3\2\2\2\u0103\u0101\3\2\2\2\u0104\u0105"+
-		"\7$\2\2\u0105X\3\2\2\2\u0106\u010f\7\62\2\2\u0107\u010b\5G$\2\u0108\u010a"+
-		"\5I%\2\u0109\u0108\3\2\2\2\u010a\u010d\3\2\2\2\u010b\u0109\3\2\2\2\u010b"+
-		"\u010c\3\2\2\2\u010c\u010f\3\2\2\2\u010d\u010b\3\2\2\2\u010e\u0106\3\2"+
-		"\2\2\u010e\u0107\3\2\2\2\u010fZ\3\2\2\2\r\2\u00c6\u00d0\u00de\u00e4\u00eb"+
-		"\u00f8\u00fa\u0101\u010b\u010e\3\b\2\2";
+		",\t,\4-\t-\4.\t.\4/\t/\4\60\t\60\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3"+
+		"\3\3\3\3\4\3\4\3\5\3\5\3\6\3\6\3\7\3\7\3\b\3\b\3\b\3\b\3\b\3\b\3\t\3\t"+
+		"\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3\13\3\13\3\13\3\13\3\13\3\13\3\13"+
+		"\3\13\3\13\3\f\3\f\3\f\3\f\3\f\3\f\3\r\3\r\3\r\3\16\3\16\3\16\3\16\3\16"+
+		"\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\20\3\20\3\20\3\21\3\21\3\21\3\22"+
+		"\3\22\3\23\3\23\3\23\3\24\3\24\3\25\3\25\3\25\3\26\3\26\3\26\3\27\3\27"+
+		"\3\27\3\30\3\30\3\31\3\31\3\32\3\32\3\33\3\33\3\34\3\34\3\35\3\35\3\36"+
+		"\3\36\3\37\3\37\3 \3 \3!\3!\3!\3!\3\"\3\"\3\"\3\"\3\"\3\"\3\"\3#\6#\u00d8"+
+		"\n#\r#\16#\u00d9\3#\3#\3$\3$\3$\3$\7$\u00e2\n$\f$\16$\u00e5\13$\3$\3$"+
+		"\3$\3$\3$\3%\3%\3%\3%\7%\u00f0\n%\f%\16%\u00f3\13%\3%\3%\3&\5&\u00f8\n"+
+		"&\3\'\3\'\3(\3(\3)\5)\u00ff\n)\3*\3*\3+\3+\3,\3,\3-\3-\3.\3.\3.\7.\u010c"+
+		"\n.\f.\16.\u010f\13.\3/\3/\7/\u0113\n/\f/\16/\u0116\13/\3/\3/\3\60\3\60"+
+		"\3\60\7\60\u011d\n\60\f\60\16\60\u0120\13\60\5\60\u0122\n\60\3\60\3\60"+
+		"\6\60\u0126\n\60\r\60\16\60\u0127\5\60\u012a\n\60\3\60\3\60\5\60\u012e"+
+		"\n\60\3\60\6\60\u0131\n\60\r\60\16\60\u0132\5\60\u0135\n\60\3\u00e3\2"+
+		"\61\3\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35"+
+		"\20\37\21!\22#\23%\24\'\25)\26+\27-\30/\31\61\32\63\33\65\34\67\359\36"+
+		";\37= ?!A\"C#E$G%I&K\2M\2O\2Q\2S\2U\2W\2Y\2[\'](_)\3\2\f\5\2\13\f\16\17"+
+		"\"\"\4\2\f\f\17\17\6\2&&C\\aac|\3\2\63;\3\2\62;\5\2\62;CHch\3\2\629\6"+
+		"\2\f\f\17\17$$^^\4\2GGgg\4\2--//\2\u013a\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3"+
+		"\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2"+
+		"\2\23\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35"+
+		"\3\2\2\2\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)"+
+		"\3\2\2\2\2+\3\2\2\2\2-\3\2\2\2\2/\3\2\2\2\2\61\3\2\2\2\2\63\3\2\2\2\2"+
+		"\65\3\2\2\2\2\67\3\2\2\2\29\3\2\2\2\2;\3\2\2\2\2=\3\2\2\2\2?\3\2\2\2\2"+
+		"A\3\2\2\2\2C\3\2\2\2\2E\3\2\2\2\2G\3\2\2\2\2I\3\2\2\2\2[\3\2\2\2\2]\3"+
+		"\2\2\2\2_\3\2\2\2\3a\3\2\2\2\5j\3\2\2\2\7l\3\2\2\2\tn\3\2\2\2\13p\3\2"+
+		"\2\2\rr\3\2\2\2\17t\3\2\2\2\21z\3\2\2\2\23|\3\2\2\2\25\u0085\3\2\2\2\27"+
+		"\u008e\3\2\2\2\31\u0094\3\2\2\2\33\u0097\3\2\2\2\35\u009c\3\2\2\2\37\u00a3"+
+		"\3\2\2\2!\u00a6\3\2\2\2#\u00a9\3\2\2\2%\u00ab\3\2\2\2\'\u00ae\3\2\2\2"+
+		")\u00b0\3\2\2\2+\u00b3\3\2\2\2-\u00b6\3\2\2\2/\u00b9\3\2\2\2\61\u00bb"+
+		"\3\2\2\2\63\u00bd\3\2\2\2\65\u00bf\3\2\2\2\67\u00c1\3\2\2\29\u00c3\3\2"+
+		"\2\2;\u00c5\3\2\2\2=\u00c7\3\2\2\2?\u00c9\3\2\2\2A\u00cb\3\2\2\2C\u00cf"+
+		"\3\2\2\2E\u00d7\3\2\2\2G\u00dd\3\2\2\2I\u00eb\3\2\2\2K\u00f7\3\2\2\2M"+
+		"\u00f9\3\2\2\2O\u00fb\3\2\2\2Q\u00fe\3\2\2\2S\u0100\3\2\2\2U\u0102\3\2"+
+		"\2\2W\u0104\3\2\2\2Y\u0106\3\2\2\2[\u0108\3\2\2\2]\u0110\3\2\2\2_\u0121"+
+		"\3\2\2\2ab\7h\2\2bc\7w\2\2cd\7p\2\2de\7e\2\2ef\7v\2\2fg\7k\2\2gh\7q\2"+
+		"\2hi\7p\2\2i\4\3\2\2\2jk\7*\2\2k\6\3\2\2\2lm\7.\2\2m\b\3\2\2\2no\7+\2"+
+		"\2o\n\3\2\2\2pq\7}\2\2q\f\3\2\2\2rs\7\177\2\2s\16\3\2\2\2tu\7d\2\2uv\7"+
+		"t\2\2vw\7g\2\2wx\7c\2\2xy\7m\2\2y\20\3\2\2\2z{\7=\2\2{\22\3\2\2\2|}\7"+
+		"e\2\2}~\7q\2\2~\177\7p\2\2\177\u0080\7v\2\2\u0080\u0081\7k\2\2\u0081\u0082"+
+		"\7p\2\2\u0082\u0083\7w\2\2\u0083\u0084\7g\2\2\u0084\24\3\2\2\2\u0085\u0086"+
+		"\7f\2\2\u0086\u0087\7g\2\2\u0087\u0088\7d\2\2\u0088\u0089\7w\2\2\u0089"+
+		"\u008a\7i\2\2\u008a\u008b\7i\2\2\u008b\u008c\7g\2\2\u008c\u008d\7t\2\2"+
+		"\u008d\26\3\2\2\2\u008e\u008f\7y\2\2\u008f\u0090\7j\2\2\u0090\u0091\7"+
+		"k\2\2\u0091\u0092\7n\2\2\u0092\u0093\7g\2\2\u0093\30\3\2\2\2\u0094\u0095"+
+		"\7k\2\2\u0095\u0096\7h\2\2\u0096\32\3\2\2\2\u0097\u0098\7g\2\2\u0098\u0099"+
+		"\7n\2\2\u0099\u009a\7u\2\2\u009a\u009b\7g\2\2\u009b\34\3\2\2\2\u009c\u009d"+
+		"\7t\2\2\u009d\u009e\7g\2\2\u009e\u009f\7v\2\2\u009f\u00a0\7w\2\2\u00a0"+
+		"\u00a1\7t\2\2\u00a1\u00a2\7p\2\2\u00a2\36\3\2\2\2\u00a3\u00a4\7~\2\2\u00a4"+
+		"\u00a5\7~\2\2\u00a5 \3\2\2\2\u00a6\u00a7\7(\2\2\u00a7\u00a8\7(\2\2\u00a8"+
+		"\"\3\2\2\2\u00a9\u00aa\7>\2\2\u00aa$\3\2\2\2\u00ab\u00ac\7>\2\2\u00ac"+
+		"\u00ad\7?\2\2\u00ad&\3\2\2\2\u00ae\u00af\7@\2\2\u00af(\3\2\2\2\u00b0\u00b1"+
+		"\7@\2\2\u00b1\u00b2\7?\2\2\u00b2*\3\2\2\2\u00b3\u00b4\7?\2\2\u00b4\u00b5"+
+		"\7?\2\2\u00b5,\3\2\2\2\u00b6\u00b7\7#\2\2\u00b7\u00b8\7?\2\2\u00b8.\3"+
+		"\2\2\2\u00b9\u00ba\7-\2\2\u00ba\60\3\2\2\2\u00bb\u00bc\7/\2\2\u00bc\62"+
+		"\3\2\2\2\u00bd\u00be\7,\2\2\u00be\64\3\2\2\2\u00bf\u00c0\7\61\2\2\u00c0"+
+		"\66\3\2\2\2\u00c1\u00c2\7]\2\2\u00c28\3\2\2\2\u00c3\u00c4\7_\2\2\u00c4"+
+		":\3\2\2\2\u00c5\u00c6\7<\2\2\u00c6<\3\2\2\2\u00c7\u00c8\7?\2\2\u00c8>"+
+		"\3\2\2\2\u00c9\u00ca\7\60\2\2\u00ca@\3\2\2\2\u00cb\u00cc\7h\2\2\u00cc"+
+		"\u00cd\7q\2\2\u00cd\u00ce\7t\2\2\u00ceB\3\2\2\2\u00cf\u00d0\7i\2\2\u00d0"+
+		"\u00d1\7n\2\2\u00d1\u00d2\7q\2\2\u00d2\u00d3\7d\2\2\u00d3\u00d4\7c\2\2"+
+		"\u00d4\u00d5\7n\2\2\u00d5D\3\2\2\2\u00d6\u00d8\t\2\2\2\u00d7\u00d6\3\2"+
+		"\2\2\u00d8\u00d9\3\2\2\2\u00d9\u00d7\3\2\2\2\u00d9\u00da\3\2\2\2\u00da"+
+		"\u00db\3\2\2\2\u00db\u00dc\b#\2\2\u00dcF\3\2\2\2\u00dd\u00de\7\61\2\2"+
+		"\u00de\u00df\7,\2\2\u00df\u00e3\3\2\2\2\u00e0\u00e2\13\2\2\2\u00e1\u00e0"+
+		"\3\2\2\2\u00e2\u00e5\3\2\2\2\u00e3\u00e4\3\2\2\2\u00e3\u00e1\3\2\2\2\u00e4"+
+		"\u00e6\3\2\2\2\u00e5\u00e3\3\2\2\2\u00e6\u00e7\7,\2\2\u00e7\u00e8\7\61"+
+		"\2\2\u00e8\u00e9\3\2\2\2\u00e9\u00ea\b$\2\2\u00eaH\3\2\2\2\u00eb\u00ec"+
+		"\7\61\2\2\u00ec\u00ed\7\61\2\2\u00ed\u00f1\3\2\2\2\u00ee\u00f0\n\3\2\2"+
+		"\u00ef\u00ee\3\2\2\2\u00f0\u00f3\3\2\2\2\u00f1\u00ef\3\2\2\2\u00f1\u00f2"+
+		"\3\2\2\2\u00f2\u00f4\3\2\2\2\u00f3\u00f1\3\2\2\2\u00f4\u00f5\b%\2\2\u00f5"+
+		"J\3\2\2\2\u00f6\u00f8\t\4\2\2\u00f7\u00f6\3\2\2\2\u00f8L\3\2\2\2\u00f9"+
+		"\u00fa\t\5\2\2\u00faN\3\2\2\2\u00fb\u00fc\t\6\2\2\u00fcP\3\2\2\2\u00fd"+
+		"\u00ff\t\7\2\2\u00fe\u00fd\3\2\2\2\u00ffR\3\2\2\2\u0100\u0101\t\b\2\2"+
+		"\u0101T\3\2\2\2\u0102\u0103\4\62\63\2\u0103V\3\2\2\2\u0104\u0105\7\13"+
+		"\2\2\u0105X\3\2\2\2\u0106\u0107\n\t\2\2\u0107Z\3\2\2\2\u0108\u010d\5K"+
+		"&\2\u0109\u010c\5K&\2\u010a\u010c\5O(\2\u010b\u0109\3\2\2\2\u010b\u010a"+
+		"\3\2\2\2\u010c\u010f\3\2\2\2\u010d\u010b\3\2\2\2\u010d\u010e\3\2\2\2\u010e"+
+		"\\\3\2\2\2\u010f\u010d\3\2\2\2\u0110\u0114\7$\2\2\u0111\u0113\5Y-\2\u0112"+
+		"\u0111\3\2\2\2\u0113\u0116\3\2\2\2\u0114\u0112\3\2\2\2\u0114\u0115\3\2"+
+		"\2\2\u0115\u0117\3\2\2\2\u0116\u0114\3\2\2\2\u0117\u0118\7$\2\2\u0118"+
+		"^\3\2\2\2\u0119\u0122\7\62\2\2\u011a\u011e\5M\'\2\u011b\u011d\5O(\2\u011c"+
+		"\u011b\3\2\2\2\u011d\u0120\3\2\2\2\u011e\u011c\3\2\2\2\u011e\u011f\3\2"+
+		"\2\2\u011f\u0122\3\2\2\2\u0120\u011e\3\2\2\2\u0121\u0119\3\2\2\2\u0121"+
+		"\u011a\3\2\2\2\u0122\u0129\3\2\2\2\u0123\u0125\7\60\2\2\u0124\u0126\5"+
+		"O(\2\u0125\u0124\3\2\2\2\u0126\u0127\3\2\2\2\u0127\u0125\3\2\2\2\u0127"+
+		"\u0128\3\2\2\2\u0128\u012a\3\2\2\2\u0129\u0123\3\2\2\2\u0129\u012a\3\2"+
+		"\2\2\u012a\u0134\3\2\2\2\u012b\u012d\t\n\2\2\u012c\u012e\t\13\2\2\u012d"+
+		"\u012c\3\2\2\2\u012d\u012e\3\2\2\2\u012e\u0130\3\2\2\2\u012f\u0131\5O"+
+		"(\2\u0130\u012f\3\2\2\2\u0131\u0132\3\2\2\2\u0132\u0130\3\2\2\2\u0132"+
+		"\u0133\3\2\2\2\u0133\u0135\3\2\2\2\u0134\u012b\3\2\2\2\u0134\u0135\3\2"+
+		"\2\2\u0135`\3\2\2\2\22\2\u00d9\u00e3\u00f1\u00f7\u00fe\u010b\u010d\u0114"+
+		"\u011e\u0121\u0127\u0129\u012d\u0132\u0134\3\b\2\2";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
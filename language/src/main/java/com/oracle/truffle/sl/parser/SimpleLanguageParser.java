@@ -76,18 +76,21 @@ public class SimpleLanguageParser extends Parser {
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
-		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, WS=31, COMMENT=32, 
-		LINE_COMMENT=33, IDENTIFIER=34, STRING_LITERAL=35, NUMERIC_LITERAL=36;
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, WS=34, COMMENT=35, LINE_COMMENT=36, IDENTIFIER=37, 
+		STRING_LITERAL=38, NUMERIC_LITERAL=39;
 	public static final int
 		RULE_simplelanguage = 0, RULE_function = 1, RULE_block = 2, RULE_statement = 3, 
 		RULE_while_statement = 4, RULE_if_statement = 5, RULE_return_statement = 6, 
 		RULE_expression = 7, RULE_logic_term = 8, RULE_logic_factor = 9, RULE_arithmetic = 10, 
-		RULE_term = 11, RULE_factor = 12, RULE_member_expression = 13;
+		RULE_term = 11, RULE_factor = 12, RULE_member_expression = 13, RULE_for_statement = 14, 
+		RULE_for_update = 15, RULE_global_declaration = 16;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"simplelanguage", "function", "block", "statement", "while_statement", 
 			"if_statement", "return_statement", "expression", "logic_term", "logic_factor", 
-			"arithmetic", "term", "factor", "member_expression"
+			"arithmetic", "term", "factor", "member_expression", "for_statement", 
+			"for_update", "global_declaration"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -97,7 +100,7 @@ public class SimpleLanguageParser extends Parser {
 			null, "'function'", "'('", "','", "')'", "'{'", "'}'", "'break'", "';'", 
 			"'continue'", "'debugger'", "'while'", "'if'", "'else'", "'return'", 
 			"'||'", "'&&'", "'<'", "'<='", "'>'", "'>='", "'=='", "'!='", "'+'", 
-			"'-'", "'*'", "'/'", "'='", "'.'", "'['", "']'"
+			"'-'", "'*'", "'/'", "'['", "']'", "':'", "'='", "'.'", "'for'", "'global'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -105,8 +108,8 @@ public class SimpleLanguageParser extends Parser {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, "WS", "COMMENT", "LINE_COMMENT", 
-			"IDENTIFIER", "STRING_LITERAL", "NUMERIC_LITERAL"
+			null, null, null, null, null, null, null, null, null, null, "WS", "COMMENT", 
+			"LINE_COMMENT", "IDENTIFIER", "STRING_LITERAL", "NUMERIC_LITERAL"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -183,6 +186,10 @@ public class SimpleLanguageParser extends Parser {
 	}
 
 	public static Map<String, RootCallTarget> parseSL(SLLanguage language, Source source) {
+	    return parseSL(new SLNodeFactory(language, source), source);
+	}
+
+	static Map<String, RootCallTarget> parseSL(SLNodeFactory factory, Source source) {
 	    SimpleLanguageLexer lexer = new SimpleLanguageLexer(CharStreams.fromString(source.getCharacters().toString()));
 	    SimpleLanguageParser parser = new SimpleLanguageParser(new CommonTokenStream(lexer));
 	    lexer.removeErrorListeners();
@@ -190,7 +197,7 @@ public class SimpleLanguageParser extends Parser {
 	    BailoutErrorListener listener = new BailoutErrorListener(source);
 	    lexer.addErrorListener(listener);
 	    parser.addErrorListener(listener);
-	    parser.factory = new SLNodeFactory(language, source);
+	    parser.factory = factory;
 	    parser.source = source;
 	    parser.simplelanguage();
 	    return parser.factory.getAllFunctions();
@@ -202,13 +209,19 @@ public class SimpleLanguageParser extends Parser {
 	}
 
 	public static class SimplelanguageContext extends ParserRuleContext {
+		public TerminalNode EOF() { return getToken(SimpleLanguageParser.EOF, 0); }
 		public List<FunctionContext> function() {
 			return getRuleContexts(FunctionContext.class);
 		}
 		public FunctionContext function(int i) {
 			return getRuleContext(FunctionContext.class,i);
 		}
-		public TerminalNode EOF() { return getToken(SimpleLanguageParser.EOF, 0); }
+		public List<Global_declarationContext> global_declaration() {
+			return getRuleContexts(Global_declarationContext.class);
+		}
+		public Global_declarationContext global_declaration(int i) {
+			return getRuleContext(Global_declarationContext.class,i);
+		}
 		public SimplelanguageContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -222,23 +235,53 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(28);
-			function();
-			setState(32);
+			setState(36);
 			_errHandler.sync(this);
-			_la = _input.LA(1);
-			while (_la==T__0) {
-				{
+			switch (_input.LA(1)) {
+			case T__0:
 				{
-				setState(29);
+				setState(34);
 				function();
 				}
+				break;
+			case T__32:
+				{
+				setState(35);
+				global_declaration();
 				}
-				setState(34);
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			setState(42);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__0 || _la==T__32) {
+				{
+				setState(40);
+				_errHandler.sync(this);
+				switch (_input.LA(1)) {
+				case T__0:
+					{
+					setState(38);
+					function();
+					}
+					break;
+				case T__32:
+					{
+					setState(39);
+					global_declaration();
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				setState(44);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(35);
+			setState(45);
 			match(EOF);
 			}
 		}
@@ -277,44 +320,44 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(37);
+			setState(47);
 			match(T__0);
-			setState(38);
+			setState(48);
 			_localctx.IDENTIFIER = match(IDENTIFIER);
-			setState(39);
+			setState(49);
 			_localctx.s = match(T__1);
 			 factory.startFunction(_localctx.IDENTIFIER, _localctx.s); 
-			setState(51);
+			setState(61);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==IDENTIFIER) {
 				{
-				setState(41);
+				setState(51);
 				_localctx.IDENTIFIER = match(IDENTIFIER);
 				 factory.addFormalParameter(_localctx.IDENTIFIER); 
-				setState(48);
+				setState(58);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==T__2) {
 					{
 					{
-					setState(43);
+					setState(53);
 					match(T__2);
-					setState(44);
+					setState(54);
 					_localctx.IDENTIFIER = match(IDENTIFIER);
 					 factory.addFormalParameter(_localctx.IDENTIFIER); 
 					}
 					}
-					setState(50);
+					setState(60);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(53);
+			setState(63);
 			match(T__3);
-			setState(54);
+			setState(64);
 			_localctx.body = block(false);
 			 factory.finishFunction(_localctx.body.result); 
 			}
@@ -359,24 +402,24 @@ public class SimpleLanguageParser extends Parser {
 			{
 			 factory.startBlock();
 			                                                  List<SLStatementNode> body = new ArrayList<>(); 
-			setState(58);
+			setState(68);
 			_localctx.s = match(T__4);
-			setState(64);
+			setState(74);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << T__6) | (1L << T__8) | (1L << T__9) | (1L << T__10) | (1L << T__11) | (1L << T__13) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << T__4) | (1L << T__6) | (1L << T__8) | (1L << T__9) | (1L << T__10) | (1L << T__11) | (1L << T__13) | (1L << T__26) | (1L << T__31) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
 				{
 				{
-				setState(59);
+				setState(69);
 				_localctx.statement = statement(inLoop);
 				 body.add(_localctx.statement.result); 
 				}
 				}
-				setState(66);
+				setState(76);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(67);
+			setState(77);
 			_localctx.e = match(T__5);
 			 _localctx.result =  factory.finishBlock(body, _localctx.s.getStartIndex(), _localctx.e.getStopIndex() - _localctx.s.getStartIndex() + 1); 
 			}
@@ -396,6 +439,7 @@ public class SimpleLanguageParser extends Parser {
 		public boolean inLoop;
 		public SLStatementNode result;
 		public While_statementContext while_statement;
+		public For_statementContext for_statement;
 		public Token b;
 		public Token c;
 		public If_statementContext if_statement;
@@ -405,6 +449,9 @@ public class SimpleLanguageParser extends Parser {
 		public While_statementContext while_statement() {
 			return getRuleContext(While_statementContext.class,0);
 		}
+		public For_statementContext for_statement() {
+			return getRuleContext(For_statementContext.class,0);
+		}
 		public If_statementContext if_statement() {
 			return getRuleContext(If_statementContext.class,0);
 		}
@@ -428,66 +475,76 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(92);
+			setState(105);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__10:
 				{
-				setState(70);
+				setState(80);
 				_localctx.while_statement = while_statement();
 				 _localctx.result =  _localctx.while_statement.result; 
 				}
 				break;
+			case T__31:
+				{
+				setState(83);
+				_localctx.for_statement = for_statement();
+				 _localctx.result =  _localctx.for_statement.result; 
+				}
+				break;
 			case T__6:
 				{
-				setState(73);
+				setState(86);
 				_localctx.b = match(T__6);
 				 if (inLoop) { _localctx.result =  factory.createBreak(_localctx.b); } else { SemErr(_localctx.b, "break used outside of loop"); } 
-				setState(75);
+				setState(88);
 				match(T__7);
 				}
 				break;
 			case T__8:
 				{
-				setState(76);
+				setState(89);
 				_localctx.c = match(T__8);
 				 if (inLoop) { _localctx.result =  factory.createContinue(_localctx.c); } else { SemErr(_localctx.c, "continue used outside of loop"); } 
-				setState(78);
+				setState(91);
 				match(T__7);
 				}
 				break;
 			case T__11:
 				{
-				setState(79);
+				setState(92);
 				_localctx.if_statement = if_statement(inLoop);
 				 _localctx.result =  _localctx.if_statement.result; 
 				}
 				break;
 			case T__13:
 				{
-				setState(82);
+				setState(95);
 				_localctx.return_statement = return_statement();
 				 _localctx.result =  _localctx.return_statement.result; 
 				}
 				break;
+			case T__0:
 			case T__1:
+			case T__4:
+			case T__26:
 			case IDENTIFIER:
 			case STRING_LITERAL:
 			case NUMERIC_LITERAL:
 				{
-				setState(85);
+				setState(98);
 				_localctx.expression = expression();
-				setState(86);
+				setState(99);
 				match(T__7);
 				 _localctx.result =  _localctx.expression.result; 
 				}
 				break;
 			case T__9:
 				{
-				setState(89);
+				setState(102);
 				_localctx.d = match(T__9);
 				 _localctx.result =  factory.createDebugger(_localctx.d); 
-				setState(91);
+				setState(104);
 				match(T__7);
 				}
 				break;
@@ -530,15 +587,15 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(94);
+			setState(107);
 			_localctx.w = match(T__10);
-			setState(95);
+			setState(108);
 			match(T__1);
-			setState(96);
+			setState(109);
 			_localctx.condition = expression();
-			setState(97);
+			setState(110);
 			match(T__3);
-			setState(98);
+			setState(111);
 			_localctx.body = block(true);
 			 _localctx.result =  factory.createWhile(_localctx.w, _localctx.condition.result, _localctx.body.result); 
 			}
@@ -585,25 +642,25 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(101);
+			setState(114);
 			_localctx.i = match(T__11);
-			setState(102);
+			setState(115);
 			match(T__1);
-			setState(103);
+			setState(116);
 			_localctx.condition = expression();
-			setState(104);
+			setState(117);
 			match(T__3);
-			setState(105);
+			setState(118);
 			_localctx.then = _localctx.block = block(inLoop);
 			 SLStatementNode elsePart = null; 
-			setState(111);
+			setState(124);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==T__12) {
 				{
-				setState(107);
+				setState(120);
 				match(T__12);
-				setState(108);
+				setState(121);
 				_localctx.block = block(inLoop);
 				 elsePart = _localctx.block.result; 
 				}
@@ -643,22 +700,22 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(115);
+			setState(128);
 			_localctx.r = match(T__13);
 			 SLExpressionNode value = null; 
-			setState(120);
+			setState(133);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
+			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << T__4) | (1L << T__26) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
 				{
-				setState(117);
+				setState(130);
 				_localctx.expression = expression();
 				 value = _localctx.expression.result; 
 				}
 			}
 
 			 _localctx.result =  factory.createReturn(_localctx.r, value); 
-			setState(123);
+			setState(136);
 			match(T__7);
 			}
 		}
@@ -696,27 +753,27 @@ public class SimpleLanguageParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(125);
+			setState(138);
 			_localctx.logic_term = logic_term();
 			 _localctx.result =  _localctx.logic_term.result; 
-			setState(133);
+			setState(146);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,9,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(127);
+					setState(140);
 					_localctx.op = match(T__14);
-					setState(128);
+					setState(141);
 					_localctx.logic_term = logic_term();
 					 _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.logic_term.result); 
 					}
 					} 
 				}
-				setState(135);
+				setState(148);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,9,_ctx);
 			}
 			}
 		}
@@ -754,27 +811,27 @@ public class SimpleLanguageParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(136);
+			setState(149);
 			_localctx.logic_factor = logic_factor();
 			 _localctx.result =  _localctx.logic_factor.result; 
-			setState(144);
+			setState(157);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(138);
+					setState(151);
 					_localctx.op = match(T__15);
-					setState(139);
+					setState(152);
 					_localctx.logic_factor = logic_factor();
 					 _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.logic_factor.result); 
 					}
 					} 
 				}
-				setState(146);
+				setState(159);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
 			}
 			}
 		}
@@ -812,15 +869,15 @@ public class SimpleLanguageParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(147);
+			setState(160);
 			_localctx.arithmetic = arithmetic();
 			 _localctx.result =  _localctx.arithmetic.result; 
-			setState(153);
+			setState(166);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,9,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
 			case 1:
 				{
-				setState(149);
+				setState(162);
 				_localctx.op = _input.LT(1);
 				_la = _input.LA(1);
 				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__16) | (1L << T__17) | (1L << T__18) | (1L << T__19) | (1L << T__20) | (1L << T__21))) != 0)) ) {
@@ -831,7 +888,7 @@ public class SimpleLanguageParser extends Parser {
 					_errHandler.reportMatch(this);
 					consume();
 				}
-				setState(150);
+				setState(163);
 				_localctx.arithmetic = arithmetic();
 				 _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.arithmetic.result); 
 				}
@@ -874,17 +931,17 @@ public class SimpleLanguageParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(155);
+			setState(168);
 			_localctx.term = term();
 			 _localctx.result =  _localctx.term.result; 
-			setState(163);
+			setState(176);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(157);
+					setState(170);
 					_localctx.op = _input.LT(1);
 					_la = _input.LA(1);
 					if ( !(_la==T__22 || _la==T__23) ) {
@@ -895,15 +952,15 @@ public class SimpleLanguageParser extends Parser {
 						_errHandler.reportMatch(this);
 						consume();
 					}
-					setState(158);
+					setState(171);
 					_localctx.term = term();
 					 _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.term.result); 
 					}
 					} 
 				}
-				setState(165);
+				setState(178);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
 			}
 			}
 		}
@@ -942,17 +999,17 @@ public class SimpleLanguageParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(166);
+			setState(179);
 			_localctx.factor = factor();
 			 _localctx.result =  _localctx.factor.result; 
-			setState(174);
+			setState(187);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(168);
+					setState(181);
 					_localctx.op = _input.LT(1);
 					_la = _input.LA(1);
 					if ( !(_la==T__24 || _la==T__25) ) {
@@ -963,15 +1020,15 @@ public class SimpleLanguageParser extends Parser {
 						_errHandler.reportMatch(this);
 						consume();
 					}
-					setState(169);
+					setState(182);
 					_localctx.factor = factor();
 					 _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.factor.result); 
 					}
 					} 
 				}
-				setState(176);
+				setState(189);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
 			}
 			}
 		}
@@ -994,12 +1051,24 @@ public class SimpleLanguageParser extends Parser {
 		public Token NUMERIC_LITERAL;
 		public Token s;
 		public ExpressionContext expr;
+		public ExpressionContext expression;
 		public Token e;
-		public TerminalNode IDENTIFIER() { return getToken(SimpleLanguageParser.IDENTIFIER, 0); }
+		public Token f;
+		public BlockContext body;
+		public List<TerminalNode> IDENTIFIER() { return getTokens(SimpleLanguageParser.IDENTIFIER); }
+		public TerminalNode IDENTIFIER(int i) {
+			return getToken(SimpleLanguageParser.IDENTIFIER, i);
+		}
 		public TerminalNode STRING_LITERAL() { return getToken(SimpleLanguageParser.STRING_LITERAL, 0); }
 		public TerminalNode NUMERIC_LITERAL() { return getToken(SimpleLanguageParser.NUMERIC_LITERAL, 0); }
-		public ExpressionContext expression() {
-			return getRuleContext(ExpressionContext.class,0);
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public BlockContext block() {
+			return getRuleContext(BlockContext.class,0);
 		}
 		public Member_expressionContext member_expression() {
 			return getRuleContext(Member_expressionContext.class,0);
@@ -1013,23 +1082,24 @@ public class SimpleLanguageParser extends Parser {
 	public final FactorContext factor() throws RecognitionException {
 		FactorContext _localctx = new FactorContext(_ctx, getState());
 		enterRule(_localctx, 24, RULE_factor);
+		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(194);
+			setState(264);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case IDENTIFIER:
 				{
-				setState(177);
+				setState(190);
 				_localctx.IDENTIFIER = match(IDENTIFIER);
 				 SLExpressionNode assignmentName = factory.createStringLiteral(_localctx.IDENTIFIER, false); 
-				setState(183);
+				setState(196);
 				_errHandler.sync(this);
-				switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+				switch ( getInterpreter().adaptivePredict(_input,14,_ctx) ) {
 				case 1:
 					{
-					setState(179);
+					setState(192);
 					_localctx.member_expression = member_expression(null, null, assignmentName);
 					 _localctx.result =  _localctx.member_expression.result; 
 					}
@@ -1044,29 +1114,158 @@ public class SimpleLanguageParser extends Parser {
 				break;
 			case STRING_LITERAL:
 				{
-				setState(185);
+				setState(198);
 				_localctx.STRING_LITERAL = match(STRING_LITERAL);
 				 _localctx.result =  factory.createStringLiteral(_localctx.STRING_LITERAL, true); 
 				}
 				break;
 			case NUMERIC_LITERAL:
 				{
-				setState(187);
+				setState(200);
 				_localctx.NUMERIC_LITERAL = match(NUMERIC_LITERAL);
 				 _localctx.result =  factory.createNumericLiteral(_localctx.NUMERIC_LITERAL); 
 				}
 				break;
 			case T__1:
 				{
-				setState(189);
+				setState(202);
 				_localctx.s = match(T__1);
-				setState(190);
-				_localctx.expr = expression();
-				setState(191);
+				setState(203);
+				_localctx.expr = _localctx.expression = expression();
+				setState(204);
 				_localctx.e = match(T__3);
 				 _localctx.result =  factory.createParenExpression(_localctx.expr.result, _localctx.s.getStartIndex(), _localctx.e.getStopIndex() - _localctx.s.getStartIndex() + 1); 
 				}
 				break;
+			case T__26:
+				{
+				setState(207);
+				_localctx.s = match(T__26);
+				 List<SLExpressionNode> elements = new ArrayList<>(); 
+				setState(220);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << T__4) | (1L << T__26) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
+					{
+					setState(209);
+					_localctx.expression = expression();
+					 elements.add(_localctx.expression.result); 
+					setState(217);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__2) {
+						{
+						{
+						setState(211);
+						match(T__2);
+						setState(212);
+						_localctx.expression = expression();
+						 elements.add(_localctx.expression.result); 
+						}
+						}
+						setState(219);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(222);
+				_localctx.e = match(T__27);
+				 _localctx.result =  factory.createArrayLiteral(elements, _localctx.s.getStartIndex(), _localctx.e.getStopIndex() - _localctx.s.getStartIndex() + 1); 
+				}
+				break;
+			case T__4:
+				{
+				setState(224);
+				_localctx.s = match(T__4);
+				 List<Token> names = new ArrayList<>();
+				                                                  List<SLExpressionNode> values = new ArrayList<>(); 
+				setState(241);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==IDENTIFIER) {
+					{
+					setState(226);
+					_localctx.IDENTIFIER = match(IDENTIFIER);
+					setState(227);
+					match(T__28);
+					setState(228);
+					_localctx.expression = expression();
+					 names.add(_localctx.IDENTIFIER);
+					                                                  values.add(_localctx.expression.result); 
+					setState(238);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__2) {
+						{
+						{
+						setState(230);
+						match(T__2);
+						setState(231);
+						_localctx.IDENTIFIER = match(IDENTIFIER);
+						setState(232);
+						match(T__28);
+						setState(233);
+						_localctx.expression = expression();
+						 names.add(_localctx.IDENTIFIER);
+						                                                  values.add(_localctx.expression.result); 
+						}
+						}
+						setState(240);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(243);
+				_localctx.e = match(T__5);
+				 _localctx.result =  factory.createObjectLiteral(names, values, _localctx.s.getStartIndex(), _localctx.e.getStopIndex() - _localctx.s.getStartIndex() + 1); 
+				}
+				break;
+			case T__0:
+				{
+				setState(245);
+				_localctx.f = match(T__0);
+				setState(246);
+				_localctx.s = match(T__1);
+				 factory.startLambda(_localctx.f, _localctx.s); 
+				setState(258);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==IDENTIFIER) {
+					{
+					setState(248);
+					_localctx.IDENTIFIER = match(IDENTIFIER);
+					 factory.addFormalParameter(_localctx.IDENTIFIER); 
+					setState(255);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__2) {
+						{
+						{
+						setState(250);
+						match(T__2);
+						setState(251);
+						_localctx.IDENTIFIER = match(IDENTIFIER);
+						 factory.addFormalParameter(_localctx.IDENTIFIER); 
+						}
+						}
+						setState(257);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(260);
+				match(T__3);
+				setState(261);
+				_localctx.body = block(false);
+				 _localctx.result =  factory.finishLambda(_localctx.body.result); 
+				}
+				break;
 			default:
 				throw new NoViableAltException(this);
 			}
@@ -1121,55 +1320,55 @@ public class SimpleLanguageParser extends Parser {
 			{
 			 SLExpressionNode receiver = r;
 			                                                  SLExpressionNode nestedAssignmentName = null; 
-			setState(228);
+			setState(298);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__1:
 				{
-				setState(197);
+				setState(267);
 				match(T__1);
 				 List<SLExpressionNode> parameters = new ArrayList<>();
 				                                                  if (receiver == null) {
 				                                                      receiver = factory.createRead(assignmentName);
 				                                                  } 
-				setState(210);
+				setState(280);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__1) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__1) | (1L << T__4) | (1L << T__26) | (1L << IDENTIFIER) | (1L << STRING_LITERAL) | (1L << NUMERIC_LITERAL))) != 0)) {
 					{
-					setState(199);
+					setState(269);
 					_localctx.expression = expression();
 					 parameters.add(_localctx.expression.result); 
-					setState(207);
+					setState(277);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==T__2) {
 						{
 						{
-						setState(201);
+						setState(271);
 						match(T__2);
-						setState(202);
+						setState(272);
 						_localctx.expression = expression();
 						 parameters.add(_localctx.expression.result); 
 						}
 						}
-						setState(209);
+						setState(279);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(212);
+				setState(282);
 				_localctx.e = match(T__3);
 				 _localctx.result =  factory.createCall(receiver, parameters, _localctx.e); 
 				}
 				break;
-			case T__26:
+			case T__29:
 				{
-				setState(214);
-				match(T__26);
-				setState(215);
+				setState(284);
+				match(T__29);
+				setState(285);
 				_localctx.expression = expression();
 				 if (assignmentName == null) {
 				                                                      SemErr((_localctx.expression!=null?(_localctx.expression.start):null), "invalid assignment target");
@@ -1180,43 +1379,43 @@ public class SimpleLanguageParser extends Parser {
 				                                                  } 
 				}
 				break;
-			case T__27:
+			case T__30:
 				{
-				setState(218);
-				match(T__27);
+				setState(288);
+				match(T__30);
 				 if (receiver == null) {
 				                                                       receiver = factory.createRead(assignmentName);
 				                                                  } 
-				setState(220);
+				setState(290);
 				_localctx.IDENTIFIER = match(IDENTIFIER);
 				 nestedAssignmentName = factory.createStringLiteral(_localctx.IDENTIFIER, false);
 				                                                  _localctx.result =  factory.createReadProperty(receiver, nestedAssignmentName); 
 				}
 				break;
-			case T__28:
+			case T__26:
 				{
-				setState(222);
-				match(T__28);
+				setState(292);
+				match(T__26);
 				 if (receiver == null) {
 				                                                      receiver = factory.createRead(assignmentName);
 				                                                  } 
-				setState(224);
+				setState(294);
 				_localctx.expression = expression();
 				 nestedAssignmentName = _localctx.expression.result;
 				                                                  _localctx.result =  factory.createReadProperty(receiver, nestedAssignmentName); 
-				setState(226);
-				match(T__29);
+				setState(296);
+				match(T__27);
 				}
 				break;
 			default:
 				throw new NoViableAltException(this);
 			}
-			setState(233);
+			setState(303);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,17,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,25,_ctx) ) {
 			case 1:
 				{
-				setState(230);
+				setState(300);
 				_localctx.member_expression = member_expression(_localctx.result, receiver, nestedAssignmentName);
 				 _localctx.result =  _localctx.member_expression.result; 
 				}
@@ -1235,82 +1434,369 @@ public class SimpleLanguageParser extends Parser {
 		return _localctx;
 	}
 
+	public static class For_statementContext extends ParserRuleContext {
+		public SLStatementNode result;
+		public Token f;
+		public Token IDENTIFIER;
+		public ExpressionContext from;
+		public Token condition;
+		public Token op;
+		public ExpressionContext limit;
+		public Token update;
+		public For_updateContext for_update;
+		public BlockContext body;
+		public List<TerminalNode> IDENTIFIER() { return getTokens(SimpleLanguageParser.IDENTIFIER); }
+		public TerminalNode IDENTIFIER(int i) {
+			return getToken(SimpleLanguageParser.IDENTIFIER, i);
+		}
+		public For_updateContext for_update() {
+			return getRuleContext(For_updateContext.class,0);
+		}
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public BlockContext block() {
+			return getRuleContext(BlockContext.class,0);
+		}
+		public For_statementContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_for_statement; }
+	}
+
+	public final For_statementContext for_statement() throws RecognitionException {
+		For_statementContext _localctx = new For_statementContext(_ctx, getState());
+		enterRule(_localctx, 28, RULE_for_statement);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(305);
+			_localctx.f = match(T__31);
+			setState(306);
+			match(T__1);
+			setState(307);
+			_localctx.IDENTIFIER = match(IDENTIFIER);
+			 SLExpressionNode variableName = factory.createStringLiteral(_localctx.IDENTIFIER, false); 
+			setState(309);
+			match(T__29);
+			setState(310);
+			_localctx.from = expression();
+			 SLExpressionNode initNode = factory.createAssignment(variableName, _localctx.from.result, null); 
+			setState(312);
+			match(T__7);
+			setState(313);
+			_localctx.condition = match(IDENTIFIER);
+			 if (!_localctx.condition.getText().equals(variableName.executeGeneric(null))) { SemErr(_localctx.condition, "for loop must compare its variable"); } 
+			setState(315);
+			_localctx.op = _input.LT(1);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__16) | (1L << T__17) | (1L << T__18) | (1L << T__19))) != 0)) ) {
+				_localctx.op = _errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
+			setState(316);
+			_localctx.limit = expression();
+			setState(317);
+			match(T__7);
+			setState(318);
+			_localctx.update = match(IDENTIFIER);
+			 if (!_localctx.update.getText().equals(variableName.executeGeneric(null))) { SemErr(_localctx.update, "for loop must update its variable"); } 
+			setState(320);
+			match(T__29);
+			setState(321);
+			_localctx.for_update = for_update(_localctx.update.getText());
+			 SLExpressionNode updateNode = null;
+			                                                  if (_localctx.for_update.sign == null) {
+			                                                      updateNode = factory.createAssignment(factory.createStringLiteral(_localctx.update, false), _localctx.for_update.result, null);
+			                                                  } 
+			setState(323);
+			match(T__3);
+			setState(324);
+			_localctx.body = block(true);
+			 _localctx.result =  factory.createFor(_localctx.f, variableName, initNode, _localctx.op, _localctx.limit.result, _localctx.for_update.sign, _localctx.for_update.step, updateNode, _localctx.body.result); 
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class For_updateContext extends ParserRuleContext {
+		public String variable;
+		public SLExpressionNode result;
+		public Token sign;
+		public SLExpressionNode step;
+		public TermContext operand;
+		public TermContext term;
+		public Token op;
+		public List<TermContext> term() {
+			return getRuleContexts(TermContext.class);
+		}
+		public TermContext term(int i) {
+			return getRuleContext(TermContext.class,i);
+		}
+		public For_updateContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public For_updateContext(ParserRuleContext parent, int invokingState, String variable) {
+			super(parent, invokingState);
+			this.variable = variable;
+		}
+		@Override public int getRuleIndex() { return RULE_for_update; }
+	}
+
+	public final For_updateContext for_update(String variable) throws RecognitionException {
+		For_updateContext _localctx = new For_updateContext(_ctx, getState(), variable);
+		enterRule(_localctx, 30, RULE_for_update);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(327);
+			_localctx.operand = _localctx.term = term();
+			 _localctx.result =  _localctx.operand.result;
+			                                                  boolean counted = (_localctx.operand!=null?(_localctx.operand.start):null) == (_localctx.operand!=null?(_localctx.operand.stop):null) && (_localctx.operand!=null?(_localctx.operand.start):null).getText().equals(_localctx.variable); 
+			setState(335);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__22 || _la==T__23) {
+				{
+				{
+				setState(329);
+				_localctx.op = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !(_la==T__22 || _la==T__23) ) {
+					_localctx.op = _errHandler.recoverInline(this);
+				}
+				else {
+					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+					_errHandler.reportMatch(this);
+					consume();
+				}
+				setState(330);
+				_localctx.term = term();
+				 if (counted) {
+				                                                      _localctx.sign =  _localctx.op;
+				                                                      _localctx.step =  _localctx.term.result;
+				                                                      counted = false;
+				                                                  } else {
+				                                                      if (_localctx.sign != null) {
+				                                                          _localctx.result =  factory.createBinary(_localctx.sign, _localctx.result, _localctx.step);
+				                                                          _localctx.sign =  null;
+				                                                          _localctx.step =  null;
+				                                                      }
+				                                                      _localctx.result =  factory.createBinary(_localctx.op, _localctx.result, _localctx.term.result);
+				                                                  } 
+				}
+				}
+				setState(337);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Global_declarationContext extends ParserRuleContext {
+		public Token IDENTIFIER;
+		public List<TerminalNode> IDENTIFIER() { return getTokens(SimpleLanguageParser.IDENTIFIER); }
+		public TerminalNode IDENTIFIER(int i) {
+			return getToken(SimpleLanguageParser.IDENTIFIER, i);
+		}
+		public Global_declarationContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_global_declaration; }
+	}
+
+	public final Global_declarationContext global_declaration() throws RecognitionException {
+		Global_declarationContext _localctx = new Global_declarationContext(_ctx, getState());
+		enterRule(_localctx, 32, RULE_global_declaration);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(338);
+			match(T__32);
+			setState(339);
+			_localctx.IDENTIFIER = match(IDENTIFIER);
+			 factory.addGlobal(_localctx.IDENTIFIER); 
+			setState(346);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(341);
+				match(T__2);
+				setState(342);
+				_localctx.IDENTIFIER = match(IDENTIFIER);
+				 factory.addGlobal(_localctx.IDENTIFIER); 
+				}
+				}
+				setState(348);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(349);
+			match(T__7);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3&\u00ee\4\2\t\2\4"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3)\u0162\4\2\t\2\4"+
 		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
-		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\3\2\3\2\7\2!\n\2\f\2\16\2$\13"+
-		"\2\3\2\3\2\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3\61\n\3\f\3\16\3\64"+
-		"\13\3\5\3\66\n\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\7\4A\n\4\f\4\16\4"+
-		"D\13\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5"+
-		"\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\5\5_\n\5\3\6\3\6\3\6\3\6\3\6\3\6"+
-		"\3\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\5\7r\n\7\3\7\3\7\3\b\3\b"+
-		"\3\b\3\b\3\b\5\b{\n\b\3\b\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u0086\n"+
-		"\t\f\t\16\t\u0089\13\t\3\n\3\n\3\n\3\n\3\n\3\n\7\n\u0091\n\n\f\n\16\n"+
-		"\u0094\13\n\3\13\3\13\3\13\3\13\3\13\3\13\5\13\u009c\n\13\3\f\3\f\3\f"+
-		"\3\f\3\f\3\f\7\f\u00a4\n\f\f\f\16\f\u00a7\13\f\3\r\3\r\3\r\3\r\3\r\3\r"+
-		"\7\r\u00af\n\r\f\r\16\r\u00b2\13\r\3\16\3\16\3\16\3\16\3\16\3\16\5\16"+
-		"\u00ba\n\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\5\16\u00c5\n"+
-		"\16\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\7\17\u00d0\n\17\f\17"+
-		"\16\17\u00d3\13\17\5\17\u00d5\n\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17"+
-		"\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\5\17\u00e7\n\17\3\17\3\17"+
-		"\3\17\5\17\u00ec\n\17\3\17\2\2\20\2\4\6\b\n\f\16\20\22\24\26\30\32\34"+
-		"\2\5\3\2\23\30\3\2\31\32\3\2\33\34\2\u00fa\2\36\3\2\2\2\4\'\3\2\2\2\6"+
-		";\3\2\2\2\b^\3\2\2\2\n`\3\2\2\2\fg\3\2\2\2\16u\3\2\2\2\20\177\3\2\2\2"+
-		"\22\u008a\3\2\2\2\24\u0095\3\2\2\2\26\u009d\3\2\2\2\30\u00a8\3\2\2\2\32"+
-		"\u00c4\3\2\2\2\34\u00c6\3\2\2\2\36\"\5\4\3\2\37!\5\4\3\2 \37\3\2\2\2!"+
-		"$\3\2\2\2\" \3\2\2\2\"#\3\2\2\2#%\3\2\2\2$\"\3\2\2\2%&\7\2\2\3&\3\3\2"+
-		"\2\2\'(\7\3\2\2()\7$\2\2)*\7\4\2\2*\65\b\3\1\2+,\7$\2\2,\62\b\3\1\2-."+
-		"\7\5\2\2./\7$\2\2/\61\b\3\1\2\60-\3\2\2\2\61\64\3\2\2\2\62\60\3\2\2\2"+
-		"\62\63\3\2\2\2\63\66\3\2\2\2\64\62\3\2\2\2\65+\3\2\2\2\65\66\3\2\2\2\66"+
-		"\67\3\2\2\2\678\7\6\2\289\5\6\4\29:\b\3\1\2:\5\3\2\2\2;<\b\4\1\2<B\7\7"+
-		"\2\2=>\5\b\5\2>?\b\4\1\2?A\3\2\2\2@=\3\2\2\2AD\3\2\2\2B@\3\2\2\2BC\3\2"+
-		"\2\2CE\3\2\2\2DB\3\2\2\2EF\7\b\2\2FG\b\4\1\2G\7\3\2\2\2HI\5\n\6\2IJ\b"+
-		"\5\1\2J_\3\2\2\2KL\7\t\2\2LM\b\5\1\2M_\7\n\2\2NO\7\13\2\2OP\b\5\1\2P_"+
-		"\7\n\2\2QR\5\f\7\2RS\b\5\1\2S_\3\2\2\2TU\5\16\b\2UV\b\5\1\2V_\3\2\2\2"+
-		"WX\5\20\t\2XY\7\n\2\2YZ\b\5\1\2Z_\3\2\2\2[\\\7\f\2\2\\]\b\5\1\2]_\7\n"+
-		"\2\2^H\3\2\2\2^K\3\2\2\2^N\3\2\2\2^Q\3\2\2\2^T\3\2\2\2^W\3\2\2\2^[\3\2"+
-		"\2\2_\t\3\2\2\2`a\7\r\2\2ab\7\4\2\2bc\5\20\t\2cd\7\6\2\2de\5\6\4\2ef\b"+
-		"\6\1\2f\13\3\2\2\2gh\7\16\2\2hi\7\4\2\2ij\5\20\t\2jk\7\6\2\2kl\5\6\4\2"+
-		"lq\b\7\1\2mn\7\17\2\2no\5\6\4\2op\b\7\1\2pr\3\2\2\2qm\3\2\2\2qr\3\2\2"+
-		"\2rs\3\2\2\2st\b\7\1\2t\r\3\2\2\2uv\7\20\2\2vz\b\b\1\2wx\5\20\t\2xy\b"+
-		"\b\1\2y{\3\2\2\2zw\3\2\2\2z{\3\2\2\2{|\3\2\2\2|}\b\b\1\2}~\7\n\2\2~\17"+
-		"\3\2\2\2\177\u0080\5\22\n\2\u0080\u0087\b\t\1\2\u0081\u0082\7\21\2\2\u0082"+
-		"\u0083\5\22\n\2\u0083\u0084\b\t\1\2\u0084\u0086\3\2\2\2\u0085\u0081\3"+
-		"\2\2\2\u0086\u0089\3\2\2\2\u0087\u0085\3\2\2\2\u0087\u0088\3\2\2\2\u0088"+
-		"\21\3\2\2\2\u0089\u0087\3\2\2\2\u008a\u008b\5\24\13\2\u008b\u0092\b\n"+
-		"\1\2\u008c\u008d\7\22\2\2\u008d\u008e\5\24\13\2\u008e\u008f\b\n\1\2\u008f"+
-		"\u0091\3\2\2\2\u0090\u008c\3\2\2\2\u0091\u0094\3\2\2\2\u0092\u0090\3\2"+
-		"\2\2\u0092\u0093\3\2\2\2\u0093\23\3\2\2\2\u0094\u0092\3\2\2\2\u0095\u0096"+
-		"\5\26\f\2\u0096\u009b\b\13\1\2\u0097\u0098\t\2\2\2\u0098\u0099\5\26\f"+
-		"\2\u0099\u009a\b\13\1\2\u009a\u009c\3\2\2\2\u009b\u0097\3\2\2\2\u009b"+
-		"\u009c\3\2\2\2\u009c\25\3\2\2\2\u009d\u009e\5\30\r\2\u009e\u00a5\b\f\1"+
-		"\2\u009f\u00a0\t\3\2\2\u00a0\u00a1\5\30\r\2\u00a1\u00a2\b\f\1\2\u00a2"+
-		"\u00a4\3\2\2\2\u00a3\u009f\3\2\2\2\u00a4\u00a7\3\2\2\2\u00a5\u00a3\3\2"+
-		"\2\2\u00a5\u00a6\3\2\2\2\u00a6\27\3\2\2\2\u00a7\u00a5\3\2\2\2\u00a8\u00a9"+
-		"\5\32\16\2\u00a9\u00b0\b\r\1\2\u00aa\u00ab\t\4\2\2\u00ab\u00ac\5\32\16"+
-		"\2\u00ac\u00ad\b\r\1\2\u00ad\u00af\3\2\2\2\u00ae\u00aa\3\2\2\2\u00af\u00b2"+
-		"\3\2\2\2\u00b0\u00ae\3\2\2\2\u00b0\u00b1\3\2\2\2\u00b1\31\3\2\2\2\u00b2"+
-		"\u00b0\3\2\2\2\u00b3\u00b4\7$\2\2\u00b4\u00b9\b\16\1\2\u00b5\u00b6\5\34"+
-		"\17\2\u00b6\u00b7\b\16\1\2\u00b7\u00ba\3\2\2\2\u00b8\u00ba\b\16\1\2\u00b9"+
-		"\u00b5\3\2\2\2\u00b9\u00b8\3\2\2\2\u00ba\u00c5\3\2\2\2\u00bb\u00bc\7%"+
-		"\2\2\u00bc\u00c5\b\16\1\2\u00bd\u00be\7&\2\2\u00be\u00c5\b\16\1\2\u00bf"+
-		"\u00c0\7\4\2\2\u00c0\u00c1\5\20\t\2\u00c1\u00c2\7\6\2\2\u00c2\u00c3\b"+
-		"\16\1\2\u00c3\u00c5\3\2\2\2\u00c4\u00b3\3\2\2\2\u00c4\u00bb\3\2\2\2\u00c4"+
-		"\u00bd\3\2\2\2\u00c4\u00bf\3\2\2\2\u00c5\33\3\2\2\2\u00c6\u00e6\b\17\1"+
-		"\2\u00c7\u00c8\7\4\2\2\u00c8\u00d4\b\17\1\2\u00c9\u00ca\5\20\t\2\u00ca"+
-		"\u00d1\b\17\1\2\u00cb\u00cc\7\5\2\2\u00cc\u00cd\5\20\t\2\u00cd\u00ce\b"+
-		"\17\1\2\u00ce\u00d0\3\2\2\2\u00cf\u00cb\3\2\2\2\u00d0\u00d3\3\2\2\2\u00d1"+
-		"\u00cf\3\2\2\2\u00d1\u00d2\3\2\2\2\u00d2\u00d5\3\2\2\2\u00d3\u00d1\3\2"+
-		"\2\2\u00d4\u00c9\3\2\2\2\u00d4\u00d5\3\2\2\2\u00d5\u00d6\3\2\2\2\u00d6"+
-		"\u00d7\7\6\2\2\u00d7\u00e7\b\17\1\2\u00d8\u00d9\7\35\2\2\u00d9\u00da\5"+
-		"\20\t\2\u00da\u00db\b\17\1\2\u00db\u00e7\3\2\2\2\u00dc\u00dd\7\36\2\2"+
-		"\u00dd\u00de\b\17\1\2\u00de\u00df\7$\2\2\u00df\u00e7\b\17\1\2\u00e0\u00e1"+
-		"\7\37\2\2\u00e1\u00e2\b\17\1\2\u00e2\u00e3\5\20\t\2\u00e3\u00e4\b\17\1"+
-		"\2\u00e4\u00e5\7 \2\2\u00e5\u00e7\3\2\2\2\u00e6\u00c7\3\2\2\2\u00e6\u00d8"+
-		"\3\2\2\2\u00e6\u00dc\3\2\2\2\u00e6\u00e0\3\2\2\2\u00e7\u00eb\3\2\2\2\u00e8"+
-		"\u00e9\5\34\17\2\u00e9\u00ea\b\17\1\2\u00ea\u00ec\3\2\2\2\u00eb\u00e8"+
-		"\3\2\2\2\u00eb\u00ec\3\2\2\2\u00ec\35\3\2\2\2\24\"\62\65B^qz\u0087\u0092"+
-		"\u009b\u00a5\u00b0\u00b9\u00c4\u00d1\u00d4\u00e6\u00eb";
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\3\2\3\2\5\2\'\n\2\3\2\3\2\7\2+\n\2\f\2\16\2.\13\2\3\2\3\2\3\3\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\7\3;\n\3\f\3\16\3>\13\3\5\3@\n\3\3\3\3\3\3\3"+
+		"\3\3\3\4\3\4\3\4\3\4\3\4\7\4K\n\4\f\4\16\4N\13\4\3\4\3\4\3\4\3\5\3\5\3"+
+		"\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5"+
+		"\3\5\3\5\3\5\3\5\3\5\5\5l\n\5\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\7"+
+		"\3\7\3\7\3\7\3\7\3\7\3\7\3\7\5\7\177\n\7\3\7\3\7\3\b\3\b\3\b\3\b\3\b\5"+
+		"\b\u0088\n\b\3\b\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u0093\n\t\f\t\16"+
+		"\t\u0096\13\t\3\n\3\n\3\n\3\n\3\n\3\n\7\n\u009e\n\n\f\n\16\n\u00a1\13"+
+		"\n\3\13\3\13\3\13\3\13\3\13\3\13\5\13\u00a9\n\13\3\f\3\f\3\f\3\f\3\f\3"+
+		"\f\7\f\u00b1\n\f\f\f\16\f\u00b4\13\f\3\r\3\r\3\r\3\r\3\r\3\r\7\r\u00bc"+
+		"\n\r\f\r\16\r\u00bf\13\r\3\16\3\16\3\16\3\16\3\16\3\16\5\16\u00c7\n\16"+
+		"\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16"+
+		"\3\16\3\16\3\16\7\16\u00da\n\16\f\16\16\16\u00dd\13\16\5\16\u00df\n\16"+
+		"\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16"+
+		"\7\16\u00ef\n\16\f\16\16\16\u00f2\13\16\5\16\u00f4\n\16\3\16\3\16\3\16"+
+		"\3\16\3\16\3\16\3\16\3\16\3\16\3\16\7\16\u0100\n\16\f\16\16\16\u0103\13"+
+		"\16\5\16\u0105\n\16\3\16\3\16\3\16\3\16\5\16\u010b\n\16\3\17\3\17\3\17"+
+		"\3\17\3\17\3\17\3\17\3\17\3\17\7\17\u0116\n\17\f\17\16\17\u0119\13\17"+
+		"\5\17\u011b\n\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17\3\17"+
+		"\3\17\3\17\3\17\3\17\3\17\5\17\u012d\n\17\3\17\3\17\3\17\5\17\u0132\n"+
+		"\17\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3"+
+		"\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\20\3\21\3\21\3\21\3\21\3\21\3"+
+		"\21\7\21\u0150\n\21\f\21\16\21\u0153\13\21\3\22\3\22\3\22\3\22\3\22\3"+
+		"\22\7\22\u015b\n\22\f\22\16\22\u015e\13\22\3\22\3\22\3\22\2\2\23\2\4\6"+
+		"\b\n\f\16\20\22\24\26\30\32\34\36 \"\2\6\3\2\23\30\3\2\31\32\3\2\33\34"+
+		"\3\2\23\26\2\u0179\2&\3\2\2\2\4\61\3\2\2\2\6E\3\2\2\2\bk\3\2\2\2\nm\3"+
+		"\2\2\2\ft\3\2\2\2\16\u0082\3\2\2\2\20\u008c\3\2\2\2\22\u0097\3\2\2\2\24"+
+		"\u00a2\3\2\2\2\26\u00aa\3\2\2\2\30\u00b5\3\2\2\2\32\u010a\3\2\2\2\34\u010c"+
+		"\3\2\2\2\36\u0133\3\2\2\2 \u0149\3\2\2\2\"\u0154\3\2\2\2$\'\5\4\3\2%\'"+
+		"\5\"\22\2&$\3\2\2\2&%\3\2\2\2\',\3\2\2\2(+\5\4\3\2)+\5\"\22\2*(\3\2\2"+
+		"\2*)\3\2\2\2+.\3\2\2\2,*\3\2\2\2,-\3\2\2\2-/\3\2\2\2.,\3\2\2\2/\60\7\2"+
+		"\2\3\60\3\3\2\2\2\61\62\7\3\2\2\62\63\7\'\2\2\63\64\7\4\2\2\64?\b\3\1"+
+		"\2\65\66\7\'\2\2\66<\b\3\1\2\678\7\5\2\289\7\'\2\29;\b\3\1\2:\67\3\2\2"+
+		"\2;>\3\2\2\2<:\3\2\2\2<=\3\2\2\2=@\3\2\2\2><\3\2\2\2?\65\3\2\2\2?@\3\2"+
+		"\2\2@A\3\2\2\2AB\7\6\2\2BC\5\6\4\2CD\b\3\1\2D\5\3\2\2\2EF\b\4\1\2FL\7"+
+		"\7\2\2GH\5\b\5\2HI\b\4\1\2IK\3\2\2\2JG\3\2\2\2KN\3\2\2\2LJ\3\2\2\2LM\3"+
+		"\2\2\2MO\3\2\2\2NL\3\2\2\2OP\7\b\2\2PQ\b\4\1\2Q\7\3\2\2\2RS\5\n\6\2ST"+
+		"\b\5\1\2Tl\3\2\2\2UV\5\36\20\2VW\b\5\1\2Wl\3\2\2\2XY\7\t\2\2YZ\b\5\1\2"+
+		"Zl\7\n\2\2[\\\7\13\2\2\\]\b\5\1\2]l\7\n\2\2^_\5\f\7\2_`\b\5\1\2`l\3\2"+
+		"\2\2ab\5\16\b\2bc\b\5\1\2cl\3\2\2\2de\5\20\t\2ef\7\n\2\2fg\b\5\1\2gl\3"+
+		"\2\2\2hi\7\f\2\2ij\b\5\1\2jl\7\n\2\2kR\3\2\2\2kU\3\2\2\2kX\3\2\2\2k[\3"+
+		"\2\2\2k^\3\2\2\2ka\3\2\2\2kd\3\2\2\2kh\3\2\2\2l\t\3\2\2\2mn\7\r\2\2no"+
+		"\7\4\2\2op\5\20\t\2pq\7\6\2\2qr\5\6\4\2rs\b\6\1\2s\13\3\2\2\2tu\7\16\2"+
+		"\2uv\7\4\2\2vw\5\20\t\2wx\7\6\2\2xy\5\6\4\2y~\b\7\1\2z{\7\17\2\2{|\5\6"+
+		"\4\2|}\b\7\1\2}\177\3\2\2\2~z\3\2\2\2~\177\3\2\2\2\177\u0080\3\2\2\2\u0080"+
+		"\u0081\b\7\1\2\u0081\r\3\2\2\2\u0082\u0083\7\20\2\2\u0083\u0087\b\b\1"+
+		"\2\u0084\u0085\5\20\t\2\u0085\u0086\b\b\1\2\u0086\u0088\3\2\2\2\u0087"+
+		"\u0084\3\2\2\2\u0087\u0088\3\2\2\2\u0088\u0089\3\2\2\2\u0089\u008a\b\b"+
+		"\1\2\u008a\u008b\7\n\2\2\u008b\17\3\2\2\2\u008c\u008d\5\22\n\2\u008d\u0094"+
+		"\b\t\1\2\u008e\u008f\7\21\2\2\u008f\u0090\5\22\n\2\u0090\u0091\b\t\1\2"+
+		"\u0091\u0093\3\2\2\2\u0092\u008e\3\2\2\2\u0093\u0096\3\2\2\2\u0094\u0092"+
+		"\3\2\2\2\u0094\u0095\3\2\2\2\u0095\21\3\2\2\2\u0096\u0094\3\2\2\2\u0097"+
+		"\u0098\5\24\13\2\u0098\u009f\b\n\1\2\u0099\u009a\7\22\2\2\u009a\u009b"+
+		"\5\24\13\2\u009b\u009c\b\n\1\2\u009c\u009e\3\2\2\2\u009d\u0099\3\2\2\2"+
+		"\u009e\u00a1\3\2\2\2\u009f\u009d\3\2\2\2\u009f\u00a0\3\2\2\2\u00a0\23"+
+		"\3\2\2\2\u00a1\u009f\3\2\2\2\u00a2\u00a3\5\26\f\2\u00a3\u00a8\b\13\1\2"+
+		"\u00a4\u00a5\t\2\2\2\u00a5\u00a6\5\26\f\2\u00a6\u00a7\b\13\1\2\u00a7\u00a9"+
+		"\3\2\2\2\u00a8\u00a4\3\2\2\2\u00a8\u00a9\3\2\2\2\u00a9\25\3\2\2\2\u00aa"+
+		"\u00ab\5\30\r\2\u00ab\u00b2\b\f\1\2\u00ac\u00ad\t\3\2\2\u00ad\u00ae\5"+
+		"\30\r\2\u00ae\u00af\b\f\1\2\u00af\u00b1\3\2\2\2\u00b0\u00ac\3\2\2\2\u00b1"+
+		"\u00b4\3\2\2\2\u00b2\u00b0\3\2\2\2\u00b2\u00b3\3\2\2\2\u00b3\27\3\2\2"+
+		"\2\u00b4\u00b2\3\2\2\2\u00b5\u00b6\5\32\16\2\u00b6\u00bd\b\r\1\2\u00b7"+
+		"\u00b8\t\4\2\2\u00b8\u00b9\5\32\16\2\u00b9\u00ba\b\r\1\2\u00ba\u00bc\3"+
+		"\2\2\2\u00bb\u00b7\3\2\2\2\u00bc\u00bf\3\2\2\2\u00bd\u00bb\3\2\2\2\u00bd"+
+		"\u00be\3\2\2\2\u00be\31\3\2\2\2\u00bf\u00bd\3\2\2\2\u00c0\u00c1\7\'\2"+
+		"\2\u00c1\u00c6\b\16\1\2\u00c2\u00c3\5\34\17\2\u00c3\u00c4\b\16\1\2\u00c4"+
+		"\u00c7\3\2\2\2\u00c5\u00c7\b\16\1\2\u00c6\u00c2\3\2\2\2\u00c6\u00c5\3"+
+		"\2\2\2\u00c7\u010b\3\2\2\2\u00c8\u00c9\7(\2\2\u00c9\u010b\b\16\1\2\u00ca"+
+		"\u00cb\7)\2\2\u00cb\u010b\b\16\1\2\u00cc\u00cd\7\4\2\2\u00cd\u00ce\5\20"+
+		"\t\2\u00ce\u00cf\7\6\2\2\u00cf\u00d0\b\16\1\2\u00d0\u010b\3\2\2\2\u00d1"+
+		"\u00d2\7\35\2\2\u00d2\u00de\b\16\1\2\u00d3\u00d4\5\20\t\2\u00d4\u00db"+
+		"\b\16\1\2\u00d5\u00d6\7\5\2\2\u00d6\u00d7\5\20\t\2\u00d7\u00d8\b\16\1"+
+		"\2\u00d8\u00da\3\2\2\2\u00d9\u00d5\3\2\2\2\u00da\u00dd\3\2\2\2\u00db\u00d9"+
+		"\3\2\2\2\u00db\u00dc\3\2\2\2\u00dc\u00df\3\2\2\2\u00dd\u00db\3\2\2\2\u00de"+
+		"\u00d3\3\2\2\2\u00de\u00df\3\2\2\2\u00df\u00e0\3\2\2\2\u00e0\u00e1\7\36"+
+		"\2\2\u00e1\u010b\b\16\1\2\u00e2\u00e3\7\7\2\2\u00e3\u00f3\b\16\1\2\u00e4"+
+		"\u00e5\7\'\2\2\u00e5\u00e6\7\37\2\2\u00e6\u00e7\5\20\t\2\u00e7\u00f0\b"+
+		"\16\1\2\u00e8\u00e9\7\5\2\2\u00e9\u00ea\7\'\2\2\u00ea\u00eb\7\37\2\2\u00eb"+
+		"\u00ec\5\20\t\2\u00ec\u00ed\b\16\1\2\u00ed\u00ef\3\2\2\2\u00ee\u00e8\3"+
+		"\2\2\2\u00ef\u00f2\3\2\2\2\u00f0\u00ee\3\2\2\2\u00f0\u00f1\3\2\2\2\u00f1"+
+		"\u00f4\3\2\2\2\u00f2\u00f0\3\2\2\2\u00f3\u00e4\3\2\2\2\u00f3\u00f4\3\2"+
+		"\2\2\u00f4\u00f5\3\2\2\2\u00f5\u00f6\7\b\2\2\u00f6\u010b\b\16\1\2\u00f7"+
+		"\u00f8\7\3\2\2\u00f8\u00f9\7\4\2\2\u00f9\u0104\b\16\1\2\u00fa\u00fb\7"+
+		"\'\2\2\u00fb\u0101\b\16\1\2\u00fc\u00fd\7\5\2\2\u00fd\u00fe\7\'\2\2\u00fe"+
+		"\u0100\b\16\1\2\u00ff\u00fc\3\2\2\2\u0100\u0103\3\2\2\2\u0101\u00ff\3"+
+		"\2\2\2\u0101\u0102\3\2\2\2\u0102\u0105\3\2\2\2\u0103\u0101\3\2\2\2\u0104"+
+		"\u00fa\3\2\2\2\u0104\u0105\3\2\2\2\u0105\u0106\3\2\2\2\u0106\u0107\7\6"+
+		"\2\2\u0107\u0108\5\6\4\2\u0108\u0109\b\16\1\2\u0109\u010b\3\2\2\2\u010a"+
+		"\u00c0\3\2\2\2\u010a\u00c8\3\2\2\2\u010a\u00ca\3\2\2\2\u010a\u00cc\3\2"+
+		"\2\2\u010a\u00d1\3\2\2\2\u010a\u00e2\3\2\2\2\u010a\u00f7\3\2\2\2\u010b"+
+		"\33\3\2\2\2\u010c\u012c\b\17\1\2\u010d\u010e\7\4\2\2\u010e\u011a\b\17"+
+		"\1\2\u010f\u0110\5\20\t\2\u0110\u0117\b\17\1\2\u0111\u0112\7\5\2\2\u0112"+
+		"\u0113\5\20\t\2\u0113\u0114\b\17\1\2\u0114\u0116\3\2\2\2\u0115\u0111\3"+
+		"\2\2\2\u0116\u0119\3\2\2\2\u0117\u0115\3\2\2\2\u0117\u0118\3\2\2\2\u0118"+
+		"\u011b\3\2\2\2\u0119\u0117\3\2\2\2\u011a\u010f\3\2\2\2\u011a\u011b\3\2"+
+		"\2\2\u011b\u011c\3\2\2\2\u011c\u011d\7\6\2\2\u011d\u012d\b\17\1\2\u011e"+
+		"\u011f\7 \2\2\u011f\u0120\5\20\t\2\u0120\u0121\b\17\1\2\u0121\u012d\3"+
+		"\2\2\2\u0122\u0123\7!\2\2\u0123\u0124\b\17\1\2\u0124\u0125\7\'\2\2\u0125"+
+		"\u012d\b\17\1\2\u0126\u0127\7\35\2\2\u0127\u0128\b\17\1\2\u0128\u0129"+
+		"\5\20\t\2\u0129\u012a\b\17\1\2\u012a\u012b\7\36\2\2\u012b\u012d\3\2\2"+
+		"\2\u012c\u010d\3\2\2\2\u012c\u011e\3\2\2\2\u012c\u0122\3\2\2\2\u012c\u0126"+
+		"\3\2\2\2\u012d\u0131\3\2\2\2\u012e\u012f\5\34\17\2\u012f\u0130\b\17\1"+
+		"\2\u0130\u0132\3\2\2\2\u0131\u012e\3\2\2\2\u0131\u0132\3\2\2\2\u0132\35"+
+		"\3\2\2\2\u0133\u0134\7\"\2\2\u0134\u0135\7\4\2\2\u0135\u0136\7\'\2\2\u0136"+
+		"\u0137\b\20\1\2\u0137\u0138\7 \2\2\u0138\u0139\5\20\t\2\u0139\u013a\b"+
+		"\20\1\2\u013a\u013b\7\n\2\2\u013b\u013c\7\'\2\2\u013c\u013d\b\20\1\2\u013d"+
+		"\u013e\t\5\2\2\u013e\u013f\5\20\t\2\u013f\u0140\7\n\2\2\u0140\u0141\7"+
+		"\'\2\2\u0141\u0142\b\20\1\2\u0142\u0143\7 \2\2\u0143\u0144\5 \21\2\u0144"+
+		"\u0145\b\20\1\2\u0145\u0146\7\6\2\2\u0146\u0147\5\6\4\2\u0147\u0148\b"+
+		"\20\1\2\u0148\37\3\2\2\2\u0149\u014a\5\30\r\2\u014a\u0151\b\21\1\2\u014b"+
+		"\u014c\t\3\2\2\u014c\u014d\5\30\r\2\u014d\u014e\b\21\1\2\u014e\u0150\3"+
+		"\2\2\2\u014f\u014b\3\2\2\2\u0150\u0153\3\2\2\2\u0151\u014f\3\2\2\2\u0151"+
+		"\u0152\3\2\2\2\u0152!\3\2\2\2\u0153\u0151\3\2\2\2\u0154\u0155\7#\2\2\u0155"+
+		"\u0156\7\'\2\2\u0156\u015c\b\22\1\2\u0157\u0158\7\5\2\2\u0158\u0159\7"+
+		"\'\2\2\u0159\u015b\b\22\1\2\u015a\u0157\3\2\2\2\u015b\u015e\3\2\2\2\u015c"+
+		"\u015a\3\2\2\2\u015c\u015d\3\2\2\2\u015d\u015f\3\2\2\2\u015e\u015c\3\2"+
+		"\2\2\u015f\u0160\7\n\2\2\u0160#\3\2\2\2\36&*,<?Lk~\u0087\u0094\u009f\u00a8"+
+		"\u00b2\u00bd\u00c6\u00db\u00de\u00f0\u00f3\u0101\u0104\u010a\u0117\u011a"+
+		"\u012c\u0131\u0151\u015c";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
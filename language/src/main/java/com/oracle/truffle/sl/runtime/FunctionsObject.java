@@ -40,8 +40,8 @@
  */
 package com.oracle.truffle.sl.runtime;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
@@ -59,7 +59,7 @@ import com.oracle.truffle.sl.SLLanguage;
 @SuppressWarnings("static-method")
 final class FunctionsObject implements TruffleObject {
 
-    final Map<String, SLFunction> functions = new HashMap<>();
+    final Map<String, SLFunction> functions = new ConcurrentHashMap<>();
 
     FunctionsObject() {
     }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * A place in the program that allocates {@link SLObject objects}, i.e., a call of the
+ * {@link com.oracle.truffle.sl.builtins.SLNewObjectBuiltin new()} builtin. Objects allocated at the
+ * same site usually end up with the same properties. The site therefore looks at the first objects
+ * it allocated, and allocates all later objects with an {@link SLObjectLayout} that is large enough
+ * to store these properties in fields: the objects then neither allocate nor grow extension arrays
+ * while they are filled.
+ * <p>
+ * The properties of an object are known only after it was filled, so the site observes each object
+ * when it allocates the next one. After {@link #OBSERVED_ALLOCATIONS} observations the layout is
+ * fixed, and allocation no longer leaves compiled code.
+ * <p>
+ * Several threads can allocate at the same site. Until the layout is fixed, allocation is
+ * synchronized, and only objects that were allocated by the current thread are observed: objects
+ * of other threads may be filled at the same time.
+ */
+public final class SLAllocationSite {
+
+    /** Number of objects that are observed before the layout of the site is fixed. */
+    static final int OBSERVED_ALLOCATIONS = 8;
+
+    private final SLLanguage language;
+    private final String description;
+    private final boolean countAllocations;
+
+    @CompilationFinal private SLObjectLayout layout = SLObjectLayout.DEFAULT;
+    @CompilationFinal private boolean stable;
+
+    private SLObject lastObject;
+    private Thread lastThread;
+    private int observed;
+    private int objectProperties;
+    private int primitiveProperties;
+    private long allocations;
+
+    public SLAllocationSite(SLLanguage language, String description, boolean countAllocations) {
+        this.language = language;
+        this.description = description;
+        this.countAllocations = countAllocations;
+    }
+
+    /**
+     * Allocates an empty object with the layout predicted for this site.
+     */
+    public SLObject allocate() {
+        if (countAllocations) {
+            allocations++;
+        }
+        if (!stable) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            return allocateObserved();
+        }
+        return layout.newObject(language.getRootShape(layout));
+    }
+
+    @TruffleBoundary
+    private synchronized SLObject allocateObserved() {
+        Thread currentThread = Thread.currentThread();
+        if (lastObject != null && lastThread == currentThread) {
+            observe(lastObject);
+        }
+        SLObject object = layout.newObject(language.getRootShape(layout));
+        if (!stable) {
+            lastObject = object;
+            lastThread = currentThread;
+        }
+        return object;
+    }
+
+    private void observe(SLObject object) {
+        if (object.isDictionary()) {
+            objectProperties = Integer.MAX_VALUE;
+        } else {
+            DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+            int objects = 0;
+            int primitives = 0;
+            for (Object key : objectLibrary.getKeyArray(object)) {
+                if (SLObjectLayout.isPrimitive(objectLibrary.getOrDefault(object, key, null))) {
+                    primitives++;
+                } else {
+                    objects++;
+                }
+            }
+            objectProperties = Math.max(objectProperties, objects);
+            primitiveProperties = Math.max(primitiveProperties, primitives);
+        }
+        layout = SLObjectLayout.forProperties(objectProperties, primitiveProperties);
+        if (++observed >= OBSERVED_ALLOCATIONS) {
+            stable = true;
+            lastObject = null;
+            lastThread = null;
+        }
+    }
+
+    public SLObjectLayout getLayout() {
+        return layout;
+    }
+
+    public boolean isStable() {
+        return stable;
+    }
+
+    /**
+     * Returns a one-line summary of this site for the {@link SLLanguage#AllocationSiteStats}
+     * option.
+     */
+    @TruffleBoundary
+    public String getStatistics() {
+        String properties = objectProperties == Integer.MAX_VALUE ? "dictionary mode" : objectProperties + " object and " + primitiveProperties + " primitive properties";
+        return String.format("%s: %d objects, %s, layout %s%s", description, allocations, properties, layout, stable ? "" : " (not stable)");
+    }
+}
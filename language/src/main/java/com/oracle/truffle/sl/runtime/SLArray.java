@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.utilities.TriState;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Represents an SL array. Arrays have a fixed size that is determined when they are created, either
+ * by an array literal or by the {@code array} builtin.
+ * <p>
+ * The elements are kept in one of three storage strategies: a {@code long[]}, a {@code boolean[]}
+ * or an {@code Object[]}. New arrays start with the most specific storage that can hold their
+ * initial elements. The storage is only generalized to {@code Object[]} when a value is written
+ * that does not fit into the current storage, so arrays that only ever contain numbers never box
+ * their elements. The storage never goes back to a more specific strategy.
+ * <p>
+ * The property access nodes have dedicated specializations for each storage strategy, see
+ * {@code SLReadPropertyNode} and {@code SLWritePropertyNode}. Other languages and tools access the
+ * elements via the array messages of the {@link InteropLibrary}.
+ */
+@ExportLibrary(InteropLibrary.class)
+@SuppressWarnings("static-method")
+public final class SLArray implements TruffleObject {
+
+    /** Maximum nesting depth that is printed by {@link #toDisplayString}. */
+    private static final int DISPLAY_DEPTH = 3;
+
+    /** The element storage: a {@code long[]}, a {@code boolean[]} or an {@code Object[]}. */
+    private Object storage;
+
+    /** Whether the array is reachable from more than one thread, see {@link SLSharing}. */
+    private boolean shared;
+
+    /** Whether the elements of the array can no longer be written, see {@link SLTransfer#freeze}. */
+    private boolean frozen;
+
+    /** The storage of arrays whose elements were {@link #detach() moved} to another array. */
+    private static final long[] DETACHED_STORAGE = new long[0];
+
+    private SLArray(Object storage) {
+        assert storage instanceof long[] || storage instanceof boolean[] || storage instanceof Object[];
+        this.storage = storage;
+    }
+
+    /**
+     * Creates an array of the given size. All elements are initialized to the number {@code 0}.
+     */
+    public static SLArray create(int size) {
+        return new SLArray(new long[size]);
+    }
+
+    public static SLArray create(long[] elements) {
+        return new SLArray(elements);
+    }
+
+    public static SLArray create(boolean[] elements) {
+        return new SLArray(elements);
+    }
+
+    public static SLArray create(Object[] elements) {
+        return new SLArray(elements);
+    }
+
+    public boolean isLongStorage() {
+        return storage instanceof long[];
+    }
+
+    public boolean isBooleanStorage() {
+        return storage instanceof boolean[];
+    }
+
+    public boolean isObjectStorage() {
+        return storage instanceof Object[];
+    }
+
+    public int getSize() {
+        Object s = storage;
+        if (s instanceof long[]) {
+            return ((long[]) s).length;
+        } else if (s instanceof boolean[]) {
+            return ((boolean[]) s).length;
+        } else {
+            return ((Object[]) s).length;
+        }
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    void markShared() {
+        shared = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Moves the storage of this array into a new array, without copying the elements. This array
+     * is left empty, so all later accesses are out of bounds. This is used to
+     * {@link SLTransfer#transfer transfer} arrays to another context.
+     */
+    SLArray detach() {
+        SLArray result = new SLArray(storage);
+        storage = DETACHED_STORAGE;
+        return result;
+    }
+
+    public boolean isInBounds(long index) {
+        return index >= 0 && index < getSize();
+    }
+
+    /**
+     * Reads an element of an array with {@link #isLongStorage() long storage}. The caller must
+     * check the storage strategy and the bounds.
+     */
+    public long readLong(int index) {
+        return ((long[]) storage)[index];
+    }
+
+    /**
+     * Reads an element of an array with {@link #isBooleanStorage() boolean storage}. The caller
+     * must check the storage strategy and the bounds.
+     */
+    public boolean readBoolean(int index) {
+        return ((boolean[]) storage)[index];
+    }
+
+    /**
+     * Reads an element of an array with any storage strategy. Primitive elements are boxed. The
+     * caller must check the bounds.
+     */
+    public Object read(int index) {
+        Object s = storage;
+        if (s instanceof long[]) {
+            return ((long[]) s)[index];
+        } else if (s instanceof boolean[]) {
+            return ((boolean[]) s)[index];
+        } else {
+            return ((Object[]) s)[index];
+        }
+    }
+
+    /**
+     * Writes an element of an array with {@link #isLongStorage() long storage}. The caller must
+     * check the storage strategy and the bounds.
+     */
+    public void writeLong(int index, long value) {
+        ((long[]) storage)[index] = value;
+    }
+
+    /**
+     * Writes an element of an array with {@link #isBooleanStorage() boolean storage}. The caller
+     * must check the storage strategy and the bounds.
+     */
+    public void writeBoolean(int index, boolean value) {
+        ((boolean[]) storage)[index] = value;
+    }
+
+    /**
+     * Writes an element of an array with any storage strategy. If the value does not fit into the
+     * current storage, the storage is generalized to {@code Object[]} first. A value that is stored
+     * into a {@link #isShared() shared} array is shared as well. The caller must check the bounds.
+     * <p>
+     * Elements of shared arrays are not written under a lock. Two threads that concurrently
+     * generalize the storage of the same array can therefore lose one of their writes.
+     */
+    public void write(int index, Object value) {
+        if (shared) {
+            SLSharing.share(value);
+        }
+        Object s = storage;
+        if (s instanceof long[]) {
+            if (value instanceof Long) {
+                ((long[]) s)[index] = (long) value;
+                return;
+            }
+        } else if (s instanceof boolean[]) {
+            if (value instanceof Boolean) {
+                ((boolean[]) s)[index] = (boolean) value;
+                return;
+            }
+        } else {
+            ((Object[]) s)[index] = value;
+            return;
+        }
+        generalize()[index] = value;
+    }
+
+    /**
+     * Switches to the {@code Object[]} storage strategy. Storage transitions are rare, so this is
+     * always done in the interpreter.
+     */
+    private Object[] generalize() {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        Object s = storage;
+        int size = getSize();
+        Object[] objects = new Object[size];
+        for (int i = 0; i < size; i++) {
+            if (s instanceof long[]) {
+                objects[i] = ((long[]) s)[i];
+            } else {
+                objects[i] = ((boolean[]) s)[i];
+            }
+        }
+        storage = objects;
+        return objects;
+    }
+
+    @ExportMessage
+    boolean hasLanguage() {
+        return true;
+    }
+
+    @ExportMessage
+    Class<? extends TruffleLanguage<?>> getLanguage() {
+        return SLLanguage.class;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("unused")
+    static final class IsIdenticalOrUndefined {
+        @Specialization
+        static TriState doSLArray(SLArray receiver, SLArray other) {
+            return TriState.valueOf(receiver == other);
+        }
+
+        @Fallback
+        static TriState doOther(SLArray receiver, Object other) {
+            return TriState.UNDEFINED;
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    int identityHashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @ExportMessage
+    boolean hasMetaObject() {
+        return true;
+    }
+
+    @ExportMessage
+    Object getMetaObject() {
+        return SLType.ARRAY;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+        return display(DISPLAY_DEPTH);
+    }
+
+    private String display(int depth) {
+        if (depth == 0) {
+            return "[...]";
+        }
+        Object s = storage;
+        if (s instanceof long[]) {
+            return Arrays.toString((long[]) s);
+        } else if (s instanceof boolean[]) {
+            return Arrays.toString((boolean[]) s);
+        }
+        InteropLibrary interop = InteropLibrary.getFactory().getUncached();
+        StringBuilder result = new StringBuilder("[");
+        String sep = "";
+        for (Object element : (Object[]) s) {
+            result.append(sep);
+            sep = ", ";
+            if (element instanceof SLArray) {
+                result.append(((SLArray) element).display(depth - 1));
+            } else {
+                result.append(interop.toDisplayString(SLLanguageView.forValue(element)));
+            }
+        }
+        return result.append("]").toString();
+    }
+
+    @ExportMessage
+    boolean hasArrayElements() {
+        return true;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+        return getSize();
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+        return isInBounds(index);
+    }
+
+    @ExportMessage
+    boolean isArrayElementModifiable(long index) {
+        return !frozen && isInBounds(index);
+    }
+
+    @ExportMessage
+    boolean isArrayElementInsertable(@SuppressWarnings("unused") long index) {
+        return false;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index,
+                    @Cached BranchProfile error) throws InvalidArrayIndexException {
+        if (!isInBounds(index)) {
+            error.enter();
+            throw InvalidArrayIndexException.create(index);
+        }
+        return read((int) index);
+    }
+
+    @ExportMessage
+    void writeArrayElement(long index, Object value,
+                    @Cached BranchProfile error) throws InvalidArrayIndexException, UnsupportedMessageException {
+        if (!isInBounds(index)) {
+            error.enter();
+            throw InvalidArrayIndexException.create(index);
+        }
+        if (frozen) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        write((int) index, value);
+    }
+}
@@ -80,6 +80,31 @@ public final class SLBigNumber implements TruffleObject, Comparable<SLBigNumber>
         return value;
     }
 
+    /**
+     * Returns the value rounded to the nearest {@code double}, for arithmetic and comparisons with
+     * floating point numbers.
+     */
+    @TruffleBoundary
+    public double doubleValue() {
+        return value.doubleValue();
+    }
+
+    /**
+     * Returns the given value in its canonical representation: a {@code long} if it fits, otherwise
+     * a {@link SLInt128} if it fits, otherwise a {@link SLBigNumber}. Arithmetic results must be
+     * normalized, so that numbers that shrink again are handled by the fast paths.
+     */
+    @TruffleBoundary
+    public static Object normalize(BigInteger value) {
+        int bitLength = value.bitLength();
+        if (bitLength < 64) {
+            return value.longValue();
+        } else if (bitLength < 128) {
+            return SLInt128.fromBigInteger(value);
+        }
+        return new SLBigNumber(value);
+    }
+
     @TruffleBoundary
     public int compareTo(SLBigNumber o) {
         return value.compareTo(o.getValue());
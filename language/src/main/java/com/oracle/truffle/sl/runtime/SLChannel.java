@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.SLException;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * One end of a channel between a context and a {@link SLWorker worker} context. A channel consists
+ * of two bounded queues, one for each direction: values that are {@link #send sent} on one end are
+ * {@link #receive received} on the other end, in the same order. A sender blocks while the queue
+ * is full, and a receiver blocks while it is empty.
+ * <p>
+ * Values are {@link SLTransfer transferred} when they are sent: immutable values are passed as
+ * they are, and mutable objects are moved to the receiver.
+ * <p>
+ * When the worker terminates, its end of the channel is {@link #close closed}. The values that
+ * are still in the queue can be received, after that {@link #receive} returns {@code null}, or
+ * throws an error if the worker failed.
+ */
+@ExportLibrary(InteropLibrary.class)
+@SuppressWarnings("static-method")
+public final class SLChannel implements TruffleObject {
+
+    /** Maximum number of values that are in transit in each direction. */
+    static final int CAPACITY = 64;
+
+    /** Marks the end of the values of a closed queue. */
+    private static final Object END = new Object();
+
+    /** One direction of a channel. */
+    private static final class Queue {
+        final BlockingQueue<Object> values = new ArrayBlockingQueue<>(CAPACITY);
+        volatile boolean closed;
+        volatile String failure;
+    }
+
+    private final Queue incoming;
+    private final Queue outgoing;
+    private final String name;
+
+    private SLChannel(Queue incoming, Queue outgoing, String name) {
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+        this.name = name;
+    }
+
+    /**
+     * Creates a channel and returns the end that belongs to the creator. The other end is
+     * {@link #getPeer() passed} to the worker.
+     */
+    static SLChannel create() {
+        return new SLChannel(new Queue(), new Queue(), "worker");
+    }
+
+    /**
+     * Returns the other end of this channel.
+     */
+    SLChannel getPeer() {
+        return new SLChannel(outgoing, incoming, "parent");
+    }
+
+    /**
+     * Sends a value to the other end of the channel. Waits while the queue is full.
+     */
+    @TruffleBoundary
+    public void send(Node node, Object value) {
+        if (outgoing.closed) {
+            throw new SLException("Cannot send to a terminated worker", node);
+        }
+        Object transferred = SLTransfer.transfer(node, value);
+        TruffleSafepoint.setBlockedThreadInterruptible(node, queue -> queue.put(transferred), outgoing.values);
+    }
+
+    /**
+     * Receives the next value from the other end of the channel. Waits while the queue is empty.
+     * If the other end is closed and all values were received, returns {@code null}, or throws an
+     * error if the worker failed.
+     */
+    @TruffleBoundary
+    public Object receive(Node node) {
+        Object value = incoming.values.poll();
+        if (value == null) {
+            if (incoming.closed) {
+                value = END;
+            } else {
+                Object[] result = new Object[1];
+                TruffleSafepoint.setBlockedThreadInterruptible(node, queue -> result[0] = queue.take(), incoming.values);
+                value = result[0];
+            }
+        }
+        if (value == END) {
+            /* Keep the marker for further receives. */
+            incoming.values.offer(END);
+            if (incoming.failure != null) {
+                throw new SLException("Worker failed: " + incoming.failure, node);
+            }
+            return SLNull.SINGLETON;
+        }
+        return value;
+    }
+
+    /**
+     * Closes this end of the channel. The other end can still receive the values that are in the
+     * queue, but it cannot send any more values.
+     *
+     * @param failure the message of the error that terminated the worker, or {@code null}
+     */
+    void close(String failure) {
+        outgoing.failure = failure;
+        outgoing.closed = true;
+        incoming.closed = true;
+        /*
+         * The marker wakes up a receiver that waits for the next value. If the queue is full, the
+         * receiver sees the closed flag once it has taken the remaining values.
+         */
+        outgoing.values.offer(END);
+    }
+
+    @ExportMessage
+    boolean hasLanguage() {
+        return true;
+    }
+
+    @ExportMessage
+    Class<? extends TruffleLanguage<?>> getLanguage() {
+        return SLLanguage.class;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+        return "Channel(" + name + ")";
+    }
+}
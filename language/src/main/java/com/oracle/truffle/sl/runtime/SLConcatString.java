@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * A lazily concatenated SL string, i.e., a rope. The {@code +} operator does not copy the
+ * characters of its operands, but creates a new node of a binary tree whose leaves are Java
+ * {@link String strings}. Building a string in a loop is therefore linear instead of quadratic.
+ * <p>
+ * The characters are only copied when the string is observed, e.g., when it is printed, used as a
+ * property name, or passed to another language via {@link InteropLibrary#asString}. The flat string
+ * is cached, so a rope is flattened at most once.
+ * <p>
+ * The tree is kept height-balanced like an AVL tree: concatenating two ropes of different depth
+ * descends into the deeper one and copies only the nodes on the path to the insertion point,
+ * rotating them where the depths differ by more than one. Appending in a loop therefore costs
+ * {@code O(log n)} per append, and the depth of a rope stays logarithmic in its number of leaves.
+ * A short string that is appended or prepended is merged into the outermost leaf, up to
+ * {@link #LEAF_LENGTH} characters, so the number of leaves does not grow with every append.
+ */
+@ExportLibrary(InteropLibrary.class)
+@SuppressWarnings("static-method")
+public final class SLConcatString implements TruffleObject {
+
+    /** Concatenations shorter than this are copied eagerly, a rope would not pay off. */
+    static final int FLAT_LENGTH = 16;
+    /** Maximum length of leaves that are created by merging short strings. */
+    static final int LEAF_LENGTH = 512;
+
+    /** Either a {@link String} or a {@link SLConcatString}. */
+    private final Object left;
+    /** Either a {@link String} or a {@link SLConcatString}. */
+    private final Object right;
+    private final int length;
+    private final int depth;
+
+    /** The cached result of {@link #toString()}, or {@code null} if not yet flattened. */
+    private String flattened;
+
+    private SLConcatString(Object left, Object right, int length, int depth) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+        this.depth = depth;
+    }
+
+    /**
+     * Concatenates two strings, each of which is either a {@link String} or a
+     * {@link SLConcatString}. Returns either a {@link String} or a {@link SLConcatString}.
+     */
+    public static Object concat(Object left, Object right) {
+        int leftLength = length(left);
+        int rightLength = length(right);
+        if (leftLength == 0) {
+            return right;
+        } else if (rightLength == 0) {
+            return left;
+        }
+        int resultLength = leftLength + rightLength;
+        if (resultLength < 0) {
+            throw lengthOverflow();
+        } else if (resultLength < FLAT_LENGTH) {
+            return flatConcat((String) left, (String) right);
+        }
+        return join(left, right);
+    }
+
+    public static boolean isSLString(Object value) {
+        return value instanceof String || value instanceof SLConcatString;
+    }
+
+    private static int length(Object string) {
+        if (string instanceof String) {
+            return ((String) string).length();
+        }
+        return ((SLConcatString) string).length;
+    }
+
+    private static int depth(Object string) {
+        if (string instanceof String) {
+            return 0;
+        }
+        return ((SLConcatString) string).depth;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the depth of the tree, i.e., the number of nodes on the longest path to a leaf.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    @TruffleBoundary
+    private static String flatConcat(String left, String right) {
+        return left + right;
+    }
+
+    @TruffleBoundary
+    private static OutOfMemoryError lengthOverflow() {
+        return new OutOfMemoryError("String length out of range");
+    }
+
+    /**
+     * Compares the characters of this rope with a {@link String} or another rope. Strings of
+     * different length are never equal, so in that case neither side needs to be flattened.
+     */
+    public boolean contentEquals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (length != length(other)) {
+            return false;
+        }
+        return flatEquals(this, other);
+    }
+
+    @TruffleBoundary
+    private static boolean flatEquals(SLConcatString rope, Object other) {
+        return rope.toString().equals(other.toString());
+    }
+
+    /**
+     * Returns the flat string. The result is cached, so this is only expensive the first time.
+     */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        String result = flattened;
+        if (result == null) {
+            char[] chars = new char[length];
+            copyChars(this, chars, 0);
+            result = new String(chars);
+            flattened = result;
+        }
+        return result;
+    }
+
+    private static void copyChars(Object string, char[] dest, int offset) {
+        if (string instanceof String) {
+            String s = (String) string;
+            s.getChars(0, s.length(), dest, offset);
+            return;
+        }
+        SLConcatString rope = (SLConcatString) string;
+        String ropeFlattened = rope.flattened;
+        if (ropeFlattened != null) {
+            ropeFlattened.getChars(0, rope.length, dest, offset);
+        } else {
+            copyChars(rope.left, dest, offset);
+            copyChars(rope.right, dest, offset + length(rope.left));
+        }
+    }
+
+    /**
+     * Concatenates two non-empty strings into a balanced rope. If one side is deeper than the other
+     * by more than one, or the other side is a short string that can be merged into the outermost
+     * leaf, the deeper side is descended.
+     */
+    @TruffleBoundary
+    private static Object join(Object left, Object right) {
+        int leftDepth = depth(left);
+        int rightDepth = depth(right);
+        if (leftDepth == 0 && rightDepth == 0) {
+            if (length(left) + length(right) <= LEAF_LENGTH) {
+                return flatConcat((String) left, (String) right);
+            }
+        } else if (leftDepth > rightDepth + 1 || (leftDepth > 0 && isShortLeaf(right))) {
+            SLConcatString rope = (SLConcatString) left;
+            return balance(rope.left, join(rope.right, right));
+        } else if (rightDepth > leftDepth + 1 || (rightDepth > 0 && isShortLeaf(left))) {
+            SLConcatString rope = (SLConcatString) right;
+            return balance(join(left, rope.left), rope.right);
+        }
+        return node(left, right);
+    }
+
+    private static boolean isShortLeaf(Object string) {
+        return string instanceof String && ((String) string).length() < LEAF_LENGTH;
+    }
+
+    /**
+     * Creates a node for two balanced subtrees whose depths differ by at most two, with a single or
+     * double rotation if they differ by two.
+     */
+    private static Object balance(Object left, Object right) {
+        int leftDepth = depth(left);
+        int rightDepth = depth(right);
+        if (rightDepth > leftDepth + 1) {
+            SLConcatString rope = (SLConcatString) right;
+            if (depth(rope.left) > depth(rope.right)) {
+                SLConcatString inner = (SLConcatString) rope.left;
+                return node(node(left, inner.left), node(inner.right, rope.right));
+            }
+            return node(node(left, rope.left), rope.right);
+        } else if (leftDepth > rightDepth + 1) {
+            SLConcatString rope = (SLConcatString) left;
+            if (depth(rope.right) > depth(rope.left)) {
+                SLConcatString inner = (SLConcatString) rope.right;
+                return node(node(rope.left, inner.left), node(inner.right, right));
+            }
+            return node(rope.left, node(rope.right, right));
+        }
+        return node(left, right);
+    }
+
+    private static SLConcatString node(Object left, Object right) {
+        return new SLConcatString(left, right, length(left) + length(right), Math.max(depth(left), depth(right)) + 1);
+    }
+
+    @ExportMessage
+    boolean hasLanguage() {
+        return true;
+    }
+
+    @ExportMessage
+    Class<? extends TruffleLanguage<?>> getLanguage() {
+        return SLLanguage.class;
+    }
+
+    @ExportMessage
+    boolean hasMetaObject() {
+        return true;
+    }
+
+    @ExportMessage
+    Object getMetaObject() {
+        return SLType.STRING;
+    }
+
+    @ExportMessage
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toString();
+    }
+
+    @ExportMessage
+    Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+        return toString();
+    }
+}
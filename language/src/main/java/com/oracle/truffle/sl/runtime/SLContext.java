@@ -45,12 +45,18 @@ import static com.oracle.truffle.api.CompilerDirectives.shouldNotReachHere;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleContext;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.TruffleLanguage.Env;
@@ -59,10 +65,15 @@ import com.oracle.truffle.api.instrumentation.AllocationReporter;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.builtins.SLAtomicAddBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLBuiltinNode;
+import com.oracle.truffle.sl.builtins.SLCompareAndSetBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLDefineFunctionBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLEvalBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLFreezeBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLGetAndSetBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLGetSizeBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLHasSizeBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLHelloEqualsWorldBuiltinFactory;
@@ -71,15 +82,25 @@ import com.oracle.truffle.sl.builtins.SLIsExecutableBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLIsInstanceBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLIsNullBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLJavaTypeBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLJoinBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLNanoTimeBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLNewArrayBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLNewObjectBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLParallelForBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLParallelMapBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLParentBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLReadlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLReadlnBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLReceiveBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLSendBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLSpawnBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLStackTraceBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLTypeOfBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLWorkerBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLWrapPrimitiveBuiltinFactory;
+import com.oracle.truffle.sl.parser.SLCodeCache;
 import org.graalvm.polyglot.Context;
 
 /**
@@ -89,23 +110,52 @@ import org.graalvm.polyglot.Context;
  * It would be an error to have two different context instances during the execution of one script.
  * However, if two separate scripts run in one Java VM at the same time, they have a different
  * context. Therefore, the context is not a singleton.
+ * <p>
+ * Functions that are {@link #spawn spawned} run on a pool of threads that belongs to the context.
+ * The threads are created lazily with {@link Env#createThread}, and the pool is shut down when the
+ * context is {@link #shutdownThreads() finalized}.
+ * <p>
+ * A context can also {@link #startWorker start workers}: each worker runs in an inner context on
+ * its own thread, and exchanges values with its parent over a {@link SLChannel channel}.
  */
 public final class SLContext {
 
     private final SLLanguage language;
     @CompilationFinal private Env env;
+    @CompilationFinal private boolean properTailCalls;
     private final BufferedReader input;
     private final PrintWriter output;
     private final SLFunctionRegistry functionRegistry;
+    private final SLGlobalRegistry globalRegistry;
     private final AllocationReporter allocationReporter;
+    /** The call targets of evaluated snippets, keyed by language id and code. */
+    private final SLLruCache<List<String>, CallTarget> evalCache;
+    /** The persistent cache of parsed source files, or {@code null} if it is not enabled. */
+    private final SLCodeCache codeCache;
+
+    /** The pool of threads that run spawned functions, created on the first spawn. */
+    private ExecutorService threadPool;
+    private final List<Thread> threads = new ArrayList<>();
+    private final int threadPoolSize;
+
+    /** The worker that runs in this context, or {@code null} for other contexts. */
+    private final SLWorker worker;
 
     public SLContext(SLLanguage language, TruffleLanguage.Env env, List<NodeFactory<? extends SLBuiltinNode>> externalBuiltins) {
         this.env = env;
+        this.properTailCalls = env.getOptions().get(SLLanguage.ProperTailCalls);
         this.input = new BufferedReader(new InputStreamReader(env.in()));
         this.output = new PrintWriter(env.out(), true);
         this.language = language;
         this.allocationReporter = env.lookup(AllocationReporter.class);
         this.functionRegistry = new SLFunctionRegistry(language);
+        this.globalRegistry = new SLGlobalRegistry();
+        this.evalCache = new SLLruCache<>(env.getOptions().get(SLLanguage.EvalCacheSize));
+        String codeCacheDirectory = env.getOptions().get(SLLanguage.CodeCache);
+        this.codeCache = codeCacheDirectory.isEmpty() ? null : new SLCodeCache(env, codeCacheDirectory);
+        int poolSize = env.getOptions().get(SLLanguage.ThreadPoolSize);
+        this.threadPoolSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.worker = (SLWorker) env.getConfig().get(SLWorker.CONFIG_KEY);
         installBuiltins();
         for (NodeFactory<? extends SLBuiltinNode> builtin : externalBuiltins) {
             installBuiltin(builtin);
@@ -121,6 +171,15 @@ public final class SLContext {
      */
     public void patchContext(Env newEnv) {
         this.env = newEnv;
+        this.properTailCalls = newEnv.getOptions().get(SLLanguage.ProperTailCalls);
+    }
+
+    /**
+     * Returns whether all calls in tail position are eliminated, see
+     * {@link SLLanguage#ProperTailCalls}.
+     */
+    public boolean isProperTailCalls() {
+        return properTailCalls;
     }
 
     /**
@@ -153,6 +212,13 @@ public final class SLContext {
         return functionRegistry;
     }
 
+    /**
+     * Returns the registry of all global variables.
+     */
+    public SLGlobalRegistry getGlobalRegistry() {
+        return globalRegistry;
+    }
+
     /**
      * Adds all builtin functions to the {@link SLFunctionRegistry}. This method lists all
      * {@link SLBuiltinNode builtin implementation classes}.
@@ -165,6 +231,7 @@ public final class SLContext {
         installBuiltin(SLStackTraceBuiltinFactory.getInstance());
         installBuiltin(SLHelloEqualsWorldBuiltinFactory.getInstance());
         installBuiltin(SLNewObjectBuiltinFactory.getInstance());
+        installBuiltin(SLNewArrayBuiltinFactory.getInstance());
         installBuiltin(SLEvalBuiltinFactory.getInstance());
         installBuiltin(SLImportBuiltinFactory.getInstance());
         installBuiltin(SLGetSizeBuiltinFactory.getInstance());
@@ -175,6 +242,18 @@ public final class SLContext {
         installBuiltin(SLTypeOfBuiltinFactory.getInstance());
         installBuiltin(SLIsInstanceBuiltinFactory.getInstance());
         installBuiltin(SLJavaTypeBuiltinFactory.getInstance());
+        installBuiltin(SLSpawnBuiltinFactory.getInstance());
+        installBuiltin(SLJoinBuiltinFactory.getInstance());
+        installBuiltin(SLParallelForBuiltinFactory.getInstance());
+        installBuiltin(SLParallelMapBuiltinFactory.getInstance());
+        installBuiltin(SLWorkerBuiltinFactory.getInstance());
+        installBuiltin(SLParentBuiltinFactory.getInstance());
+        installBuiltin(SLSendBuiltinFactory.getInstance());
+        installBuiltin(SLReceiveBuiltinFactory.getInstance());
+        installBuiltin(SLFreezeBuiltinFactory.getInstance());
+        installBuiltin(SLAtomicAddBuiltinFactory.getInstance());
+        installBuiltin(SLCompareAndSetBuiltinFactory.getInstance());
+        installBuiltin(SLGetAndSetBuiltinFactory.getInstance());
     }
 
     public void installBuiltin(NodeFactory<? extends SLBuiltinNode> factory) {
@@ -184,6 +263,140 @@ public final class SLContext {
         getFunctionRegistry().register(rootName, target);
     }
 
+    /*
+     * Methods for multi-threaded execution.
+     */
+
+    /**
+     * Calls the function with the arguments on a thread of the pool. The function and the
+     * arguments are {@link SLSharing shared} first, because they are published to the thread.
+     */
+    @TruffleBoundary
+    public SLTask spawn(Node node, SLFunction function, Object[] arguments) {
+        SLSharing.share(function);
+        SLSharing.shareAll(arguments);
+        SLTask task = new SLTask(function, arguments);
+        execute(node, task);
+        return task;
+    }
+
+    /**
+     * Runs the task on a thread of the pool. The caller must share all values that the task uses.
+     */
+    @TruffleBoundary
+    public void execute(Node node, Runnable task) {
+        try {
+            getThreadPool(node).execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new SLException("Cannot spawn a function while the context is closing.", node);
+        }
+    }
+
+    /**
+     * Returns whether functions can run on the thread pool, i.e., whether the context allows the
+     * creation of threads.
+     */
+    public boolean isThreadPoolAvailable() {
+        return env.isCreateThreadAllowed();
+    }
+
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    private synchronized ExecutorService getThreadPool(Node node) {
+        if (threadPool == null) {
+            if (!env.isCreateThreadAllowed()) {
+                throw new SLException("Creating threads is not allowed in this context.", node);
+            }
+            threadPool = Executors.newFixedThreadPool(threadPoolSize, this::createThread);
+        }
+        return threadPool;
+    }
+
+    private Thread createThread(Runnable runnable) {
+        Thread thread = env.createThread(runnable);
+        synchronized (this) {
+            threads.add(thread);
+        }
+        return thread;
+    }
+
+    /**
+     * Waits until all spawned functions returned and all threads of the pool terminated. Truffle
+     * requires that all threads that a language created are finished when the context is closed.
+     */
+    public void shutdownThreads() {
+        ExecutorService pool;
+        synchronized (this) {
+            pool = threadPool;
+        }
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                /* Spawned functions are still running. */
+            }
+            List<Thread> terminated;
+            synchronized (this) {
+                terminated = new ArrayList<>(threads);
+            }
+            for (Thread thread : terminated) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a worker that evaluates the code in a new inner context on a new thread, and returns
+     * the end of the channel to the worker.
+     */
+    @TruffleBoundary
+    public SLChannel startWorker(Node node, String code) {
+        if (!env.isCreateThreadAllowed()) {
+            throw new SLException("Creating threads is not allowed in this context.", node);
+        }
+        SLChannel channel = SLChannel.create();
+        Source source = Source.newBuilder(SLLanguage.ID, code, "worker").build();
+        SLWorker newWorker = new SLWorker(source, channel.getPeer());
+        TruffleContext workerContext = env.newContextBuilder().config(SLWorker.CONFIG_KEY, newWorker).build();
+        newWorker.start(env.createThread(newWorker, workerContext));
+        return channel;
+    }
+
+    /**
+     * Returns the end of the channel to the parent context, or {@link SLNull#SINGLETON} if this
+     * context is not the context of a worker.
+     */
+    public Object getParentChannel() {
+        return worker != null ? worker.getChannel() : SLNull.SINGLETON;
+    }
+
+    /**
+     * Stops the worker that runs in this context, if it is still running. Worker contexts are
+     * closed together with their parent context.
+     */
+    public void shutdownWorker() {
+        if (worker != null) {
+            worker.cancel(env);
+        }
+    }
+
+    /**
+     * Shares the values of all globals. This is called when a second thread starts to use the
+     * context: the values were written while the context was single-threaded, so they were not
+     * shared by the writes.
+     */
+    public void shareGlobals() {
+        for (SLGlobal global : globalRegistry.getGlobals()) {
+            SLSharing.share(global.getValue());
+        }
+    }
+
     /*
      * Methods for object creation / object property access.
      */
@@ -195,8 +408,10 @@ public final class SLContext {
      * Methods for language interoperability.
      */
     public static Object fromForeignValue(Object a) {
-        if (a instanceof Long || a instanceof SLBigNumber || a instanceof String || a instanceof Boolean) {
+        if (a instanceof Long || a instanceof Double || a instanceof SLBigNumber || a instanceof String || a instanceof Boolean) {
             return a;
+        } else if (a instanceof Float) {
+            return (double) (float) a;
         } else if (a instanceof Character) {
             return fromForeignCharacter((Character) a);
         } else if (a instanceof Number) {
@@ -223,6 +438,22 @@ public final class SLContext {
         return env.parsePublic(source);
     }
 
+    /**
+     * Returns the cache of the uncached {@link com.oracle.truffle.sl.builtins.SLEvalBuiltin eval}
+     * specialization, see {@link SLLanguage#EvalCacheSize}.
+     */
+    public SLLruCache<List<String>, CallTarget> getEvalCache() {
+        return evalCache;
+    }
+
+    /**
+     * Returns the persistent cache of parsed source files, see {@link SLLanguage#CodeCache}, or
+     * {@code null} if it is not enabled.
+     */
+    public SLCodeCache getCodeCache() {
+        return codeCache;
+    }
+
     /**
      * Returns an object that contains bindings that were exported across all used languages. To
      * read or write from this object the {@link TruffleObject interop} API can be used.
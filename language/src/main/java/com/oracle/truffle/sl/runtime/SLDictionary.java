@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The property storage of an {@link SLObject} in dictionary mode. Objects that are used as hash
+ * maps, i.e., with many dynamically computed keys or with keys that are frequently removed, would
+ * otherwise create a new {@link com.oracle.truffle.api.object.Shape shape} for every key. Instead,
+ * such objects migrate their properties into this open-addressing hash table.
+ * <p>
+ * The table is split into a sparse {@link #index} of entry positions, probed linearly, and dense
+ * {@link #keys} and {@link #values} arrays that keep the entries in insertion order. This keeps the
+ * iteration order of the members the same as for objects that are not in dictionary mode. Removed
+ * entries leave a hole in the dense arrays that is only reclaimed when the table is rebuilt.
+ */
+public final class SLDictionary {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Marks an {@link #index} slot that was never used. Probing stops at such a slot. */
+    private static final int EMPTY = -1;
+    /** Marks an {@link #index} slot whose entry was removed. Probing continues after it. */
+    private static final int REMOVED = -2;
+
+    /** Entry positions, twice as long as the entry arrays so that probe sequences stay short. */
+    private int[] index;
+    private Object[] keys;
+    private Object[] values;
+
+    /** Number of used entry positions, including removed entries. */
+    private int used;
+    /** Number of live entries. */
+    private int size;
+
+    public SLDictionary() {
+        this(INITIAL_CAPACITY);
+    }
+
+    SLDictionary(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        index = new int[capacity * 2];
+        Arrays.fill(index, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        used = 0;
+        size = 0;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the {@link #index} slot of the given key, or {@link #EMPTY} if the key is not
+     * present.
+     */
+    private int findSlot(Object key) {
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == EMPTY) {
+                return EMPTY;
+            } else if (entry != REMOVED && keys[entry].equals(key)) {
+                return slot;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @TruffleBoundary
+    public boolean containsKey(Object key) {
+        return findSlot(key) != EMPTY;
+    }
+
+    /**
+     * Returns the value for the given key, or {@code null} if the key is not present.
+     */
+    @TruffleBoundary
+    public Object get(Object key) {
+        int slot = findSlot(key);
+        if (slot == EMPTY) {
+            return null;
+        }
+        return values[index[slot]];
+    }
+
+    @TruffleBoundary
+    public void put(Object key, Object value) {
+        assert key != null && value != null;
+        int slot = findSlot(key);
+        if (slot != EMPTY) {
+            values[index[slot]] = value;
+            return;
+        }
+        if (used == keys.length) {
+            rehash(size + 1);
+        }
+        int entry = used++;
+        keys[entry] = key;
+        values[entry] = value;
+        size++;
+
+        int mask = index.length - 1;
+        slot = hash(key) & mask;
+        while (index[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry;
+    }
+
+    /**
+     * Removes the given key. Returns {@code false} if the key was not present.
+     */
+    @TruffleBoundary
+    public boolean remove(Object key) {
+        int slot = findSlot(key);
+        if (slot == EMPTY) {
+            return false;
+        }
+        int entry = index[slot];
+        index[slot] = REMOVED;
+        keys[entry] = null;
+        values[entry] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the keys in insertion order.
+     */
+    @TruffleBoundary
+    public Object[] getKeys() {
+        Object[] result = new Object[size];
+        int j = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[j++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the table with a capacity for at least {@code newSize} entries. This compacts the
+     * holes left by removed entries, so a table with a lot of key churn does not grow unboundedly.
+     */
+    private void rehash(int newSize) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsed = used;
+        allocate(capacityFor(newSize));
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
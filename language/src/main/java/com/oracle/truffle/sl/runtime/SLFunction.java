@@ -63,6 +63,8 @@ import com.oracle.truffle.api.utilities.CyclicAssumption;
 import com.oracle.truffle.api.utilities.TriState;
 import com.oracle.truffle.sl.SLLanguage;
 import com.oracle.truffle.sl.nodes.SLUndefinedFunctionRootNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallDispatchNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
 
 /**
  * Represents a SL function. On the Truffle level, a callable element is represented by a
@@ -80,6 +82,12 @@ import com.oracle.truffle.sl.nodes.SLUndefinedFunctionRootNode;
  * per name exists, the {@link SLFunctionRegistry} creates an instance also when performing name
  * lookup. A function that has been looked up, i.e., used, but not defined, has a call target that
  * encapsulates a {@link SLUndefinedFunctionRootNode}.
+ * <p>
+ * The function of a lambda expression is not registered, and is never redefined. Every evaluation
+ * of the lambda expression creates a {@link #createClosure closure}: a function with the same call
+ * target and an {@link #getEnvironment() environment} holding the values of the captured local
+ * variables. The environment is passed to the call target as an additional first argument, see
+ * {@link #createArguments(Object[])}.
  */
 @ExportLibrary(InteropLibrary.class)
 @SuppressWarnings("static-method")
@@ -92,8 +100,11 @@ public final class SLFunction implements TruffleObject {
     /** The name of the function. */
     private final String name;
 
-    /** The current implementation of this function. */
-    private RootCallTarget callTarget;
+    /**
+     * The current implementation of this function. The field is volatile so that a redefinition
+     * by one thread is seen by the calls of all other threads.
+     */
+    private volatile RootCallTarget callTarget;
 
     /**
      * Manages the assumption that the {@link #callTarget} is stable. We use the utility class
@@ -102,6 +113,9 @@ public final class SLFunction implements TruffleObject {
      */
     private final CyclicAssumption callTargetStable;
 
+    /** The captured values of a closure, or {@code null} for all other functions. */
+    private final Object[] environment;
+
     protected SLFunction(SLLanguage language, String name) {
         this(language.getOrCreateUndefinedFunction(name));
     }
@@ -109,26 +123,90 @@ public final class SLFunction implements TruffleObject {
     protected SLFunction(RootCallTarget callTarget) {
         this.name = callTarget.getRootNode().getName();
         this.callTargetStable = new CyclicAssumption(name);
+        this.environment = null;
         setCallTarget(callTarget);
     }
 
+    private SLFunction(SLFunction lambda, Object[] environment) {
+        this.name = lambda.name;
+        this.callTarget = lambda.callTarget;
+        this.callTargetStable = lambda.callTargetStable;
+        this.environment = environment;
+    }
+
+    /**
+     * Creates the function of a lambda expression, whose closures are then created with
+     * {@link #createClosure(Object[])}.
+     */
+    public static SLFunction createLambda(RootCallTarget callTarget) {
+        return new SLFunction(callTarget);
+    }
+
+    /**
+     * Creates a closure of this lambda function. The closure shares the call target and the
+     * assumption of this function, so call sites that cache the call target treat all closures of
+     * a lambda expression as the same function. The closure is a plain allocation: if it does not
+     * escape the compilation unit, the compiler can replace it and its environment by the
+     * captured values.
+     */
+    public SLFunction createClosure(Object[] closureEnvironment) {
+        assert environment == null && closureEnvironment != null;
+        return new SLFunction(this, closureEnvironment);
+    }
+
+    public Object[] getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Returns the arguments that are passed to the call target when the function is called with
+     * the given arguments: for a closure, the {@link #getEnvironment() environment} is passed
+     * before the arguments.
+     */
+    public Object[] createArguments(Object[] arguments) {
+        if (environment == null) {
+            return arguments;
+        }
+        Object[] result = new Object[arguments.length + 1];
+        result[0] = environment;
+        System.arraycopy(arguments, 0, result, 1, arguments.length);
+        return result;
+    }
+
     public String getName() {
         return name;
     }
 
-    protected void setCallTarget(RootCallTarget callTarget) {
-        boolean wasNull = this.callTarget == null;
+    /**
+     * Installs a new call target. Concurrent redefinitions of the same function are serialized.
+     * The new call target is stored before the assumption is invalidated, so code that is
+     * invalidated always sees the new call target.
+     */
+    protected synchronized void setCallTarget(RootCallTarget callTarget) {
+        RootCallTarget oldTarget = this.callTarget;
+        if (oldTarget == callTarget) {
+            return;
+        }
         this.callTarget = callTarget;
         /*
          * We have a new call target. Invalidate all code that speculated that the old call target
          * was stable.
          */
         LOG.log(Level.FINE, "Installed call target for: {0}", name);
-        if (!wasNull) {
+        if (oldTarget != null) {
             callTargetStable.invalidate();
         }
     }
 
+    /**
+     * Installs a new call target if the current one is the expected one.
+     */
+    synchronized void replaceCallTarget(RootCallTarget expected, RootCallTarget newTarget) {
+        if (callTarget == expected) {
+            setCallTarget(newTarget);
+        }
+    }
+
     public RootCallTarget getCallTarget() {
         return callTarget;
     }
@@ -273,6 +351,8 @@ public final class SLFunction implements TruffleObject {
          * @param cachedTarget The call target we aim to invoke
          * @param callNode the {@link DirectCallNode} specifically created for the
          *            {@link CallTarget} in cachedFunction.
+         * @param tailCallNode the trampoline for a {@link SLTailCallException tail call} that the
+         *            callee ends with.
          */
         @Specialization(limit = "INLINE_CACHE_SIZE", //
                         guards = "function.getCallTarget() == cachedTarget", //
@@ -281,11 +361,16 @@ public final class SLFunction implements TruffleObject {
         protected static Object doDirect(SLFunction function, Object[] arguments,
                         @Cached("function.getCallTargetStable()") Assumption callTargetStable,
                         @Cached("function.getCallTarget()") RootCallTarget cachedTarget,
-                        @Cached("create(cachedTarget)") DirectCallNode callNode) {
+                        @Cached("create(cachedTarget)") DirectCallNode callNode,
+                        @Cached SLTailCallDispatchNode tailCallNode) {
 
             /* Inline cache hit, we are safe to execute the cached call target. */
-            Object returnValue = callNode.call(arguments);
-            return returnValue;
+            try {
+                return callNode.call(function.createArguments(arguments));
+            } catch (SLTailCallException ex) {
+                /* The callee ended with a call in tail position, which is performed here. */
+                return tailCallNode.executeTailCall(ex);
+            }
         }
 
         /**
@@ -295,12 +380,17 @@ public final class SLFunction implements TruffleObject {
          */
         @Specialization(replaces = "doDirect")
         protected static Object doIndirect(SLFunction function, Object[] arguments,
-                        @Cached IndirectCallNode callNode) {
+                        @Cached IndirectCallNode callNode,
+                        @Cached SLTailCallDispatchNode tailCallNode) {
             /*
              * SL has a quite simple call lookup: just ask the function for the current call target,
              * and call it.
              */
-            return callNode.call(function.getCallTarget(), arguments);
+            try {
+                return callNode.call(function.getCallTarget(), function.createArguments(arguments));
+            } catch (SLTailCallException ex) {
+                return tailCallNode.executeTailCall(ex);
+            }
         }
     }
 
@@ -46,22 +46,30 @@ import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.sl.SLLanguage;
-import com.oracle.truffle.sl.parser.SimpleLanguageParser;
+import com.oracle.truffle.sl.nodes.expression.SLFunctionLiteralNode;
 
 /**
  * Manages the mapping from function names to {@link SLFunction function objects}.
+ * <p>
+ * The registry can be used by several threads at the same time. The functions are kept in a
+ * concurrent map, so looking up a function never blocks. There is only one {@link SLFunction} per
+ * name: if several threads create the function for a name at the same time, all of them use the
+ * instance that was published first. Nodes can therefore cache the function of a name, see
+ * {@link SLFunctionLiteralNode}. Redefining a function replaces its call target, see
+ * {@link SLFunction#setCallTarget}.
  */
 public final class SLFunctionRegistry {
 
     private final SLLanguage language;
     private final FunctionsObject functionsObject = new FunctionsObject();
-    private final Map<Map<String, RootCallTarget>, Void> registeredFunctions = new IdentityHashMap<>();
+    private final Set<Map<String, RootCallTarget>> registeredFunctions = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
 
     public SLFunctionRegistry(SLLanguage language) {
         this.language = language;
@@ -75,12 +83,20 @@ public final class SLFunctionRegistry {
     public SLFunction lookup(String name, boolean createIfNotPresent) {
         SLFunction result = functionsObject.functions.get(name);
         if (result == null && createIfNotPresent) {
-            result = new SLFunction(language, name);
-            functionsObject.functions.put(name, result);
+            result = publish(name, new SLFunction(language, name));
         }
         return result;
     }
 
+    /**
+     * Adds the given function to the registry, unless another thread added a function with the
+     * same name in the meantime. Returns the function that is in the registry.
+     */
+    private SLFunction publish(String name, SLFunction function) {
+        SLFunction other = functionsObject.functions.putIfAbsent(name, function);
+        return other == null ? function : other;
+    }
+
     /**
      * Associates the {@link SLFunction} with the given name with the given implementation root
      * node. If the function did not exist before, it defines the function. If the function existed
@@ -89,11 +105,13 @@ public final class SLFunctionRegistry {
     SLFunction register(String name, RootCallTarget callTarget) {
         SLFunction result = functionsObject.functions.get(name);
         if (result == null) {
-            result = new SLFunction(callTarget);
-            functionsObject.functions.put(name, result);
-        } else {
-            result.setCallTarget(callTarget);
+            SLFunction function = new SLFunction(callTarget);
+            result = publish(name, function);
+            if (result == function) {
+                return result;
+            }
         }
+        result.setCallTarget(callTarget);
         return result;
     }
 
@@ -104,17 +122,29 @@ public final class SLFunctionRegistry {
      */
     @TruffleBoundary
     public void register(Map<String, RootCallTarget> newFunctions) {
-        if (registeredFunctions.containsKey(newFunctions)) {
+        if (registeredFunctions.contains(newFunctions)) {
             return;
         }
         for (Map.Entry<String, RootCallTarget> entry : newFunctions.entrySet()) {
             register(entry.getKey(), entry.getValue());
         }
-        registeredFunctions.put(newFunctions, null);
+        registeredFunctions.add(newFunctions);
+    }
+
+    /**
+     * Replaces the call target of a function that was parsed lazily by the call target of the
+     * parsed function, unless the function was redefined in the meantime.
+     */
+    @TruffleBoundary
+    public void replaceLazyFunction(String name, RootCallTarget lazyTarget, RootCallTarget callTarget) {
+        SLFunction function = functionsObject.functions.get(name);
+        if (function != null) {
+            function.replaceCallTarget(lazyTarget, callTarget);
+        }
     }
 
     public void register(Source newFunctions) {
-        register(SimpleLanguageParser.parseSL(language, newFunctions));
+        register(language.parseFunctions(newFunctions));
     }
 
     public SLFunction getFunction(String name) {
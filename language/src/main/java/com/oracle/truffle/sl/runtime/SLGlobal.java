@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+
+/**
+ * A global variable, declared with {@code global name;} at the top level of a source. Global
+ * variables are initially {@link SLNull null}, and exist once per {@link SLContext}.
+ * <p>
+ * Like {@link SLFunction functions}, globals are usually written rarely, e.g., only once to store
+ * the configuration of a program. Reads therefore speculate that the value of a global is
+ * constant, using the assumption returned by {@link #getValueStable()}. Every write invalidates the
+ * assumption, so a global that is written often would cause repeated deoptimization and
+ * recompilation of its readers. After {@link #CONSTANT_WRITE_LIMIT} writes, the global is no longer
+ * treated as a constant and writes stop invalidating the assumption.
+ * <p>
+ * The value is volatile, so a value written by one thread is safely published to all other threads
+ * of the context. The writer must {@link SLSharing share} the value first. While the global is
+ * constant, writes are serialized: a write invalidates the assumption before it publishes the
+ * value, and creates the assumption for the new value afterwards. A reader that gets a valid
+ * assumption and then reads the value therefore never sees an older value. The last constant write
+ * does not create a new assumption, so no reader keeps speculating on a value that later writes
+ * change without invalidation.
+ */
+public final class SLGlobal {
+
+    /** Number of writes after which the value is no longer treated as a constant. */
+    static final int CONSTANT_WRITE_LIMIT = 8;
+
+    /** The name of the global. */
+    private final String name;
+
+    /** The current value of the global. */
+    private volatile Object value = SLNull.SINGLETON;
+
+    /** The assumption that the {@link #value} is stable. Replaced on every constant write. */
+    private volatile Assumption valueStable;
+
+    private volatile boolean constant = true;
+    private int writes;
+
+    SLGlobal(String name) {
+        this.name = name;
+        this.valueStable = Truffle.getRuntime().createAssumption(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        if (constant) {
+            setConstantValue(value);
+        } else {
+            this.value = value;
+        }
+    }
+
+    @TruffleBoundary
+    private synchronized void setConstantValue(Object newValue) {
+        if (!constant) {
+            /* Another thread did the last constant write. */
+            this.value = newValue;
+            return;
+        }
+        valueStable.invalidate();
+        this.value = newValue;
+        if (++writes >= CONSTANT_WRITE_LIMIT) {
+            /* Keep the invalid assumption, later writes do not invalidate. */
+            constant = false;
+        } else {
+            valueStable = Truffle.getRuntime().createAssumption(name);
+        }
+    }
+
+    /**
+     * Returns whether readers can still speculate on the {@link #getValueStable() value stable}
+     * assumption.
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    public Assumption getValueStable() {
+        return valueStable;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
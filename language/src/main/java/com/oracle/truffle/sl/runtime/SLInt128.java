@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * A 128-bit two's complement integer, represented by two {@code long} values. This is the
+ * intermediate number representation between {@code long} and {@link SLBigNumber}: numbers that
+ * overflow {@code long} but fit into 128 bits are computed inline, with explicit overflow checks,
+ * instead of calling the {@link BigInteger} arithmetic behind a {@link TruffleBoundary}. In
+ * compiled code, escape analysis can often remove the allocation of intermediate values entirely.
+ * <p>
+ * The arithmetic methods throw an {@link ArithmeticException} if the result does not fit into 128
+ * bits, which the arithmetic nodes use to rewrite to the {@link SLBigNumber} specializations.
+ * <p>
+ * Every SL number has exactly one representation: a {@code long} if it fits, otherwise a
+ * {@link SLInt128} if it fits, otherwise a {@link SLBigNumber}. Use {@link #normalize} to create
+ * results, so that values shrink back to {@code long} and the fast paths apply again.
+ */
+@ExportLibrary(InteropLibrary.class)
+@SuppressWarnings("static-method")
+public final class SLInt128 implements TruffleObject, Comparable<SLInt128> {
+
+    private static final long LONG_MAX_SAFE_DOUBLE = 9007199254740991L; // 2 ** 53 - 1
+    private static final int INT_MAX_SAFE_FLOAT = 16777215; // 2 ** 24 - 1
+
+    private final long high;
+    private final long low;
+
+    private SLInt128(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static SLInt128 valueOf(long value) {
+        return new SLInt128(value >> 63, value);
+    }
+
+    /**
+     * Returns the 128-bit value {@code (high << 64) + unsigned(low)} as a {@code long} if it fits,
+     * otherwise as a {@link SLInt128}.
+     */
+    public static Object normalize(long high, long low) {
+        if (high == (low >> 63)) {
+            return low;
+        }
+        return new SLInt128(high, low);
+    }
+
+    /**
+     * Converts a {@link BigInteger} with less than 128 bits.
+     */
+    @TruffleBoundary
+    static SLInt128 fromBigInteger(BigInteger value) {
+        assert value.bitLength() < 128;
+        return new SLInt128(value.shiftRight(64).longValue(), value.longValue());
+    }
+
+    public boolean fitsLong() {
+        return high == (low >> 63);
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    private boolean isNegative() {
+        return high < 0;
+    }
+
+    /** The full 128-bit sum of two {@code long} values, which can never overflow. */
+    public static Object add(long left, long right) {
+        long resultLow = left + right;
+        long carry = Long.compareUnsigned(resultLow, left) < 0 ? 1 : 0;
+        return normalize((left >> 63) + (right >> 63) + carry, resultLow);
+    }
+
+    /** The full 128-bit difference of two {@code long} values, which can never overflow. */
+    public static Object sub(long left, long right) {
+        long resultLow = left - right;
+        long borrow = Long.compareUnsigned(left, right) < 0 ? 1 : 0;
+        return normalize((left >> 63) - (right >> 63) - borrow, resultLow);
+    }
+
+    /** The full 128-bit product of two {@code long} values, which can never overflow. */
+    public static Object mul(long left, long right) {
+        return normalize(Math.multiplyHigh(left, right), left * right);
+    }
+
+    public static Object add(SLInt128 left, SLInt128 right) throws ArithmeticException {
+        long resultLow = left.low + right.low;
+        long carry = Long.compareUnsigned(resultLow, left.low) < 0 ? 1 : 0;
+        return normalize(Math.addExact(Math.addExact(left.high, right.high), carry), resultLow);
+    }
+
+    public static Object sub(SLInt128 left, SLInt128 right) throws ArithmeticException {
+        long resultLow = left.low - right.low;
+        long borrow = Long.compareUnsigned(left.low, right.low) < 0 ? 1 : 0;
+        return normalize(Math.subtractExact(Math.subtractExact(left.high, right.high), borrow), resultLow);
+    }
+
+    /**
+     * Multiplies the magnitudes and applies the sign afterwards. The product fits into 128 bits
+     * only if at least one of the magnitudes fits into 64 unsigned bits.
+     */
+    public static Object mul(SLInt128 left, SLInt128 right) throws ArithmeticException {
+        boolean negative = left.isNegative() != right.isNegative();
+        SLInt128 a = left.abs();
+        SLInt128 b = right.abs();
+        if (a.high != 0 && b.high != 0) {
+            throw new ArithmeticException("int128 overflow");
+        }
+        long productHigh = unsignedMultiplyHigh(a.low, b.low);
+        long productLow = a.low * b.low;
+        /* At most one of the cross products is non-zero. */
+        long crossFactor = a.high != 0 ? a.high : b.high;
+        long crossOther = a.high != 0 ? b.low : a.low;
+        long crossLow = crossFactor * crossOther;
+        if (crossFactor != 0 && (unsignedMultiplyHigh(crossFactor, crossOther) != 0 || crossLow < 0)) {
+            throw new ArithmeticException("int128 overflow");
+        }
+        if (productHigh < 0) {
+            throw new ArithmeticException("int128 overflow");
+        }
+        productHigh = Math.addExact(productHigh, crossLow);
+        if (negative) {
+            return negate(productHigh, productLow);
+        }
+        return normalize(productHigh, productLow);
+    }
+
+    private static Object negate(long high, long low) {
+        return normalize(~high + (low == 0 ? 1 : 0), -low);
+    }
+
+    private SLInt128 abs() throws ArithmeticException {
+        if (!isNegative()) {
+            return this;
+        } else if (high == Long.MIN_VALUE && low == 0) {
+            throw new ArithmeticException("int128 overflow");
+        }
+        return new SLInt128(~high + (low == 0 ? 1 : 0), -low);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    @Override
+    public int compareTo(SLInt128 o) {
+        if (high != o.high) {
+            return Long.compare(high, o.high);
+        }
+        return Long.compareUnsigned(low, o.low);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SLInt128) {
+            SLInt128 other = (SLInt128) obj;
+            return high == other.high && low == other.low;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    @TruffleBoundary
+    public BigInteger toBigInteger() {
+        return BigInteger.valueOf(high).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(low)));
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return toBigInteger().toString();
+    }
+
+    @ExportMessage
+    boolean isNumber() {
+        return fitsInLong();
+    }
+
+    @ExportMessage
+    boolean fitsInByte() {
+        return fitsLong() && (byte) low == low;
+    }
+
+    @ExportMessage
+    boolean fitsInShort() {
+        return fitsLong() && (short) low == low;
+    }
+
+    @ExportMessage
+    boolean fitsInInt() {
+        return fitsLong() && (int) low == low;
+    }
+
+    @ExportMessage
+    boolean fitsInLong() {
+        return fitsLong();
+    }
+
+    @ExportMessage
+    boolean fitsInFloat() {
+        return fitsLong() && low >= -INT_MAX_SAFE_FLOAT && low <= INT_MAX_SAFE_FLOAT;
+    }
+
+    @ExportMessage
+    boolean fitsInDouble() {
+        return fitsLong() && low >= -LONG_MAX_SAFE_DOUBLE && low <= LONG_MAX_SAFE_DOUBLE;
+    }
+
+    @ExportMessage
+    byte asByte() throws UnsupportedMessageException {
+        if (fitsInByte()) {
+            return (byte) low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    short asShort() throws UnsupportedMessageException {
+        if (fitsInShort()) {
+            return (short) low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    int asInt() throws UnsupportedMessageException {
+        if (fitsInInt()) {
+            return (int) low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    long asLong() throws UnsupportedMessageException {
+        if (fitsInLong()) {
+            return low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    float asFloat() throws UnsupportedMessageException {
+        if (fitsInFloat()) {
+            return low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    double asDouble() throws UnsupportedMessageException {
+        if (fitsInDouble()) {
+            return low;
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    boolean hasLanguage() {
+        return true;
+    }
+
+    @ExportMessage
+    Class<? extends TruffleLanguage<?>> getLanguage() {
+        return SLLanguage.class;
+    }
+
+    @ExportMessage
+    boolean hasMetaObject() {
+        return true;
+    }
+
+    @ExportMessage
+    Object getMetaObject() {
+        return SLType.NUMBER;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+        return toString();
+    }
+}
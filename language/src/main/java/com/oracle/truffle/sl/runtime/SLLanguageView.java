@@ -133,7 +133,10 @@ public final class SLLanguageView implements TruffleObject {
                      * this if-else cascade should fold after partial evaluation.
                      */
                     if (type == SLType.NUMBER) {
-                        return longToString(interop.asLong(delegate));
+                        if (interop.fitsInLong(delegate) && !isFloatingPoint(delegate)) {
+                            return longToString(interop.asLong(delegate));
+                        }
+                        return doubleToString(interop.asDouble(delegate));
                     } else if (type == SLType.BOOLEAN) {
                         return Boolean.toString(interop.asBoolean(delegate));
                     } else if (type == SLType.STRING) {
@@ -159,6 +162,19 @@ public final class SLLanguageView implements TruffleObject {
         return Long.toString(l);
     }
 
+    @TruffleBoundary
+    private static String doubleToString(double d) {
+        return Double.toString(d);
+    }
+
+    /*
+     * Floating point numbers are displayed as such even if they have an integral value, i.e., 2.0
+     * and not 2.
+     */
+    private static boolean isFloatingPoint(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
     public static Object create(Object value) {
         assert isPrimitiveOrFromOtherLanguage(value);
         return new SLLanguageView(value);
@@ -40,6 +40,9 @@
  */
 package com.oracle.truffle.sl.runtime;
 
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -73,19 +76,202 @@ import com.oracle.truffle.sl.SLLanguage;
  * runtime know that this class specifies the interop messages (i.e. operations) that SL can do on
  * {@link SLObject} instances.
  *
+ * Objects that are used as hash maps, i.e., that get a lot of dynamically computed property names
+ * or whose properties are removed, would create a new {@link Shape} for every property and make
+ * the inline caches of the property accesses megamorphic. Such objects switch to
+ * <em>dictionary mode</em> once they exceed {@link #DICTIONARY_PROPERTY_LIMIT} properties or
+ * {@link #DICTIONARY_REMOVAL_LIMIT} property removals: all properties are moved into an
+ * {@link SLDictionary}, and the object itself is left with a single shared shape. Objects never
+ * leave dictionary mode.
+ * <p>
+ * Objects that are reachable from more than one thread are {@link SLSharing shared}. Shared objects
+ * use a shared shape, and all writes and removals of their properties are synchronized on the
+ * object. Reads of properties in shape mode are not synchronized, but the storage locations of a
+ * shared shape are never reused for other properties. Shared objects do not switch to dictionary
+ * mode anymore, because this would move the properties while other threads read them. Objects
+ * that were in dictionary mode before they were shared synchronize all accesses of their
+ * dictionary.
+ * <p>
+ * Values that are sent to another context are {@link SLTransfer transferred}. Frozen objects are
+ * immutable and shared, so they are passed as they are. All other objects are moved: the receiver
+ * gets a new object with the properties, and the original object is left empty.
+ *
  * @see ExportLibrary
  * @see ExportMessage
  * @see InteropLibrary
  */
 @SuppressWarnings("static-method")
 @ExportLibrary(InteropLibrary.class)
-public final class SLObject extends DynamicObject implements TruffleObject {
+public class SLObject extends DynamicObject implements TruffleObject {
     protected static final int CACHE_LIMIT = 3;
 
+    /** Number of properties after which adding another property switches to dictionary mode. */
+    static final int DICTIONARY_PROPERTY_LIMIT = 64;
+    /** Number of property removals after which the object switches to dictionary mode. */
+    static final int DICTIONARY_REMOVAL_LIMIT = 8;
+    /** Shape flag that marks objects in dictionary mode. */
+    private static final int DICTIONARY_FLAG = 1;
+    /** Shape flag that marks {@link #isFrozen() frozen} objects. */
+    private static final int FROZEN_FLAG = 2;
+    /** Shape flag that marks objects whose properties were {@link #detach moved} away. */
+    private static final int DETACHED_FLAG = 4;
+
+    /** The properties of this object in dictionary mode, or {@code null} in shape mode. */
+    private SLDictionary dictionary;
+    /** Number of properties removed while in shape mode. */
+    private int removedProperties;
+
     public SLObject(Shape shape) {
         super(shape);
     }
 
+    public boolean isDictionary() {
+        return dictionary != null;
+    }
+
+    /**
+     * Returns whether this object is reachable from more than one thread, see {@link SLSharing}.
+     */
+    public boolean isShared() {
+        return getShape().isShared();
+    }
+
+    /**
+     * Returns whether the properties of this object can no longer be written, see
+     * {@link SLTransfer#freeze}. Frozen objects are always shared, so all writes of their properties
+     * go through the synchronized slow paths, which check this flag.
+     */
+    public boolean isFrozen() {
+        return (getShape().getFlags() & FROZEN_FLAG) != 0;
+    }
+
+    /**
+     * Sets the frozen flag. The caller shares the object afterwards, if it is not shared yet.
+     */
+    @TruffleBoundary
+    synchronized void freeze(DynamicObjectLibrary objectLibrary) {
+        objectLibrary.setShapeFlags(this, objectLibrary.getShapeFlags(this) | FROZEN_FLAG);
+    }
+
+    /**
+     * Removes all properties of this object and returns them as alternating keys and values. The
+     * object cannot get new properties afterwards. This is used to {@link SLTransfer#transfer
+     * transfer} objects to another context: the properties are moved to a new object, and the
+     * sender can no longer observe or change them. The object must not be shared.
+     */
+    @TruffleBoundary
+    Object[] detach(DynamicObjectLibrary objectLibrary) {
+        Object[] keys = isDictionary() ? dictionary.getKeys() : objectLibrary.getKeyArray(this);
+        Object[] properties = new Object[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            properties[2 * i] = keys[i];
+            properties[2 * i + 1] = isDictionary() ? dictionary.get(keys[i]) : objectLibrary.getOrDefault(this, keys[i], null);
+        }
+        dictionary = null;
+        removedProperties = 0;
+        objectLibrary.resetShape(this, objectLibrary.getShape(this).getRoot());
+        objectLibrary.setShapeFlags(this, DETACHED_FLAG);
+        return properties;
+    }
+
+    /*
+     * Accessors of the dictionary, which synchronize when the object is shared. The caller must
+     * check that the object is in dictionary mode.
+     */
+
+    public Object getDictionaryValue(Object key) {
+        if (isShared()) {
+            return getDictionaryValueShared(key);
+        }
+        return dictionary.get(key);
+    }
+
+    @TruffleBoundary
+    private synchronized Object getDictionaryValueShared(Object key) {
+        return dictionary.get(key);
+    }
+
+    public void putDictionaryValue(Object key, Object value) {
+        if (isShared()) {
+            putDictionaryValueShared(key, value);
+        } else {
+            dictionary.put(key, value);
+        }
+    }
+
+    @TruffleBoundary
+    private void putDictionaryValueShared(Object key, Object value) {
+        SLSharing.share(value);
+        synchronized (this) {
+            checkNotFrozen();
+            dictionary.put(key, value);
+        }
+    }
+
+    @TruffleBoundary
+    private boolean removeDictionaryValue(Object key) {
+        if (isShared()) {
+            synchronized (this) {
+                checkNotFrozen();
+                return dictionary.remove(key);
+            }
+        }
+        return dictionary.remove(key);
+    }
+
+    @TruffleBoundary
+    private boolean containsDictionaryKey(Object key) {
+        if (isShared()) {
+            synchronized (this) {
+                return dictionary.containsKey(key);
+            }
+        }
+        return dictionary.containsKey(key);
+    }
+
+    @TruffleBoundary
+    private Object[] getDictionaryKeys() {
+        if (isShared()) {
+            synchronized (this) {
+                return dictionary.getKeys();
+            }
+        }
+        return dictionary.getKeys();
+    }
+
+    /**
+     * Passes the values of all properties to the consumer. This is used to {@link SLSharing share}
+     * everything that is reachable from this object.
+     */
+    @TruffleBoundary
+    void forEachValue(DynamicObjectLibrary objectLibrary, Consumer<Object> consumer) {
+        Object[] keys = isDictionary() ? getDictionaryKeys() : objectLibrary.getKeyArray(this);
+        for (Object key : keys) {
+            Object value = isDictionary() ? getDictionaryValue(key) : objectLibrary.getOrDefault(this, key, null);
+            if (value != null) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Moves all properties into a new {@link SLDictionary} and resets the shape of this object. All
+     * objects in dictionary mode share the same shape, so the inline caches that see them stay
+     * monomorphic. This is a rare transition, so it is always done behind a boundary.
+     */
+    @TruffleBoundary
+    private void toDictionary() {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        Object[] keys = objectLibrary.getKeyArray(this);
+        SLDictionary newDictionary = new SLDictionary(keys.length + 1);
+        for (Object key : keys) {
+            newDictionary.put(key, objectLibrary.getOrDefault(this, key, null));
+        }
+        objectLibrary.resetShape(this, objectLibrary.getShape(this).getRoot());
+        objectLibrary.setShapeFlags(this, DICTIONARY_FLAG);
+        this.dictionary = newDictionary;
+    }
+
     @ExportMessage
     boolean hasLanguage() {
         return true;
@@ -140,31 +326,62 @@ public final class SLObject extends DynamicObject implements TruffleObject {
     @ExportMessage
     void removeMember(String member,
                     @CachedLibrary("this") DynamicObjectLibrary objectLibrary) throws UnknownIdentifierException {
-        if (objectLibrary.containsKey(this, member)) {
-            objectLibrary.removeKey(this, member);
+        if (isDictionary()) {
+            if (!removeDictionaryValue(member)) {
+                throw UnknownIdentifierException.create(member);
+            }
+        } else if (objectLibrary.isShared(this)) {
+            if (!removeShared(member)) {
+                throw UnknownIdentifierException.create(member);
+            }
+        } else if (objectLibrary.containsKey(this, member)) {
+            if (++removedProperties >= DICTIONARY_REMOVAL_LIMIT) {
+                toDictionary();
+                dictionary.remove(member);
+            } else {
+                objectLibrary.removeKey(this, member);
+            }
         } else {
             throw UnknownIdentifierException.create(member);
         }
     }
 
+    @TruffleBoundary
+    private synchronized boolean removeShared(String member) {
+        checkNotFrozen();
+        return DynamicObjectLibrary.getUncached().removeKey(this, member);
+    }
+
     @ExportMessage
     Object getMembers(@SuppressWarnings("unused") boolean includeInternal,
                     @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
+        if (isDictionary()) {
+            return new Keys(getDictionaryKeys());
+        }
         return new Keys(objectLibrary.getKeyArray(this));
     }
 
-    @ExportMessage(name = "isMemberReadable")
     @ExportMessage(name = "isMemberModifiable")
     @ExportMessage(name = "isMemberRemovable")
+    boolean isMemberWritable(String member,
+                    @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
+        return (objectLibrary.getShapeFlags(this) & FROZEN_FLAG) == 0 && existsMember(member, objectLibrary);
+    }
+
+    @ExportMessage(name = "isMemberReadable")
     boolean existsMember(String member,
                     @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
+        if (isDictionary()) {
+            return containsDictionaryKey(member);
+        }
         return objectLibrary.containsKey(this, member);
     }
 
     @ExportMessage
     boolean isMemberInsertable(String member,
+                    @CachedLibrary("this") DynamicObjectLibrary objectLibrary,
                     @CachedLibrary("this") InteropLibrary receivers) {
-        return !receivers.isMemberExisting(this, member);
+        return (objectLibrary.getShapeFlags(this) & (FROZEN_FLAG | DETACHED_FLAG)) == 0 && !receivers.isMemberExisting(this, member);
     }
 
     @ExportLibrary(InteropLibrary.class)
@@ -206,7 +423,7 @@ public final class SLObject extends DynamicObject implements TruffleObject {
     @ExportMessage
     Object readMember(String name,
                     @CachedLibrary("this") DynamicObjectLibrary objectLibrary) throws UnknownIdentifierException {
-        Object result = objectLibrary.getOrDefault(this, name, null);
+        Object result = readProperty(name, objectLibrary);
         if (result == null) {
             /* Property does not exist. */
             throw UnknownIdentifierException.create(name);
@@ -220,6 +437,100 @@ public final class SLObject extends DynamicObject implements TruffleObject {
     @ExportMessage
     void writeMember(String name, Object value,
                     @CachedLibrary("this") DynamicObjectLibrary objectLibrary) {
-        objectLibrary.put(this, name, value);
+        writeProperty(name, value, objectLibrary);
+    }
+
+    /**
+     * Reads a property in either shape or dictionary mode. This is also used directly by the
+     * {@link com.oracle.truffle.sl.nodes.expression.SLReadConstantPropertyNode property access
+     * nodes} of SL, which do not need to go through the {@link InteropLibrary}.
+     *
+     * @return the value of the property, or {@code null} if this object does not have it
+     */
+    public Object readProperty(String name, DynamicObjectLibrary objectLibrary) {
+        return isDictionary() ? getDictionaryValue(name) : objectLibrary.getOrDefault(this, name, null);
+    }
+
+    /**
+     * Writes a property in either shape or dictionary mode, switching to dictionary mode when the
+     * object gets too many properties. Writes to {@link #isShared() shared} objects are
+     * synchronized.
+     */
+    public void writeProperty(String name, Object value, DynamicObjectLibrary objectLibrary) {
+        if (isDictionary()) {
+            putDictionaryValue(name, value);
+        } else if (objectLibrary.isShared(this)) {
+            writeShared(name, value);
+        } else if (!objectLibrary.putIfPresent(this, name, value)) {
+            if ((objectLibrary.getShapeFlags(this) & DETACHED_FLAG) != 0) {
+                throw SLTransfer.transferredError(null);
+            }
+            if (objectLibrary.getShape(this).getPropertyCount() >= DICTIONARY_PROPERTY_LIMIT) {
+                toDictionary();
+                dictionary.put(name, value);
+            } else {
+                objectLibrary.put(this, name, value);
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the value of an existing property with the result of the function, and
+     * returns the previous value. This is used by the atomic builtins, e.g.,
+     * {@link com.oracle.truffle.sl.builtins.SLAtomicAddBuiltin atomicAdd}. Objects that are not
+     * {@link #isShared() shared} are only reachable from the current thread, so the property is read
+     * and written directly. For shared objects, the read and the write are done under the lock of
+     * the object, which all other writes of its properties also hold. If the function returns the
+     * previous value, the property is not written.
+     *
+     * @return the previous value of the property, or {@code null} if this object does not have it
+     */
+    public Object updateProperty(String name, UnaryOperator<Object> function, DynamicObjectLibrary objectLibrary) {
+        if (objectLibrary.isShared(this)) {
+            return updateShared(name, function);
+        }
+        Object previous = readProperty(name, objectLibrary);
+        if (previous != null) {
+            Object value = function.apply(previous);
+            if (value != previous) {
+                writeProperty(name, value, objectLibrary);
+            }
+        }
+        return previous;
+    }
+
+    @TruffleBoundary
+    private synchronized Object updateShared(String name, UnaryOperator<Object> function) {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        Object previous = readProperty(name, objectLibrary);
+        if (previous != null) {
+            Object value = function.apply(previous);
+            if (value != previous) {
+                /* The lock is reentrant, so the write takes the usual path for shared objects. */
+                writeProperty(name, value, objectLibrary);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Writes a property of a shared object. The value is shared before it is stored, so that other
+     * threads that read it from this object also see its contents. Other threads may write
+     * properties of this object at the same time, so the write, including a possible change of the
+     * shape, is done under the lock of the object.
+     */
+    @TruffleBoundary
+    private void writeShared(String name, Object value) {
+        SLSharing.share(value);
+        synchronized (this) {
+            checkNotFrozen();
+            DynamicObjectLibrary.getUncached().put(this, name, value);
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (isFrozen()) {
+            throw SLTransfer.frozenError(null);
+        }
     }
 }
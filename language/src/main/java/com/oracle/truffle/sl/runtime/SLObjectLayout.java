@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The storage layouts of {@link SLObject SL objects}. An object with the {@link #DEFAULT default}
+ * layout stores all its properties in extension arrays, which are allocated and grown as properties
+ * are added. The other layouts are subclasses of {@link SLObject} with dynamic
+ * fields, so that objects with few properties keep them in the object itself.
+ * <p>
+ * Each layout has its own {@link #createRootShape() root shape}. The layout of a new object is
+ * chosen by its {@link SLAllocationSite allocation site}, based on the properties that earlier
+ * objects from the same site ended up with.
+ */
+public enum SLObjectLayout {
+    DEFAULT(0),
+    INLINE_2(2),
+    INLINE_4(4),
+    INLINE_8(8);
+
+    /** Number of object fields, and also of primitive fields, of this layout. */
+    private final int fieldCount;
+
+    SLObjectLayout(int fieldCount) {
+        this.fieldCount = fieldCount;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public Shape createRootShape() {
+        return Shape.newBuilder().layout(getLayoutClass()).build();
+    }
+
+    private Class<? extends SLObject> getLayoutClass() {
+        switch (this) {
+            case INLINE_2:
+                return Inline2.class;
+            case INLINE_4:
+                return Inline4.class;
+            case INLINE_8:
+                return Inline8.class;
+            default:
+                return SLObject.class;
+        }
+    }
+
+    /**
+     * Allocates an empty object with the given root shape, which must be the root shape of this
+     * layout.
+     */
+    public SLObject newObject(Shape rootShape) {
+        switch (this) {
+            case INLINE_2:
+                return new Inline2(rootShape);
+            case INLINE_4:
+                return new Inline4(rootShape);
+            case INLINE_8:
+                return new Inline8(rootShape);
+            default:
+                return new SLObject(rootShape);
+        }
+    }
+
+    /**
+     * Returns the smallest layout that can store the given number of object and primitive
+     * properties in fields, or {@link #DEFAULT} if there is no such layout.
+     */
+    public static SLObjectLayout forProperties(int objectProperties, int primitiveProperties) {
+        int required = Math.max(objectProperties, primitiveProperties);
+        if (required == 0) {
+            return DEFAULT;
+        }
+        for (SLObjectLayout layout : values()) {
+            if (layout.fieldCount >= required) {
+                return layout;
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the smallest layout that can store the given property values in fields, or
+     * {@link #DEFAULT} if there is no such layout.
+     */
+    public static SLObjectLayout forValues(Object[] values) {
+        int primitives = 0;
+        for (Object value : values) {
+            if (isPrimitive(value)) {
+                primitives++;
+            }
+        }
+        return forProperties(values.length - primitives, primitives);
+    }
+
+    /**
+     * Returns whether a property value is stored in a primitive field.
+     */
+    static boolean isPrimitive(Object value) {
+        return value instanceof Long || value instanceof Double || value instanceof Boolean;
+    }
+
+    static class Inline2 extends SLObject {
+        @DynamicField private Object o0;
+        @DynamicField private Object o1;
+        @DynamicField private long p0;
+        @DynamicField private long p1;
+
+        Inline2(Shape shape) {
+            super(shape);
+        }
+    }
+
+    static class Inline4 extends Inline2 {
+        @DynamicField private Object o2;
+        @DynamicField private Object o3;
+        @DynamicField private long p2;
+        @DynamicField private long p3;
+
+        Inline4(Shape shape) {
+            super(shape);
+        }
+    }
+
+    static final class Inline8 extends Inline4 {
+        @DynamicField private Object o4;
+        @DynamicField private Object o5;
+        @DynamicField private Object o6;
+        @DynamicField private Object o7;
+        @DynamicField private long p4;
+        @DynamicField private long p5;
+        @DynamicField private long p6;
+        @DynamicField private long p7;
+
+        Inline8(Shape shape) {
+            super(shape);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.nodes.SLParallelLoopRootNode;
+
+/**
+ * The state of one {@link com.oracle.truffle.sl.builtins.SLParallelForBuiltin parallelFor} or
+ * {@link com.oracle.truffle.sl.builtins.SLParallelMapBuiltin parallelMap} call. The iterations are
+ * split into chunks that the calling thread and the threads of the pool of the {@link SLContext}
+ * claim from a shared counter until no iterations are left. Threads that finish early simply claim
+ * more chunks, so the work is balanced like in a fork-join pool even if the iterations have
+ * different costs.
+ * <p>
+ * The chunk size adapts to the measured cost of an iteration: every thread measures the time of
+ * its chunks, and the next chunks are sized to take about {@link #TARGET_CHUNK_NANOS}. Cheap
+ * iterations are thus claimed in large chunks, which keeps the contention on the counter low, and
+ * expensive iterations in small chunks. A chunk never takes more than a fraction of the remaining
+ * iterations, so the last chunks can still be balanced between the threads.
+ * <p>
+ * The iterations are run by a {@link SLParallelLoopRootNode}, which calls the function with a
+ * direct call. Each thread executes the same call target, so when it is compiled, the function is
+ * inlined into the loop.
+ */
+public final class SLParallelLoop {
+
+    /** The time that a chunk should take, in nanoseconds. */
+    static final long TARGET_CHUNK_NANOS = 200_000;
+    /** A chunk takes at most this fraction of the remaining iterations per thread. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final SLFunction function;
+    /** The first argument of a {@code parallelFor} loop. */
+    private final long start;
+    /** The elements of a {@code parallelMap}, or {@code null} for a {@code parallelFor}. */
+    private final SLArray input;
+    /** The results of a {@code parallelMap}, or {@code null} for a {@code parallelFor}. */
+    private final Object[] results;
+    private final long count;
+
+    /** The index of the next iteration that is not claimed yet. */
+    private final AtomicLong next = new AtomicLong();
+    private volatile long chunkSize = 1;
+    private int parallelism = 1;
+
+    /** The first exception thrown by any iteration. No more chunks are claimed afterwards. */
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private AtomicBoolean[] started;
+    private CountDownLatch done;
+    private Thread owner;
+
+    private SLParallelLoop(SLFunction function, long start, long count, SLArray input, Object[] results) {
+        this.function = function;
+        this.start = start;
+        this.count = count;
+        this.input = input;
+        this.results = results;
+    }
+
+    /**
+     * Creates a loop that calls the function with each number from {@code lo} (inclusive) to
+     * {@code hi} (exclusive).
+     */
+    public static SLParallelLoop forRange(SLFunction function, long lo, long hi) {
+        return new SLParallelLoop(function, lo, Math.max(0, hi - lo), null, null);
+    }
+
+    /**
+     * Creates a loop that calls the function with each element of the array and collects the
+     * results.
+     */
+    public static SLParallelLoop forArray(SLFunction function, SLArray array) {
+        return new SLParallelLoop(function, 0, array.getSize(), array, new Object[array.getSize()]);
+    }
+
+    /**
+     * Starts the threads of the pool that help with the iterations. If the context does not allow
+     * the creation of threads, the calling thread runs all iterations.
+     */
+    @TruffleBoundary
+    public void start(Node node, CallTarget loopTarget) {
+        owner = Thread.currentThread();
+        SLContext context = SLContext.get(node);
+        int workers = context.isThreadPoolAvailable() ? (int) Math.min(context.getThreadPoolSize(), count - 1) : 0;
+        workers = Math.max(workers, 0);
+        parallelism = workers + 1;
+        started = new AtomicBoolean[workers];
+        done = new CountDownLatch(workers);
+        if (workers == 0) {
+            return;
+        }
+        /* The function and the elements are published to the other threads. */
+        SLSharing.share(function);
+        SLSharing.share(input);
+        for (int i = 0; i < workers; i++) {
+            AtomicBoolean workerStarted = new AtomicBoolean();
+            started[i] = workerStarted;
+            context.execute(node, () -> {
+                if (workerStarted.compareAndSet(false, true)) {
+                    try {
+                        loopTarget.call(this);
+                    } catch (Throwable t) {
+                        fail(t);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits until all threads that started to help finished their chunks. Helpers that did not
+     * start yet are not waited for: all iterations are claimed at this point, so they would have
+     * nothing to do. This also means that a nested parallel loop never waits for a free thread of
+     * the pool. Throws the first exception of any iteration.
+     */
+    @TruffleBoundary
+    public void join(Node node) {
+        for (AtomicBoolean workerStarted : started) {
+            if (workerStarted.compareAndSet(false, true)) {
+                done.countDown();
+            }
+        }
+        TruffleSafepoint.setBlockedThreadInterruptible(node, CountDownLatch::await, done);
+        Throwable t = error.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+    }
+
+    /**
+     * Stops the loop after an exception, so that no more chunks are claimed.
+     */
+    @TruffleBoundary
+    public void fail(Throwable t) {
+        error.compareAndSet(null, t);
+        next.set(count);
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Claims the next chunk of the given size. Returns the index of its first iteration, which is
+     * greater than or equal to {@link #getCount()} when all iterations are claimed.
+     */
+    public long claim(long size) {
+        return next.getAndAdd(size);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Adapts the chunk size to the time that the last chunk of a thread took.
+     */
+    @TruffleBoundary
+    public void recordChunk(long iterations, long nanos) {
+        long nanosPerIteration = Math.max(1, nanos / iterations);
+        long size = Math.max(1, TARGET_CHUNK_NANOS / nanosPerIteration);
+        long remaining = count - next.get();
+        chunkSize = Math.max(1, Math.min(size, remaining / (CHUNKS_PER_THREAD * parallelism)));
+    }
+
+    public Object[] createArguments(long index) {
+        Object argument = input == null ? (Object) (start + index) : input.read((int) index);
+        return function.createArguments(new Object[]{argument});
+    }
+
+    /**
+     * Stores the result of a {@code parallelMap} iteration. Results of other threads are read by
+     * the calling thread, so they are shared.
+     */
+    public void setResult(long index, Object result) {
+        if (results != null) {
+            if (Thread.currentThread() != owner) {
+                SLSharing.share(result);
+            }
+            results[(int) index] = result;
+        }
+    }
+
+    /**
+     * Returns the results of a {@code parallelMap} as a new array. If all results are numbers that
+     * fit into a {@code long}, the array uses the {@code long[]} storage.
+     */
+    @TruffleBoundary
+    public SLArray createResultArray() {
+        long[] longs = new long[results.length];
+        for (int i = 0; i < results.length; i++) {
+            if (!(results[i] instanceof Long)) {
+                return SLArray.create(results);
+            }
+            longs[i] = (long) results[i];
+        }
+        return SLArray.create(longs);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.ArrayDeque;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Tracks which values are reachable from more than one thread. Objects and arrays start out
+ * <em>local</em> to the thread that allocated them, and are accessed without any synchronization.
+ * An object becomes <em>shared</em> when it is published to another thread, i.e., when it is
+ * passed to or returned from a {@link com.oracle.truffle.sl.builtins.SLSpawnBuiltin spawned}
+ * function, stored in a global variable of a multi-threaded context, or stored in another shared
+ * object. Sharing is transitive: everything reachable from a shared value is shared as well.
+ * <p>
+ * A shared {@link SLObject} uses the {@link DynamicObjectLibrary#markShared shared variant} of its
+ * shape, whose storage locations are never reused for other properties, so a concurrent read sees
+ * either the old or the new value of a property. Writes to shared objects are
+ * {@link SLObject#writeProperty synchronized} and share the written value first, i.e., the value
+ * is safely published before it becomes reachable from the object.
+ */
+public final class SLSharing {
+
+    private SLSharing() {
+    }
+
+    /**
+     * Shares the given value and everything that is reachable from it. Primitive values and strings
+     * are immutable and need no sharing.
+     */
+    public static void share(Object value) {
+        if (value instanceof SLObject || value instanceof SLArray || value instanceof SLFunction) {
+            shareGraph(value);
+        }
+    }
+
+    /**
+     * Shares all values of the given array, e.g., the arguments of a spawned function.
+     */
+    public static void shareAll(Object[] values) {
+        for (Object value : values) {
+            share(value);
+        }
+    }
+
+    /**
+     * Walks the graph with an explicit worklist, so deeply nested structures do not overflow the
+     * stack. Objects and arrays that are already shared are not visited again, which also
+     * terminates cycles.
+     */
+    @TruffleBoundary
+    private static void shareGraph(Object root) {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        ArrayDeque<Object> worklist = new ArrayDeque<>();
+        worklist.push(root);
+        while (!worklist.isEmpty()) {
+            Object value = worklist.pop();
+            if (value instanceof SLObject) {
+                SLObject object = (SLObject) value;
+                if (!objectLibrary.isShared(object)) {
+                    objectLibrary.markShared(object);
+                    object.forEachValue(objectLibrary, worklist::push);
+                }
+            } else if (value instanceof SLArray) {
+                SLArray array = (SLArray) value;
+                if (!array.isShared()) {
+                    array.markShared();
+                    if (array.isObjectStorage()) {
+                        for (int i = 0; i < array.getSize(); i++) {
+                            worklist.push(array.read(i));
+                        }
+                    }
+                }
+            } else if (value instanceof SLFunction) {
+                Object[] environment = ((SLFunction) value).getEnvironment();
+                if (environment != null) {
+                    for (Object captured : environment) {
+                        worklist.push(captured);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallDispatchNode;
+import com.oracle.truffle.sl.nodes.controlflow.SLTailCallException;
+
+/**
+ * The handle of a function call that runs on the thread pool of the {@link SLContext}, returned by
+ * the {@link com.oracle.truffle.sl.builtins.SLSpawnBuiltin spawn} builtin. The
+ * {@link com.oracle.truffle.sl.builtins.SLJoinBuiltin join} builtin waits for the call and returns
+ * its result, or throws the exception that the function threw.
+ * <p>
+ * A call that has not started yet when it is joined is run by the joining thread itself. This
+ * keeps the pool busy with useful work, and a function running on the pool can join functions that
+ * it spawned without waiting for a free thread of the pool, which would deadlock once all threads
+ * of the pool wait.
+ */
+@ExportLibrary(InteropLibrary.class)
+@SuppressWarnings("static-method")
+public final class SLTask implements TruffleObject, Runnable {
+
+    private final SLFunction function;
+    private final Object[] arguments;
+
+    /** Set by the thread that runs the function, either a thread of the pool or the joiner. */
+    private final AtomicBoolean started = new AtomicBoolean();
+    /** Released when the function returned. The result is published by the latch. */
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private Object result;
+    private Throwable error;
+
+    SLTask(SLFunction function, Object[] arguments) {
+        this.function = function;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Runs the function on a thread of the pool, unless it was already run by a joiner. The result
+     * is {@link SLSharing shared}, because the joining thread reads it.
+     */
+    @Override
+    public void run() {
+        if (started.compareAndSet(false, true)) {
+            runFunction(true);
+        }
+    }
+
+    /**
+     * Waits until the function returned, or runs it if no thread of the pool has started it yet.
+     * While waiting, the thread still processes safepoints, e.g., to be cancelled when the context
+     * is closed.
+     */
+    @TruffleBoundary
+    public Object join(Node node) {
+        if (started.compareAndSet(false, true)) {
+            runFunction(false);
+        } else {
+            TruffleSafepoint.setBlockedThreadInterruptible(node, CountDownLatch::await, done);
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private void runFunction(boolean share) {
+        try {
+            Object value;
+            try {
+                value = function.getCallTarget().call(function.createArguments(arguments));
+            } catch (SLTailCallException ex) {
+                /* The function ended with a call in tail position, see SLLanguage#ProperTailCalls. */
+                value = SLTailCallDispatchNode.getUncached().executeTailCall(ex);
+            }
+            if (share) {
+                SLSharing.share(value);
+            }
+            result = value;
+        } catch (AbstractTruffleException e) {
+            /* A guest language error is thrown again by the joiner. */
+            error = e;
+        } catch (Throwable t) {
+            /* Internal errors and cancellation also terminate the thread that ran the function. */
+            error = t;
+            throw t;
+        } finally {
+            done.countDown();
+        }
+    }
+
+    @ExportMessage
+    boolean hasLanguage() {
+        return true;
+    }
+
+    @ExportMessage
+    Class<? extends TruffleLanguage<?>> getLanguage() {
+        return SLLanguage.class;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    Object toDisplayString(@SuppressWarnings("unused") boolean allowSideEffects) {
+        return "Task(" + function.getName() + ")";
+    }
+}
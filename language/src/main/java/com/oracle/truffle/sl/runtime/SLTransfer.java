@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.sl.SLException;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Prepares values that are {@link SLChannel#send sent} to another context. Contexts do not share
+ * any mutable state, so a value is either passed as it is, or moved:
+ * <ul>
+ * <li>Immutable values, i.e., numbers, booleans, strings, {@code null} and frozen objects and
+ * arrays, are passed as they are. No copy is made.</li>
+ * <li>Other objects and arrays are moved to the receiver. The receiver gets new objects and arrays
+ * with the contents, and the originals are left empty: reading a property of a moved object fails,
+ * and all indices of a moved array are out of bounds. The element storage of arrays is moved
+ * without copying it. Values that are reachable from a moved object are moved as well, and objects
+ * that are reachable more than once are moved once, so the structure of the graph is preserved.</li>
+ * </ul>
+ * Functions cannot be transferred, because they are bound to the function registry of their
+ * context. Objects that are {@link SLSharing shared} with other threads cannot be moved either,
+ * because the other threads could still access them. Such values must be {@link #freeze frozen}
+ * before they are sent.
+ */
+public final class SLTransfer {
+
+    private SLTransfer() {
+    }
+
+    /**
+     * Returns the value that the receiver gets for the given value. Mutable objects and arrays are
+     * moved, see the class comment. The whole graph is checked before anything is moved, so a value
+     * that cannot be sent is left unchanged.
+     */
+    public static Object transfer(Node node, Object value) {
+        if (isImmutable(value)) {
+            return value;
+        }
+        checkTransferable(node, value);
+        return moveGraph(SLLanguage.get(node), value);
+    }
+
+    /**
+     * Makes an object or array and everything that is reachable from it immutable. Frozen values
+     * are shared, so they can be read by any thread and are {@link #transfer transferred} without
+     * copying them.
+     */
+    public static Object freeze(Node node, Object value) {
+        freezeGraph(node, value);
+        return value;
+    }
+
+    public static SLException frozenError(Node location) {
+        return new SLException("Frozen value cannot be modified", location);
+    }
+
+    public static SLException transferredError(Node location) {
+        return new SLException("Object was transferred to another context", location);
+    }
+
+    private static boolean isImmutable(Object value) {
+        if (value instanceof SLObject) {
+            return ((SLObject) value).isFrozen();
+        } else if (value instanceof SLArray) {
+            return ((SLArray) value).isFrozen();
+        }
+        return value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof String || value instanceof SLConcatString ||
+                        value instanceof SLBigNumber || value instanceof SLInt128 || value == SLNull.SINGLETON;
+    }
+
+    @TruffleBoundary
+    private static void checkTransferable(Node node, Object root) {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        IdentityHashMap<Object, Object> visited = new IdentityHashMap<>();
+        ArrayDeque<Object> worklist = new ArrayDeque<>();
+        worklist.push(root);
+        while (!worklist.isEmpty()) {
+            Object value = worklist.pop();
+            if (isImmutable(value) || visited.put(value, value) != null) {
+                continue;
+            }
+            if ((value instanceof SLObject && ((SLObject) value).isShared()) || (value instanceof SLArray && ((SLArray) value).isShared())) {
+                throw new SLException("Objects that are shared between threads must be frozen before they are sent", node);
+            } else if (value instanceof SLObject) {
+                ((SLObject) value).forEachValue(objectLibrary, worklist::push);
+            } else if (value instanceof SLArray) {
+                pushElements((SLArray) value, worklist);
+            } else {
+                throw SLException.typeError(node, value);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static Object moveGraph(SLLanguage language, Object root) {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        IdentityHashMap<Object, Object> moved = new IdentityHashMap<>();
+        ArrayDeque<Object> worklist = new ArrayDeque<>();
+        Object result = move(language, root, moved, worklist);
+        while (!worklist.isEmpty()) {
+            Object original = worklist.pop();
+            Object target = moved.get(original);
+            if (target instanceof SLObject) {
+                Object[] properties = ((SLObject) original).detach(objectLibrary);
+                for (int i = 0; i < properties.length; i += 2) {
+                    Object value = move(language, properties[i + 1], moved, worklist);
+                    ((SLObject) target).writeProperty((String) properties[i], value, objectLibrary);
+                }
+            } else {
+                /* The storage was moved already, only its elements are replaced. */
+                SLArray array = (SLArray) target;
+                for (int i = 0; i < array.getSize(); i++) {
+                    array.write(i, move(language, array.read(i), moved, worklist));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the new object or array for a value, creating it if the value was not visited yet.
+     * The contents are moved later, when the original is taken from the worklist.
+     */
+    private static Object move(SLLanguage language, Object value, IdentityHashMap<Object, Object> moved, ArrayDeque<Object> worklist) {
+        if (isImmutable(value)) {
+            return value;
+        }
+        Object target = moved.get(value);
+        if (target == null) {
+            if (value instanceof SLObject) {
+                target = SLObjectLayout.DEFAULT.newObject(language.getRootShape());
+                worklist.push(value);
+            } else {
+                SLArray array = ((SLArray) value).detach();
+                if (array.isObjectStorage()) {
+                    worklist.push(value);
+                }
+                target = array;
+            }
+            moved.put(value, target);
+        }
+        return target;
+    }
+
+    /**
+     * Collects the objects and arrays first, so that nothing is frozen if the graph contains a value
+     * that cannot be frozen.
+     */
+    @TruffleBoundary
+    private static void freezeGraph(Node node, Object root) {
+        DynamicObjectLibrary objectLibrary = DynamicObjectLibrary.getUncached();
+        IdentityHashMap<Object, Object> visited = new IdentityHashMap<>();
+        ArrayDeque<Object> worklist = new ArrayDeque<>();
+        worklist.push(root);
+        while (!worklist.isEmpty()) {
+            Object value = worklist.pop();
+            if (isImmutable(value) || visited.put(value, value) != null) {
+                continue;
+            }
+            if (value instanceof SLObject) {
+                ((SLObject) value).forEachValue(objectLibrary, worklist::push);
+            } else if (value instanceof SLArray) {
+                pushElements((SLArray) value, worklist);
+            } else {
+                throw SLException.typeError(node, value);
+            }
+        }
+        for (Object value : visited.keySet()) {
+            if (value instanceof SLObject) {
+                ((SLObject) value).freeze(objectLibrary);
+            } else {
+                ((SLArray) value).freeze();
+            }
+            SLSharing.share(value);
+        }
+    }
+
+    private static void pushElements(SLArray array, ArrayDeque<Object> worklist) {
+        if (array.isObjectStorage()) {
+            for (int i = 0; i < array.getSize(); i++) {
+                worklist.push(array.read(i));
+            }
+        }
+    }
+}
@@ -79,20 +79,21 @@ public final class SLType implements TruffleObject {
      * nicely match those of the types in InteropLibrary. This might not be the case and more
      * additional checks need to be performed (similar to number checking for SLBigNumber).
      */
-    public static final SLType NUMBER = new SLType("Number", (l, v) -> l.fitsInLong(v) || v instanceof SLBigNumber);
+    public static final SLType NUMBER = new SLType("Number", (l, v) -> l.fitsInLong(v) || l.fitsInDouble(v) || v instanceof SLInt128 || v instanceof SLBigNumber);
     public static final SLType NULL = new SLType("NULL", (l, v) -> l.isNull(v));
     public static final SLType STRING = new SLType("String", (l, v) -> l.isString(v));
     public static final SLType BOOLEAN = new SLType("Boolean", (l, v) -> l.isBoolean(v));
     public static final SLType OBJECT = new SLType("Object", (l, v) -> l.hasMembers(v));
     public static final SLType FUNCTION = new SLType("Function", (l, v) -> l.isExecutable(v));
+    public static final SLType ARRAY = new SLType("Array", (l, v) -> l.hasArrayElements(v));
 
     /*
      * This array is used when all types need to be checked in a certain order. While most interop
      * types like number or string are exclusive, others traits like members might not be. For
      * example, an object might be a function. In SimpleLanguage we decided to make functions,
-     * functions and not objects.
+     * functions and not objects. Likewise, arrays are arrays and not objects.
      */
-    @CompilationFinal(dimensions = 1) public static final SLType[] PRECEDENCE = new SLType[]{NULL, NUMBER, STRING, BOOLEAN, FUNCTION, OBJECT};
+    @CompilationFinal(dimensions = 1) public static final SLType[] PRECEDENCE = new SLType[]{NULL, NUMBER, STRING, BOOLEAN, FUNCTION, ARRAY, OBJECT};
 
     private final String name;
     private final TypeCheck isInstance;
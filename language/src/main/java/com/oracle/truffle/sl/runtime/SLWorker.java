@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.ThreadLocalAction;
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLException;
+
+/**
+ * A worker runs SL code in its own context on its own thread, see the
+ * {@link com.oracle.truffle.sl.builtins.SLWorkerBuiltin worker} builtin. The worker context is an
+ * inner context of the context that created it. It shares the parsed code with its parent, but not
+ * the functions, globals, or any objects: the only way to exchange values is the {@link SLChannel
+ * channel} between the two contexts.
+ * <p>
+ * The worker evaluates its source, i.e., it runs the {@code main} function of the source. When the
+ * worker terminates, its end of the channel is closed. Truffle closes the worker context together
+ * with its parent. If the worker is still running at that point, it is {@link #cancel cancelled}.
+ */
+final class SLWorker implements Runnable {
+
+    /**
+     * The key of the {@link TruffleContext.Builder#config config} entry that passes the worker to
+     * its context.
+     */
+    static final String CONFIG_KEY = "sl.worker";
+
+    private final Source source;
+    /** The end of the channel that belongs to the worker. */
+    private final SLChannel channel;
+    private volatile Thread thread;
+    private volatile boolean cancelled;
+
+    SLWorker(Source source, SLChannel channel) {
+        this.source = source;
+        this.channel = channel;
+    }
+
+    SLChannel getChannel() {
+        return channel;
+    }
+
+    void start(Thread workerThread) {
+        this.thread = workerThread;
+        workerThread.start();
+    }
+
+    @Override
+    public void run() {
+        String failure = null;
+        try {
+            if (cancelled) {
+                /* The worker was cancelled before its thread entered the context. */
+                throw cancelledError(null);
+            }
+            /* The thread is entered in the worker context, so the source is parsed in there. */
+            SLContext.get(null).getEnv().parseInternal(source).call();
+        } catch (AbstractTruffleException e) {
+            failure = e.getMessage();
+        } catch (RuntimeException | Error e) {
+            /* Internal errors and cancellation also terminate the thread. */
+            failure = String.valueOf(e);
+            throw e;
+        } finally {
+            channel.close(failure);
+        }
+    }
+
+    /**
+     * Stops the worker if it is still running, and waits for its thread. This is called when the
+     * worker context is finalized: all threads of a context must be finished before it is
+     * disposed. An error is thrown in the worker thread at its next safepoint, which also
+     * interrupts a worker that waits for the channel. SL code cannot catch the error, so it
+     * terminates the worker.
+     * <p>
+     * The error is only submitted to a thread that has entered the context. A thread that enters
+     * the context after that sees the {@link #cancelled} flag, which is set first, and terminates
+     * before it runs any code.
+     */
+    void cancel(Env env) {
+        cancelled = true;
+        Thread workerThread = thread;
+        if (workerThread == null || workerThread == Thread.currentThread() || !workerThread.isAlive()) {
+            return;
+        }
+        env.submitThreadLocal(new Thread[]{workerThread}, new ThreadLocalAction(true, false) {
+            @Override
+            protected void perform(Access access) {
+                throw cancelledError(access.getLocation());
+            }
+        });
+        try {
+            workerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SLException cancelledError(Node location) {
+        return new SLException("The worker was cancelled.", location);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+public class SLAllocationSiteTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function point(i) {\n" +
+            "  p = new();\n" +
+            "  p.x = i;\n" +
+            "  p.y = i * 2;\n" +
+            "  p.name = \"p\" + i;\n" +
+            "  return p;\n" +
+            "}\n" +
+            "function map() {\n" +
+            "  m = new();\n" +
+            "  i = 0;\n" +
+            "  while (i < 100) {\n" +
+            "    m[\"k\" + i] = i;\n" +
+            "    i = i + 1;\n" +
+            "  }\n" +
+            "  return m;\n" +
+            "}\n" +
+            "function indirect() {\n" +
+            "  f = new;\n" +
+            "  return f();\n" +
+            "}\n" +
+            "function main() {\n" +
+            "  sum = 0;\n" +
+            "  i = 0;\n" +
+            "  while (i < 20) {\n" +
+            "    p = point(i);\n" +
+            "    sum = sum + p.x + p.y;\n" +
+            "    m = map();\n" +
+            "    sum = sum + m[\"k99\"];\n" +
+            "    o = indirect();\n" +
+            "    o.value = i;\n" +
+            "    sum = sum + o.value;\n" +
+            "    i = i + 1;\n" +
+            "  }\n" +
+            "  return sum;\n" +
+            "}\n";
+    // @formatter:on
+
+    private static final long EXPECTED_SUM = 3 * 190 + 20 * 99 + 190;
+
+    private static Value run(Context context) {
+        return context.eval(Source.newBuilder("sl", SOURCE, "Alloc.sl").buildLiteral());
+    }
+
+    @Test
+    public void testPrediction() {
+        try (Context context = Context.create()) {
+            assertEquals(EXPECTED_SUM, run(context).asLong());
+            /* Objects with the predicted layout still get new properties. */
+            Value point = context.getBindings("sl").getMember("point").execute(1L);
+            point.putMember("z", 3L);
+            assertEquals(1L, point.getMember("x").asLong());
+            assertEquals("p1", point.getMember("name").asString());
+            assertEquals(3L, point.getMember("z").asLong());
+        }
+    }
+
+    @Test
+    public void testStatistics() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().err(err).allowExperimentalOptions(true).option("sl.AllocationSiteStats", "true").build()) {
+            assertEquals(EXPECTED_SUM, run(context).asLong());
+        }
+        String stats = err.toString();
+        assertTrue(stats, stats.contains("[sl] allocation site Alloc.sl:3:7: 20 objects, 1 object and 2 primitive properties, layout INLINE_2"));
+        assertTrue(stats, stats.contains("[sl] allocation site Alloc.sl:10:7: 20 objects, dictionary mode, layout DEFAULT"));
+        assertTrue(stats, stats.contains("[sl] allocation site new (indirect calls): 20 objects, 0 object and 1 primitive properties, layout INLINE_2"));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SLCodeCacheTest {
+
+    private Path cacheDirectory;
+    private Path sourceDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("sl-code-cache");
+        sourceDirectory = Files.createTempDirectory("sl-code-cache-sources");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path directory : new Path[]{cacheDirectory, sourceDirectory}) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a source file in a new engine, so the source is not in the parse cache of the language.
+     * Returns the output, followed by the statistics of the code cache. Inner contexts, e.g., of
+     * workers, print their statistics before the context of the file.
+     */
+    private String run(Path file, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).allowIO(true).allowCreateThread(true).allowHostClassLookup((s) -> true).allowHostAccess(
+                        HostAccess.ALL).in(new ByteArrayInputStream(input.getBytes("UTF-8"))).out(out).err(err).option("sl.CodeCache", cacheDirectory.toString()).option(
+                                        "sl.CodeCacheStats", "true").build()) {
+            PrintWriter printer = new PrintWriter(out);
+            try {
+                context.eval(Source.newBuilder("sl", file.toFile()).interactive(true).build());
+            } catch (PolyglotException ex) {
+                if (ex.isInternalError()) {
+                    throw ex;
+                }
+                printer.println(ex.getMessage());
+            }
+            printer.flush();
+        }
+        String[] statistics = err.toString().split("\n");
+        return out.toString() + statistics[statistics.length - 1] + "\n";
+    }
+
+    private static String readLines(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (String line : Files.readAllLines(file, Charset.defaultCharset())) {
+            result.append(line).append('\n');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Runs all SL test cases twice: the second run builds the functions from the snapshots that
+     * the first run stored, and must print the same output.
+     */
+    @Test
+    public void testAllTestCases() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(Paths.get("tests"))) {
+            files = paths.filter((p) -> p.toString().endsWith(".sl")).sorted().collect(Collectors.toList());
+        }
+        assertTrue(files.size() > 0);
+        int loaded = 0;
+        for (Path file : files) {
+            String baseName = file.toString().substring(0, file.toString().length() - ".sl".length());
+            String input = readLines(Paths.get(baseName + ".input"));
+            String expected = readLines(Paths.get(baseName + ".output"));
+
+            String first = run(file, input);
+            if (first.endsWith("[sl] code cache: 0 hits, 1 misses, 1 writes\n")) {
+                String second = run(file, input);
+                assertEquals(file.toString(), expected + "[sl] code cache: 1 hits, 0 misses, 0 writes\n", second);
+                loaded++;
+            } else {
+                /* A source with a syntax error has no snapshot. */
+                assertEquals(file.toString(), expected + "[sl] code cache: 0 hits, 1 misses, 0 writes\n", first);
+            }
+        }
+        assertTrue(String.valueOf(loaded), loaded > files.size() / 2);
+    }
+
+    @Test
+    public void testChangedSource() throws IOException {
+        Path file = sourceDirectory.resolve("changed.sl");
+        Files.write(file, "function main() { return 1; }".getBytes("UTF-8"));
+        assertEquals("1\n[sl] code cache: 0 hits, 1 misses, 1 writes\n", run(file, ""));
+        assertEquals("1\n[sl] code cache: 1 hits, 0 misses, 0 writes\n", run(file, ""));
+
+        Files.write(file, "function main() { return 2; }".getBytes("UTF-8"));
+        assertEquals("2\n[sl] code cache: 0 hits, 1 misses, 1 writes\n", run(file, ""));
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws IOException {
+        Path file = sourceDirectory.resolve("invalid.sl");
+        Files.write(file, "function main() { obj = {a: 1, b: \"x\"}; return obj.a + 41; }".getBytes("UTF-8"));
+        assertEquals("42\n[sl] code cache: 0 hits, 1 misses, 1 writes\n", run(file, ""));
+
+        /* A truncated snapshot is ignored and replaced. */
+        try (Stream<Path> snapshots = Files.list(cacheDirectory)) {
+            for (Path snapshot : snapshots.collect(Collectors.toList())) {
+                byte[] bytes = Files.readAllBytes(snapshot);
+                Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+            }
+        }
+        assertEquals("42\n[sl] code cache: 0 hits, 1 misses, 1 writes\n", run(file, ""));
+        assertEquals("42\n[sl] code cache: 1 hits, 0 misses, 0 writes\n", run(file, ""));
+    }
+
+    @Test
+    public void testLiteralSourcesAreNotCached() throws IOException {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).allowIO(true).err(err).option("sl.CodeCache", cacheDirectory.toString()).option("sl.CodeCacheStats",
+                        "true").build()) {
+            assertEquals(16, context.eval("sl", "function main() { eval(\"sl\", \"function foo() { return 14 + 2; }\"); return foo(); }").asInt());
+        }
+        assertEquals("[sl] code cache: 0 hits, 0 misses, 0 writes\n", err.toString());
+        try (Stream<Path> snapshots = Files.list(cacheDirectory)) {
+            assertEquals(0, snapshots.count());
+        }
+    }
+
+    /*
+     * Cached files are parsed eagerly even with lazy parsing, so a syntax error in a function that
+     * is never called is reported when the file is loaded.
+     */
+    @Test
+    public void testLazyParsing() throws IOException {
+        Path file = sourceDirectory.resolve("lazy.sl");
+        Files.write(file, "function unused() {\n  a = ;\n}\nfunction main() {\n  return 42;\n}".getBytes("UTF-8"));
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).allowIO(true).option("sl.CodeCache", cacheDirectory.toString()).option("sl.LazyParsing", "true").build()) {
+            context.eval(Source.newBuilder("sl", file.toFile()).build());
+            fail("Should not reach here.");
+        } catch (PolyglotException e) {
+            assertTrue("Should be a syntax error.", e.isSyntaxError());
+            assertEquals(2, e.getSourceLocation().getStartLine());
+        }
+
+        Files.write(file, "function unused() {\n  return 1;\n}\nfunction main() {\n  return 42;\n}".getBytes("UTF-8"));
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            try (Context context = Context.newBuilder().allowExperimentalOptions(true).allowIO(true).err(err).option("sl.CodeCache", cacheDirectory.toString()).option("sl.CodeCacheStats",
+                            "true").option("sl.LazyParsing", "true").build()) {
+                assertEquals(42, context.eval(Source.newBuilder("sl", file.toFile()).build()).asInt());
+            }
+            assertEquals(i == 0 ? "[sl] code cache: 0 hits, 1 misses, 1 writes\n" : "[sl] code cache: 1 hits, 0 misses, 0 writes\n", err.toString());
+        }
+    }
+}
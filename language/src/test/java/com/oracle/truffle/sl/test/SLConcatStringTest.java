@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.sl.runtime.SLConcatString;
+
+public class SLConcatStringTest {
+
+    private static final int COUNT = 200000;
+
+    private static String character(int i) {
+        return String.valueOf((char) ('a' + i % 26));
+    }
+
+    /**
+     * Asserts that the depth of the rope is logarithmic in its length. A balanced rope with leaves
+     * of at least one character is at most about 1.44 times as deep as a perfectly balanced one.
+     */
+    private static void assertBalanced(Object rope) {
+        assertTrue(rope instanceof SLConcatString);
+        SLConcatString concat = (SLConcatString) rope;
+        int limit = (int) (1.45 * (Math.log(concat.length()) / Math.log(2))) + 2;
+        assertTrue(concat.depth() + " > " + limit, concat.depth() <= limit);
+    }
+
+    @Test
+    public void testAppendCharacters() {
+        StringBuilder expected = new StringBuilder();
+        Object rope = "";
+        for (int i = 0; i < COUNT; i++) {
+            rope = SLConcatString.concat(rope, character(i));
+            expected.append(character(i));
+        }
+        assertBalanced(rope);
+        assertEquals(expected.toString(), rope.toString());
+    }
+
+    @Test
+    public void testPrependCharacters() {
+        StringBuilder expected = new StringBuilder();
+        Object rope = "";
+        for (int i = 0; i < COUNT; i++) {
+            rope = SLConcatString.concat(character(i), rope);
+            expected.insert(0, character(i));
+        }
+        assertBalanced(rope);
+        assertEquals(expected.toString(), rope.toString());
+    }
+
+    @Test
+    public void testAppendToSelf() {
+        Object rope = "abcdefghijklmnopqrstuvwxyz";
+        String expected = (String) rope;
+        for (int i = 0; i < 16; i++) {
+            rope = SLConcatString.concat(rope, SLConcatString.concat(character(i), rope));
+            expected = expected + character(i) + expected;
+            assertEquals(expected, rope.toString());
+        }
+        assertBalanced(rope);
+        assertEquals(expected, rope.toString());
+    }
+
+    @Test
+    public void testMixedConcatenation() {
+        StringBuilder expected = new StringBuilder();
+        Object rope = "";
+        for (int i = 0; i < COUNT / 100; i++) {
+            /* Long pieces on the right and single characters on the left. */
+            String piece = "piece " + i + " of the string, long enough not to be merged into a leaf ";
+            StringBuilder longPiece = new StringBuilder();
+            for (int j = 0; j < 10; j++) {
+                longPiece.append(piece);
+            }
+            rope = SLConcatString.concat(character(i), SLConcatString.concat(rope, longPiece.toString()));
+            expected.insert(0, character(i)).append(longPiece);
+        }
+        assertBalanced(rope);
+        assertEquals(expected.toString(), rope.toString());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+public class SLEvalCacheTest {
+
+    /*
+     * The eval site sees four different snippets, so the third one makes it megamorphic. From then
+     * on, all snippets go through the eval cache of the context.
+     */
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function main() {\n" +
+            "  sum = 0;\n" +
+            "  round = 0;\n" +
+            "  while (round < 2) {\n" +
+            "    i = 0;\n" +
+            "    while (i < 4) {\n" +
+            "      sum = sum + eval(\"sl\", \"function main() { return \" + i + \"; }\");\n" +
+            "      i = i + 1;\n" +
+            "    }\n" +
+            "    round = round + 1;\n" +
+            "  }\n" +
+            "  return sum;\n" +
+            "}\n";
+    // @formatter:on
+
+    private static String run(String cacheSize) {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().err(err).allowExperimentalOptions(true).option("sl.EvalCacheSize", cacheSize).option("sl.EvalCacheStats", "true").build()) {
+            assertEquals(12, context.eval("sl", SOURCE).asInt());
+        }
+        return err.toString();
+    }
+
+    @Test
+    public void testHits() {
+        String stats = run("256");
+        assertTrue(stats, stats.contains("[sl] eval cache: 2 hits, 4 misses, 0 evictions, 4 entries"));
+    }
+
+    @Test
+    public void testEviction() {
+        String stats = run("1");
+        assertTrue(stats, stats.contains("[sl] eval cache: 0 hits, 6 misses, 5 evictions, 1 entries"));
+    }
+
+    @Test
+    public void testDisabled() {
+        String stats = run("0");
+        assertTrue(stats, stats.contains("[sl] eval cache: 0 hits, 6 misses, 0 evictions, 0 entries"));
+    }
+}
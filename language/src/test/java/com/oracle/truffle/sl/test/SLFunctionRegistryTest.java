@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.parser.SimpleLanguageParser;
+import com.oracle.truffle.sl.runtime.SLContext;
+import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLFunctionRegistry;
+
+/**
+ * Stress test of the {@link SLFunctionRegistry} with several threads that define, redefine and
+ * look up functions at the same time.
+ */
+public class SLFunctionRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 200;
+
+    private Context context;
+    private SLLanguage language;
+    private SLFunctionRegistry registry;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        context = Context.create("sl");
+        context.initialize("sl");
+        context.enter();
+        language = SLLanguage.get(null);
+        registry = SLContext.get(null).getFunctionRegistry();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        context.leave();
+        context.close();
+    }
+
+    private Map<String, RootCallTarget> parse(String code) {
+        return SimpleLanguageParser.parseSL(language, Source.newBuilder(SLLanguage.ID, code, "registry.sl").build());
+    }
+
+    private void runConcurrently(List<Runnable> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        Map<String, Set<SLFunction>> seen = new ConcurrentHashMap<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    String name = "lookup" + i;
+                    SLFunction function = registry.lookup(name, true);
+                    seen.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet()).add(function);
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(ITERATIONS, seen.size());
+        for (Map.Entry<String, Set<SLFunction>> entry : seen.entrySet()) {
+            /* All threads got the same function for a name. */
+            assertEquals(entry.getKey(), 1, entry.getValue().size());
+            assertSame(registry.lookup(entry.getKey(), false), entry.getValue().iterator().next());
+        }
+    }
+
+    @Test
+    public void testConcurrentRedefinition() throws Exception {
+        registry.register(parse("function f() { return 0; }"));
+        SLFunction f = registry.lookup("f", false);
+        Set<RootCallTarget> defined = ConcurrentHashMap.newKeySet();
+        defined.add(f.getCallTarget());
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            if (thread % 2 == 0) {
+                /* Redefines f, and defines a new function per iteration. */
+                tasks.add(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        Map<String, RootCallTarget> functions = parse("function f() { return " + i + "; } function g" + thread + "_" + i + "() {}");
+                        defined.add(functions.get("f"));
+                        registry.register(functions);
+                    }
+                });
+            } else {
+                /* Uses f while it is redefined, and looks up the functions being defined. */
+                tasks.add(() -> {
+                    for (int i = 0; i < ITERATIONS * 10; i++) {
+                        assertSame(f, registry.lookup("f", true));
+                        RootCallTarget target = f.getCallTarget();
+                        assertNotNull(target);
+                        assertEquals("f", target.getRootNode().getName());
+                        assertNotNull(registry.lookup("g" + (thread - 1) + "_" + (i % ITERATIONS), true));
+                    }
+                });
+            }
+        }
+        runConcurrently(tasks);
+
+        assertSame(f, registry.lookup("f", false));
+        assertTrue(defined.contains(f.getCallTarget()));
+        for (int t = 0; t < THREADS; t += 2) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                /* Functions that were looked up before their definition got the definition. */
+                assertEquals("g" + t + "_" + i, registry.lookup("g" + t + "_" + i, false).getCallTarget().getRootNode().getName());
+                assertTrue(registry.lookup("g" + t + "_" + i, false).getCallTarget().getRootNode().getSourceSection() != null);
+            }
+        }
+        /* Calls on the entered thread see the last definition. */
+        assertEquals(ITERATIONS - 1, context.getBindings("sl").getMember("f").execute().asInt());
+    }
+}
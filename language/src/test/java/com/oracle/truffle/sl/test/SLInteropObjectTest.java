@@ -91,6 +91,27 @@ public class SLInteropObjectTest {
         Assert.assertEquals("[b]", obj.getMemberKeys().toString());
     }
 
+    @Test
+    public void testRemoveChurn() {
+        final Source src = Source.newBuilder("sl", "function main() {o = new(); o.keep = 1; return o;}", "testRemoveChurn.sl").buildLiteral();
+        final Value obj = context.eval(src);
+        for (int i = 0; i < 1000; i++) {
+            obj.putMember("k" + i, i);
+            if (i % 2 == 0) {
+                obj.removeMember("k" + i);
+            }
+        }
+        Assert.assertTrue(obj.hasMember("keep"));
+        Assert.assertFalse(obj.hasMember("k0"));
+        Assert.assertEquals(999, obj.getMember("k999").asInt());
+        Assert.assertEquals(501, obj.getMemberKeys().size());
+        Assert.assertEquals("keep", obj.getMemberKeys().iterator().next());
+
+        context.eval(Source.newBuilder("sl", "function read(o, k) {return o[k];}", "read.sl").buildLiteral());
+        Value read = context.getBindings("sl").getMember("read");
+        Assert.assertEquals(501, read.execute(obj, "k501").asInt());
+    }
+
     @Test
     public void testNewForeign() {
         final Source src = Source.newBuilder("sl", "function getValue(type) {o = new(type); o.a = 10; return o.value;}", "testObject.sl").buildLiteral();
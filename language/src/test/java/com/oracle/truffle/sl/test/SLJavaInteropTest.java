@@ -43,6 +43,7 @@ package com.oracle.truffle.sl.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
@@ -89,6 +90,22 @@ public class SLJavaInteropTest {
         return context.getBindings("sl").getMember(symbol);
     }
 
+    @Test
+    public void concatenatedString() throws Exception {
+        String scriptText = "function concat(n) {\n" + //
+                        "  s = \"\";\n" + //
+                        "  i = 0;\n" + //
+                        "  while (i < n) { s = s + \"ab\"; i = i + 1; }\n" + //
+                        "  return s;\n" + //
+                        "}\n"; //
+        context.eval("sl", scriptText);
+        Value result = lookup("concat").execute(1000);
+        assertTrue(result.isString());
+        assertEquals(2000, result.asString().length());
+        assertEquals("abab", lookup("concat").execute(2).asString());
+        assertEquals(result.asString(), result.toString());
+    }
+
     @Test
     public void asFunctionWithArg() throws Exception {
         String scriptText = "function values(a, b) {\n" + //
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SLLazyParsingTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = Context.newBuilder("sl").allowExperimentalOptions(true).option("sl.LazyParsing", "true").build();
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void testUncalledFunctionIsNotParsed() {
+        Source src = Source.newBuilder("sl", "function unused() {\n  a = ;\n}\nfunction main() {\n  return 42;\n}", "testUncalled.sl").buildLiteral();
+        assertEquals(42, context.eval(src).asInt());
+    }
+
+    @Test
+    public void testSyntaxErrorOnFirstCall() {
+        Source src = Source.newBuilder("sl", "function broken() {\n  a = ;\n}\nfunction main() {\n  return broken;\n}", "testFirstCall.sl").buildLiteral();
+        Value broken = context.eval(src);
+        assertEquals("testFirstCall.sl", broken.getSourceLocation().getSource().getName());
+        for (int i = 0; i < 2; i++) {
+            try {
+                broken.execute();
+                fail("Should not reach here.");
+            } catch (PolyglotException e) {
+                assertTrue("Should be a syntax error.", e.isSyntaxError());
+                assertEquals(2, e.getSourceLocation().getStartLine());
+            }
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorInDeclarations() {
+        Source src = Source.newBuilder("sl", "function main() {\n  return 1;\n}\nglobal ;", "testDeclarations.sl").buildLiteral();
+        try {
+            context.eval(src);
+            fail("Should not reach here.");
+        } catch (PolyglotException e) {
+            assertTrue("Should be a syntax error.", e.isSyntaxError());
+            assertEquals(4, e.getSourceLocation().getStartLine());
+        }
+    }
+
+    @Test
+    public void testGlobalsDeclaredBefore() {
+        Source src = Source.newBuilder("sl", "" +
+                        "global g;\n" +
+                        "function before() { return g; }\n" +
+                        "function after() { return h; }\n" +
+                        "global h;\n" +
+                        "function main() { g = 1; h = 2; return before() + \" \" + after(); }", "testGlobals.sl").buildLiteral();
+        assertEquals("1 h", context.eval(src).asString());
+    }
+
+    @Test
+    public void testRedefinitionBeforeFirstCall() {
+        context.eval("sl", "function f() { return 1; }");
+        context.eval("sl", "function f() { return 2; }");
+        assertEquals(2, context.getBindings("sl").getMember("f").execute().asInt());
+        assertEquals(2, context.getBindings("sl").getMember("f").execute().asInt());
+    }
+
+    @Test
+    public void testEagerContextInSharedEngine() {
+        Source src = Source.newBuilder("sl", "function unused() {\n  a = ;\n}\nfunction main() {\n  return 42;\n}", "testShared.sl").buildLiteral();
+        try (Engine engine = Engine.create();
+                        Context lazy = Context.newBuilder("sl").engine(engine).allowExperimentalOptions(true).option("sl.LazyParsing", "true").build();
+                        Context eager = Context.newBuilder("sl").engine(engine).build()) {
+            assertEquals(42, lazy.eval(src).asInt());
+            try {
+                eager.eval(src);
+                fail("Should not reach here.");
+            } catch (PolyglotException e) {
+                assertTrue("Should be a syntax error.", e.isSyntaxError());
+                assertEquals(2, e.getSourceLocation().getStartLine());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.sl.runtime.SLParallelLoop;
+
+public class SLParallelLoopTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function squares(n) {\n" +
+            "  a = array(n);\n" +
+            "  parallelFor(0, n, function(i) { a[i] = i * i; });\n" +
+            "  s = 0;\n" +
+            "  for (i = 0; i < n; i = i + 1) {\n" +
+            "    s = s + a[i];\n" +
+            "  }\n" +
+            "  return s;\n" +
+            "}\n";
+    // @formatter:on
+
+    private static long expectedSquares(long n) {
+        return (n - 1) * n * (2 * n - 1) / 6;
+    }
+
+    @Test
+    public void testWithoutThreads() {
+        /* The calling thread runs all iterations if the context cannot create threads. */
+        try (Context context = Context.create()) {
+            context.eval("sl", SOURCE);
+            Value squares = context.getBindings("sl").getMember("squares");
+            assertEquals(expectedSquares(1000), squares.execute(1000L).asLong());
+        }
+    }
+
+    @Test
+    public void testThreads() {
+        try (Context context = Context.newBuilder().allowCreateThread(true).allowExperimentalOptions(true).option("sl.ThreadPoolSize", "3").build()) {
+            context.eval("sl", SOURCE);
+            Value squares = context.getBindings("sl").getMember("squares");
+            for (long n : new long[]{0, 1, 2, 3, 100, 100000}) {
+                assertEquals(expectedSquares(n), squares.execute(n).asLong());
+            }
+        }
+    }
+
+    @Test
+    public void testChunkSize() {
+        SLParallelLoop loop = SLParallelLoop.forRange(null, 0, 1000000);
+        assertEquals(1, loop.getChunkSize());
+        /* Expensive iterations are claimed one by one. */
+        loop.recordChunk(1, 10000000);
+        assertEquals(1, loop.getChunkSize());
+        /* Cheap iterations are claimed in large chunks, but leave work for the other threads. */
+        loop.recordChunk(1000, 1000);
+        assertEquals(200000, loop.getChunkSize());
+        loop.claim(999000);
+        loop.recordChunk(1000, 1000);
+        assertEquals(1000 / 4, loop.getChunkSize());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+public class SLParseCacheTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function main() {\n" +
+            "  sum = 0;\n" +
+            "  i = 0;\n" +
+            "  while (i < 3) {\n" +
+            "    defineFunction(\"function a() { return 1; }\");\n" +
+            "    sum = sum + a();\n" +
+            "    defineFunction(\"function a() { return 2; }\");\n" +
+            "    sum = sum + a();\n" +
+            "    i = i + 1;\n" +
+            "  }\n" +
+            "  return sum;\n" +
+            "}\n";
+    // @formatter:on
+
+    private static String run(String cacheSize) {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().err(err).allowExperimentalOptions(true).option("sl.ParseCacheSize", cacheSize).option("sl.ParseCacheStats", "true").build()) {
+            /* A cached definition defines the function again. */
+            assertEquals(9, context.eval(Source.newBuilder("sl", SOURCE, "Cache.sl").buildLiteral()).asInt());
+        }
+        return err.toString();
+    }
+
+    @Test
+    public void testHits() {
+        String stats = run("64");
+        assertTrue(stats, stats.contains("[sl] parse cache: 4 hits, 3 misses, 0 evictions, 3 entries"));
+    }
+
+    @Test
+    public void testEviction() {
+        String stats = run("1");
+        assertTrue(stats, stats.contains("[sl] parse cache: 0 hits, 7 misses, 6 evictions, 1 entries"));
+    }
+
+    @Test
+    public void testDisabled() {
+        String stats = run("0");
+        assertTrue(stats, stats.contains("[sl] parse cache: 0 hits, 0 misses, 0 evictions, 0 entries"));
+    }
+
+    @Test
+    public void testUncachedSource() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (Context context = Context.newBuilder().err(err).allowExperimentalOptions(true).option("sl.ParseCacheStats", "true").build()) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals(42, context.eval(Source.newBuilder("sl", "function main() { return 42; }", "Uncached.sl").cached(false).buildLiteral()).asInt());
+            }
+        }
+        String stats = err.toString();
+        assertTrue(stats, stats.contains("[sl] parse cache: 0 hits, 0 misses, 0 evictions, 0 entries"));
+    }
+
+    private static final String MODE_SOURCE = "function main() { defineFunction(\"function a() { return 42; }\"); return a(); }";
+
+    /*
+     * The cache is not keyed by the parser mode: contexts with a different mode use a different
+     * language instance, and therefore a different cache. The definition is looked up in the
+     * cache in every context, while the main source is only parsed once per language instance.
+     */
+    @Test
+    public void testParserMode() {
+        ByteArrayOutputStream lazyErr = new ByteArrayOutputStream();
+        ByteArrayOutputStream eagerErr = new ByteArrayOutputStream();
+        ByteArrayOutputStream sameErr = new ByteArrayOutputStream();
+        try (Engine engine = Engine.create();
+                        Context lazy = createContext(engine, lazyErr, "true");
+                        Context eager = createContext(engine, eagerErr, "false");
+                        Context same = createContext(engine, sameErr, "true")) {
+            for (Context context : new Context[]{lazy, eager, same}) {
+                assertEquals(42, context.eval(Source.newBuilder("sl", MODE_SOURCE, "Mode.sl").buildLiteral()).asInt());
+            }
+        }
+        String stats = eagerErr.toString();
+        assertTrue(stats, stats.contains("[sl] parse cache: 0 hits, 2 misses, 0 evictions, 2 entries"));
+        stats = sameErr.toString();
+        assertTrue(stats, stats.contains("[sl] parse cache: 1 hits, 2 misses, 0 evictions, 2 entries"));
+    }
+
+    private static Context createContext(Engine engine, ByteArrayOutputStream err, String lazyParsing) {
+        return Context.newBuilder().engine(engine).err(err).allowExperimentalOptions(true).option("sl.LazyParsing", lazyParsing).option("sl.ParseCacheStats", "true").build();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+public class SLSpawnTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function tree(depth) {\n" +
+            "  if (depth == 0) {\n" +
+            "    return 1;\n" +
+            "  }\n" +
+            "  left = spawn(tree, depth - 1);\n" +
+            "  right = spawn(tree, depth - 1);\n" +
+            "  return join(left) + join(right);\n" +
+            "}\n" +
+            "function increment(obj, name, n) {\n" +
+            "  for (i = 0; i < n; i = i + 1) {\n" +
+            "    obj[name] = obj[name] + 1;\n" +
+            "  }\n" +
+            "}\n" +
+            "function counters(threads, n) {\n" +
+            "  obj = new();\n" +
+            "  for (t = 0; t < threads; t = t + 1) {\n" +
+            "    obj[\"c\" + t] = 0;\n" +
+            "  }\n" +
+            "  tasks = array(threads);\n" +
+            "  for (t = 0; t < threads; t = t + 1) {\n" +
+            "    tasks[t] = spawn(increment, obj, \"c\" + t, n);\n" +
+            "  }\n" +
+            "  s = 0;\n" +
+            "  for (t = 0; t < threads; t = t + 1) {\n" +
+            "    join(tasks[t]);\n" +
+            "    s = s + obj[\"c\" + t];\n" +
+            "  }\n" +
+            "  return s;\n" +
+            "}\n";
+    // @formatter:on
+
+    @Test
+    public void testCreateThreadNotAllowed() {
+        try (Context context = Context.create()) {
+            context.eval("sl", SOURCE);
+            try {
+                context.getBindings("sl").getMember("tree").execute(1);
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isGuestException());
+                assertEquals("Creating threads is not allowed in this context.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testNestedJoinWithSingleThread() {
+        /* Tasks that are not started yet are run by the joining thread, so this does not deadlock. */
+        try (Context context = Context.newBuilder().allowCreateThread(true).allowExperimentalOptions(true).option("sl.ThreadPoolSize", "1").build()) {
+            context.eval("sl", SOURCE);
+            Value tree = context.getBindings("sl").getMember("tree");
+            assertEquals(256, tree.execute(8).asLong());
+        }
+    }
+
+    @Test
+    public void testConcurrentPropertyWrites() {
+        try (Context context = Context.newBuilder().allowCreateThread(true).allowExperimentalOptions(true).option("sl.ThreadPoolSize", "4").build()) {
+            context.eval("sl", SOURCE);
+            Value counters = context.getBindings("sl").getMember("counters");
+            for (int i = 0; i < 10; i++) {
+                assertEquals(8 * 1000, counters.execute(8L, 1000L).asLong());
+            }
+        }
+    }
+}
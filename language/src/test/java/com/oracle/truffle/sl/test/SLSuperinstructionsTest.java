@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+public class SLSuperinstructionsTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function count(n, step) {\n" +
+            "  i = 0;\n" +
+            "  c = 0;\n" +
+            "  while (i < n) {\n" +
+            "    i = i + step;\n" +
+            "    c = c + 1;\n" +
+            "  }\n" +
+            "  if (c != 0) {\n" +
+            "    return c;\n" +
+            "  }\n" +
+            "  return i;\n" +
+            "}\n";
+    // @formatter:on
+
+    private static Value count(Context context) {
+        context.eval("sl", SOURCE);
+        return context.getBindings("sl").getMember("count");
+    }
+
+    private static void checkCount(Context context) {
+        Value count = count(context);
+        assertEquals(10, count.execute(10, 1).asLong());
+        assertEquals(4, count.execute(10, 3).asLong());
+        /* The local variable changes its type from long to double. */
+        assertEquals(7, count.execute(10, 1.5).asLong());
+        assertEquals(0, count.execute(-1, 1).asLong());
+    }
+
+    @Test
+    public void testEnabled() {
+        try (Context context = Context.create()) {
+            checkCount(context);
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        try (Context context = Context.newBuilder().allowExperimentalOptions(true).option("sl.Superinstructions", "false").build()) {
+            checkCount(context);
+        }
+    }
+
+    @Test
+    public void testSharedEngine() {
+        /* Parsed code is only shared between contexts that use the same value of the option. */
+        try (Engine engine = Engine.create()) {
+            try (Context enabled = Context.newBuilder().engine(engine).build();
+                            Context disabled = Context.newBuilder().engine(engine).allowExperimentalOptions(true).option("sl.Superinstructions", "false").build()) {
+                checkCount(enabled);
+                checkCount(disabled);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.Test;
+
+public class SLTailCallTest {
+
+    private static final long DEPTH = 1000000;
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function sum(n, acc) {\n" +
+            "  if (n == 0) {\n" +
+            "    return acc;\n" +
+            "  }\n" +
+            "  return sum(n - 1, acc + n);\n" +
+            "}\n" +
+            "function isEven(n) {\n" +
+            "  if (n == 0) {\n" +
+            "    return 0 == 0;\n" +
+            "  }\n" +
+            "  return isOdd(n - 1);\n" +
+            "}\n" +
+            "function isOdd(n) {\n" +
+            "  if (n == 0) {\n" +
+            "    return 0 == 1;\n" +
+            "  }\n" +
+            "  return isEven(n - 1);\n" +
+            "}\n";
+    // @formatter:on
+
+    private Context context;
+
+    @After
+    public void dispose() {
+        context.close();
+    }
+
+    private Value function(String name) {
+        context.eval("sl", SOURCE);
+        return context.getBindings("sl").getMember(name);
+    }
+
+    @Test
+    public void selfRecursion() {
+        context = Context.create();
+        assertEquals(DEPTH * (DEPTH + 1) / 2, function("sum").execute(DEPTH, 0).asLong());
+    }
+
+    @Test
+    public void mutualRecursion() {
+        context = Context.newBuilder().allowExperimentalOptions(true).option("sl.ProperTailCalls", "true").build();
+        assertTrue(function("isEven").execute(DEPTH).asBoolean());
+        assertTrue(function("isOdd").execute(DEPTH + 1).asBoolean());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+public class SLWorkerTest {
+
+    // @formatter:off
+    private static final String SOURCE = "\n" +
+            "function sum(n) {\n" +
+            "  w = worker(\"function main() { p = parent(); s = 0; n = receive(p); \" +\n" +
+            "             \"while (n != 0) { s = s + n; n = receive(p); } send(p, s); }\");\n" +
+            "  for (i = 1; i <= n; i = i + 1) {\n" +
+            "    send(w, i);\n" +
+            "  }\n" +
+            "  send(w, 0);\n" +
+            "  return receive(w);\n" +
+            "}\n" +
+            "function busy() {\n" +
+            "  worker(\"function main() { while (1 == 1) { } }\");\n" +
+            "  worker(\"function main() { while (1 == 1) { send(parent(), 1); } }\");\n" +
+            "  worker(\"function main() { receive(parent()); }\");\n" +
+            "}\n" +
+            "function identity(o) {\n" +
+            "  return o;\n" +
+            "}\n" +
+            "function sendShared() {\n" +
+            "  o = new();\n" +
+            "  join(spawn(identity, o));\n" +
+            "  send(worker(\"function main() { }\"), o);\n" +
+            "}\n" +
+            "function frozen() {\n" +
+            "  o = new();\n" +
+            "  o.x = 1;\n" +
+            "  return freeze(o);\n" +
+            "}\n";
+    // @formatter:on
+
+    private static Context createContext() {
+        return Context.newBuilder().allowCreateThread(true).build();
+    }
+
+    @Test
+    public void testCreateThreadNotAllowed() {
+        try (Context context = Context.create()) {
+            context.eval("sl", SOURCE);
+            try {
+                context.getBindings("sl").getMember("sum").execute(1);
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isGuestException());
+                assertEquals("Creating threads is not allowed in this context.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testBoundedChannel() {
+        /* More values than the capacity of the channel, so the sender has to wait for the worker. */
+        try (Context context = createContext()) {
+            context.eval("sl", SOURCE);
+            Value sum = context.getBindings("sl").getMember("sum");
+            assertEquals(500500, sum.execute(1000L).asLong());
+        }
+    }
+
+    @Test
+    public void testCancelOnClose() {
+        /* Workers that are still running, or wait for their channel, are cancelled. */
+        try (Context context = createContext()) {
+            context.eval("sl", SOURCE);
+            context.getBindings("sl").getMember("busy").execute();
+        }
+    }
+
+    @Test
+    public void testSharedObject() {
+        try (Context context = Context.newBuilder().allowCreateThread(true).build()) {
+            context.eval("sl", SOURCE);
+            try {
+                context.getBindings("sl").getMember("sendShared").execute();
+                fail();
+            } catch (PolyglotException e) {
+                assertTrue(e.isGuestException());
+                assertEquals("Objects that are shared between threads must be frozen before they are sent", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testFrozenObject() {
+        try (Context context = Context.create()) {
+            context.eval("sl", SOURCE);
+            Value frozen = context.getBindings("sl").getMember("frozen").execute();
+            assertEquals(1, frozen.getMember("x").asLong());
+            try {
+                frozen.putMember("x", 2);
+                fail();
+            } catch (PolyglotException e) {
+                assertEquals("Frozen value cannot be modified", e.getMessage());
+            }
+            try {
+                frozen.putMember("y", 2);
+                fail();
+            } catch (PolyglotException e) {
+                assertEquals("Frozen value cannot be modified", e.getMessage());
+            }
+            assertEquals(1, frozen.getMember("x").asLong());
+        }
+    }
+}
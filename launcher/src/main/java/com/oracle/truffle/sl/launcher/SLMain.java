@@ -85,11 +85,17 @@ public final class SLMain {
         System.exit(executeSource(source, System.in, System.out, options));
     }
 
-    private static int executeSource(Source source, InputStream in, PrintStream out, Map<String, String> options) {
+    static int executeSource(Source source, InputStream in, PrintStream out, Map<String, String> options) {
         Context context;
         PrintStream err = System.err;
+        /* Experimental options like sl.CodeCache must be enabled with --experimental-options. */
+        boolean experimentalOptions = Boolean.parseBoolean(options.remove("experimental-options"));
+        /* Only the code cache accesses files. */
+        String codeCache = options.get("sl.CodeCache");
+        boolean allowIO = codeCache != null && !codeCache.isEmpty();
         try {
-            context = Context.newBuilder(SL).in(in).out(out).options(options).build();
+            /* Threads are needed by the spawn, worker and parallel loop builtins. */
+            context = Context.newBuilder(SL).in(in).out(out).options(options).allowExperimentalOptions(experimentalOptions).allowIO(allowIO).allowCreateThread(true).build();
         } catch (IllegalArgumentException e) {
             err.println(e.getMessage());
             return 1;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.launcher;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+public class SLMainTest {
+
+    private static String run(String code, Map<String, String> options) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Source source = Source.create("sl", code);
+        int exitCode = SLMain.executeSource(source, new ByteArrayInputStream(new byte[0]), new PrintStream(out, true), options);
+        String output = out.toString();
+        assertEquals(output, 0, exitCode);
+        /* Skip the "== running on" line. */
+        return output.substring(output.indexOf('\n') + 1);
+    }
+
+    @Test
+    public void testSpawn() {
+        // @formatter:off
+        String code = "\n" +
+                "function square(x) {\n" +
+                "  return x * x;\n" +
+                "}\n" +
+                "function main() {\n" +
+                "  t = spawn(square, 7);\n" +
+                "  println(join(t));\n" +
+                "}\n";
+        // @formatter:on
+        assertEquals("49\n", run(code, new HashMap<>()));
+    }
+
+    @Test
+    public void testSpawnWithThreadPool() {
+        // @formatter:off
+        String code = "\n" +
+                "function tree(depth) {\n" +
+                "  if (depth == 0) {\n" +
+                "    return 1;\n" +
+                "  }\n" +
+                "  left = spawn(tree, depth - 1);\n" +
+                "  right = spawn(tree, depth - 1);\n" +
+                "  return join(left) + join(right);\n" +
+                "}\n" +
+                "function main() {\n" +
+                "  println(tree(6));\n" +
+                "}\n";
+        // @formatter:on
+        Map<String, String> options = new HashMap<>();
+        options.put("experimental-options", "true");
+        options.put("sl.ThreadPoolSize", "2");
+        assertEquals("64\n", run(code, options));
+    }
+}